@@ -0,0 +1,169 @@
+package com.sd.tennis.cache;
+
+import com.sd.tennis.model.Court;
+import com.sd.tennis.repository.MatchRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Per-participant (player, referee or court) match start times in sorted order, so "is this person booked within
+ * two hours of t" is a single O(log n) range probe. Courts are keyed by their negated id ({@link #courtKey}). Loaded at startup and updated after each commit that
+ * creates, moves, reassigns or deletes a match; until loaded, checks go to the matches table.
+ */
+@Component
+public class BookingIndex {
+    public static final int MIN_GAP_MINUTES = 120;
+
+    private final MatchRepository matchRepository;
+
+    private final Map<Integer, NavigableSet<Booking>> byParticipant = new ConcurrentHashMap<>();
+    private final Map<Integer, Entry> byMatch = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public BookingIndex(MatchRepository matchRepository) {
+        this.matchRepository = matchRepository;
+    }
+
+    public static Integer courtKey(Court court) {
+        return court == null ? null : -court.getId();
+    }
+
+    // a free-text venue is not indexed; it only shares the lock key space, under a hash of its name
+    public static Integer venueKey(String venue) {
+        return venue == null || venue.isBlank() ? null : venueName(venue).hashCode();
+    }
+
+    // venues compare ignoring case and surrounding blanks, as the database collation does
+    public static String venueName(String venue) {
+        return venue.strip().toLowerCase(Locale.ROOT);
+    }
+
+    public boolean hasConflict(Integer participantId, LocalDateTime start, Integer ignoredMatchId) {
+        LocalDateTime from = start.minusMinutes(MIN_GAP_MINUTES);
+        LocalDateTime to = start.plusMinutes(MIN_GAP_MINUTES);
+        if (!loaded) {
+            return matchRepository.existsBookingBetween(participantId, from, to,
+                    ignoredMatchId != null ? ignoredMatchId : -1);
+        }
+        NavigableSet<Booking> bookings = byParticipant.get(participantId);
+        if (bookings == null) {
+            return false;
+        }
+        for (Booking booking : bookings.subSet(
+                new Booking(from, Integer.MAX_VALUE), false, new Booking(to, Integer.MIN_VALUE), false)) {
+            if (!booking.matchId().equals(ignoredMatchId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // used when several matches are reassigned together, so their current bookings must not count
+    public boolean hasConflictIgnoring(Integer participantId, LocalDateTime start, Set<Integer> ignoredMatchIds) {
+        LocalDateTime from = start.minusMinutes(MIN_GAP_MINUTES);
+        LocalDateTime to = start.plusMinutes(MIN_GAP_MINUTES);
+        if (!loaded) {
+            return matchRepository.existsBookingBetweenExcluding(participantId, from, to,
+                    ignoredMatchIds.isEmpty() ? Set.of(-1) : ignoredMatchIds);
+        }
+        NavigableSet<Booking> bookings = byParticipant.get(participantId);
+        if (bookings == null) {
+            return false;
+        }
+        for (Booking booking : bookings.subSet(
+                new Booking(from, Integer.MAX_VALUE), false, new Booking(to, Integer.MIN_VALUE), false)) {
+            if (!ignoredMatchIds.contains(booking.matchId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // null participants (a match without a court) are skipped
+    public void matchScheduled(Integer matchId, Integer tournamentId, LocalDateTime start, Integer... participantIds) {
+        List<Integer> participants = Arrays.stream(participantIds).filter(Objects::nonNull).toList();
+        AfterCommit.run(() -> put(matchId, tournamentId, start, participants));
+    }
+
+    public void matchRemoved(Integer matchId) {
+        AfterCommit.run(() -> remove(matchId));
+    }
+
+    // matches of a removed user or tournament go away through ON DELETE CASCADE
+    public void participantDeleted(Integer userId) {
+        AfterCommit.run(() -> {
+            NavigableSet<Booking> bookings = byParticipant.get(userId);
+            if (bookings != null) {
+                bookings.forEach(booking -> remove(booking.matchId()));
+            }
+            byParticipant.remove(userId);
+        });
+    }
+
+    public void tournamentDeleted(Integer tournamentId) {
+        AfterCommit.run(() -> byMatch.entrySet().stream()
+                .filter(e -> e.getValue().tournamentId().equals(tournamentId))
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(this::remove));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void load() {
+        byParticipant.clear();
+        byMatch.clear();
+        for (Object[] row : matchRepository.findAllBookings()) {
+            List<Integer> participants = row[6] == null
+                    ? List.of((Integer) row[3], (Integer) row[4], (Integer) row[5])
+                    : List.of((Integer) row[3], (Integer) row[4], (Integer) row[5], -(Integer) row[6]);
+            put((Integer) row[0], (Integer) row[1], (LocalDateTime) row[2], participants);
+        }
+        loaded = true;
+    }
+
+    private synchronized void put(Integer matchId, Integer tournamentId, LocalDateTime start, List<Integer> participantIds) {
+        remove(matchId);
+        Entry entry = new Entry(tournamentId, start, participantIds);
+        byMatch.put(matchId, entry);
+        Booking booking = new Booking(start, matchId);
+        for (Integer participantId : participantIds) {
+            byParticipant.computeIfAbsent(participantId, id -> new ConcurrentSkipListSet<>(Booking.ORDER)).add(booking);
+        }
+    }
+
+    private synchronized void remove(Integer matchId) {
+        Entry entry = byMatch.remove(matchId);
+        if (entry == null) {
+            return;
+        }
+        Booking booking = new Booking(entry.start(), matchId);
+        for (Integer participantId : entry.participantIds()) {
+            NavigableSet<Booking> bookings = byParticipant.get(participantId);
+            if (bookings != null) {
+                bookings.remove(booking);
+            }
+        }
+    }
+
+    private record Booking(LocalDateTime start, Integer matchId) {
+        static final Comparator<Booking> ORDER = Comparator.comparing(Booking::start).thenComparing(Booking::matchId);
+    }
+
+    private record Entry(Integer tournamentId, LocalDateTime start, List<Integer> participantIds) {
+    }
+}
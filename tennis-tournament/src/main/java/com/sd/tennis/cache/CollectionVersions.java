@@ -0,0 +1,21 @@
+package com.sd.tennis.cache;
+
+/**
+ * Version counters behind the ETags of the polled collection endpoints. A write bumps the counters of what it
+ * touched, and a tag only moves once the data it stands for is committed. Tags are opaque: compare them, never
+ * parse them.
+ */
+public interface CollectionVersions {
+    String tournamentsTag();
+
+    String matchesTag();
+
+    String tournamentMatchesTag(Integer tournamentId);
+
+    void tournamentChanged(Integer tournamentId);
+
+    void matchesChanged(Integer tournamentId);
+
+    // for changes that can touch matches in any tournament, e.g. a renamed player
+    void allMatchesChanged();
+}
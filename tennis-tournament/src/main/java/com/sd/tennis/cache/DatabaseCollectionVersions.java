@@ -0,0 +1,94 @@
+package com.sd.tennis.cache;
+
+import com.sd.tennis.model.CollectionVersion;
+import com.sd.tennis.repository.CollectionVersionRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Version counters shared by every node through the {@code collection_versions} table. A counter is bumped inside
+ * the mutating transaction, so it moves exactly when the data does, on every node. The {@code matches} row is
+ * always bumped first: every match write takes it, which keeps two writes from locking the other rows in opposite
+ * orders, at the cost of match writes queueing on it from their first bump until they commit.
+ */
+@Component
+@ConditionalOnProperty(name = "app.collection-versions.store", havingValue = "database")
+public class DatabaseCollectionVersions implements CollectionVersions {
+    private static final String TOURNAMENTS = "tournaments";
+    private static final String MATCHES = "matches";
+    private static final String MATCH_GENERATION = "match-generation";
+
+    private final CollectionVersionRepository repository;
+
+    public DatabaseCollectionVersions(CollectionVersionRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public String tournamentsTag() {
+        return tag("tournaments-" + versions(TOURNAMENTS).getOrDefault(TOURNAMENTS, 0L));
+    }
+
+    @Override
+    public String matchesTag() {
+        return tag("matches-" + versions(MATCHES).getOrDefault(MATCHES, 0L));
+    }
+
+    @Override
+    public String tournamentMatchesTag(Integer tournamentId) {
+        String name = tournament(tournamentId);
+        Map<String, Long> versions = versions(MATCH_GENERATION, name);
+        return tag("tournament-" + tournamentId + "-" + versions.getOrDefault(MATCH_GENERATION, 0L) + "."
+                + versions.getOrDefault(name, 0L));
+    }
+
+    @Override
+    public void tournamentChanged(Integer tournamentId) {
+        increment(MATCHES);
+        increment(TOURNAMENTS);
+        increment(tournament(tournamentId));
+    }
+
+    @Override
+    public void matchesChanged(Integer tournamentId) {
+        increment(MATCHES);
+        increment(tournament(tournamentId));
+    }
+
+    @Override
+    public void allMatchesChanged() {
+        increment(MATCHES);
+        increment(MATCH_GENERATION);
+    }
+
+    // reads never create rows, so polling ids that were never written leaves the table alone
+    private Map<String, Long> versions(String... names) {
+        return repository.findByNameIn(List.of(names)).stream()
+                .collect(Collectors.toMap(CollectionVersion::getName, CollectionVersion::getVersion));
+    }
+
+    private void increment(String name) {
+        if (repository.increment(name) > 0) {
+            return;
+        }
+        try {
+            repository.insert(name);
+        } catch (DataIntegrityViolationException e) {
+            // another write created it first
+        }
+        repository.increment(name);
+    }
+
+    private static String tournament(Integer tournamentId) {
+        return "tournament-" + tournamentId;
+    }
+
+    private static String tag(String version) {
+        return "W/\"" + version + "\"";
+    }
+}
@@ -0,0 +1,97 @@
+package com.sd.tennis.cache;
+
+import com.sd.tennis.repository.MatchRepository;
+import com.sd.tennis.repository.MatchViewRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Memory mirror of the (min_player_id, max_player_id, tournament_id) pair index on matches. Answers
+ * "have these two met" without touching the database once loaded; until then it falls back to the DB index.
+ */
+@Component
+public class HeadToHeadIndex {
+    private final MatchRepository matchRepository;
+    private final MatchViewRepository matchViewRepository;
+
+    // pair key -> match id -> tournament id
+    private final Map<Long, Map<Integer, Integer>> meetings = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public HeadToHeadIndex(MatchRepository matchRepository, MatchViewRepository matchViewRepository) {
+        this.matchRepository = matchRepository;
+        this.matchViewRepository = matchViewRepository;
+    }
+
+    public static long pairKey(int playerA, int playerB) {
+        long min = Math.min(playerA, playerB);
+        long max = Math.max(playerA, playerB);
+        return (min << 32) | max;
+    }
+
+    public boolean hasMet(Integer playerA, Integer playerB, Integer tournamentId) {
+        if (!loaded) {
+            return matchRepository.existsByMinPlayerIdAndMaxPlayerIdAndTournamentId(
+                    Math.min(playerA, playerB), Math.max(playerA, playerB), tournamentId);
+        }
+        Map<Integer, Integer> pair = meetings.get(pairKey(playerA, playerB));
+        return pair != null && pair.containsValue(tournamentId);
+    }
+
+    public boolean hasMet(Integer playerA, Integer playerB) {
+        if (!loaded) {
+            return matchRepository.existsByMinPlayerIdAndMaxPlayerId(
+                    Math.min(playerA, playerB), Math.max(playerA, playerB));
+        }
+        Map<Integer, Integer> pair = meetings.get(pairKey(playerA, playerB));
+        return pair != null && !pair.isEmpty();
+    }
+
+    public void matchCreated(Integer matchId, Integer playerA, Integer playerB, Integer tournamentId) {
+        AfterCommit.run(() -> add(matchId, playerA, playerB, tournamentId));
+    }
+
+    public void matchDeleted(Integer matchId, Integer playerA, Integer playerB) {
+        AfterCommit.run(() -> meetings.computeIfPresent(pairKey(playerA, playerB), (key, pair) -> {
+            pair.remove(matchId);
+            return pair.isEmpty() ? null : pair;
+        }));
+    }
+
+    // matches of a removed user or tournament go away through ON DELETE CASCADE
+    public void participantDeleted(Integer userId) {
+        AfterCommit.run(() -> meetings.keySet().removeIf(key ->
+                (int) (key >>> 32) == userId || (int) (long) key == userId));
+    }
+
+    public void tournamentDeleted(Integer tournamentId) {
+        AfterCommit.run(() -> meetings.values().forEach(pair -> pair.values().removeIf(tournamentId::equals)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void load() {
+        // rows written before the pair columns existed
+        matchRepository.fillMissingPairs();
+        matchViewRepository.fillMissingPairs();
+
+        meetings.clear();
+        for (Object[] row : matchRepository.findAllPairings()) {
+            add((Integer) row[0], (Integer) row[2], (Integer) row[3], (Integer) row[1]);
+        }
+        loaded = true;
+    }
+
+    private void add(Integer matchId, Integer playerA, Integer playerB, Integer tournamentId) {
+        meetings.compute(pairKey(playerA, playerB), (key, pair) -> {
+            Map<Integer, Integer> matches = pair != null ? pair : new ConcurrentHashMap<>();
+            matches.put(matchId, tournamentId);
+            return matches;
+        });
+    }
+}
@@ -0,0 +1,156 @@
+package com.sd.tennis.cache;
+
+import com.sd.tennis.util.TennisScore;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Running score of every match being scored point by point, plus the matches whose score changed since the last
+ * write-behind flush. The point log is the source of truth, so an entry can always be rebuilt by replaying it;
+ * decided matches are dropped once their result has been flushed, matches nobody scores on any more once they have
+ * been idle for a while, and any match once its score is written some other way.
+ * <p>
+ * Entries only leave the board under their own monitor, so a scorer holding the monitor can tell whether the entry
+ * it has is still the current one.
+ */
+@Component
+public class LiveScoreBoard {
+    private final Map<Integer, LiveMatch> matches = new ConcurrentHashMap<>();
+    private final Set<Integer> dirty = ConcurrentHashMap.newKeySet();
+
+    public LiveMatch get(Integer matchId) {
+        return matches.get(matchId);
+    }
+
+    // concurrent loads of the same match keep whichever got in first
+    public LiveMatch putIfAbsent(LiveMatch live) {
+        LiveMatch existing = matches.putIfAbsent(live.getMatchId(), live);
+        return existing != null ? existing : live;
+    }
+
+    public void remove(Integer matchId) {
+        matches.remove(matchId);
+    }
+
+    public void markDirty(Integer matchId) {
+        dirty.add(matchId);
+    }
+
+    public List<Snapshot> drainDirty() {
+        List<Snapshot> snapshots = new ArrayList<>();
+        for (Iterator<Integer> it = dirty.iterator(); it.hasNext(); ) {
+            Integer matchId = it.next();
+            it.remove();
+            LiveMatch live = matches.get(matchId);
+            if (live != null) {
+                snapshots.add(live.snapshot());
+            }
+        }
+        return snapshots;
+    }
+
+    /** Drops the matches that were last scored on before {@code cutoff} and have nothing left to flush. */
+    public void evictIdle(Instant cutoff) {
+        for (LiveMatch live : matches.values()) {
+            synchronized (live) {
+                if (live.lastScoredAt.isBefore(cutoff) && !dirty.contains(live.getMatchId())) {
+                    matches.remove(live.getMatchId(), live);
+                }
+            }
+        }
+    }
+
+    // the next point is scored against what was written, not against the entry it replaces
+    public void scoreWritten(Integer matchId) {
+        AfterCommit.run(() -> {
+            LiveMatch live = matches.get(matchId);
+            if (live != null) {
+                synchronized (live) {
+                    matches.remove(matchId, live);
+                }
+            }
+        });
+    }
+
+    public void flushed(List<Snapshot> snapshots) {
+        for (Snapshot snapshot : snapshots) {
+            if (snapshot.winnerId() != null && !dirty.contains(snapshot.matchId())) {
+                matches.remove(snapshot.matchId());
+            }
+        }
+    }
+
+    public record Snapshot(Integer matchId, Integer tournamentId, int pointsPlayed, List<int[]> sets, String games, String points,
+                           boolean tiebreak, String overallScore, Integer winnerId) {
+    }
+
+    /** Callers hold the instance's monitor while they change {@link #getScore()}. */
+    public static final class LiveMatch {
+        private final Integer matchId;
+        private final Integer tournamentId;
+        private final Integer player1Id;
+        private final Integer player2Id;
+        private final Integer refereeId;
+        private final LocalDateTime matchDate;
+        // a result entered through the plain score update ends live scoring as well
+        private final boolean decidedElsewhere;
+        private final TennisScore score;
+        private volatile Instant lastScoredAt = Instant.now();
+
+        public LiveMatch(Integer matchId, Integer tournamentId, Integer player1Id, Integer player2Id, Integer refereeId,
+                         LocalDateTime matchDate, boolean decidedElsewhere, TennisScore score) {
+            this.matchId = matchId;
+            this.tournamentId = tournamentId;
+            this.player1Id = player1Id;
+            this.player2Id = player2Id;
+            this.refereeId = refereeId;
+            this.matchDate = matchDate;
+            this.decidedElsewhere = decidedElsewhere;
+            this.score = score;
+        }
+
+        public Integer getMatchId() {
+            return matchId;
+        }
+
+        public Integer getRefereeId() {
+            return refereeId;
+        }
+
+        public LocalDateTime getMatchDate() {
+            return matchDate;
+        }
+
+        public TennisScore getScore() {
+            return score;
+        }
+
+        public void scored() {
+            lastScoredAt = Instant.now();
+        }
+
+        public boolean isDecided() {
+            return decidedElsewhere || score.winner() != 0;
+        }
+
+        /** 1 or 2, or 0 when the player is not in this match. */
+        public int sideOf(Integer playerId) {
+            return player1Id.equals(playerId) ? 1 : player2Id.equals(playerId) ? 2 : 0;
+        }
+
+        public synchronized Snapshot snapshot() {
+            int winner = score.winner();
+            return new Snapshot(matchId, tournamentId, score.pointsPlayed(), score.setScores(), score.gameScore(),
+                    score.pointScore(), score.inTiebreak(), score.overallScore(),
+                    winner == 1 ? player1Id : winner == 2 ? player2Id : null);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.sd.tennis.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory version counters, bumped after the mutating transaction commits. Only this instance's writes move
+ * them, so they are for a single instance: behind a load balancer another node keeps answering 304 for data that
+ * has changed. Run more than one node with {@code app.collection-versions.store=database}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.collection-versions.store", havingValue = "local", matchIfMissing = true)
+public class LocalCollectionVersions implements CollectionVersions {
+    // counters restart from zero, so tags from a previous run must not match
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong tournaments = new AtomicLong();
+    private final AtomicLong matches = new AtomicLong();
+    private final AtomicLong matchGeneration = new AtomicLong();
+    private final Map<Integer, AtomicLong> tournamentMatches = new ConcurrentHashMap<>();
+
+    @Override
+    public String tournamentsTag() {
+        return tag("tournaments-" + tournaments.get());
+    }
+
+    @Override
+    public String matchesTag() {
+        return tag("matches-" + matches.get());
+    }
+
+    @Override
+    public String tournamentMatchesTag(Integer tournamentId) {
+        // a read never adds a counter, so polling ids that were never written does not grow the map
+        AtomicLong counter = tournamentMatches.get(tournamentId);
+        return tag("tournament-" + tournamentId + "-" + matchGeneration.get() + "." + (counter == null ? 0 : counter.get()));
+    }
+
+    @Override
+    public void tournamentChanged(Integer tournamentId) {
+        AfterCommit.run(() -> {
+            tournaments.incrementAndGet();
+            matches.incrementAndGet();
+            counter(tournamentId).incrementAndGet();
+        });
+    }
+
+    @Override
+    public void matchesChanged(Integer tournamentId) {
+        AfterCommit.run(() -> {
+            matches.incrementAndGet();
+            counter(tournamentId).incrementAndGet();
+        });
+    }
+
+    @Override
+    public void allMatchesChanged() {
+        AfterCommit.run(() -> {
+            matches.incrementAndGet();
+            matchGeneration.incrementAndGet();
+        });
+    }
+
+    private AtomicLong counter(Integer tournamentId) {
+        return tournamentMatches.computeIfAbsent(tournamentId, id -> new AtomicLong());
+    }
+
+    private String tag(String version) {
+        return "W/\"" + epoch + "-" + version + "\"";
+    }
+}
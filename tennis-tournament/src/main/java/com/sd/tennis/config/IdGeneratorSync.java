@@ -0,0 +1,41 @@
+package com.sd.tennis.config;
+
+import com.sd.tennis.model.Match;
+import com.sd.tennis.model.ScoreDetail;
+import com.sd.tennis.model.ScoreEvent;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves each pooled id generator past every id already in its table, so databases that were filled while ids
+ * came from AUTO_INCREMENT keep working after the switch to table-generated ids.
+ */
+@Component
+public class IdGeneratorSync implements SmartInitializingSingleton {
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdGeneratorSync(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        sync("matches", Match.ID_ALLOCATION_SIZE);
+        sync("score_details", ScoreDetail.ID_ALLOCATION_SIZE);
+        sync("score_events", ScoreEvent.ID_ALLOCATION_SIZE);
+    }
+
+    // the generator row is named after the table it hands out ids for
+    private void sync(String table, int allocationSize) {
+        // the pooled optimizer hands out the block below the stored value, so leave a full block of headroom
+        Integer maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Integer.class);
+        int nextFree = maxId + 1 + allocationSize;
+        int updated = jdbcTemplate.update(
+                "UPDATE id_generators SET next_val = ? WHERE entity = ? AND next_val < ?", nextFree, table, nextFree);
+        if (updated == 0 && jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM id_generators WHERE entity = ?", Integer.class, table) == 0) {
+            jdbcTemplate.update("INSERT INTO id_generators (entity, next_val) VALUES (?, ?)", table, nextFree);
+        }
+    }
+}
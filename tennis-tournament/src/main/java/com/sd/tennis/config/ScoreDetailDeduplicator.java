@@ -0,0 +1,85 @@
+package com.sd.tennis.config;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Removes duplicate set rows before ddl-auto adds the (match_id, set_number) unique key, which Hibernate skips
+ * without a word while duplicates are there. The newest row of each set is kept. The affected matches get an empty
+ * set tally, so the tally backfill recounts them from the remaining rows once the application is up.
+ * <p>
+ * Runs before the entity manager factory is built, so it talks to the tables through JDBC and leaves a database
+ * that does not have them yet alone.
+ */
+@Component
+public class ScoreDetailDeduplicator implements InitializingBean {
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ScoreDetailDeduplicator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!hasColumn("score_details", "set_number")) {
+            return;
+        }
+        // every row that has a newer one for the same set, once per newer row: id, match id
+        List<Object[]> stale = jdbcTemplate.query("SELECT d.id, d.match_id FROM score_details d "
+                        + "JOIN score_details newer ON newer.match_id = d.match_id "
+                        + "AND newer.set_number = d.set_number AND newer.id > d.id",
+                (rs, rowNum) -> new Object[]{rs.getInt(1), rs.getInt(2)});
+        if (stale.isEmpty()) {
+            return;
+        }
+
+        Set<Integer> ids = new TreeSet<>();
+        Set<Integer> matchIds = new TreeSet<>();
+        for (Object[] row : stale) {
+            ids.add((Integer) row[0]);
+            matchIds.add((Integer) row[1]);
+        }
+        jdbcTemplate.batchUpdate("DELETE FROM score_details WHERE id = ?", ids, BATCH_SIZE,
+                (ps, id) -> ps.setInt(1, id));
+
+        if (hasColumn("matches", "player1_sets")) {
+            jdbcTemplate.batchUpdate("UPDATE matches SET player1_sets = 0, player2_sets = 0, "
+                            + "player1_games = 0, player2_games = 0 WHERE id = ?", matchIds, BATCH_SIZE,
+                    (ps, matchId) -> ps.setInt(1, matchId));
+        }
+    }
+
+    // unquoted names are stored lower case by MySQL and upper case by H2
+    private boolean hasColumn(String table, String column) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String[] names : new String[][]{{table, column}, {table.toUpperCase(), column.toUpperCase()}}) {
+                try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, names[0], names[1])) {
+                    if (columns.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }));
+    }
+
+    /** Makes the entity manager factory, and with it the schema update, wait for the clean-up. */
+    @Component
+    static class SchemaUpdateOrdering extends EntityManagerFactoryDependsOnPostProcessor {
+        SchemaUpdateOrdering() {
+            super(ScoreDetailDeduplicator.class);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.sd.tennis.controller;
+
+import com.sd.tennis.dto.ExportJobDTO;
+import com.sd.tennis.dto.ExportJobRequestDTO;
+import com.sd.tennis.service.ExportJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/api/matches/export-jobs")
+public class ExportJobController {
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private ExportJobService exportJobService;
+
+    @PostMapping
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> submitExport(@Valid @RequestBody ExportJobRequestDTO request) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(exportJobService.submit(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid format. Use 'csv', 'txt', 'ndjson' or 'columnar'.");
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<ExportJobDTO> getExportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(exportJobService.getJob(jobId));
+    }
+
+    @GetMapping("/{jobId}/download")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public void downloadExport(@PathVariable String jobId,
+                               HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        Path file = exportJobService.getResultFile(jobId);
+        long size = Files.size(file);
+        response.setContentType(exportJobService.getContentType(jobId));
+        response.setContentLengthLong(size);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + file.getFileName());
+
+        // let Tomcat hand the file to the kernel when the connector supports sendfile
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+
+        // fallback: a plain buffered copy through the servlet stream
+        Files.copy(file, response.getOutputStream());
+    }
+}
@@ -1,22 +1,39 @@
 package com.sd.tennis.controller;
 
+import com.sd.tennis.cache.CollectionVersions;
+import com.sd.tennis.dto.BulkMatchRequestDTO;
+import com.sd.tennis.dto.BulkMatchResultDTO;
+import com.sd.tennis.dto.HeadToHeadDTO;
+import com.sd.tennis.dto.LiveScoreDTO;
 import com.sd.tennis.dto.MatchDTO;
+import com.sd.tennis.dto.MatchFilterDTO;
+import com.sd.tennis.dto.MatchPageDTO;
 import com.sd.tennis.dto.MatchResponseDTO;
+import com.sd.tennis.dto.PointDTO;
 import com.sd.tennis.factory.ExportStrategyFactory;
-import com.sd.tennis.mapper.MatchMapper;
 import com.sd.tennis.model.Match;
 import com.sd.tennis.model.User;
+import com.sd.tennis.service.HeadToHeadService;
+import com.sd.tennis.service.LiveScoringService;
 import com.sd.tennis.service.MatchService;
 import com.sd.tennis.util.CsvExportUtil;
 import com.sd.tennis.util.ExportStrategy;
+import com.sd.tennis.util.LiveUpdateHub;
 import com.sd.tennis.util.TxtExportUtil;
 import jakarta.annotation.security.PermitAll;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -27,31 +44,55 @@ public class MatchController {
     @Autowired
     private MatchService matchService;
 
+    @Autowired
+    private CollectionVersions collectionVersions;
+
+    @Autowired
+    private HeadToHeadService headToHeadService;
+
+    @Autowired
+    private LiveScoringService liveScoringService;
+
+    @Autowired
+    private LiveUpdateHub liveUpdateHub;
+
     @PostMapping
     @PreAuthorize("hasAuthority('ADMIN')")
     public ResponseEntity<MatchResponseDTO> createMatch(@Valid @RequestBody MatchDTO matchDTO) {
         Match created = matchService.createMatch(matchDTO);
-        MatchResponseDTO responseDTO = MatchMapper.toMatchResponseDTO(created, created.getOverallScore());
-        return ResponseEntity.ok(responseDTO);
+        return ResponseEntity.ok(matchService.getMatchResponseById(created.getId()));
+    }
+
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<List<BulkMatchResultDTO>> createMatches(@Valid @RequestBody BulkMatchRequestDTO request) {
+        return ResponseEntity.ok(matchService.createMatches(request.getMatches()));
     }
 
     @PermitAll
     @GetMapping
-    public ResponseEntity<List<MatchResponseDTO>> getAllMatches() {
-        List<MatchDTO> matchDTOs = matchService.getAllMatches();
-        List<MatchResponseDTO> responseList = matchDTOs.stream().map(mDto -> {
-            Match entity = matchService.getMatchById(mDto.getMatchId());
-            return MatchMapper.toMatchResponseDTO(entity, entity.getOverallScore());
-        }).toList();
-        return ResponseEntity.ok(responseList);
+    public ResponseEntity<List<MatchResponseDTO>> getAllMatches(WebRequest request) {
+        String etag = collectionVersions.matchesTag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(matchService.getAllMatches());
+    }
+
+    @PermitAll
+    @GetMapping("/page")
+    public ResponseEntity<MatchPageDTO> getMatchesPage(@RequestParam(required = false) String cursor,
+                                                       @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(matchService.getMatchesPage(cursor, size));
     }
 
     @PermitAll
     @GetMapping("/{matchId}")
     public ResponseEntity<MatchResponseDTO> getMatch(@PathVariable Integer matchId) {
-        Match match = matchService.getMatchById(matchId);
-        MatchResponseDTO dto = MatchMapper.toMatchResponseDTO(match, match.getOverallScore());
-        return ResponseEntity.ok(dto);
+        return ResponseEntity.ok(matchService.getMatchResponseById(matchId));
     }
 
     @PutMapping("/{matchId}")
@@ -73,61 +114,84 @@ public class MatchController {
     @PreAuthorize("hasAuthority('ADMIN')")
     public ResponseEntity<MatchResponseDTO> assignReferee(@PathVariable Integer matchId,
                                                           @PathVariable Integer refereeId) {
-        Match updated = matchService.assignRefereeToMatch(matchId, refereeId);
-        MatchResponseDTO dto = MatchMapper.toMatchResponseDTO(updated, updated.getOverallScore());
-        return ResponseEntity.ok(dto);
+        matchService.assignRefereeToMatch(matchId, refereeId);
+        return ResponseEntity.ok(matchService.getMatchResponseById(matchId));
     }
 
     @PermitAll
     @GetMapping("/tournament/{tournamentId}")
-    public ResponseEntity<List<MatchResponseDTO>> getMatchesByTournament(@PathVariable Integer tournamentId) {
-        List<MatchDTO> matchDTOs = matchService.getMatchesByTournamentId(tournamentId);
-        List<MatchResponseDTO> responseList = matchDTOs.stream().map(mDto -> {
-            Match entity = matchService.getMatchById(mDto.getMatchId());
-            return MatchMapper.toMatchResponseDTO(entity, entity.getOverallScore());
-        }).toList();
-        return ResponseEntity.ok(responseList);
+    public ResponseEntity<List<MatchResponseDTO>> getMatchesByTournament(@PathVariable Integer tournamentId,
+                                                                         WebRequest request) {
+        // the tag is taken before reading, so a concurrent change can only make it stale, never too new
+        String etag = collectionVersions.tournamentMatchesTag(tournamentId);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(matchService.getMatchesByTournamentId(tournamentId));
+    }
+
+    @PermitAll
+    @GetMapping("/tournament/{tournamentId}/page")
+    public ResponseEntity<MatchPageDTO> getMatchesPageByTournament(@PathVariable Integer tournamentId,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(matchService.getMatchesPageByTournamentId(tournamentId, cursor, size));
     }
 
     @PermitAll
     @GetMapping("/player/{playerId}")
     public ResponseEntity<List<MatchResponseDTO>> getMatchesByPlayer(@PathVariable Integer playerId) {
-        List<MatchDTO> matchDTOs = matchService.getMatchesByPlayerId(playerId);
-        List<MatchResponseDTO> responseList = matchDTOs.stream().map(mDto -> {
-            Match entity = matchService.getMatchById(mDto.getMatchId());
-            return MatchMapper.toMatchResponseDTO(entity, entity.getOverallScore());
-        }).toList();
-        return ResponseEntity.ok(responseList);
+        return ResponseEntity.ok(matchService.getMatchesByPlayerId(playerId));
+    }
+
+    @PermitAll
+    @GetMapping("/player/{playerId}/page")
+    public ResponseEntity<MatchPageDTO> getMatchesPageByPlayer(@PathVariable Integer playerId,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(matchService.getMatchesPageByPlayerId(playerId, cursor, size));
     }
 
     @PermitAll
     @GetMapping("/referee/{refereeId}")
     public ResponseEntity<List<MatchResponseDTO>> getMatchesByReferee(@PathVariable Integer refereeId) {
-        List<MatchDTO> matchDTOs = matchService.getMatchesByRefereeId(refereeId);
-        List<MatchResponseDTO> responseList = matchDTOs.stream().map(mDto -> {
-            Match entity = matchService.getMatchById(mDto.getMatchId());
-            return MatchMapper.toMatchResponseDTO(entity, entity.getOverallScore());
-        }).toList();
-        return ResponseEntity.ok(responseList);
+        return ResponseEntity.ok(matchService.getMatchesByRefereeId(refereeId));
+    }
+
+    @PermitAll
+    @GetMapping("/referee/{refereeId}/page")
+    public ResponseEntity<MatchPageDTO> getMatchesPageByReferee(@PathVariable Integer refereeId,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(matchService.getMatchesPageByRefereeId(refereeId, cursor, size));
+    }
+
+    @PermitAll
+    @GetMapping("/head-to-head/{player1Id}/{player2Id}")
+    public ResponseEntity<HeadToHeadDTO> getHeadToHead(@PathVariable Integer player1Id,
+                                                       @PathVariable Integer player2Id) {
+        return ResponseEntity.ok(headToHeadService.getHeadToHead(player1Id, player2Id));
     }
 
     @PermitAll
     @GetMapping("/export")
     @PreAuthorize("hasAuthority('ADMIN')")
-    public ResponseEntity<String> exportMatches(
-            @RequestParam String format,
-            @RequestParam(required = false) Integer tournamentId,
-            @RequestParam(required = false) Integer playerId,
-            @RequestParam(required = false) Integer refereeId) {
-        List<MatchDTO> matches = matchService.getFilteredMatches(tournamentId, playerId, refereeId);
+    public ResponseEntity<?> exportMatches(@RequestParam String format, MatchFilterDTO filter) {
         ExportStrategy strategy;
         try {
             strategy = ExportStrategyFactory.getStrategy(format);
         } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body("Invalid format. Use 'csv' or 'txt'.");
+            return ResponseEntity.badRequest().body("Invalid format. Use 'csv', 'txt', 'ndjson' or 'columnar'.");
         }
-        String output = strategy.export(matches);
-        return ResponseEntity.ok(output);
+        StreamingResponseBody body = out -> matchService.exportMatches(filter, strategy, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(strategy.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=matches_export." + strategy.getFileExtension())
+                .body(body);
     }
 
     @PutMapping("/{matchId}/update-score")
@@ -137,8 +201,28 @@ public class MatchController {
                                                         Authentication authentication) {
         Integer refereeId = ((User) authentication.getPrincipal()).getId();
         matchService.updateOverallScore(matchId, overallScore, refereeId);
-        Match updated = matchService.getMatchById(matchId);
-        MatchResponseDTO dto = MatchMapper.toMatchResponseDTO(updated, updated.getOverallScore());
-        return ResponseEntity.ok(dto);
+        return ResponseEntity.ok(matchService.getMatchResponseById(matchId));
+    }
+
+    @PostMapping("/{matchId}/points")
+    @PreAuthorize("hasAuthority('REFEREE')")
+    public ResponseEntity<LiveScoreDTO> scorePoint(@PathVariable Integer matchId,
+                                                   @Valid @RequestBody PointDTO point,
+                                                   Authentication authentication) {
+        Integer refereeId = ((User) authentication.getPrincipal()).getId();
+        return ResponseEntity.ok(liveScoringService.scorePoint(matchId, point.getPlayerId(), refereeId));
+    }
+
+    // pushes score and schedule changes instead of having spectators poll the match
+    @PermitAll
+    @GetMapping(value = "/{matchId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMatch(@PathVariable Integer matchId) {
+        return liveUpdateHub.subscribeToMatch(matchId);
+    }
+
+    @PermitAll
+    @GetMapping("/{matchId}/live")
+    public ResponseEntity<LiveScoreDTO> getLiveScore(@PathVariable Integer matchId) {
+        return ResponseEntity.ok(liveScoringService.getLiveScore(matchId));
     }
 }
@@ -2,9 +2,15 @@ package com.sd.tennis.controller;
 
 import com.sd.tennis.dto.ScoreDetailDTO;
 import com.sd.tennis.dto.ScoreDetailResponseDTO;
+import com.sd.tennis.dto.ScoreEventDTO;
+import com.sd.tennis.dto.ScoreStateDTO;
+import com.sd.tennis.dto.SetScoresDTO;
 import com.sd.tennis.mapper.ScoreDetailMapper;
+import com.sd.tennis.mapper.ScoreHistoryMapper;
 import com.sd.tennis.model.ScoreDetail;
 import com.sd.tennis.service.ScoreDetailService;
+import com.sd.tennis.service.ScoreHistoryService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -18,9 +24,12 @@ public class ScoreDetailController {
     @Autowired
     private ScoreDetailService scoreDetailService;
 
+    @Autowired
+    private ScoreHistoryService scoreHistoryService;
+
     @PostMapping
     @PreAuthorize("hasAuthority('REFEREE')")
-    public ResponseEntity<ScoreDetailResponseDTO> addScoreDetail(@RequestBody ScoreDetailDTO dto) {
+    public ResponseEntity<ScoreDetailResponseDTO> addScoreDetail(@Valid @RequestBody ScoreDetailDTO dto) {
         var created = scoreDetailService.addScoreDetail(dto);
         return ResponseEntity.ok(ScoreDetailMapper.toScoreDetailResponseDTO(created));
     }
@@ -28,11 +37,49 @@ public class ScoreDetailController {
     @PutMapping("/{scoreDetailId}")
     @PreAuthorize("hasAuthority('REFEREE')")
     public ResponseEntity<ScoreDetailResponseDTO> updateScoreDetail(@PathVariable Integer scoreDetailId,
-                                                                    @RequestBody ScoreDetailDTO dto) {
+                                                                    @Valid @RequestBody ScoreDetailDTO dto) {
         var updated = scoreDetailService.updateScoreDetail(scoreDetailId, dto);
         return ResponseEntity.ok(ScoreDetailMapper.toScoreDetailResponseDTO(updated));
     }
 
+    @PutMapping("/match/{matchId}")
+    @PreAuthorize("hasAuthority('REFEREE')")
+    public ResponseEntity<List<ScoreDetailResponseDTO>> replaceSets(@PathVariable Integer matchId,
+                                                                    @Valid @RequestBody SetScoresDTO dto) {
+        var list = scoreDetailService.replaceSets(matchId, dto.getSets()).stream()
+                .map(ScoreDetailMapper::toScoreDetailResponseDTO)
+                .toList();
+        return ResponseEntity.ok(list);
+    }
+
+    @GetMapping("/match/{matchId}/events")
+    @PreAuthorize("hasAnyAuthority('REFEREE','ADMIN')")
+    public ResponseEntity<List<ScoreEventDTO>> getScoreEvents(@PathVariable Integer matchId) {
+        var list = scoreHistoryService.getEvents(matchId).stream()
+                .map(ScoreHistoryMapper::toScoreEventDTO)
+                .toList();
+        return ResponseEntity.ok(list);
+    }
+
+    // the score as of seq, the latest when left out
+    @GetMapping("/match/{matchId}/state")
+    @PreAuthorize("hasAnyAuthority('REFEREE','ADMIN')")
+    public ResponseEntity<ScoreStateDTO> getScoreAt(@PathVariable Integer matchId,
+                                                    @RequestParam(required = false) Integer seq) {
+        return ResponseEntity.ok(scoreHistoryService.getScoreAt(matchId, seq));
+    }
+
+    // puts the set rows and the result back to the state at seq, or rebuilds them from the whole log
+    @PostMapping("/match/{matchId}/revert")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<List<ScoreDetailResponseDTO>> revertScore(@PathVariable Integer matchId,
+                                                                    @RequestParam(required = false) Integer seq) {
+        var list = scoreDetailService.revertTo(matchId, seq).stream()
+                .map(ScoreDetailMapper::toScoreDetailResponseDTO)
+                .toList();
+        return ResponseEntity.ok(list);
+    }
+
     @GetMapping
     @PreAuthorize("hasAnyAuthority('REFEREE','ADMIN')")
     public ResponseEntity<List<ScoreDetailResponseDTO>> getAllScoreDetails() {
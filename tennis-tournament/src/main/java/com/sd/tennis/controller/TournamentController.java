@@ -1,15 +1,37 @@
 package com.sd.tennis.controller;
 
+import com.sd.tennis.cache.CollectionVersions;
+import com.sd.tennis.dto.CourtUtilizationDTO;
+import com.sd.tennis.dto.DrawRequestDTO;
+import com.sd.tennis.dto.DrawResponseDTO;
+import com.sd.tennis.dto.RefereeAssignmentPlanDTO;
+import com.sd.tennis.dto.RefereeAssignmentRequestDTO;
+import com.sd.tennis.dto.ScheduleRequestDTO;
+import com.sd.tennis.dto.ScheduleResponseDTO;
+import com.sd.tennis.dto.SlotDTO;
+import com.sd.tennis.dto.SlotSearchRequestDTO;
 import com.sd.tennis.dto.TournamentDTO;
 import com.sd.tennis.dto.TournamentResponseDTO;
 import com.sd.tennis.mapper.TournamentMapper;
 import com.sd.tennis.model.Tournament;
+import com.sd.tennis.service.DrawService;
+import com.sd.tennis.service.RefereeAssignmentService;
+import com.sd.tennis.service.ScheduleService;
+import com.sd.tennis.service.SlotFinderService;
 import com.sd.tennis.service.TournamentService;
+import com.sd.tennis.service.VenueService;
+import com.sd.tennis.util.LiveUpdateHub;
+import jakarta.validation.Valid;
 import jakarta.annotation.security.PermitAll;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -20,6 +42,27 @@ public class TournamentController {
     @Autowired
     private TournamentService tournamentService;
 
+    @Autowired
+    private CollectionVersions collectionVersions;
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private RefereeAssignmentService refereeAssignmentService;
+
+    @Autowired
+    private DrawService drawService;
+
+    @Autowired
+    private SlotFinderService slotFinderService;
+
+    @Autowired
+    private VenueService venueService;
+
+    @Autowired
+    private LiveUpdateHub liveUpdateHub;
+
     @PostMapping
     @PreAuthorize("hasAuthority('ADMIN')")
     public ResponseEntity<TournamentResponseDTO> createTournament(@RequestBody TournamentDTO tournamentDTO) {
@@ -29,12 +72,19 @@ public class TournamentController {
 
     @PermitAll
     @GetMapping("/all")
-    public ResponseEntity<List<TournamentResponseDTO>> getAllTournaments() {
+    public ResponseEntity<List<TournamentResponseDTO>> getAllTournaments(WebRequest request) {
+        String etag = collectionVersions.tournamentsTag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         var tournaments = tournamentService.listAllTournaments();
         var dtoList = tournaments.stream()
                 .map(TournamentMapper::toTournamentResponseDTO)
                 .toList();
-        return ResponseEntity.ok(dtoList);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(dtoList);
     }
 
     @PermitAll
@@ -44,6 +94,12 @@ public class TournamentController {
         return ResponseEntity.ok(TournamentMapper.toTournamentResponseDTO(t));
     }
 
+    @PermitAll
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTournament(@PathVariable Integer id) {
+        return liveUpdateHub.subscribeToTournament(id);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasAuthority('ADMIN')")
     public ResponseEntity<String> updateTournament(@PathVariable Integer id, @RequestBody TournamentDTO tournamentDTO) {
@@ -51,6 +107,59 @@ public class TournamentController {
         return ResponseEntity.ok("Tournament updated successfully");
     }
 
+    @PostMapping("/{id}/schedule")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<ScheduleResponseDTO> generateSchedule(@PathVariable Integer id,
+                                                                @Valid @RequestBody ScheduleRequestDTO request) {
+        return ResponseEntity.ok(scheduleService.generateSchedule(id, request));
+    }
+
+    @PostMapping("/{id}/slots")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<List<SlotDTO>> findSlots(@PathVariable Integer id,
+                                                   @Valid @RequestBody SlotSearchRequestDTO request) {
+        return ResponseEntity.ok(slotFinderService.findSlots(id, request));
+    }
+
+    @GetMapping("/{id}/court-utilization")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<List<CourtUtilizationDTO>> getCourtUtilization(@PathVariable Integer id) {
+        return ResponseEntity.ok(venueService.getCourtUtilization(id));
+    }
+
+    @PostMapping("/{id}/draw")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<DrawResponseDTO> generateDraw(@PathVariable Integer id,
+                                                        @Valid @RequestBody DrawRequestDTO request) {
+        return ResponseEntity.ok(drawService.generateDraw(id, request));
+    }
+
+    @PermitAll
+    @GetMapping("/{id}/draw")
+    public ResponseEntity<DrawResponseDTO> getDraw(@PathVariable Integer id) {
+        return ResponseEntity.ok(drawService.getDraw(id));
+    }
+
+    @PostMapping("/{id}/draw/schedule")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<DrawResponseDTO> scheduleReadyDrawMatches(@PathVariable Integer id) {
+        return ResponseEntity.ok(drawService.scheduleReadyMatches(id));
+    }
+
+    @PostMapping("/{id}/referee-assignments/preview")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<RefereeAssignmentPlanDTO> previewRefereeAssignments(@PathVariable Integer id,
+                                                                              @RequestBody RefereeAssignmentRequestDTO request) {
+        return ResponseEntity.ok(refereeAssignmentService.previewAssignments(id, request));
+    }
+
+    @PostMapping("/{id}/referee-assignments")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<RefereeAssignmentPlanDTO> assignReferees(@PathVariable Integer id,
+                                                                   @RequestBody RefereeAssignmentRequestDTO request) {
+        return ResponseEntity.ok(refereeAssignmentService.commitAssignments(id, request));
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAuthority('ADMIN')")
     public ResponseEntity<String> deleteTournament(@PathVariable Integer id) {
@@ -0,0 +1,43 @@
+package com.sd.tennis.controller;
+
+import com.sd.tennis.dto.CourtResponseDTO;
+import com.sd.tennis.dto.VenueDTO;
+import com.sd.tennis.dto.VenueResponseDTO;
+import com.sd.tennis.mapper.VenueMapper;
+import com.sd.tennis.service.VenueService;
+import jakarta.annotation.security.PermitAll;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/venues")
+public class VenueController {
+
+    @Autowired
+    private VenueService venueService;
+
+    @PostMapping
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<VenueResponseDTO> createVenue(@Valid @RequestBody VenueDTO venueDTO) {
+        return ResponseEntity.ok(VenueMapper.toVenueResponseDTO(venueService.createVenue(venueDTO)));
+    }
+
+    @PostMapping("/{id}/courts")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<CourtResponseDTO> addCourt(@PathVariable Integer id, @RequestParam String name) {
+        return ResponseEntity.ok(VenueMapper.toCourtResponseDTO(venueService.addCourt(id, name)));
+    }
+
+    @PermitAll
+    @GetMapping("/all")
+    public ResponseEntity<List<VenueResponseDTO>> getAllVenues() {
+        return ResponseEntity.ok(venueService.listAllVenues().stream()
+                .map(VenueMapper::toVenueResponseDTO)
+                .toList());
+    }
+}
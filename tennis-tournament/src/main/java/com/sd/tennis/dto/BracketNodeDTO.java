@@ -0,0 +1,25 @@
+package com.sd.tennis.dto;
+
+import lombok.Data;
+
+@Data
+public class BracketNodeDTO {
+    private Integer id;
+    private String stage;
+    private Integer groupNumber;
+    private int round;
+    private int position;
+    private Integer player1Id;
+    private Integer player2Id;
+    private Integer seed1;
+    private Integer seed2;
+    private Integer matchId;
+    private Integer winnerId;
+    private Integer nextNodeId;
+    private Integer nextSlot;
+    private Integer source1Group;
+    private Integer source1Rank;
+    private Integer source2Group;
+    private Integer source2Rank;
+    private String rejectedAdvancement;
+}
@@ -0,0 +1,15 @@
+package com.sd.tennis.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkMatchRequestDTO {
+    @NotEmpty(message = "Matches cannot be empty")
+    @Size(max = 1000, message = "At most 1000 matches can be created at once")
+    private List<@Valid MatchDTO> matches;
+}
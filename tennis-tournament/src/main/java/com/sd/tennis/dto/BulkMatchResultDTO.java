@@ -0,0 +1,14 @@
+package com.sd.tennis.dto;
+
+import lombok.Data;
+
+@Data
+public class BulkMatchResultDTO {
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+
+    private int index;
+    private Integer matchId;
+    private String status;
+    private String error;
+}
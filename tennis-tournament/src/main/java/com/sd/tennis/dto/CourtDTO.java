@@ -0,0 +1,29 @@
+package com.sd.tennis.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourtDTO {
+    // free text; ignored when courtId names a court, whose label is used instead
+    private String venue;
+
+    @NotNull(message = "Opening time cannot be null")
+    private LocalTime opensAt;
+
+    @NotNull(message = "Closing time cannot be null")
+    private LocalTime closesAt;
+
+    // a court from the venue registry; the hours are narrowed to the venue's opening hours
+    private Integer courtId;
+
+    public CourtDTO(String venue, LocalTime opensAt, LocalTime closesAt) {
+        this(venue, opensAt, closesAt, null);
+    }
+}
@@ -0,0 +1,14 @@
+package com.sd.tennis.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourtResponseDTO {
+    private Integer id;
+    private String name;
+    private String label;
+}
@@ -0,0 +1,26 @@
+package com.sd.tennis.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourtUtilizationDTO {
+    private Integer courtId;
+    private String venue;
+    private String court;
+    private LocalDate date;
+    private int matches;
+    private long openMinutes;
+    private long bookedMinutes;
+
+    // minutes in which more than one match holds the court
+    private long overbookedMinutes;
+
+    // booked share of the opening hours, 0 to 1
+    private double utilization;
+}
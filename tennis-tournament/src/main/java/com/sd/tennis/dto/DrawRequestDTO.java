@@ -0,0 +1,25 @@
+package com.sd.tennis.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class DrawRequestDTO {
+    @NotBlank(message = "Format cannot be empty")
+    private String format;
+
+    // round robin and group-to-knockout only
+    private Integer groupCount;
+
+    // group-to-knockout only; defaults to 2
+    private Integer advancePerGroup;
+
+    @NotEmpty(message = "Courts cannot be empty")
+    private List<@Valid CourtDTO> courts;
+
+    private List<Integer> refereeIds;
+}
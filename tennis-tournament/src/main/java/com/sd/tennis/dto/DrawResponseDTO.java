@@ -0,0 +1,19 @@
+package com.sd.tennis.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class DrawResponseDTO {
+    private Integer drawId;
+    private Integer tournamentId;
+    private String format;
+    private Integer bracketSize;
+    private Integer groupCount;
+    private Integer advancePerGroup;
+    private List<BracketNodeDTO> nodes = new ArrayList<>();
+    // playable first-round pairings that did not fit the courts; their nodes have no match yet
+    private List<PairingDTO> unscheduled = new ArrayList<>();
+}
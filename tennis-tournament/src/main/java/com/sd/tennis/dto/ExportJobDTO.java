@@ -0,0 +1,16 @@
+package com.sd.tennis.dto;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class ExportJobDTO {
+    private String jobId;
+    private String format;
+    private String status;
+    private Instant createdAt;
+    private Instant completedAt;
+    private Long sizeBytes;
+    private String error;
+}
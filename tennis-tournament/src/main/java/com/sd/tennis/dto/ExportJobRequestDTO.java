@@ -0,0 +1,12 @@
+package com.sd.tennis.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class ExportJobRequestDTO {
+    @NotBlank(message = "Format cannot be empty")
+    private String format;
+
+    private MatchFilterDTO filter = new MatchFilterDTO();
+}
@@ -0,0 +1,19 @@
+package com.sd.tennis.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class HeadToHeadDTO {
+    private Integer player1Id;
+    private String player1Name;
+    private Integer player2Id;
+    private String player2Name;
+    private int matches;
+    private int player1Wins;
+    private int player2Wins;
+    private int player1Sets;
+    private int player2Sets;
+    private MatchResponseDTO lastMeeting;
+}
@@ -0,0 +1,18 @@
+package com.sd.tennis.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class LiveScoreDTO {
+    private Integer matchId;
+    private Integer pointsPlayed;
+    // games per set, e.g. "6-4", the set in progress last
+    private List<String> sets;
+    private String games;
+    private String points;
+    private boolean tiebreak;
+    private String overallScore;
+    private Integer winnerId;
+}
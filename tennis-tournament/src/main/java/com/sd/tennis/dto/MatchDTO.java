@@ -34,9 +34,14 @@ public class MatchDTO {
     @NotNull(message = "Match date cannot be null")
     private LocalDateTime matchDate;
 
-    @NotNull(message = "Venue cannot be null")
+    // required unless courtId is given, in which case the court's label is used
     private String venue;
 
+    private Integer courtId;
+
+    // 3 or 5, 3 when not given
+    private Integer bestOf;
+
     @Size(max = 4, message = "Overall score cannot exceed 4 characters")
     @Pattern(regexp = "\\d-\\d", message = "Overall score must be in the format 'X-Y'")
     private String overallScore;
@@ -0,0 +1,21 @@
+package com.sd.tennis.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+public class MatchFilterDTO {
+    private Integer tournamentId;
+    private Integer playerId;
+    private Integer refereeId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    private String venue;
+}
@@ -0,0 +1,15 @@
+package com.sd.tennis.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchPageDTO {
+    private List<MatchResponseDTO> items;
+    private String nextCursor;
+}
@@ -1,10 +1,14 @@
 package com.sd.tennis.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class MatchResponseDTO {
     private Integer matchId;
     private Integer tournamentId;
@@ -0,0 +1,30 @@
+package com.sd.tennis.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// pushed to live subscribers; only the fields the change touched are set
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MatchUpdateDTO {
+    public static final String SCORE = "SCORE";
+    public static final String SET = "SET";
+    public static final String POINT = "POINT";
+    public static final String SCHEDULE = "SCHEDULE";
+
+    private String type;
+    private Integer matchId;
+    private Integer tournamentId;
+    private String overallScore;
+    private Integer winnerId;
+    private LocalDateTime matchDate;
+    private String venue;
+    private Integer refereeId;
+    private Integer setNumber;
+    private Integer player1Score;
+    private Integer player2Score;
+    private String games;
+    private String points;
+}
@@ -0,0 +1,17 @@
+package com.sd.tennis.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PairingDTO {
+    @NotNull(message = "Player 1 ID cannot be null")
+    private Integer player1Id;
+
+    @NotNull(message = "Player 2 ID cannot be null")
+    private Integer player2Id;
+}
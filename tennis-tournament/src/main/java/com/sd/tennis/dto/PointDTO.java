@@ -0,0 +1,10 @@
+package com.sd.tennis.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class PointDTO {
+    @NotNull(message = "Player ID cannot be null")
+    private Integer playerId;
+}
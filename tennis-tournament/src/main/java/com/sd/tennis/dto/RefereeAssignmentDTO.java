@@ -0,0 +1,14 @@
+package com.sd.tennis.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class RefereeAssignmentDTO {
+    private Integer matchId;
+    private LocalDateTime matchDate;
+    private Integer previousRefereeId;
+    private Integer refereeId;
+    private String refereeName;
+}
@@ -0,0 +1,19 @@
+package com.sd.tennis.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class RefereeAssignmentPlanDTO {
+    private List<RefereeAssignmentDTO> assignments = new ArrayList<>();
+    // matches no eligible referee could take; they keep their current referee
+    private List<Integer> unassignedMatchIds = new ArrayList<>();
+    // matches per referee in the tournament once the plan is applied
+    private Map<Integer, Integer> loads = new LinkedHashMap<>();
+    private int maxLoad;
+    private boolean committed;
+}
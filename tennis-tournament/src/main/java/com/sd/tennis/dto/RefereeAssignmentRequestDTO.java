@@ -0,0 +1,14 @@
+package com.sd.tennis.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class RefereeAssignmentRequestDTO {
+    // every match of the tournament without a winner when empty
+    private List<Integer> matchIds;
+
+    // all users with the REFEREE role when empty
+    private List<Integer> refereeIds;
+}
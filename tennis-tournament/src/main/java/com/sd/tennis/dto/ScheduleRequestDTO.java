@@ -0,0 +1,23 @@
+package com.sd.tennis.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class ScheduleRequestDTO {
+    @NotEmpty(message = "Pairings cannot be empty")
+    private List<@Valid PairingDTO> pairings;
+
+    @NotEmpty(message = "Courts cannot be empty")
+    private List<@Valid CourtDTO> courts;
+
+    // all users with the REFEREE role when empty
+    private List<Integer> refereeIds;
+
+    // no match starts earlier than this; defaults to now
+    private LocalDateTime notBefore;
+}
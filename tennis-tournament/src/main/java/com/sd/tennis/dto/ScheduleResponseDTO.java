@@ -0,0 +1,12 @@
+package com.sd.tennis.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ScheduleResponseDTO {
+    private List<MatchDTO> scheduled = new ArrayList<>();
+    private List<PairingDTO> unscheduled = new ArrayList<>();
+}
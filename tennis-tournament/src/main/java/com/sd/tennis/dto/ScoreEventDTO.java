@@ -0,0 +1,17 @@
+package com.sd.tennis.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ScoreEventDTO {
+    private Integer matchId;
+    private Integer seq;
+    private String type;
+    private Integer setNumber;
+    private Integer player1Score;
+    private Integer player2Score;
+    private Integer winnerSide;
+    private LocalDateTime recordedAt;
+}
@@ -0,0 +1,15 @@
+package com.sd.tennis.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+// a match's score as of one seq of its score log
+@Data
+public class ScoreStateDTO {
+    private Integer matchId;
+    private Integer seq;
+    private List<SetScoreDTO> sets;
+    private String overallScore;
+    private Integer winnerId;
+}
@@ -0,0 +1,15 @@
+package com.sd.tennis.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SetScoresDTO {
+    @NotEmpty(message = "Sets cannot be empty")
+    @Size(max = 5, message = "A match has at most 5 sets")
+    private List<@Valid SetScoreDTO> sets;
+}
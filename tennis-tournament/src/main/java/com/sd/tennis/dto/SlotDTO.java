@@ -0,0 +1,19 @@
+package com.sd.tennis.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotDTO {
+    private LocalDateTime start;
+    private String venue;
+    private Integer refereeId;
+
+    // share of the court's slots that day already taken by other matches
+    private double courtUtilization;
+}
@@ -0,0 +1,22 @@
+package com.sd.tennis.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SlotSearchRequestDTO {
+    @NotNull(message = "Player 1 ID cannot be null")
+    private Integer player1Id;
+
+    @NotNull(message = "Player 2 ID cannot be null")
+    private Integer player2Id;
+
+    // any free referee when null
+    private Integer refereeId;
+
+    // the courts stored with the tournament's draw when empty
+    private List<@Valid CourtDTO> courts;
+}
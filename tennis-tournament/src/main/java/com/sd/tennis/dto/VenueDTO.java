@@ -0,0 +1,26 @@
+package com.sd.tennis.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+public class VenueDTO {
+    @NotBlank(message = "Venue name cannot be empty")
+    @Size(max = 60, message = "Venue name cannot exceed 60 characters")
+    private String name;
+
+    @NotNull(message = "Opening time cannot be null")
+    private LocalTime opensAt;
+
+    @NotNull(message = "Closing time cannot be null")
+    private LocalTime closesAt;
+
+    @NotEmpty(message = "A venue needs at least one court")
+    private List<@NotBlank @Size(max = 30, message = "Court name cannot exceed 30 characters") String> courts;
+}
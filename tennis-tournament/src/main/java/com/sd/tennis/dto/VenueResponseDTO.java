@@ -0,0 +1,15 @@
+package com.sd.tennis.dto;
+
+import lombok.Data;
+
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+public class VenueResponseDTO {
+    private Integer id;
+    private String name;
+    private LocalTime opensAt;
+    private LocalTime closesAt;
+    private List<CourtResponseDTO> courts;
+}
@@ -0,0 +1,10 @@
+package com.sd.tennis.event;
+
+import com.sd.tennis.dto.MatchUpdateDTO;
+
+/**
+ * Published when a match's score or schedule changes; live subscribers get {@code update} once the transaction
+ * commits, or straight away when there is none.
+ */
+public record MatchUpdatedEvent(MatchUpdateDTO update) {
+}
@@ -0,0 +1,7 @@
+package com.sd.tennis.event;
+
+/**
+ * Published inside the transaction that sets or clears a match's winner; {@code winnerId} is null when cleared.
+ */
+public record MatchWinnerChangedEvent(Integer matchId, Integer tournamentId, Integer winnerId) {
+}
@@ -0,0 +1,12 @@
+package com.sd.tennis.exception;
+
+import java.io.Serial;
+
+public class ExportNotReadyException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public ExportNotReadyException(String message) {
+        super(message);
+    }
+}
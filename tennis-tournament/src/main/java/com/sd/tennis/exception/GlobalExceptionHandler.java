@@ -31,4 +31,24 @@ public class GlobalExceptionHandler {
     public ResponseEntity<?> handleNegativeValueException(NegativeValueException ex) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
     }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<?> handleInvalidCursorException(InvalidCursorException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidDrawException.class)
+    public ResponseEntity<?> handleInvalidDrawException(InvalidDrawException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(ExportNotReadyException.class)
+    public ResponseEntity<?> handleExportNotReadyException(ExportNotReadyException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(LockTimeoutException.class)
+    public ResponseEntity<?> handleLockTimeoutException(LockTimeoutException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
 }
@@ -0,0 +1,12 @@
+package com.sd.tennis.exception;
+
+import java.io.Serial;
+
+public class LockTimeoutException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public LockTimeoutException(String message) {
+        super(message);
+    }
+}
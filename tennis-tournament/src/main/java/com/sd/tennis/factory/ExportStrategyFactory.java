@@ -1,7 +1,9 @@
 package com.sd.tennis.factory;
 
+import com.sd.tennis.util.ColumnarExportUtil;
 import com.sd.tennis.util.CsvExportUtil;
 import com.sd.tennis.util.ExportStrategy;
+import com.sd.tennis.util.NdjsonGzipExportUtil;
 import com.sd.tennis.util.TxtExportUtil;
 
 public class ExportStrategyFactory {
@@ -10,8 +12,11 @@ public class ExportStrategyFactory {
             return new CsvExportUtil();
         } else if ("txt".equalsIgnoreCase(format)) {
             return new TxtExportUtil();
+        } else if ("ndjson".equalsIgnoreCase(format)) {
+            return new NdjsonGzipExportUtil();
+        } else if ("columnar".equalsIgnoreCase(format)) {
+            return new ColumnarExportUtil();
         }
         throw new IllegalArgumentException("Invalid format: " + format);
     }
 }
-
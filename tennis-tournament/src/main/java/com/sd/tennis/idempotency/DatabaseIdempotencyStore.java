@@ -0,0 +1,71 @@
+package com.sd.tennis.idempotency;
+
+import com.sd.tennis.model.IdempotencyRecord;
+import com.sd.tennis.repository.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency keys shared by every node through the {@code idempotency_keys} table. The primary key decides which
+ * request gets a key; expired rows are removed by the cleanup job, or on the spot when their key is claimed again.
+ */
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "database")
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+    private final IdempotencyRecordRepository repository;
+    private final long ttlMinutes;
+
+    public DatabaseIdempotencyStore(IdempotencyRecordRepository repository,
+                                    @Value("${app.idempotency.ttl-minutes:1440}") long ttlMinutes) {
+        this.repository = repository;
+        this.ttlMinutes = ttlMinutes;
+    }
+
+    @Override
+    public Claim claim(String key, String fingerprint) {
+        // once to take the key, once more if it was held by an expired or released request
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                repository.insert(key, fingerprint, LocalDateTime.now());
+                return Claim.ACQUIRED;
+            } catch (DataIntegrityViolationException e) {
+                IdempotencyRecord existing = repository.findById(key).orElse(null);
+                if (existing == null || repository.deleteExpired(key, cutoff()) > 0) {
+                    continue;
+                }
+                if (!existing.getFingerprint().equals(fingerprint)) {
+                    return Claim.MISMATCH;
+                }
+                if (existing.getStatus() == null) {
+                    return Claim.IN_PROGRESS;
+                }
+                return new Claim(Outcome.COMPLETED,
+                        new StoredResponse(existing.getStatus(), existing.getContentType(), existing.getBody()));
+            }
+        }
+        return Claim.IN_PROGRESS;
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        repository.complete(key, response.status(), response.contentType(), response.body());
+    }
+
+    @Override
+    public void release(String key) {
+        repository.release(key);
+    }
+
+    @Override
+    public void purgeExpired() {
+        repository.deleteAllExpired(cutoff());
+    }
+
+    private LocalDateTime cutoff() {
+        return LocalDateTime.now().minusMinutes(ttlMinutes);
+    }
+}
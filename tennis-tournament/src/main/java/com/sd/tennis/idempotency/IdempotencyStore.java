@@ -0,0 +1,37 @@
+package com.sd.tennis.idempotency;
+
+/**
+ * Remembers the outcome of requests sent with an {@code Idempotency-Key}, so a client retrying after a lost
+ * response gets the stored response back instead of running the write again. A key is claimed before the
+ * request runs, completed with its response when it succeeds, and released when it fails, so a failed request
+ * can be retried for real. Keys expire after {@code app.idempotency.ttl-minutes}.
+ */
+public interface IdempotencyStore {
+    enum Outcome {
+        // the caller runs the request and then completes or releases the key
+        ACQUIRED,
+        // the first request with this key has not finished yet
+        IN_PROGRESS,
+        // the response of the first request is attached
+        COMPLETED,
+        // the key was used for a different request
+        MISMATCH
+    }
+
+    record StoredResponse(int status, String contentType, byte[] body) {
+    }
+
+    record Claim(Outcome outcome, StoredResponse response) {
+        static final Claim ACQUIRED = new Claim(Outcome.ACQUIRED, null);
+        static final Claim IN_PROGRESS = new Claim(Outcome.IN_PROGRESS, null);
+        static final Claim MISMATCH = new Claim(Outcome.MISMATCH, null);
+    }
+
+    Claim claim(String key, String fingerprint);
+
+    void complete(String key, StoredResponse response);
+
+    void release(String key);
+
+    void purgeExpired();
+}
@@ -0,0 +1,132 @@
+package com.sd.tennis.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process idempotency keys: a hash map for the lookups and a queue in claim order for eviction. Every key lives
+ * for the same time, so claim order is also expiry order and eviction only ever looks at the head of the queue.
+ * Past {@code app.idempotency.max-keys} the oldest finished keys go early. A key whose request is still running is
+ * never pushed out to make room, so while the oldest key is in progress the store can run over the limit until it
+ * finishes. Released keys stop counting at once and are skipped when they reach the head.
+ */
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "local", matchIfMissing = true)
+public class LocalIdempotencyStore implements IdempotencyStore {
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> order = new ConcurrentLinkedQueue<>();
+    // live entries in the queue; the queue's own size() walks it and counts released ones too
+    private final AtomicInteger queued = new AtomicInteger();
+    private final int maxKeys;
+    private final long ttlMillis;
+
+    public LocalIdempotencyStore(@Value("${app.idempotency.max-keys:100000}") int maxKeys,
+                                 @Value("${app.idempotency.ttl-minutes:1440}") long ttlMinutes) {
+        this.maxKeys = maxKeys;
+        this.ttlMillis = TimeUnit.MINUTES.toMillis(ttlMinutes);
+    }
+
+    @Override
+    public Claim claim(String key, String fingerprint) {
+        purgeExpired();
+        while (true) {
+            Entry fresh = new Entry(key, fingerprint, now());
+            Entry existing = entries.putIfAbsent(key, fresh);
+            if (existing == null || (isExpired(existing) && entries.replace(key, existing, fresh))) {
+                if (existing != null) {
+                    drop(existing);
+                }
+                order.add(fresh);
+                queued.incrementAndGet();
+                purgeExpired();
+                return Claim.ACQUIRED;
+            }
+            if (isExpired(existing)) {
+                // lost the race to replace it; look again
+                continue;
+            }
+            if (!existing.fingerprint.equals(fingerprint)) {
+                return Claim.MISMATCH;
+            }
+            StoredResponse response = existing.response;
+            return response == null ? Claim.IN_PROGRESS : new Claim(Outcome.COMPLETED, response);
+        }
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.response = response;
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        entries.computeIfPresent(key, (k, entry) -> {
+            if (entry.response != null) {
+                return entry;
+            }
+            drop(entry);
+            return null;
+        });
+    }
+
+    @Override
+    public void purgeExpired() {
+        Entry head;
+        while ((head = order.peek()) != null
+                && (head.dropped.get() || isExpired(head) || (queued.get() > maxKeys && head.response != null))) {
+            if (order.remove(head)) {
+                drop(head);
+                entries.remove(head.key, head);
+            }
+        }
+    }
+
+    // an entry leaves the count once, whether it was released, replaced or purged
+    private void drop(Entry entry) {
+        if (entry.dropped.compareAndSet(false, true)) {
+            queued.decrementAndGet();
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    int queued() {
+        return queued.get();
+    }
+
+    // overridden by tests to move time along
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    private boolean isExpired(Entry entry) {
+        return now() - entry.createdAt >= ttlMillis;
+    }
+
+    private static final class Entry {
+        final String key;
+        final String fingerprint;
+        final long createdAt;
+        final AtomicBoolean dropped = new AtomicBoolean();
+        volatile StoredResponse response;
+
+        Entry(String key, String fingerprint, long createdAt) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.createdAt = createdAt;
+        }
+    }
+}
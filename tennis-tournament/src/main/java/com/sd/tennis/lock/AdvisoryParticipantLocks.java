@@ -0,0 +1,73 @@
+package com.sd.tennis.lock;
+
+import com.sd.tennis.exception.LockTimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Participant locks shared by every node through MySQL named locks. The locks belong to the connection, which
+ * the transaction keeps until after its completion callbacks, so they are released on the same connection
+ * once the transaction has committed or rolled back.
+ */
+@Component
+@ConditionalOnProperty(name = "app.scheduling.locks", havingValue = "database")
+public class AdvisoryParticipantLocks implements ParticipantLocks {
+    private static final String PREFIX = "tennis.participant.";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long timeoutSeconds;
+
+    public AdvisoryParticipantLocks(JdbcTemplate jdbcTemplate,
+                                    @Value("${app.scheduling.lock-timeout-ms:10000}") long timeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.timeoutSeconds = Math.max(1, timeoutMillis / 1000);
+    }
+
+    @Override
+    public void lock(Collection<Integer> participantIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Participant locks must be taken inside a transaction");
+        }
+        List<String> names = participantIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .map(id -> PREFIX + id)
+                .toList();
+        for (int i = 0; i < names.size(); i++) {
+            Integer acquired = jdbcTemplate.queryForObject("SELECT GET_LOCK(?, ?)", Integer.class,
+                    names.get(i), timeoutSeconds);
+            if (acquired == null || acquired != 1) {
+                release(names.subList(0, i));
+                throw new LockTimeoutException("Another schedule change for these participants is in progress, try again");
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            // before the after-commit listeners, which may start transactions of their own that need these locks
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                release(names);
+            }
+        });
+    }
+
+    private void release(List<String> names) {
+        for (String name : names) {
+            jdbcTemplate.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, name);
+        }
+    }
+}
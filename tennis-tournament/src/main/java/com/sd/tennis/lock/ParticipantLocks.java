@@ -0,0 +1,14 @@
+package com.sd.tennis.lock;
+
+import java.util.Collection;
+
+/**
+ * Serializes scheduling writes that share a player or referee. Locks are taken in ascending key order and held
+ * until the surrounding transaction completes, so the booking indexes already show the new match by the time
+ * the next writer for the same participant gets through. Writes with no participant in common never wait on
+ * each other. Courts share the key space under their negated id, the same way the booking index stores them, and
+ * free-text venues under a hash of their name, which at worst makes a write wait on an unrelated one.
+ */
+public interface ParticipantLocks {
+    void lock(Collection<Integer> participantIds);
+}
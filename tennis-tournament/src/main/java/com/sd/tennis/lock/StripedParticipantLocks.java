@@ -0,0 +1,87 @@
+package com.sd.tennis.lock;
+
+import com.sd.tennis.exception.LockTimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process participant locks: a fixed array of stripes, so memory stays bounded however many users exist.
+ * Two participants may share a stripe, which only costs an occasional needless wait, never a missed conflict.
+ */
+@Component
+@ConditionalOnProperty(name = "app.scheduling.locks", havingValue = "local", matchIfMissing = true)
+public class StripedParticipantLocks implements ParticipantLocks {
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+
+    public StripedParticipantLocks(@Value("${app.scheduling.lock-stripes:1024}") int stripes,
+                                   @Value("${app.scheduling.lock-timeout-ms:10000}") long timeoutMillis) {
+        // a power of two so the stripe is a mask of the spread hash
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public void lock(Collection<Integer> participantIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Participant locks must be taken inside a transaction");
+        }
+        int[] indexes = participantIds.stream()
+                .filter(Objects::nonNull)
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .toArray();
+        for (int i = 0; i < indexes.length; i++) {
+            ReentrantLock stripe = stripes[indexes[i]];
+            boolean acquired;
+            try {
+                acquired = stripe.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+            if (!acquired) {
+                for (int j = 0; j < i; j++) {
+                    stripes[indexes[j]].unlock();
+                }
+                throw new LockTimeoutException("Another schedule change for these participants is in progress, try again");
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            // before the after-commit listeners, which may start transactions of their own that need these locks
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                for (int i = indexes.length - 1; i >= 0; i--) {
+                    stripes[indexes[i]].unlock();
+                }
+            }
+        });
+    }
+
+    int stripeOf(int participantId) {
+        int h = participantId * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (stripes.length - 1);
+    }
+}
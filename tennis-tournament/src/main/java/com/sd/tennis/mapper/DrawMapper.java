@@ -0,0 +1,46 @@
+package com.sd.tennis.mapper;
+
+import com.sd.tennis.dto.BracketNodeDTO;
+import com.sd.tennis.dto.DrawResponseDTO;
+import com.sd.tennis.model.BracketNode;
+import com.sd.tennis.model.Draw;
+
+import java.util.List;
+
+public class DrawMapper {
+
+    public static DrawResponseDTO toDrawResponseDTO(Draw draw, List<BracketNode> nodes) {
+        DrawResponseDTO dto = new DrawResponseDTO();
+        dto.setDrawId(draw.getId());
+        dto.setTournamentId(draw.getTournament().getId());
+        dto.setFormat(draw.getFormat());
+        dto.setBracketSize(draw.getBracketSize());
+        dto.setGroupCount(draw.getGroupCount());
+        dto.setAdvancePerGroup(draw.getAdvancePerGroup());
+        dto.setNodes(nodes.stream().map(DrawMapper::toBracketNodeDTO).toList());
+        return dto;
+    }
+
+    public static BracketNodeDTO toBracketNodeDTO(BracketNode node) {
+        BracketNodeDTO dto = new BracketNodeDTO();
+        dto.setId(node.getId());
+        dto.setStage(node.getStage());
+        dto.setGroupNumber(node.getGroupNumber());
+        dto.setRound(node.getRound());
+        dto.setPosition(node.getPosition());
+        dto.setPlayer1Id(node.getPlayer1() == null ? null : node.getPlayer1().getId());
+        dto.setPlayer2Id(node.getPlayer2() == null ? null : node.getPlayer2().getId());
+        dto.setSeed1(node.getSeed1());
+        dto.setSeed2(node.getSeed2());
+        dto.setMatchId(node.getMatch() == null ? null : node.getMatch().getId());
+        dto.setWinnerId(node.getWinner() == null ? null : node.getWinner().getId());
+        dto.setNextNodeId(node.getNextNode() == null ? null : node.getNextNode().getId());
+        dto.setNextSlot(node.getNextSlot());
+        dto.setSource1Group(node.getSource1Group());
+        dto.setSource1Rank(node.getSource1Rank());
+        dto.setSource2Group(node.getSource2Group());
+        dto.setSource2Rank(node.getSource2Rank());
+        dto.setRejectedAdvancement(node.getRejectedAdvancement());
+        return dto;
+    }
+}
@@ -0,0 +1,32 @@
+package com.sd.tennis.mapper;
+
+import com.sd.tennis.cache.LiveScoreBoard.Snapshot;
+import com.sd.tennis.dto.LiveScoreDTO;
+import com.sd.tennis.dto.MatchUpdateDTO;
+
+public class LiveScoreMapper {
+    public static LiveScoreDTO toLiveScoreDTO(Snapshot snapshot) {
+        LiveScoreDTO dto = new LiveScoreDTO();
+        dto.setMatchId(snapshot.matchId());
+        dto.setPointsPlayed(snapshot.pointsPlayed());
+        dto.setSets(snapshot.sets().stream().map(set -> set[0] + "-" + set[1]).toList());
+        dto.setGames(snapshot.games());
+        dto.setPoints(snapshot.points());
+        dto.setTiebreak(snapshot.tiebreak());
+        dto.setOverallScore(snapshot.overallScore());
+        dto.setWinnerId(snapshot.winnerId());
+        return dto;
+    }
+
+    public static MatchUpdateDTO toMatchUpdateDTO(Snapshot snapshot) {
+        MatchUpdateDTO update = new MatchUpdateDTO();
+        update.setType(MatchUpdateDTO.POINT);
+        update.setMatchId(snapshot.matchId());
+        update.setTournamentId(snapshot.tournamentId());
+        update.setGames(snapshot.games());
+        update.setPoints(snapshot.points());
+        update.setOverallScore(snapshot.overallScore());
+        update.setWinnerId(snapshot.winnerId());
+        return update;
+    }
+}
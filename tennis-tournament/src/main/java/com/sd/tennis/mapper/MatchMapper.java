@@ -1,42 +1,70 @@
 package com.sd.tennis.mapper;
 
-import com.sd.tennis.dto.MatchResponseDTO;
+import com.sd.tennis.dto.MatchUpdateDTO;
 import com.sd.tennis.model.Match;
+import com.sd.tennis.model.MatchView;
 import com.sd.tennis.model.User;
 
 public class MatchMapper {
-    public static MatchResponseDTO toMatchResponseDTO(Match match, String overallScore) {
+    public static MatchView toMatchView(Match match) {
         if (match == null) return null;
 
-        MatchResponseDTO dto = new MatchResponseDTO();
-        dto.setMatchId(match.getId());
-        dto.setTournamentId(match.getTournament().getId());
-        dto.setTournamentName(match.getTournament().getName());
+        MatchView view = new MatchView();
+        view.setMatchId(match.getId());
+        view.setTournamentId(match.getTournament().getId());
+        view.setTournamentName(match.getTournament().getName());
 
         User p1 = match.getPlayer1();
-        dto.setPlayer1Id(p1.getId());
-        dto.setPlayer1Name(p1.getFirstName() + " " + p1.getLastName());
+        view.setPlayer1Id(p1.getId());
+        view.setPlayer1Name(fullName(p1));
 
         User p2 = match.getPlayer2();
-        dto.setPlayer2Id(p2.getId());
-        dto.setPlayer2Name(p2.getFirstName() + " " + p2.getLastName());
+        view.setPlayer2Id(p2.getId());
+        view.setPlayer2Name(fullName(p2));
+        view.setMinPlayerId(Math.min(p1.getId(), p2.getId()));
+        view.setMaxPlayerId(Math.max(p1.getId(), p2.getId()));
 
-        User ref = match.getReferee();
-        dto.setRefereeId(ref.getId());
-        dto.setRefereeName(ref.getFirstName() + " " + ref.getLastName());
+        setReferee(view, match.getReferee());
+        setWinner(view, match.getWinner());
 
-        if (match.getWinner() != null) {
-            dto.setWinnerId(match.getWinner().getId());
-            dto.setWinnerName(match.getWinner().getFirstName() + " " + match.getWinner().getLastName());
+        view.setMatchDate(match.getMatchDate());
+        view.setVenue(match.getVenue());
+        view.setOverallScore(match.getOverallScore());
+
+        return view;
+    }
+
+    public static void setReferee(MatchView view, User referee) {
+        view.setRefereeId(referee.getId());
+        view.setRefereeName(fullName(referee));
+    }
+
+    public static void setWinner(MatchView view, User winner) {
+        if (winner != null) {
+            view.setWinnerId(winner.getId());
+            view.setWinnerName(fullName(winner));
         } else {
-            dto.setWinnerId(null);
-            dto.setWinnerName("N/A");
+            view.setWinnerId(null);
+            view.setWinnerName("N/A");
         }
+    }
 
-        dto.setMatchDate(match.getMatchDate());
-        dto.setVenue(match.getVenue());
-        dto.setOverallScore(overallScore);
+    public static MatchUpdateDTO toMatchUpdateDTO(MatchView view, String type) {
+        MatchUpdateDTO update = new MatchUpdateDTO();
+        update.setType(type);
+        update.setMatchId(view.getMatchId());
+        update.setTournamentId(view.getTournamentId());
+        update.setOverallScore(view.getOverallScore());
+        update.setWinnerId(view.getWinnerId());
+        if (MatchUpdateDTO.SCHEDULE.equals(type)) {
+            update.setMatchDate(view.getMatchDate());
+            update.setVenue(view.getVenue());
+            update.setRefereeId(view.getRefereeId());
+        }
+        return update;
+    }
 
-        return dto;
+    public static String fullName(User user) {
+        return user.getFirstName() + " " + user.getLastName();
     }
 }
@@ -1,5 +1,6 @@
 package com.sd.tennis.mapper;
 
+import com.sd.tennis.dto.MatchUpdateDTO;
 import com.sd.tennis.dto.ScoreDetailResponseDTO;
 import com.sd.tennis.model.ScoreDetail;
 
@@ -16,4 +17,15 @@ public class ScoreDetailMapper {
         dto.setPlayer2Score(sd.getPlayer2Score());
         return dto;
     }
+
+    public static MatchUpdateDTO toMatchUpdateDTO(ScoreDetail sd) {
+        MatchUpdateDTO update = new MatchUpdateDTO();
+        update.setType(MatchUpdateDTO.SET);
+        update.setMatchId(sd.getMatch().getId());
+        update.setTournamentId(sd.getMatch().getTournament().getId());
+        update.setSetNumber(sd.getSetNumber());
+        update.setPlayer1Score(sd.getPlayer1Score());
+        update.setPlayer2Score(sd.getPlayer2Score());
+        return update;
+    }
 }
@@ -0,0 +1,50 @@
+package com.sd.tennis.mapper;
+
+import com.sd.tennis.dto.ScoreEventDTO;
+import com.sd.tennis.dto.ScoreStateDTO;
+import com.sd.tennis.dto.SetScoreDTO;
+import com.sd.tennis.model.Match;
+import com.sd.tennis.model.ScoreEvent;
+import com.sd.tennis.util.ScoreReplay;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ScoreHistoryMapper {
+
+    public static ScoreEventDTO toScoreEventDTO(ScoreEvent event) {
+        ScoreEventDTO dto = new ScoreEventDTO();
+        dto.setMatchId(event.getMatch().getId());
+        dto.setSeq(event.getSeq());
+        dto.setType(event.getType());
+        dto.setSetNumber(event.getSetNumber());
+        dto.setPlayer1Score(event.getPlayer1Score());
+        dto.setPlayer2Score(event.getPlayer2Score());
+        dto.setWinnerSide(event.getWinnerSide());
+        dto.setRecordedAt(event.getRecordedAt());
+        return dto;
+    }
+
+    public static ScoreStateDTO toScoreStateDTO(Match match, int seq, ScoreReplay replay) {
+        ScoreStateDTO dto = new ScoreStateDTO();
+        dto.setMatchId(match.getId());
+        dto.setSeq(seq);
+        dto.setSets(toSetScoreDTOs(replay));
+        dto.setOverallScore(replay.overallScore());
+        dto.setWinnerId(replay.winnerSide() == 1 ? match.getPlayer1().getId()
+                : replay.winnerSide() == 2 ? match.getPlayer2().getId() : null);
+        return dto;
+    }
+
+    public static List<SetScoreDTO> toSetScoreDTOs(ScoreReplay replay) {
+        List<SetScoreDTO> sets = new ArrayList<>();
+        replay.sets().forEach((number, games) -> {
+            SetScoreDTO set = new SetScoreDTO();
+            set.setSetNumber(number);
+            set.setPlayer1Score(games[0]);
+            set.setPlayer2Score(games[1]);
+            sets.add(set);
+        });
+        return sets;
+    }
+}
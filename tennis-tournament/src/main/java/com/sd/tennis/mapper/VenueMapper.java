@@ -0,0 +1,24 @@
+package com.sd.tennis.mapper;
+
+import com.sd.tennis.dto.CourtResponseDTO;
+import com.sd.tennis.dto.VenueResponseDTO;
+import com.sd.tennis.model.Court;
+import com.sd.tennis.model.Venue;
+
+public class VenueMapper {
+
+    public static VenueResponseDTO toVenueResponseDTO(Venue venue) {
+        if (venue == null) return null;
+        VenueResponseDTO dto = new VenueResponseDTO();
+        dto.setId(venue.getId());
+        dto.setName(venue.getName());
+        dto.setOpensAt(venue.getOpensAt());
+        dto.setClosesAt(venue.getClosesAt());
+        dto.setCourts(venue.getCourts().stream().map(VenueMapper::toCourtResponseDTO).toList());
+        return dto;
+    }
+
+    public static CourtResponseDTO toCourtResponseDTO(Court court) {
+        return new CourtResponseDTO(court.getId(), court.getName(), court.getLabel());
+    }
+}
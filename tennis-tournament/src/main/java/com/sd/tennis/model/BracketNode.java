@@ -0,0 +1,107 @@
+package com.sd.tennis.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * One match position of a draw. Knockout nodes name the node and slot their winner moves into; first-round
+ * knockout nodes of a group-to-knockout draw name the group standing that fills each slot instead. Only changed
+ * columns are written, so a feeder filling one slot never overwrites the other.
+ */
+@Setter
+@Getter
+@Entity
+@DynamicUpdate
+@Table(name = "bracket_nodes", indexes = {
+        @Index(name = "idx_bracket_nodes_draw_stage_round", columnList = "draw_id, stage, round, position")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+public class BracketNode {
+    public static final String GROUP = "GROUP";
+    public static final String KNOCKOUT = "KNOCKOUT";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "bracket_node_ids")
+    @TableGenerator(name = "bracket_node_ids", table = "id_generators", pkColumnName = "entity",
+            valueColumnName = "next_val", pkColumnValue = "bracket_nodes", allocationSize = 50)
+    @Column(name = "id", nullable = false)
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "draw_id", nullable = false)
+    private Draw draw;
+
+    @Column(name = "stage", nullable = false, length = 10)
+    private String stage;
+
+    @Column(name = "group_number")
+    private Integer groupNumber;
+
+    @Column(name = "round", nullable = false)
+    private int round;
+
+    @Column(name = "position", nullable = false)
+    private int position;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    @JoinColumn(name = "player1_id")
+    private User player1;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    @JoinColumn(name = "player2_id")
+    private User player2;
+
+    @Column(name = "seed1")
+    private Integer seed1;
+
+    @Column(name = "seed2")
+    private Integer seed2;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    @JoinColumn(name = "match_id", unique = true)
+    private Match match;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    @JoinColumn(name = "winner_id")
+    private User winner;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "next_node_id")
+    private BracketNode nextNode;
+
+    // 1 or 2: which player slot of nextNode the winner takes
+    @Column(name = "next_slot")
+    private Integer nextSlot;
+
+    @Column(name = "source1_group")
+    private Integer source1Group;
+
+    @Column(name = "source1_rank")
+    private Integer source1Rank;
+
+    @Column(name = "source2_group")
+    private Integer source2Group;
+
+    @Column(name = "source2_rank")
+    private Integer source2Rank;
+
+    // why the latest result of this node could not be carried forward, e.g. the next match already exists
+    @Column(name = "rejected_advancement", length = 200)
+    private String rejectedAdvancement;
+
+    public boolean isBye() {
+        return stage.equals(KNOCKOUT) && round == 1 && winner != null && match == null;
+    }
+}
@@ -0,0 +1,23 @@
+package com.sd.tennis.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// one ETag counter shared by every node, e.g. "matches" or "tournament-7"
+@Setter
+@Getter
+@Entity
+@Table(name = "collection_versions")
+@NoArgsConstructor
+@AllArgsConstructor
+public class CollectionVersion {
+    @Id
+    @Column(name = "name", length = 64, nullable = false)
+    private String name;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+}
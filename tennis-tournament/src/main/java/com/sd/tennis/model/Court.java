@@ -0,0 +1,35 @@
+package com.sd.tennis.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+@Setter
+@Getter
+@Entity
+@Table(name = "courts", uniqueConstraints = @UniqueConstraint(columnNames = {"venue_id", "name"}))
+@NoArgsConstructor
+@AllArgsConstructor
+public class Court {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "venue_id", nullable = false)
+    private Venue venue;
+
+    @Column(name = "name", nullable = false, length = 30)
+    private String name;
+
+    // what Match.venue shows for matches on this court
+    public String getLabel() {
+        return venue.getName() + " - " + name;
+    }
+}
@@ -0,0 +1,61 @@
+package com.sd.tennis.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Setter
+@Getter
+@Entity
+@Table(name = "draws")
+@NoArgsConstructor
+@AllArgsConstructor
+public class Draw {
+    public static final String SINGLE_ELIMINATION = "SINGLE_ELIMINATION";
+    public static final String ROUND_ROBIN = "ROUND_ROBIN";
+    public static final String GROUPS_TO_KNOCKOUT = "GROUPS_TO_KNOCKOUT";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Integer id;
+
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "tournament_id", nullable = false, unique = true)
+    private Tournament tournament;
+
+    @Column(name = "format", nullable = false, length = 30)
+    private String format;
+
+    // number of knockout first-round slots, byes included; null for round robin only
+    @Column(name = "bracket_size")
+    private Integer bracketSize;
+
+    @Column(name = "group_count")
+    private Integer groupCount;
+
+    @Column(name = "advance_per_group")
+    private Integer advancePerGroup;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // kept so later rounds are scheduled on the same courts and referee pool as the first
+    @ElementCollection
+    @CollectionTable(name = "draw_courts", joinColumns = @JoinColumn(name = "draw_id"))
+    private List<DrawCourt> courts = new ArrayList<>();
+
+    @ElementCollection
+    @CollectionTable(name = "draw_referees", joinColumns = @JoinColumn(name = "draw_id"))
+    @Column(name = "referee_id")
+    private List<Integer> refereeIds = new ArrayList<>();
+}
@@ -0,0 +1,30 @@
+package com.sd.tennis.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalTime;
+
+@Setter
+@Getter
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+public class DrawCourt {
+    @Column(name = "venue", nullable = false, length = 100)
+    private String venue;
+
+    @Column(name = "opens_at", nullable = false)
+    private LocalTime opensAt;
+
+    @Column(name = "closes_at", nullable = false)
+    private LocalTime closesAt;
+
+    // set when the draw was made on a registered court; venue then holds its label
+    @Column(name = "court_id")
+    private Integer courtId;
+}
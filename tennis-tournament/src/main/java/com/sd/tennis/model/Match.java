@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.*;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 import lombok.AllArgsConstructor;
@@ -18,14 +19,28 @@ import java.util.Set;
 @Setter
 @Getter
 @Entity
-@Table(name = "matches")
+@Table(name = "matches", indexes = {
+        @Index(name = "idx_matches_date_id", columnList = "match_date, id"),
+        @Index(name = "idx_matches_tournament_date_id", columnList = "tournament_id, match_date, id"),
+        @Index(name = "idx_matches_player1_date_id", columnList = "player1_id, match_date, id"),
+        @Index(name = "idx_matches_player2_date_id", columnList = "player2_id, match_date, id"),
+        @Index(name = "idx_matches_referee_date_id", columnList = "referee_id, match_date, id"),
+        @Index(name = "idx_matches_venue_date", columnList = "venue, match_date"),
+        @Index(name = "idx_matches_court_date", columnList = "court_id, match_date"),
+        @Index(name = "idx_matches_pair_tournament", columnList = "min_player_id, max_player_id, tournament_id")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 //@JsonIgnoreProperties({"hibernateLazyInitializer","handler"})
 //@JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
 public class Match {
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // IDENTITY forces an insert per row to read the key back; pooled table ids let inserts batch
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "match_ids")
+    @TableGenerator(name = "match_ids", table = "id_generators", pkColumnName = "entity",
+            valueColumnName = "next_val", pkColumnValue = "matches", allocationSize = Match.ID_ALLOCATION_SIZE)
     @Column(name = "id", nullable = false)
     private Integer id;
 
@@ -60,14 +75,57 @@ public class Match {
     @JoinColumn(name = "winner_id")
     private User winner;
 
+    // the court's label when a court is set, free text otherwise
     @Column(name = "venue", length = 100)
     private String venue;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    @JoinColumn(name = "court_id")
+    private Court court;
+
+    // sets won, e.g. "2-1", from the tally when set scores are recorded
     @Column(name = "overall_score", length = 4)
     private String overallScore = "N/A";
 
+    @ColumnDefault("3")
+    @Column(name = "best_of", nullable = false)
+    private int bestOf = 3;
+
+    @Embedded
+    private SetTally tally = new SetTally();
+
+    // seq of the last score event; bumped under the match lock, so appends never have to look the log up
+    @ColumnDefault("0")
+    @Column(name = "score_seq", nullable = false)
+    private int scoreSeq;
+
     @OneToMany(mappedBy = "match")
     //@JsonManagedReference
     private Set<ScoreDetail> scoreDetails = new LinkedHashSet<>();
 
+    // the pair in ascending id order, so both orientations of a pairing share one index entry
+    @Column(name = "min_player_id")
+    private Integer minPlayerId;
+
+    @Column(name = "max_player_id")
+    private Integer maxPlayerId;
+
+    @PrePersist
+    @PreUpdate
+    void normalizePair() {
+        int p1 = player1.getId();
+        int p2 = player2.getId();
+        minPlayerId = Math.min(p1, p2);
+        maxPlayerId = Math.max(p1, p2);
+    }
+
+    /** 1 or 2 for the side of the winner, 0 while there is none. */
+    public int winnerSide() {
+        if (winner == null) {
+            return 0;
+        }
+        return winner.getId().equals(player1.getId()) ? 1 : 2;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.sd.tennis.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized copy of a match with every display name resolved, kept current by the services that
+ * change matches, users or tournaments. Read endpoints select from this table only.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "match_view", indexes = {
+        @Index(name = "idx_match_view_date_id", columnList = "match_date, match_id"),
+        @Index(name = "idx_match_view_tournament_date_id", columnList = "tournament_id, match_date, match_id"),
+        @Index(name = "idx_match_view_player1_date_id", columnList = "player1_id, match_date, match_id"),
+        @Index(name = "idx_match_view_player2_date_id", columnList = "player2_id, match_date, match_id"),
+        @Index(name = "idx_match_view_referee_date_id", columnList = "referee_id, match_date, match_id"),
+        @Index(name = "idx_match_view_winner", columnList = "winner_id"),
+        @Index(name = "idx_match_view_venue_date", columnList = "venue, match_date"),
+        @Index(name = "idx_match_view_pair_date", columnList = "min_player_id, max_player_id, match_date")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchView implements Persistable<Integer> {
+    @Id
+    @Column(name = "match_id", nullable = false)
+    private Integer matchId;
+
+    @Column(name = "tournament_id", nullable = false)
+    private Integer tournamentId;
+
+    @Column(name = "tournament_name", nullable = false, length = 100)
+    private String tournamentName;
+
+    @Column(name = "player1_id", nullable = false)
+    private Integer player1Id;
+
+    @Column(name = "player1_name", length = 101)
+    private String player1Name;
+
+    @Column(name = "player2_id", nullable = false)
+    private Integer player2Id;
+
+    @Column(name = "player2_name", length = 101)
+    private String player2Name;
+
+    @Column(name = "referee_id", nullable = false)
+    private Integer refereeId;
+
+    @Column(name = "referee_name", length = 101)
+    private String refereeName;
+
+    @Column(name = "winner_id")
+    private Integer winnerId;
+
+    @Column(name = "winner_name", length = 101)
+    private String winnerName = "N/A";
+
+    @Column(name = "match_date", nullable = false)
+    private LocalDateTime matchDate;
+
+    @Column(name = "venue", length = 100)
+    private String venue;
+
+    @Column(name = "overall_score", length = 4)
+    private String overallScore = "N/A";
+
+    @Column(name = "min_player_id")
+    private Integer minPlayerId;
+
+    @Column(name = "max_player_id")
+    private Integer maxPlayerId;
+
+    // the id is always copied from the match, so save() would otherwise select before every insert
+    @Transient
+    private boolean persisted;
+
+    @Override
+    public Integer getId() {
+        return matchId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
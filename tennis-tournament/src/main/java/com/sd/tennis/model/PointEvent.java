@@ -0,0 +1,40 @@
+package com.sd.tennis.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+// one row per point played, in order; the unique key keeps two writers from both taking the same point
+@Setter
+@Getter
+@Entity
+@Table(name = "point_events", uniqueConstraints = @UniqueConstraint(columnNames = {"match_id", "seq"}))
+@NoArgsConstructor
+@AllArgsConstructor
+public class PointEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "match_id", nullable = false)
+    private Match match;
+
+    @Column(name = "seq", nullable = false)
+    private Integer seq;
+
+    // 1 or 2, the side that won the point
+    @Column(name = "player", nullable = false)
+    private Integer player;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+}
@@ -15,14 +15,20 @@ import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 @Setter
 @Getter
 @Entity
-@Table(name = "score_details")
+@Table(name = "score_details", uniqueConstraints =
+        @UniqueConstraint(name = "uk_score_details_match_set", columnNames = {"match_id", "set_number"}))
 @NoArgsConstructor
 @AllArgsConstructor
 //@JsonIgnoreProperties({"hibernateLazyInitializer","handler"})
 //@JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
 public class ScoreDetail {
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // pooled table ids, like Match, so a match's sets go in as one batch
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "score_detail_ids")
+    @TableGenerator(name = "score_detail_ids", table = "id_generators", pkColumnName = "entity",
+            valueColumnName = "next_val", pkColumnValue = "score_details", allocationSize = ScoreDetail.ID_ALLOCATION_SIZE)
     @Column(name = "id", nullable = false)
     private Integer id;
 
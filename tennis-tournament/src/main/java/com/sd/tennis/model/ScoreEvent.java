@@ -0,0 +1,79 @@
+package com.sd.tennis.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change to a match's score, numbered per match. Rows are only ever appended; set rows and the result on
+ * {@link Match} are a projection of this log and can be rebuilt from it, see {@link com.sd.tennis.util.ScoreReplay}.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "score_events", uniqueConstraints = @UniqueConstraint(columnNames = {"match_id", "seq"}))
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreEvent {
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // a set recorded or corrected: setNumber and both players' games
+    public static final String SET = "SET";
+    // a set taken away: setNumber only
+    public static final String SET_REMOVED = "SET_REMOVED";
+    // a result entered by hand: the overall score as player1Score-player2Score, both null for none, and the winning side
+    public static final String RESULT = "RESULT";
+
+    @Id
+    // pooled table ids so the events of one write go in as a single batch
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "score_event_ids")
+    @TableGenerator(name = "score_event_ids", table = "id_generators", pkColumnName = "entity",
+            valueColumnName = "next_val", pkColumnValue = "score_events", allocationSize = ScoreEvent.ID_ALLOCATION_SIZE)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "match_id", nullable = false)
+    private Match match;
+
+    @Column(name = "seq", nullable = false)
+    private Integer seq;
+
+    @Column(name = "type", nullable = false, length = 16)
+    private String type;
+
+    @Column(name = "set_number")
+    private Integer setNumber;
+
+    @Column(name = "player1_score")
+    private Integer player1Score;
+
+    @Column(name = "player2_score")
+    private Integer player2Score;
+
+    // 0, 1 or 2, RESULT only
+    @Column(name = "winner_side")
+    private Integer winnerSide;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+
+    public static ScoreEvent set(int setNumber, int player1Score, int player2Score) {
+        return new ScoreEvent(null, null, null, SET, setNumber, player1Score, player2Score, null, null);
+    }
+
+    public static ScoreEvent setRemoved(int setNumber) {
+        return new ScoreEvent(null, null, null, SET_REMOVED, setNumber, null, null, null, null);
+    }
+
+    public static ScoreEvent result(Integer player1Score, Integer player2Score, int winnerSide) {
+        return new ScoreEvent(null, null, null, RESULT, null, player1Score, player2Score, winnerSide, null);
+    }
+}
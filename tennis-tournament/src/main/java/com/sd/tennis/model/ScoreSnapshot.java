@@ -0,0 +1,46 @@
+package com.sd.tennis.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+// a match's replayed score as of one seq of its score log, so a replay never starts further back than the last one
+@Setter
+@Getter
+@Entity
+@Table(name = "score_snapshots", uniqueConstraints = @UniqueConstraint(columnNames = {"match_id", "seq"}))
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "match_id", nullable = false)
+    private Match match;
+
+    @Column(name = "seq", nullable = false)
+    private Integer seq;
+
+    // "1:6-4,2:3-6", see ScoreReplay.encodeSets
+    @Column(name = "sets", nullable = false)
+    private String sets;
+
+    @Column(name = "overall_score", nullable = false, length = 16)
+    private String overallScore;
+
+    @Column(name = "winner_side", nullable = false)
+    private Integer winnerSide;
+
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+}
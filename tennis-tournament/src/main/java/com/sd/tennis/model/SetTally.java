@@ -0,0 +1,76 @@
+package com.sd.tennis.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * Running totals of a match's set scores, kept in step with its {@link ScoreDetail} rows one row at a time so the
+ * result never has to be rebuilt from the whole set list. A set counts as won at six games with a two-game lead,
+ * or 7-6; anything short of that only adds its games.
+ */
+@Setter
+@Getter
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+public class SetTally {
+    @ColumnDefault("0")
+    @Column(name = "player1_sets", nullable = false)
+    private int player1Sets;
+
+    @ColumnDefault("0")
+    @Column(name = "player2_sets", nullable = false)
+    private int player2Sets;
+
+    @ColumnDefault("0")
+    @Column(name = "player1_games", nullable = false)
+    private int player1Games;
+
+    @ColumnDefault("0")
+    @Column(name = "player2_games", nullable = false)
+    private int player2Games;
+
+    public void add(int player1Score, int player2Score) {
+        apply(player1Score, player2Score, 1);
+    }
+
+    public void remove(int player1Score, int player2Score) {
+        apply(player1Score, player2Score, -1);
+    }
+
+    public void clear() {
+        player1Sets = 0;
+        player2Sets = 0;
+        player1Games = 0;
+        player2Games = 0;
+    }
+
+    /** 1 or 2 once a player has won the majority of {@code bestOf} sets, 0 otherwise. */
+    public int decidedSide(int bestOf) {
+        int needed = bestOf / 2 + 1;
+        return player1Sets >= needed ? 1 : player2Sets >= needed ? 2 : 0;
+    }
+
+    public String setScore() {
+        return player1Sets + "-" + player2Sets;
+    }
+
+    public static boolean isWon(int games, int opponentGames) {
+        return (games >= 6 && games - opponentGames >= 2) || (games == 7 && opponentGames == 6);
+    }
+
+    private void apply(int player1Score, int player2Score, int sign) {
+        player1Games += sign * player1Score;
+        player2Games += sign * player2Score;
+        if (isWon(player1Score, player2Score)) {
+            player1Sets += sign;
+        } else if (isWon(player2Score, player1Score)) {
+            player2Sets += sign;
+        }
+    }
+}
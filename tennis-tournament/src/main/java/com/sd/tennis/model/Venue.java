@@ -0,0 +1,40 @@
+package com.sd.tennis.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A site with daily opening hours. Its capacity is its courts: each court hosts one match at a time.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "venues")
+@NoArgsConstructor
+@AllArgsConstructor
+public class Venue {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Integer id;
+
+    @Column(name = "name", nullable = false, unique = true, length = 60)
+    private String name;
+
+    @Column(name = "opens_at", nullable = false)
+    private LocalTime opensAt;
+
+    @Column(name = "closes_at", nullable = false)
+    private LocalTime closesAt;
+
+    @OneToMany(mappedBy = "venue", cascade = CascadeType.ALL)
+    @OrderBy("name")
+    private List<Court> courts = new ArrayList<>();
+}
@@ -0,0 +1,47 @@
+package com.sd.tennis.repository;
+
+import com.sd.tennis.model.BracketNode;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface BracketNodeRepository extends JpaRepository<BracketNode, Integer> {
+    List<BracketNode> findByDrawIdOrderByStageAscGroupNumberAscRoundAscPositionAsc(Integer drawId);
+
+    /** Just enough of a node to pick its locks, read without loading the entity so the locked read is fresh. */
+    interface NodeKey {
+        Integer getId();
+        String getStage();
+        Integer getDrawId();
+        Integer getGroupNumber();
+    }
+
+    @Query("SELECT n.id AS id, n.stage AS stage, n.draw.id AS drawId, n.groupNumber AS groupNumber " +
+            "FROM BracketNode n WHERE n.match.id = :matchId")
+    Optional<NodeKey> findKeyByMatchId(@Param("matchId") Integer matchId);
+
+    // advancement locks rows feeder-before-next and group-before-knockout, always in id order within a step
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT n FROM BracketNode n WHERE n.id = :id")
+    Optional<BracketNode> findByIdForUpdate(@Param("id") Integer id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT n FROM BracketNode n WHERE n.draw.id = :drawId AND n.stage = 'GROUP' " +
+            "AND n.groupNumber = :groupNumber ORDER BY n.id")
+    List<BracketNode> findGroupForUpdate(@Param("drawId") Integer drawId, @Param("groupNumber") Integer groupNumber);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT n FROM BracketNode n WHERE n.draw.id = :drawId AND n.stage = 'KNOCKOUT' AND n.round = 1 " +
+            "AND (n.source1Group = :groupNumber OR n.source2Group = :groupNumber) ORDER BY n.id")
+    List<BracketNode> findFedByGroupForUpdate(@Param("drawId") Integer drawId, @Param("groupNumber") Integer groupNumber);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT n FROM BracketNode n WHERE n.draw.id = :drawId AND n.player1 IS NOT NULL " +
+            "AND n.player2 IS NOT NULL AND n.match IS NULL AND n.winner IS NULL ORDER BY n.id")
+    List<BracketNode> findReadyWithoutMatchForUpdate(@Param("drawId") Integer drawId);
+}
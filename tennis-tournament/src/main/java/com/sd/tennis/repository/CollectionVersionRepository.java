@@ -0,0 +1,27 @@
+package com.sd.tennis.repository;
+
+import com.sd.tennis.model.CollectionVersion;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CollectionVersionRepository extends JpaRepository<CollectionVersion, String> {
+    List<CollectionVersion> findByNameIn(Collection<String> names);
+
+    // joins the caller's transaction, so the row stays locked until the write it stands for commits
+    @Transactional
+    @Modifying
+    @Query("UPDATE CollectionVersion v SET v.version = v.version + 1 WHERE v.name = :name")
+    int increment(@Param("name") String name);
+
+    // its own transaction, so losing the race for a new row does not roll back the caller's write
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    @Modifying
+    @Query(value = "INSERT INTO collection_versions (name, version) VALUES (:name, 0)", nativeQuery = true)
+    int insert(@Param("name") String name);
+}
@@ -0,0 +1,25 @@
+package com.sd.tennis.repository;
+
+import com.sd.tennis.model.Court;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface CourtRepository extends JpaRepository<Court, Integer> {
+    @Query("SELECT c FROM Court c JOIN FETCH c.venue WHERE c.id = :id")
+    Optional<Court> findWithVenueById(@Param("id") Integer id);
+
+    @Query("SELECT c FROM Court c JOIN FETCH c.venue WHERE c.id IN :ids")
+    List<Court> findAllWithVenueByIdIn(@Param("ids") Collection<Integer> ids);
+
+    boolean existsByVenueIdAndName(Integer venueId, String name);
+
+    // court id, venue name, court name, opening, closing, match start; ordered for the utilization sweep
+    @Query("SELECT c.id, v.name, c.name, v.opensAt, v.closesAt, m.matchDate FROM Match m " +
+            "JOIN m.court c JOIN c.venue v WHERE m.tournament.id = :tournamentId ORDER BY c.id, m.matchDate")
+    List<Object[]> findCourtBookings(@Param("tournamentId") Integer tournamentId);
+}
@@ -0,0 +1,11 @@
+package com.sd.tennis.repository;
+
+import com.sd.tennis.model.Draw;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface DrawRepository extends JpaRepository<Draw, Integer> {
+    Optional<Draw> findByTournamentId(Integer tournamentId);
+    boolean existsByTournamentId(Integer tournamentId);
+}
@@ -0,0 +1,45 @@
+package com.sd.tennis.repository;
+
+import com.sd.tennis.model.IdempotencyRecord;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+    // a plain insert, so a key someone else already holds fails on the primary key instead of being merged over
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, fingerprint, created_at) " +
+            "VALUES (:key, :fingerprint, :createdAt)", nativeQuery = true)
+    int insert(@Param("key") String key,
+               @Param("fingerprint") String fingerprint,
+               @Param("createdAt") LocalDateTime createdAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :status, r.contentType = :contentType, r.body = :body " +
+            "WHERE r.key = :key")
+    int complete(@Param("key") String key,
+                 @Param("status") Integer status,
+                 @Param("contentType") String contentType,
+                 @Param("body") byte[] body);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.status IS NULL")
+    int release(@Param("key") String key);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.createdAt < :cutoff")
+    int deleteExpired(@Param("key") String key, @Param("cutoff") LocalDateTime cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteAllExpired(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,22 +1,107 @@
 package com.sd.tennis.repository;
 
 import com.sd.tennis.model.Match;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface MatchRepository extends JpaRepository<Match, Integer> {
+    /** What live scoring needs to check a point, read without loading the match and its associations. */
+    interface LiveKey {
+        Integer getId();
+        Integer getTournamentId();
+        Integer getPlayer1Id();
+        Integer getPlayer2Id();
+        Integer getRefereeId();
+        LocalDateTime getMatchDate();
+        Integer getWinnerId();
+        Integer getBestOf();
+    }
+
+    @Query("SELECT m.id AS id, m.tournament.id AS tournamentId, m.player1.id AS player1Id, " +
+            "m.player2.id AS player2Id, m.referee.id AS refereeId, m.matchDate AS matchDate, w.id AS winnerId, " +
+            "m.bestOf AS bestOf " +
+            "FROM Match m LEFT JOIN m.winner w WHERE m.id = :matchId")
+    Optional<LiveKey> findLiveKeyById(@Param("matchId") Integer matchId);
+
+    // set tallies are adjusted in place, so concurrent set writes for one match take turns
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Match m WHERE m.id = :matchId")
+    Optional<Match> findByIdForUpdate(@Param("matchId") Integer matchId);
+
+    // in id order, so two batches locking overlapping matches cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Match m WHERE m.id IN :matchIds ORDER BY m.id")
+    List<Match> findAllByIdForUpdate(@Param("matchIds") Collection<Integer> matchIds);
+
     Optional<List<Match>> findByPlayer1Id(Integer player1Id);
-    @Query("SELECT m FROM Match m WHERE (m.player1.id = :p1 AND m.player2.id = :p2) OR (m.player1.id = :p2 AND m.player2.id = :p1)")
-    Optional<List<Match>> findByPlayersId(@Param("p1") Integer p1, @Param("p2") Integer p2);
+    List<Match> findByMinPlayerIdAndMaxPlayerId(Integer minPlayerId, Integer maxPlayerId);
+    boolean existsByMinPlayerIdAndMaxPlayerId(Integer minPlayerId, Integer maxPlayerId);
     Optional<List<Match>> findByTournamentId(Integer tournamentId);
     Optional<List<Match>> findByRefereeId(Integer refereeId);
     Optional<List<Match>> findByMatchDate(LocalDateTime matchDate);
-    boolean existsByPlayer1IdAndPlayer2Id(Integer player1Id, Integer player2Id);
-    @Query("SELECT m FROM Match m WHERE (m.player1.id = :playerId OR m.player2.id = :playerId) AND DATE(m.matchDate) = DATE(:matchDate)")
-    List<Match> findAllByPlayerIdAndDay(@Param("playerId") Integer playerId, @Param("matchDate") LocalDateTime matchDate);
+    boolean existsByMinPlayerIdAndMaxPlayerIdAndTournamentId(Integer minPlayerId, Integer maxPlayerId, Integer tournamentId);
+    // plain range predicates so each branch can use its (participant, match_date) index
+    // courts share the participant key space under their negated id, see BookingIndex.courtKey
+    @Query("SELECT COUNT(m) > 0 FROM Match m LEFT JOIN m.court c " +
+            "WHERE (m.player1.id = :participantId OR m.player2.id = :participantId OR m.referee.id = :participantId " +
+            "OR c.id = -:participantId) " +
+            "AND m.matchDate > :from AND m.matchDate < :to AND m.id <> :ignoredMatchId")
+    boolean existsBookingBetween(@Param("participantId") Integer participantId,
+                                 @Param("from") LocalDateTime from,
+                                 @Param("to") LocalDateTime to,
+                                 @Param("ignoredMatchId") Integer ignoredMatchId);
+
+    @Query("SELECT COUNT(m) > 0 FROM Match m LEFT JOIN m.court c " +
+            "WHERE (m.player1.id = :participantId OR m.player2.id = :participantId OR m.referee.id = :participantId " +
+            "OR c.id = -:participantId) " +
+            "AND m.matchDate > :from AND m.matchDate < :to AND m.id NOT IN :ignoredMatchIds")
+    boolean existsBookingBetweenExcluding(@Param("participantId") Integer participantId,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to,
+                                          @Param("ignoredMatchIds") Collection<Integer> ignoredMatchIds);
+
+    @Query("SELECT m FROM Match m JOIN FETCH m.player1 JOIN FETCH m.player2 JOIN FETCH m.referee " +
+            "WHERE m.tournament.id = :tournamentId ORDER BY m.matchDate, m.id")
+    List<Match> findByTournamentIdWithParticipants(@Param("tournamentId") Integer tournamentId);
+
+    @Query("SELECT MAX(m.matchDate) FROM Match m WHERE m.tournament.id = :tournamentId " +
+            "AND (m.player1.id IN :playerIds OR m.player2.id IN :playerIds)")
+    LocalDateTime findLatestMatchDate(@Param("tournamentId") Integer tournamentId,
+                                      @Param("playerIds") Collection<Integer> playerIds);
+
+    // match id, tournament id, start, player 1, player 2, referee
+    @Query("SELECT m.id, m.tournament.id, m.matchDate, m.player1.id, m.player2.id, m.referee.id, c.id " +
+            "FROM Match m LEFT JOIN m.court c")
+    List<Object[]> findAllBookings();
+
+    // venue, start, referee
+    @Query("SELECT m.venue, m.matchDate, m.referee.id FROM Match m WHERE m.tournament.id = :tournamentId")
+    List<Object[]> findVenueBookings(@Param("tournamentId") Integer tournamentId);
+
+    // venue, start; a venue is shared by every tournament played there
+    @Query("SELECT m.venue, m.matchDate FROM Match m " +
+            "WHERE m.venue IN :venues AND m.matchDate > :from AND m.matchDate < :to")
+    List<Object[]> findVenueBookingsBetween(@Param("venues") Collection<String> venues,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("UPDATE Match m SET " +
+            "m.minPlayerId = CASE WHEN m.player1.id < m.player2.id THEN m.player1.id ELSE m.player2.id END, " +
+            "m.maxPlayerId = CASE WHEN m.player1.id < m.player2.id THEN m.player2.id ELSE m.player1.id END " +
+            "WHERE m.minPlayerId IS NULL")
+    int fillMissingPairs();
+
+    // match id, tournament id, min player id, max player id
+    @Query("SELECT m.id, m.tournament.id, m.minPlayerId, m.maxPlayerId FROM Match m")
+    List<Object[]> findAllPairings();
 }
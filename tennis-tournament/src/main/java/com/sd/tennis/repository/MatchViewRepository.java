@@ -0,0 +1,112 @@
+package com.sd.tennis.repository;
+
+import com.sd.tennis.dto.MatchResponseDTO;
+import com.sd.tennis.model.MatchView;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface MatchViewRepository extends JpaRepository<MatchView, Integer>, MatchViewRepositoryCustom {
+    String RESPONSE_SELECT = "SELECT new com.sd.tennis.dto.MatchResponseDTO(" +
+            "v.matchId, v.tournamentId, v.tournamentName, v.player1Id, v.player1Name, v.player2Id, v.player2Name, " +
+            "v.refereeId, v.refereeName, v.winnerId, v.winnerName, v.matchDate, v.venue, v.overallScore) " +
+            "FROM MatchView v ";
+    String AFTER_CURSOR = "(v.matchDate > :afterDate OR (v.matchDate = :afterDate AND v.matchId > :afterId)) ";
+    String KEYSET_ORDER = "ORDER BY v.matchDate, v.matchId";
+
+    @Query(RESPONSE_SELECT + "WHERE v.matchId = :matchId")
+    Optional<MatchResponseDTO> findResponseById(@Param("matchId") Integer matchId);
+
+    @Query(RESPONSE_SELECT)
+    List<MatchResponseDTO> findAllResponses();
+
+    @Query(RESPONSE_SELECT + "WHERE v.tournamentId = :tournamentId")
+    List<MatchResponseDTO> findResponsesByTournamentId(@Param("tournamentId") Integer tournamentId);
+
+    @Query(RESPONSE_SELECT + "WHERE v.player1Id = :playerId OR v.player2Id = :playerId")
+    List<MatchResponseDTO> findResponsesByPlayerId(@Param("playerId") Integer playerId);
+
+    @Query(RESPONSE_SELECT + "WHERE v.minPlayerId = :minPlayerId AND v.maxPlayerId = :maxPlayerId ORDER BY v.matchDate DESC, v.matchId DESC")
+    List<MatchResponseDTO> findResponsesByPair(@Param("minPlayerId") Integer minPlayerId,
+                                               @Param("maxPlayerId") Integer maxPlayerId);
+
+    @Query(RESPONSE_SELECT + "WHERE v.refereeId = :refereeId")
+    List<MatchResponseDTO> findResponsesByRefereeId(@Param("refereeId") Integer refereeId);
+
+    @Query(RESPONSE_SELECT + "WHERE v.matchDate = :matchDate")
+    List<MatchResponseDTO> findResponsesByMatchDate(@Param("matchDate") LocalDateTime matchDate);
+
+    @Query(RESPONSE_SELECT + "WHERE " + AFTER_CURSOR + KEYSET_ORDER)
+    List<MatchResponseDTO> findResponsesAfter(@Param("afterDate") LocalDateTime afterDate,
+                                              @Param("afterId") Integer afterId,
+                                              Limit limit);
+
+    @Query(RESPONSE_SELECT + "WHERE v.tournamentId = :tournamentId AND " + AFTER_CURSOR + KEYSET_ORDER)
+    List<MatchResponseDTO> findResponsesByTournamentIdAfter(@Param("tournamentId") Integer tournamentId,
+                                                            @Param("afterDate") LocalDateTime afterDate,
+                                                            @Param("afterId") Integer afterId,
+                                                            Limit limit);
+
+    @Query(RESPONSE_SELECT + "WHERE (v.player1Id = :playerId OR v.player2Id = :playerId) AND " + AFTER_CURSOR + KEYSET_ORDER)
+    List<MatchResponseDTO> findResponsesByPlayerIdAfter(@Param("playerId") Integer playerId,
+                                                        @Param("afterDate") LocalDateTime afterDate,
+                                                        @Param("afterId") Integer afterId,
+                                                        Limit limit);
+
+    @Query(RESPONSE_SELECT + "WHERE v.refereeId = :refereeId AND " + AFTER_CURSOR + KEYSET_ORDER)
+    List<MatchResponseDTO> findResponsesByRefereeIdAfter(@Param("refereeId") Integer refereeId,
+                                                         @Param("afterDate") LocalDateTime afterDate,
+                                                         @Param("afterId") Integer afterId,
+                                                         Limit limit);
+
+    @Modifying
+    @Query("UPDATE MatchView v SET " +
+            "v.player1Name = CASE WHEN v.player1Id = :userId THEN :name ELSE v.player1Name END, " +
+            "v.player2Name = CASE WHEN v.player2Id = :userId THEN :name ELSE v.player2Name END, " +
+            "v.refereeName = CASE WHEN v.refereeId = :userId THEN :name ELSE v.refereeName END, " +
+            "v.winnerName = CASE WHEN v.winnerId = :userId THEN :name ELSE v.winnerName END " +
+            "WHERE v.player1Id = :userId OR v.player2Id = :userId OR v.refereeId = :userId OR v.winnerId = :userId")
+    int renameUser(@Param("userId") Integer userId, @Param("name") String name);
+
+    @Modifying
+    @Query("UPDATE MatchView v SET v.tournamentName = :name WHERE v.tournamentId = :tournamentId")
+    int renameTournament(@Param("tournamentId") Integer tournamentId, @Param("name") String name);
+
+    // matches go away through ON DELETE CASCADE when a participant or tournament is removed
+    @Modifying
+    @Query("DELETE FROM MatchView v WHERE v.player1Id = :userId OR v.player2Id = :userId OR v.refereeId = :userId")
+    int deleteByParticipantId(@Param("userId") Integer userId);
+
+    @Modifying
+    @Query("DELETE FROM MatchView v WHERE v.tournamentId = :tournamentId")
+    int deleteByTournamentId(@Param("tournamentId") Integer tournamentId);
+
+    @Modifying
+    @Query("DELETE FROM MatchView v")
+    int deleteAllRows();
+
+    @Modifying
+    @Query("UPDATE MatchView v SET " +
+            "v.minPlayerId = CASE WHEN v.player1Id < v.player2Id THEN v.player1Id ELSE v.player2Id END, " +
+            "v.maxPlayerId = CASE WHEN v.player1Id < v.player2Id THEN v.player2Id ELSE v.player1Id END " +
+            "WHERE v.minPlayerId IS NULL")
+    int fillMissingPairs();
+
+    @Modifying
+    @Query("INSERT INTO MatchView (matchId, tournamentId, tournamentName, player1Id, player1Name, " +
+            "player2Id, player2Name, refereeId, refereeName, winnerId, winnerName, matchDate, venue, overallScore, " +
+            "minPlayerId, maxPlayerId) " +
+            "SELECT m.id, t.id, t.name, p1.id, CONCAT(p1.firstName, ' ', p1.lastName), " +
+            "p2.id, CONCAT(p2.firstName, ' ', p2.lastName), r.id, CONCAT(r.firstName, ' ', r.lastName), " +
+            "w.id, CASE WHEN w.id IS NULL THEN 'N/A' ELSE CONCAT(w.firstName, ' ', w.lastName) END, " +
+            "m.matchDate, m.venue, m.overallScore, " +
+            "CASE WHEN p1.id < p2.id THEN p1.id ELSE p2.id END, CASE WHEN p1.id < p2.id THEN p2.id ELSE p1.id END " +
+            "FROM Match m JOIN m.tournament t JOIN m.player1 p1 JOIN m.player2 p2 JOIN m.referee r LEFT JOIN m.winner w")
+    int insertAllFromMatches();
+}
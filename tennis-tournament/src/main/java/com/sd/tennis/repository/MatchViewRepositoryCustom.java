@@ -0,0 +1,15 @@
+package com.sd.tennis.repository;
+
+import com.sd.tennis.dto.MatchResponseDTO;
+import com.sd.tennis.model.MatchView;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface MatchViewRepositoryCustom {
+    List<MatchResponseDTO> findResponses(Specification<MatchView> spec);
+    Stream<MatchResponseDTO> streamResponses(Specification<MatchView> spec);
+    List<MatchResponseDTO> findResponses(Specification<MatchView> spec, int limit);
+    List<Integer> findTournamentIds(Specification<MatchView> spec);
+}
@@ -0,0 +1,81 @@
+package com.sd.tennis.repository;
+
+import com.sd.tennis.dto.MatchResponseDTO;
+import com.sd.tennis.model.MatchView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public class MatchViewRepositoryImpl implements MatchViewRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.export.fetch-size:500}")
+    private int exportFetchSize;
+
+    @Override
+    public List<MatchResponseDTO> findResponses(Specification<MatchView> spec) {
+        return entityManager.createQuery(responseQuery(spec)).getResultList();
+    }
+
+    // rows are pulled from the cursor in fetch-size batches, so callers must consume the stream inside a transaction
+    @Override
+    public Stream<MatchResponseDTO> streamResponses(Specification<MatchView> spec) {
+        return entityManager.createQuery(responseQuery(spec))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, exportFetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public List<MatchResponseDTO> findResponses(Specification<MatchView> spec, int limit) {
+        return entityManager.createQuery(responseQuery(spec)).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<Integer> findTournamentIds(Specification<MatchView> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Integer> query = cb.createQuery(Integer.class);
+        Root<MatchView> v = query.from(MatchView.class);
+        query.select(v.get("tournamentId")).distinct(true);
+        applySpecification(spec, v, query, cb);
+        query.orderBy(cb.asc(v.get("tournamentId")));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private CriteriaQuery<MatchResponseDTO> responseQuery(Specification<MatchView> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<MatchResponseDTO> query = cb.createQuery(MatchResponseDTO.class);
+        Root<MatchView> v = query.from(MatchView.class);
+
+        query.select(cb.construct(MatchResponseDTO.class,
+                v.get("matchId"), v.get("tournamentId"), v.get("tournamentName"),
+                v.get("player1Id"), v.get("player1Name"),
+                v.get("player2Id"), v.get("player2Name"),
+                v.get("refereeId"), v.get("refereeName"),
+                v.get("winnerId"), v.get("winnerName"),
+                v.get("matchDate"), v.get("venue"), v.get("overallScore")));
+
+        applySpecification(spec, v, query, cb);
+        query.orderBy(cb.asc(v.get("tournamentId")), cb.asc(v.get("matchDate")), cb.asc(v.get("matchId")));
+        return query;
+    }
+
+    private void applySpecification(Specification<MatchView> spec, Root<MatchView> root,
+                                    CriteriaQuery<?> query, CriteriaBuilder cb) {
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.sd.tennis.repository;
+
+import com.sd.tennis.model.PointEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface PointEventRepository extends JpaRepository<PointEvent, Long> {
+    @Query("SELECT p.player FROM PointEvent p WHERE p.match.id = :matchId ORDER BY p.seq")
+    List<Integer> findPlayersByMatchId(@Param("matchId") Integer matchId);
+
+    // matches scored live whose result has not been written back yet
+    @Query("SELECT DISTINCT p.match.id FROM PointEvent p WHERE p.match.winner IS NULL")
+    List<Integer> findUndecidedMatchIds();
+}
@@ -2,6 +2,8 @@ package com.sd.tennis.repository;
 
 import com.sd.tennis.model.Registration;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,4 +13,7 @@ public interface RegistrationRepository extends JpaRepository<Registration, Inte
     Optional<List<Registration>> findByTournamentId(Integer tournamentId);
     Optional<List<Registration>> findByStatus(String status);
     boolean existsByPlayerIdAndTournamentId(Integer playerId, Integer tournamentId);
+
+    @Query("SELECT r FROM Registration r JOIN FETCH r.player WHERE r.tournament.id = :tournamentId AND r.status = 'APPROVED'")
+    List<Registration> findApprovedWithPlayers(@Param("tournamentId") Integer tournamentId);
 }
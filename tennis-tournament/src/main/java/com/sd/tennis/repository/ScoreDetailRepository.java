@@ -1,8 +1,15 @@
 package com.sd.tennis.repository;
 
 import com.sd.tennis.model.ScoreDetail;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ScoreDetailRepository extends JpaRepository<ScoreDetail, Integer> {
@@ -10,4 +17,46 @@ public interface ScoreDetailRepository extends JpaRepository<ScoreDetail, Intege
     //Optional<ScoreDetail> findByPlayerId(Integer playerId);
     Optional<ScoreDetail> findBySetNumber(Integer setNumber);
     boolean existsByMatchId(Integer matchId);
+    List<ScoreDetail> findByMatchIdIn(Collection<Integer> matchIds);
+
+    boolean existsByMatchIdAndSetNumber(Integer matchId, Integer setNumber);
+
+    @Query("SELECT sd.match.id FROM ScoreDetail sd WHERE sd.id = :id")
+    Optional<Integer> findMatchIdById(@Param("id") Integer id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT sd FROM ScoreDetail sd WHERE sd.match.id = :matchId ORDER BY sd.setNumber")
+    List<ScoreDetail> findAllByMatchIdForUpdate(@Param("matchId") Integer matchId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT sd FROM ScoreDetail sd WHERE sd.id = :id")
+    Optional<ScoreDetail> findByIdForUpdate(@Param("id") Integer id);
+
+    // same set rule as SetTally.isWon; only touches matches whose tally is still all zero
+    @Modifying
+    @Query("UPDATE Match m SET " +
+            "m.tally.player1Sets = (SELECT COUNT(sd) FROM ScoreDetail sd WHERE sd.match = m AND " +
+            "((sd.player1Score >= 6 AND sd.player1Score - sd.player2Score >= 2) " +
+            "OR (sd.player1Score = 7 AND sd.player2Score = 6))), " +
+            "m.tally.player2Sets = (SELECT COUNT(sd) FROM ScoreDetail sd WHERE sd.match = m AND " +
+            "((sd.player2Score >= 6 AND sd.player2Score - sd.player1Score >= 2) " +
+            "OR (sd.player2Score = 7 AND sd.player1Score = 6))), " +
+            "m.tally.player1Games = (SELECT COALESCE(SUM(sd.player1Score), 0) FROM ScoreDetail sd WHERE sd.match = m), " +
+            "m.tally.player2Games = (SELECT COALESCE(SUM(sd.player2Score), 0) FROM ScoreDetail sd WHERE sd.match = m) " +
+            "WHERE m.tally.player1Sets = 0 AND m.tally.player2Sets = 0 " +
+            "AND m.tally.player1Games = 0 AND m.tally.player2Games = 0 " +
+            "AND EXISTS (SELECT 1 FROM ScoreDetail sd WHERE sd.match = m)")
+    int backfillSetTallies();
+
+    // one row per orientation: player1 id, sets won by player1, sets won by player2; a set counts once SetTally.isWon
+    @Query("SELECT m.player1.id, " +
+            "SUM(CASE WHEN (sd.player1Score >= 6 AND sd.player1Score - sd.player2Score >= 2) " +
+            "OR (sd.player1Score = 7 AND sd.player2Score = 6) THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN (sd.player2Score >= 6 AND sd.player2Score - sd.player1Score >= 2) " +
+            "OR (sd.player2Score = 7 AND sd.player1Score = 6) THEN 1 ELSE 0 END) " +
+            "FROM ScoreDetail sd JOIN sd.match m " +
+            "WHERE m.minPlayerId = :minPlayerId AND m.maxPlayerId = :maxPlayerId " +
+            "GROUP BY m.player1.id")
+    List<Object[]> countSetsByPair(@Param("minPlayerId") Integer minPlayerId,
+                                   @Param("maxPlayerId") Integer maxPlayerId);
 }
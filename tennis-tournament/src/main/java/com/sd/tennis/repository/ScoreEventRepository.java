@@ -0,0 +1,29 @@
+package com.sd.tennis.repository;
+
+import com.sd.tennis.model.ScoreEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ScoreEventRepository extends JpaRepository<ScoreEvent, Long> {
+    List<ScoreEvent> findByMatchIdOrderBySeq(Integer matchId);
+
+    // just the columns a replay folds, so long stretches of the log do not fill the persistence context
+    interface Change {
+        Integer getSeq();
+        String getType();
+        Integer getSetNumber();
+        Integer getPlayer1Score();
+        Integer getPlayer2Score();
+        Integer getWinnerSide();
+    }
+
+    @Query("SELECT e.seq AS seq, e.type AS type, e.setNumber AS setNumber, e.player1Score AS player1Score, " +
+            "e.player2Score AS player2Score, e.winnerSide AS winnerSide FROM ScoreEvent e " +
+            "WHERE e.match.id = :matchId AND e.seq > :after AND e.seq <= :upTo ORDER BY e.seq")
+    List<Change> findChanges(@Param("matchId") Integer matchId,
+                             @Param("after") int after,
+                             @Param("upTo") int upTo);
+}
@@ -0,0 +1,19 @@
+package com.sd.tennis.repository;
+
+import com.sd.tennis.model.ScoreSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ScoreSnapshotRepository extends JpaRepository<ScoreSnapshot, Long> {
+    Optional<ScoreSnapshot> findFirstByMatchIdAndSeqLessThanEqualOrderBySeqDesc(Integer matchId, Integer seq);
+
+    // matches scored before the log existed: no events, no baseline yet, but set rows or a result to keep
+    @Query("SELECT m.id FROM Match m WHERE m.scoreSeq = 0 " +
+            "AND (COALESCE(m.overallScore, 'N/A') <> 'N/A' OR m.winner IS NOT NULL " +
+            "OR EXISTS (SELECT 1 FROM ScoreDetail sd WHERE sd.match = m)) " +
+            "AND NOT EXISTS (SELECT 1 FROM ScoreSnapshot s WHERE s.match = m)")
+    List<Integer> findUnloggedMatchIds();
+}
@@ -0,0 +1,14 @@
+package com.sd.tennis.repository;
+
+import com.sd.tennis.model.Venue;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface VenueRepository extends JpaRepository<Venue, Integer> {
+    boolean existsByName(String name);
+
+    @EntityGraph(attributePaths = "courts")
+    List<Venue> findAllByOrderByName();
+}
@@ -0,0 +1,19 @@
+package com.sd.tennis.scheduler;
+
+import com.sd.tennis.service.ExportJobService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ExportJobCleanupScheduler {
+    private final ExportJobService exportJobService;
+
+    public ExportJobCleanupScheduler(ExportJobService exportJobService) {
+        this.exportJobService = exportJobService;
+    }
+
+    @Scheduled(fixedDelayString = "${app.export.jobs.cleanup-interval-ms:600000}")
+    public void purgeExpiredExports() {
+        exportJobService.purgeExpired();
+    }
+}
@@ -0,0 +1,19 @@
+package com.sd.tennis.scheduler;
+
+import com.sd.tennis.idempotency.IdempotencyStore;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class IdempotencyKeyCleanupScheduler {
+    private final IdempotencyStore idempotencyStore;
+
+    public IdempotencyKeyCleanupScheduler(IdempotencyStore idempotencyStore) {
+        this.idempotencyStore = idempotencyStore;
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.cleanup-interval-ms:600000}")
+    public void purgeExpiredKeys() {
+        idempotencyStore.purgeExpired();
+    }
+}
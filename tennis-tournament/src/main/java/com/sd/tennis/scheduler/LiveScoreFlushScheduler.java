@@ -0,0 +1,60 @@
+package com.sd.tennis.scheduler;
+
+import com.sd.tennis.cache.LiveScoreBoard;
+import com.sd.tennis.cache.LiveScoreBoard.Snapshot;
+import com.sd.tennis.service.LiveScoringService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Component
+public class LiveScoreFlushScheduler {
+    private final LiveScoreBoard board;
+    private final LiveScoringService liveScoringService;
+
+    // a match started and never finished would otherwise stay in memory for good
+    @Value("${app.scoring.idle-ttl-minutes:30}")
+    private long idleTtlMinutes = 30;
+
+    public LiveScoreFlushScheduler(LiveScoreBoard board, LiveScoringService liveScoringService) {
+        this.board = board;
+        this.liveScoringService = liveScoringService;
+    }
+
+    @Scheduled(fixedDelayString = "${app.scoring.flush-interval-ms:500}")
+    public synchronized void flush() {
+        List<Snapshot> batch = board.drainDirty();
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            liveScoringService.persistLiveScores(batch);
+            board.flushed(batch);
+        } catch (RuntimeException e) {
+            // one match that cannot be written must not hold back the rest; whatever still fails stays dirty
+            for (Snapshot snapshot : batch) {
+                try {
+                    liveScoringService.persistLiveScores(List.of(snapshot));
+                    board.flushed(List.of(snapshot));
+                } catch (RuntimeException single) {
+                    board.markDirty(snapshot.matchId());
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.scoring.idle-check-interval-ms:60000}")
+    public void evictIdle() {
+        board.evictIdle(Instant.now().minus(idleTtlMinutes, ChronoUnit.MINUTES));
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -22,14 +22,19 @@ public class TournamentStatusScheduler {
     public void updateTournamentStatus() {
         List<Tournament> tournaments = tournamentService.listAllTournaments();
         for (Tournament t : tournaments) {
+            String status;
             if (t.getEndDate() != null && t.getEndDate().isBefore(LocalDate.now())) {
-                t.setStatus("Completed");
+                status = "Completed";
             } else if (t.getStartDate() != null && t.getStartDate().isAfter(LocalDate.now())) {
-                t.setStatus("Upcoming");
+                status = "Upcoming";
             } else {
-                t.setStatus("Ongoing");
+                status = "Ongoing";
+            }
+            // unchanged tournaments are skipped so cached tournament lists stay valid
+            if (!status.equals(t.getStatus())) {
+                t.setStatus(status);
+                tournamentService.saveTournament(t);
             }
-            tournamentService.saveTournament(t);
         }
     }
 }
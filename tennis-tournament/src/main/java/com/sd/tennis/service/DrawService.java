@@ -0,0 +1,10 @@
+package com.sd.tennis.service;
+
+import com.sd.tennis.dto.DrawRequestDTO;
+import com.sd.tennis.dto.DrawResponseDTO;
+
+public interface DrawService {
+    DrawResponseDTO generateDraw(Integer tournamentId, DrawRequestDTO request);
+    DrawResponseDTO getDraw(Integer tournamentId);
+    DrawResponseDTO scheduleReadyMatches(Integer tournamentId);
+}
@@ -0,0 +1,496 @@
+package com.sd.tennis.service;
+
+import com.sd.tennis.cache.BookingIndex;
+import com.sd.tennis.cache.HeadToHeadIndex;
+import com.sd.tennis.dto.CourtDTO;
+import com.sd.tennis.dto.DrawRequestDTO;
+import com.sd.tennis.dto.DrawResponseDTO;
+import com.sd.tennis.dto.MatchDTO;
+import com.sd.tennis.dto.PairingDTO;
+import com.sd.tennis.dto.ScheduleRequestDTO;
+import com.sd.tennis.dto.ScheduleResponseDTO;
+import com.sd.tennis.event.MatchWinnerChangedEvent;
+import com.sd.tennis.exception.DuplicateException;
+import com.sd.tennis.exception.InvalidDrawException;
+import com.sd.tennis.exception.ResourceNotFoundException;
+import com.sd.tennis.mapper.DrawMapper;
+import com.sd.tennis.model.BracketNode;
+import com.sd.tennis.model.Court;
+import com.sd.tennis.model.Draw;
+import com.sd.tennis.model.DrawCourt;
+import com.sd.tennis.model.Registration;
+import com.sd.tennis.model.Tournament;
+import com.sd.tennis.model.User;
+import com.sd.tennis.repository.BracketNodeRepository;
+import com.sd.tennis.repository.CourtRepository;
+import com.sd.tennis.repository.DrawRepository;
+import com.sd.tennis.repository.MatchRepository;
+import com.sd.tennis.repository.RegistrationRepository;
+import com.sd.tennis.repository.TournamentRepository;
+import com.sd.tennis.util.BracketSeeding;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Turns a tournament's approved registrations into a seeded draw. Players are seeded by ranking (unranked last),
+ * every bracket node is stored with the slot its winner moves into, and all matches that are playable right away
+ * are scheduled and created in one batch.
+ */
+@Service
+@Transactional
+public class DrawServiceImpl implements DrawService {
+    private static final Comparator<BracketNode> NODE_ORDER = Comparator.comparing(BracketNode::getStage)
+            .thenComparing(BracketNode::getGroupNumber, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparingInt(BracketNode::getRound)
+            .thenComparingInt(BracketNode::getPosition);
+    private static final String NEXT_MATCH_EXISTS = "The next-round match has already been created for this result";
+    private static final String NOT_A_PLAYER = "The winner must be one of the match's players";
+
+    private final DrawRepository drawRepository;
+    private final BracketNodeRepository bracketNodeRepository;
+    private final RegistrationRepository registrationRepository;
+    private final TournamentRepository tournamentRepository;
+    private final MatchRepository matchRepository;
+    private final ScheduleService scheduleService;
+    private final CourtRepository courtRepository;
+
+    public DrawServiceImpl(DrawRepository drawRepository,
+                           BracketNodeRepository bracketNodeRepository,
+                           RegistrationRepository registrationRepository,
+                           TournamentRepository tournamentRepository,
+                           MatchRepository matchRepository,
+                           ScheduleService scheduleService,
+                           CourtRepository courtRepository) {
+        this.drawRepository = drawRepository;
+        this.bracketNodeRepository = bracketNodeRepository;
+        this.registrationRepository = registrationRepository;
+        this.tournamentRepository = tournamentRepository;
+        this.matchRepository = matchRepository;
+        this.scheduleService = scheduleService;
+        this.courtRepository = courtRepository;
+    }
+
+    @Override
+    public DrawResponseDTO generateDraw(Integer tournamentId, DrawRequestDTO request) {
+        Tournament tournament = tournamentRepository.findById(tournamentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tournament not found"));
+        if (drawRepository.existsByTournamentId(tournamentId)) {
+            throw new DuplicateException("A draw already exists for this tournament");
+        }
+
+        List<User> seeded = registrationRepository.findApprovedWithPlayers(tournamentId).stream()
+                .sorted(Comparator.comparing((Registration r) -> r.getPlayer().getRanking(),
+                                Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(Registration::getRegistrationDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(r -> r.getPlayer().getId()))
+                .map(Registration::getPlayer)
+                .toList();
+        if (seeded.size() < 2) {
+            throw new InvalidDrawException("At least two approved registrations are needed for a draw");
+        }
+
+        Draw draw = new Draw();
+        draw.setTournament(tournament);
+        draw.setFormat(request.getFormat());
+        draw.setCreatedAt(LocalDateTime.now());
+        // a registered court is stored under its label, which is what its matches show as their venue
+        Set<Integer> courtIds = request.getCourts().stream()
+                .map(CourtDTO::getCourtId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Integer, Court> registered = courtIds.isEmpty() ? Map.of()
+                : courtRepository.findAllWithVenueByIdIn(courtIds).stream()
+                .collect(Collectors.toMap(Court::getId, Function.identity()));
+        for (CourtDTO court : request.getCourts()) {
+            Court known = court.getCourtId() == null ? null : registered.get(court.getCourtId());
+            if (court.getCourtId() != null && known == null) {
+                throw new ResourceNotFoundException("Court not found");
+            }
+            if (known == null && (court.getVenue() == null || court.getVenue().isBlank())) {
+                throw new InvalidDrawException("Either a court or a venue must be given");
+            }
+            draw.getCourts().add(new DrawCourt(known != null ? known.getLabel() : court.getVenue(),
+                    court.getOpensAt(), court.getClosesAt(), court.getCourtId()));
+        }
+        if (request.getRefereeIds() != null) {
+            draw.getRefereeIds().addAll(request.getRefereeIds());
+        }
+
+        List<BracketNode> nodes = new ArrayList<>();
+        switch (request.getFormat()) {
+            case Draw.SINGLE_ELIMINATION -> {
+                int size = BracketSeeding.bracketSize(seeded.size());
+                draw.setBracketSize(size);
+                List<BracketNode> firstRound = knockout(draw, size, nodes);
+                int[] positions = BracketSeeding.positions(size);
+                for (BracketNode node : firstRound) {
+                    int seed1 = positions[2 * node.getPosition()];
+                    int seed2 = positions[2 * node.getPosition() + 1];
+                    place(node, 1, seed1, seeded);
+                    place(node, 2, seed2, seeded);
+                    if (node.getPlayer2() == null) {
+                        advance(node, node.getPlayer1(), node.getSeed1());
+                    }
+                }
+            }
+            case Draw.ROUND_ROBIN -> {
+                int groups = request.getGroupCount() != null ? request.getGroupCount() : 1;
+                draw.setGroupCount(groups);
+                groups(draw, groups, seeded, nodes);
+            }
+            case Draw.GROUPS_TO_KNOCKOUT -> {
+                int groups = request.getGroupCount() != null ? request.getGroupCount() : 0;
+                int advance = request.getAdvancePerGroup() != null ? request.getAdvancePerGroup() : 2;
+                int size = groups * advance;
+                if (!BracketSeeding.isPowerOfTwo(size) || size < 2) {
+                    throw new InvalidDrawException("Groups times players advancing per group must be a power of two");
+                }
+                if (seeded.size() / groups < Math.max(advance, 2)) {
+                    throw new InvalidDrawException("Every group needs at least as many players as advance from it");
+                }
+                draw.setGroupCount(groups);
+                draw.setAdvancePerGroup(advance);
+                draw.setBracketSize(size);
+                groups(draw, groups, seeded, nodes);
+                int[] positions = BracketSeeding.positions(size);
+                for (BracketNode node : knockout(draw, size, nodes)) {
+                    // qualifier q is the ((q - 1) / groups + 1)-th placed player of group ((q - 1) % groups + 1)
+                    int q1 = positions[2 * node.getPosition()] - 1;
+                    int q2 = positions[2 * node.getPosition() + 1] - 1;
+                    node.setSource1Group(q1 % groups + 1);
+                    node.setSource1Rank(q1 / groups + 1);
+                    node.setSource2Group(q2 % groups + 1);
+                    node.setSource2Rank(q2 / groups + 1);
+                }
+            }
+            default -> throw new InvalidDrawException("Unknown draw format: " + request.getFormat());
+        }
+
+        List<PairingDTO> unscheduled = scheduleReady(draw, nodes, false);
+
+        // nodes are in final-first order here, so every next_node row is inserted before the rows pointing at it
+        drawRepository.save(draw);
+        bracketNodeRepository.saveAll(nodes);
+
+        nodes.sort(NODE_ORDER);
+        DrawResponseDTO response = DrawMapper.toDrawResponseDTO(draw, nodes);
+        response.setUnscheduled(unscheduled);
+        return response;
+    }
+
+    @Override
+    public DrawResponseDTO getDraw(Integer tournamentId) {
+        Draw draw = drawRepository.findByTournamentId(tournamentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Draw not found"));
+        return DrawMapper.toDrawResponseDTO(draw,
+                bracketNodeRepository.findByDrawIdOrderByStageAscGroupNumberAscRoundAscPositionAsc(draw.getId()));
+    }
+
+    // retries nodes whose players are known but whose match could not be placed when they became ready
+    @Override
+    public DrawResponseDTO scheduleReadyMatches(Integer tournamentId) {
+        Draw draw = drawRepository.findByTournamentId(tournamentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Draw not found"));
+        List<PairingDTO> unscheduled = scheduleReady(draw,
+                bracketNodeRepository.findReadyWithoutMatchForUpdate(draw.getId()), true);
+        DrawResponseDTO response = DrawMapper.toDrawResponseDTO(draw,
+                bracketNodeRepository.findByDrawIdOrderByStageAscGroupNumberAscRoundAscPositionAsc(draw.getId()));
+        response.setUnscheduled(unscheduled);
+        return response;
+    }
+
+    /**
+     * Moves a new result one step through the draw: a knockout winner takes its slot in the next node, and a
+     * finished group fills the knockout slots it feeds. Only the touched nodes are read, under row locks, so
+     * concurrent results serialize where they meet and nowhere else. A node whose two players are now known is
+     * scheduled on the draw's courts; if no slot is free it stays ready for {@link #scheduleReadyMatches}.
+     * <p>
+     * Runs once the result has committed, in a transaction of its own, so neither the bracket nor the scheduler
+     * holds up the score write. A result the draw cannot take is kept on its node as a rejected advancement.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void onMatchWinnerChanged(MatchWinnerChangedEvent event) {
+        bracketNodeRepository.findKeyByMatchId(event.matchId()).ifPresent(key -> {
+            if (BracketNode.GROUP.equals(key.getStage())) {
+                advanceGroup(key.getDrawId(), key.getGroupNumber(), event.matchId(), event.winnerId());
+            } else {
+                advanceKnockout(key.getId(), event.winnerId());
+            }
+        });
+    }
+
+    private void advanceKnockout(Integer nodeId, Integer winnerId) {
+        BracketNode node = bracketNodeRepository.findByIdForUpdate(nodeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Bracket node not found"));
+        if (!isPlayerOf(node, winnerId)) {
+            node.setRejectedAdvancement(NOT_A_PLAYER);
+            return;
+        }
+        User winner = winnerOf(node, winnerId);
+        if (node.getNextNode() == null) {
+            node.setWinner(winner);
+            node.setRejectedAdvancement(null);
+            return;
+        }
+
+        BracketNode next = bracketNodeRepository.findByIdForUpdate(node.getNextNode().getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Bracket node not found"));
+        if (next.getMatch() != null) {
+            node.setRejectedAdvancement(NEXT_MATCH_EXISTS);
+            return;
+        }
+        node.setRejectedAdvancement(null);
+        advance(node, winner, seedOf(node, winner));
+        scheduleReady(node.getDraw(), List.of(next), true);
+    }
+
+    private void advanceGroup(Integer drawId, Integer groupNumber, Integer matchId, Integer winnerId) {
+        List<BracketNode> group = bracketNodeRepository.findGroupForUpdate(drawId, groupNumber);
+        BracketNode played = group.stream()
+                .filter(node -> node.getMatch() != null && node.getMatch().getId().equals(matchId))
+                .findFirst()
+                .orElse(null);
+        if (played == null) {
+            return;
+        }
+        if (!isPlayerOf(played, winnerId)) {
+            played.setRejectedAdvancement(NOT_A_PLAYER);
+            return;
+        }
+        User previousWinner = played.getWinner();
+        played.setWinner(winnerOf(played, winnerId));
+        Draw draw = group.get(0).getDraw();
+        if (!Draw.GROUPS_TO_KNOCKOUT.equals(draw.getFormat())) {
+            return;
+        }
+
+        // a group only feeds the knockout once every match in it has a winner; a corrected result empties it again
+        List<Standing> standings = group.stream().allMatch(node -> node.getWinner() != null)
+                ? standings(group)
+                : List.of();
+        List<BracketNode> fed = bracketNodeRepository.findFedByGroupForUpdate(drawId, groupNumber);
+        // the standings move every slot the group feeds or none of them, so the knockout never has a player twice
+        boolean blocked = fed.stream().anyMatch(node -> node.getMatch() != null
+                && (groupNumber.equals(node.getSource1Group())
+                        && !sameUser(node.getPlayer1(), player(standings, node.getSource1Rank()))
+                || groupNumber.equals(node.getSource2Group())
+                        && !sameUser(node.getPlayer2(), player(standings, node.getSource2Rank()))));
+        if (blocked) {
+            played.setWinner(previousWinner);
+            played.setRejectedAdvancement(NEXT_MATCH_EXISTS);
+            return;
+        }
+        played.setRejectedAdvancement(null);
+        for (BracketNode node : fed) {
+            if (groupNumber.equals(node.getSource1Group())) {
+                Standing standing = standings.isEmpty() ? null : standings.get(node.getSource1Rank() - 1);
+                node.setPlayer1(standing == null ? null : standing.player());
+                node.setSeed1(standing == null ? null : standing.seed());
+            }
+            if (groupNumber.equals(node.getSource2Group())) {
+                Standing standing = standings.isEmpty() ? null : standings.get(node.getSource2Rank() - 1);
+                node.setPlayer2(standing == null ? null : standing.player());
+                node.setSeed2(standing == null ? null : standing.seed());
+            }
+        }
+        scheduleReady(draw, fed, true);
+    }
+
+    private record Standing(User player, int seed, int wins) {
+    }
+
+    // most wins first, the better seed breaks ties
+    private static List<Standing> standings(List<BracketNode> group) {
+        Map<Integer, Standing> byPlayer = new HashMap<>();
+        for (BracketNode node : group) {
+            byPlayer.putIfAbsent(node.getPlayer1().getId(), new Standing(node.getPlayer1(), node.getSeed1(), 0));
+            byPlayer.putIfAbsent(node.getPlayer2().getId(), new Standing(node.getPlayer2(), node.getSeed2(), 0));
+            byPlayer.computeIfPresent(node.getWinner().getId(),
+                    (id, standing) -> new Standing(standing.player(), standing.seed(), standing.wins() + 1));
+        }
+        return byPlayer.values().stream()
+                .sorted(Comparator.comparingInt(Standing::wins).reversed().thenComparingInt(Standing::seed))
+                .toList();
+    }
+
+    private static User player(List<Standing> standings, int rank) {
+        return standings.isEmpty() ? null : standings.get(rank - 1).player();
+    }
+
+    private static boolean isPlayerOf(BracketNode node, Integer winnerId) {
+        return winnerId == null || winnerOf(node, winnerId) != null;
+    }
+
+    private static User winnerOf(BracketNode node, Integer winnerId) {
+        if (winnerId == null) {
+            return null;
+        }
+        if (node.getPlayer1() != null && winnerId.equals(node.getPlayer1().getId())) {
+            return node.getPlayer1();
+        }
+        if (node.getPlayer2() != null && winnerId.equals(node.getPlayer2().getId())) {
+            return node.getPlayer2();
+        }
+        return null;
+    }
+
+    private static Integer seedOf(BracketNode node, User player) {
+        if (player == null) {
+            return null;
+        }
+        return player == node.getPlayer1() ? node.getSeed1() : node.getSeed2();
+    }
+
+    private static boolean sameUser(User a, User b) {
+        return a == null ? b == null : b != null && a.getId().equals(b.getId());
+    }
+
+    // builds every knockout round, final first so each node can point at the one its winner moves into
+    private List<BracketNode> knockout(Draw draw, int size, List<BracketNode> nodes) {
+        int rounds = Integer.numberOfTrailingZeros(size);
+        List<BracketNode> later = List.of();
+        for (int round = rounds; round >= 1; round--) {
+            int count = size >> round;
+            List<BracketNode> current = new ArrayList<>(count);
+            for (int position = 0; position < count; position++) {
+                BracketNode node = node(draw, BracketNode.KNOCKOUT, null, round, position);
+                if (!later.isEmpty()) {
+                    node.setNextNode(later.get(position / 2));
+                    node.setNextSlot(position % 2 + 1);
+                }
+                current.add(node);
+                nodes.add(node);
+            }
+            later = current;
+        }
+        return later;
+    }
+
+    // snake seeding into groups, then a full round robin inside each group (circle method gives the rounds)
+    private void groups(Draw draw, int groupCount, List<User> seeded, List<BracketNode> nodes) {
+        if (groupCount < 1 || seeded.size() < 2 * groupCount) {
+            throw new InvalidDrawException("Every group needs at least two players");
+        }
+        List<List<Integer>> members = new ArrayList<>();
+        for (int g = 0; g < groupCount; g++) {
+            members.add(new ArrayList<>());
+        }
+        for (int i = 0; i < seeded.size(); i++) {
+            int row = i / groupCount;
+            int column = i % groupCount;
+            members.get(row % 2 == 0 ? column : groupCount - 1 - column).add(i);
+        }
+
+        for (int g = 0; g < groupCount; g++) {
+            List<Integer> group = new ArrayList<>(members.get(g));
+            if (group.size() % 2 == 1) {
+                group.add(null);
+            }
+            int n = group.size();
+            int position = 0;
+            for (int round = 1; round < n; round++) {
+                for (int i = 0; i < n / 2; i++) {
+                    Integer a = group.get(i);
+                    Integer b = group.get(n - 1 - i);
+                    if (a != null && b != null) {
+                        BracketNode node = node(draw, BracketNode.GROUP, g + 1, round, position++);
+                        place(node, 1, Math.min(a, b) + 1, seeded);
+                        place(node, 2, Math.max(a, b) + 1, seeded);
+                        nodes.add(node);
+                    }
+                }
+                // keep the first entry fixed and rotate the rest
+                group.add(1, group.remove(n - 1));
+            }
+        }
+    }
+
+    // group matches never repeat a pairing; knockout rounds may rematch players who met in their group
+    private List<PairingDTO> scheduleReady(Draw draw, List<BracketNode> nodes, boolean allowRematches) {
+        Map<Long, BracketNode> ready = new HashMap<>();
+        List<PairingDTO> pairings = new ArrayList<>();
+        Set<Integer> playerIds = new HashSet<>();
+        for (BracketNode node : nodes) {
+            if (node.getPlayer1() != null && node.getPlayer2() != null
+                    && node.getWinner() == null && node.getMatch() == null) {
+                ready.put(HeadToHeadIndex.pairKey(node.getPlayer1().getId(), node.getPlayer2().getId()), node);
+                pairings.add(new PairingDTO(node.getPlayer1().getId(), node.getPlayer2().getId()));
+                playerIds.add(node.getPlayer1().getId());
+                playerIds.add(node.getPlayer2().getId());
+            }
+        }
+        if (pairings.isEmpty()) {
+            return List.of();
+        }
+        // a later round starts after the matches its players came through, not merely clear of them
+        LocalDateTime latest = matchRepository.findLatestMatchDate(draw.getTournament().getId(), playerIds);
+
+        ScheduleRequestDTO schedule = new ScheduleRequestDTO();
+        schedule.setPairings(pairings);
+        schedule.setCourts(draw.getCourts().stream()
+                .map(court -> new CourtDTO(court.getVenue(), court.getOpensAt(), court.getClosesAt(), court.getCourtId()))
+                .toList());
+        schedule.setRefereeIds(draw.getRefereeIds());
+        schedule.setNotBefore(latest == null ? null : latest.plusMinutes(BookingIndex.MIN_GAP_MINUTES));
+        ScheduleResponseDTO scheduled = scheduleService.generateSchedule(draw.getTournament().getId(), schedule,
+                allowRematches);
+        for (MatchDTO match : scheduled.getScheduled()) {
+            ready.get(HeadToHeadIndex.pairKey(match.getPlayer1Id(), match.getPlayer2Id()))
+                    .setMatch(matchRepository.getReferenceById(match.getMatchId()));
+        }
+        return scheduled.getUnscheduled();
+    }
+
+    private static BracketNode node(Draw draw, String stage, Integer groupNumber, int round, int position) {
+        BracketNode node = new BracketNode();
+        node.setDraw(draw);
+        node.setStage(stage);
+        node.setGroupNumber(groupNumber);
+        node.setRound(round);
+        node.setPosition(position);
+        return node;
+    }
+
+    // seeds beyond the number of entrants are byes and leave the slot empty
+    private static void place(BracketNode node, int slot, int seed, List<User> seeded) {
+        if (seed > seeded.size()) {
+            return;
+        }
+        if (slot == 1) {
+            node.setPlayer1(seeded.get(seed - 1));
+            node.setSeed1(seed);
+        } else {
+            node.setPlayer2(seeded.get(seed - 1));
+            node.setSeed2(seed);
+        }
+    }
+
+    private static void advance(BracketNode node, User winner, Integer seed) {
+        node.setWinner(winner);
+        BracketNode next = node.getNextNode();
+        if (next == null) {
+            return;
+        }
+        if (node.getNextSlot() == 1) {
+            next.setPlayer1(winner);
+            next.setSeed1(seed);
+        } else {
+            next.setPlayer2(winner);
+            next.setSeed2(seed);
+        }
+    }
+}
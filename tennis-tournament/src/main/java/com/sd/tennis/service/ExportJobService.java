@@ -0,0 +1,14 @@
+package com.sd.tennis.service;
+
+import com.sd.tennis.dto.ExportJobDTO;
+import com.sd.tennis.dto.ExportJobRequestDTO;
+
+import java.nio.file.Path;
+
+public interface ExportJobService {
+    ExportJobDTO submit(ExportJobRequestDTO request);
+    ExportJobDTO getJob(String jobId);
+    Path getResultFile(String jobId);
+    String getContentType(String jobId);
+    void purgeExpired();
+}
@@ -0,0 +1,205 @@
+package com.sd.tennis.service;
+
+import com.sd.tennis.dto.ExportJobDTO;
+import com.sd.tennis.dto.ExportJobRequestDTO;
+import com.sd.tennis.dto.MatchFilterDTO;
+import com.sd.tennis.exception.ExportNotReadyException;
+import com.sd.tennis.exception.ResourceNotFoundException;
+import com.sd.tennis.factory.ExportStrategyFactory;
+import com.sd.tennis.util.ExportStrategy;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class ExportJobServiceImpl implements ExportJobService {
+    private static final String QUEUED = "QUEUED";
+    private static final String RUNNING = "RUNNING";
+    private static final String COMPLETED = "COMPLETED";
+    private static final String FAILED = "FAILED";
+
+    private final MatchService matchService;
+    private final Path spoolDir;
+    private final Duration ttl;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    public ExportJobServiceImpl(MatchService matchService,
+                                @Value("${app.export.spool-dir:${java.io.tmpdir}/tennis-exports}") String spoolDir,
+                                @Value("${app.export.jobs.ttl-minutes:60}") long ttlMinutes,
+                                @Value("${app.export.jobs.threads:2}") int threads,
+                                @Value("${app.export.jobs.queue-capacity:50}") int queueCapacity) {
+        this.matchService = matchService;
+        this.spoolDir = Path.of(spoolDir);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity));
+        try {
+            Files.createDirectories(this.spoolDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create export spool directory " + spoolDir, e);
+        }
+    }
+
+    @Override
+    public ExportJobDTO submit(ExportJobRequestDTO request) {
+        ExportStrategy strategy = ExportStrategyFactory.getStrategy(request.getFormat());
+        MatchFilterDTO filter = request.getFilter() != null ? request.getFilter() : new MatchFilterDTO();
+
+        ExportJob job = new ExportJob(UUID.randomUUID().toString(), request.getFormat().toLowerCase(), strategy);
+        job.file = spoolDir.resolve(job.id + "." + strategy.getFileExtension());
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, filter));
+        } catch (RejectedExecutionException e) {
+            job.fail("Export queue is full, try again later");
+        }
+        return toDTO(job);
+    }
+
+    private void run(ExportJob job, MatchFilterDTO filter) {
+        job.status = RUNNING;
+        Path partial = job.file.resolveSibling(job.file.getFileName() + ".part");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial), 64 * 1024)) {
+                matchService.exportMatches(filter, job.strategy, out);
+            }
+            Files.move(partial, job.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.sizeBytes = Files.size(job.file);
+            job.completedAt = Instant.now();
+            job.status = COMPLETED;
+        } catch (Exception e) {
+            deleteQuietly(partial);
+            job.fail(e.getMessage());
+        }
+    }
+
+    @Override
+    public ExportJobDTO getJob(String jobId) {
+        return toDTO(findJob(jobId));
+    }
+
+    @Override
+    public Path getResultFile(String jobId) {
+        ExportJob job = findJob(jobId);
+        if (!COMPLETED.equals(job.status)) {
+            throw new ExportNotReadyException("Export job " + jobId + " is " + job.status);
+        }
+        // sendfile reads the file after the request handler has returned, so a download keeps the job for a full ttl
+        job.lastDownloadAt = Instant.now();
+        return job.file;
+    }
+
+    @Override
+    public String getContentType(String jobId) {
+        return findJob(jobId).strategy.getContentType();
+    }
+
+    @Override
+    public void purgeExpired() {
+        Instant cutoff = Instant.now().minus(ttl);
+        jobs.values().removeIf(job -> {
+            boolean expired = job.completedAt != null && job.completedAt.isBefore(cutoff)
+                    && (job.lastDownloadAt == null || job.lastDownloadAt.isBefore(cutoff));
+            if (expired) {
+                deleteQuietly(job.file);
+            }
+            return expired;
+        });
+
+        // files left behind by a previous run are not tracked in memory; a tracked file only goes with its job
+        Set<Path> tracked = new HashSet<>();
+        for (ExportJob job : jobs.values()) {
+            tracked.add(job.file.getFileName());
+            tracked.add(job.file.resolveSibling(job.file.getFileName() + ".part").getFileName());
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spoolDir)) {
+            for (Path file : files) {
+                if (!tracked.contains(file.getFileName())
+                        && Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException e) {
+            // the next run will retry
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ExportJob findJob(String jobId) {
+        ExportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Export job not found");
+        }
+        return job;
+    }
+
+    private ExportJobDTO toDTO(ExportJob job) {
+        ExportJobDTO dto = new ExportJobDTO();
+        dto.setJobId(job.id);
+        dto.setFormat(job.format);
+        dto.setStatus(job.status);
+        dto.setCreatedAt(job.createdAt);
+        dto.setCompletedAt(job.completedAt);
+        dto.setSizeBytes(job.sizeBytes);
+        dto.setError(job.error);
+        return dto;
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // left for the next cleanup run
+        }
+    }
+
+    private static class ExportJob {
+        final String id;
+        final String format;
+        final ExportStrategy strategy;
+        final Instant createdAt = Instant.now();
+        Path file;
+        volatile String status = QUEUED;
+        volatile Instant completedAt;
+        volatile Instant lastDownloadAt;
+        volatile Long sizeBytes;
+        volatile String error;
+
+        ExportJob(String id, String format, ExportStrategy strategy) {
+            this.id = id;
+            this.format = format;
+            this.strategy = strategy;
+        }
+
+        void fail(String message) {
+            error = message;
+            completedAt = Instant.now();
+            status = FAILED;
+        }
+    }
+}
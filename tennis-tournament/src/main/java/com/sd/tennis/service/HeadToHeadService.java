@@ -0,0 +1,7 @@
+package com.sd.tennis.service;
+
+import com.sd.tennis.dto.HeadToHeadDTO;
+
+public interface HeadToHeadService {
+    HeadToHeadDTO getHeadToHead(Integer player1Id, Integer player2Id);
+}
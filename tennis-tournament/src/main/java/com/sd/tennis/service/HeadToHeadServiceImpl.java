@@ -0,0 +1,87 @@
+package com.sd.tennis.service;
+
+import com.sd.tennis.cache.HeadToHeadIndex;
+import com.sd.tennis.dto.HeadToHeadDTO;
+import com.sd.tennis.dto.MatchResponseDTO;
+import com.sd.tennis.exception.ForbiddenException;
+import com.sd.tennis.exception.ResourceNotFoundException;
+import com.sd.tennis.mapper.MatchMapper;
+import com.sd.tennis.model.User;
+import com.sd.tennis.repository.MatchViewRepository;
+import com.sd.tennis.repository.ScoreDetailRepository;
+import com.sd.tennis.repository.UserRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Transactional
+public class HeadToHeadServiceImpl implements HeadToHeadService {
+    private final UserRepository userRepository;
+    private final MatchViewRepository matchViewRepository;
+    private final ScoreDetailRepository scoreDetailRepository;
+    private final HeadToHeadIndex headToHeadIndex;
+
+    public HeadToHeadServiceImpl(UserRepository userRepository,
+                                 MatchViewRepository matchViewRepository,
+                                 ScoreDetailRepository scoreDetailRepository,
+                                 HeadToHeadIndex headToHeadIndex) {
+        this.userRepository = userRepository;
+        this.matchViewRepository = matchViewRepository;
+        this.scoreDetailRepository = scoreDetailRepository;
+        this.headToHeadIndex = headToHeadIndex;
+    }
+
+    @Override
+    public HeadToHeadDTO getHeadToHead(Integer player1Id, Integer player2Id) {
+        if (player1Id.equals(player2Id)) {
+            throw new ForbiddenException("Players cannot be the same");
+        }
+        User player1 = userRepository.findById(player1Id)
+                .orElseThrow(() -> new ResourceNotFoundException("Player 1 not found"));
+        User player2 = userRepository.findById(player2Id)
+                .orElseThrow(() -> new ResourceNotFoundException("Player 2 not found"));
+
+        HeadToHeadDTO dto = new HeadToHeadDTO();
+        dto.setPlayer1Id(player1Id);
+        dto.setPlayer1Name(MatchMapper.fullName(player1));
+        dto.setPlayer2Id(player2Id);
+        dto.setPlayer2Name(MatchMapper.fullName(player2));
+        if (!headToHeadIndex.hasMet(player1Id, player2Id)) {
+            return dto;
+        }
+
+        int minPlayerId = Math.min(player1Id, player2Id);
+        int maxPlayerId = Math.max(player1Id, player2Id);
+
+        // newest first
+        List<MatchResponseDTO> meetings = matchViewRepository.findResponsesByPair(minPlayerId, maxPlayerId);
+        LocalDateTime now = LocalDateTime.now();
+        dto.setMatches(meetings.size());
+        for (MatchResponseDTO meeting : meetings) {
+            if (player1Id.equals(meeting.getWinnerId())) {
+                dto.setPlayer1Wins(dto.getPlayer1Wins() + 1);
+            } else if (player2Id.equals(meeting.getWinnerId())) {
+                dto.setPlayer2Wins(dto.getPlayer2Wins() + 1);
+            }
+            if (dto.getLastMeeting() == null && !meeting.getMatchDate().isAfter(now)) {
+                dto.setLastMeeting(meeting);
+            }
+        }
+
+        for (Object[] row : scoreDetailRepository.countSetsByPair(minPlayerId, maxPlayerId)) {
+            int homeSets = ((Number) row[1]).intValue();
+            int awaySets = ((Number) row[2]).intValue();
+            if (player1Id.equals(row[0])) {
+                dto.setPlayer1Sets(dto.getPlayer1Sets() + homeSets);
+                dto.setPlayer2Sets(dto.getPlayer2Sets() + awaySets);
+            } else {
+                dto.setPlayer1Sets(dto.getPlayer1Sets() + awaySets);
+                dto.setPlayer2Sets(dto.getPlayer2Sets() + homeSets);
+            }
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,12 @@
+package com.sd.tennis.service;
+
+import com.sd.tennis.cache.LiveScoreBoard.Snapshot;
+import com.sd.tennis.dto.LiveScoreDTO;
+
+import java.util.List;
+
+public interface LiveScoringService {
+    LiveScoreDTO scorePoint(Integer matchId, Integer playerId, Integer refereeId);
+    LiveScoreDTO getLiveScore(Integer matchId);
+    void persistLiveScores(List<Snapshot> snapshots);
+}
@@ -0,0 +1,189 @@
+package com.sd.tennis.service;
+
+import com.sd.tennis.cache.LiveScoreBoard;
+import com.sd.tennis.cache.LiveScoreBoard.LiveMatch;
+import com.sd.tennis.cache.LiveScoreBoard.Snapshot;
+import com.sd.tennis.dto.LiveScoreDTO;
+import com.sd.tennis.event.MatchUpdatedEvent;
+import com.sd.tennis.exception.DateException;
+import com.sd.tennis.exception.ForbiddenException;
+import com.sd.tennis.exception.ResourceNotFoundException;
+import com.sd.tennis.mapper.LiveScoreMapper;
+import com.sd.tennis.model.PointEvent;
+import com.sd.tennis.model.ScoreDetail;
+import com.sd.tennis.model.ScoreEvent;
+import com.sd.tennis.repository.MatchRepository;
+import com.sd.tennis.repository.MatchRepository.LiveKey;
+import com.sd.tennis.repository.MatchViewRepository;
+import com.sd.tennis.repository.PointEventRepository;
+import com.sd.tennis.repository.ScoreDetailRepository;
+import com.sd.tennis.util.TennisScore;
+import jakarta.transaction.Transactional;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Point-by-point scoring. Every point is appended to the point log and committed before it is applied in memory,
+ * so an acknowledged point survives a restart. Set rows, the overall score and the winner are derived from the
+ * in-memory score and written behind in batches by {@link com.sd.tennis.scheduler.LiveScoreFlushScheduler}.
+ */
+@Service
+@Transactional
+public class LiveScoringServiceImpl implements LiveScoringService {
+    private final MatchRepository matchRepository;
+    private final MatchViewRepository matchViewRepository;
+    private final PointEventRepository pointEventRepository;
+    private final ScoreDetailRepository scoreDetailRepository;
+    private final MatchService matchService;
+    private final ScoreHistoryService scoreHistoryService;
+    private final LiveScoreBoard board;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public LiveScoringServiceImpl(MatchRepository matchRepository,
+                                  MatchViewRepository matchViewRepository,
+                                  PointEventRepository pointEventRepository,
+                                  ScoreDetailRepository scoreDetailRepository,
+                                  MatchService matchService,
+                                  ScoreHistoryService scoreHistoryService,
+                                  LiveScoreBoard board,
+                                  ApplicationEventPublisher eventPublisher) {
+        this.matchRepository = matchRepository;
+        this.matchViewRepository = matchViewRepository;
+        this.pointEventRepository = pointEventRepository;
+        this.scoreDetailRepository = scoreDetailRepository;
+        this.matchService = matchService;
+        this.scoreHistoryService = scoreHistoryService;
+        this.board = board;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // the point insert commits on its own, before the score moves; a surrounding transaction would defer that
+    @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public LiveScoreDTO scorePoint(Integer matchId, Integer playerId, Integer refereeId) {
+        LiveMatch live = liveMatch(matchId, true);
+        if (!live.getRefereeId().equals(refereeId)) {
+            throw new ForbiddenException("You are not the referee for this match.");
+        }
+        if (LocalDateTime.now().isBefore(live.getMatchDate())) {
+            throw new DateException("Cannot score a point before match start time.");
+        }
+        int side = live.sideOf(playerId);
+        if (side == 0) {
+            throw new ForbiddenException("Player is not in this match.");
+        }
+
+        try {
+            return LiveScoreMapper.toLiveScoreDTO(record(live, side));
+        } catch (DataIntegrityViolationException e) {
+            // someone else logged this point number first (another instance); catch up from the log and retry once
+            board.remove(matchId);
+            return LiveScoreMapper.toLiveScoreDTO(record(liveMatch(matchId, true), side));
+        }
+    }
+
+    private Snapshot record(LiveMatch live, int side) {
+        synchronized (live) {
+            if (board.get(live.getMatchId()) != live) {
+                // left the board while this point waited for it; carry on from the log
+                return record(liveMatch(live.getMatchId(), true), side);
+            }
+            if (live.isDecided()) {
+                throw new ForbiddenException("Match is already decided.");
+            }
+            TennisScore score = live.getScore();
+            pointEventRepository.save(new PointEvent(null, matchRepository.getReferenceById(live.getMatchId()),
+                    score.pointsPlayed() + 1, side, LocalDateTime.now()));
+            score.point(side);
+            live.scored();
+            board.markDirty(live.getMatchId());
+            Snapshot snapshot = live.snapshot();
+            eventPublisher.publishEvent(new MatchUpdatedEvent(LiveScoreMapper.toMatchUpdateDTO(snapshot)));
+            return snapshot;
+        }
+    }
+
+    @Override
+    public LiveScoreDTO getLiveScore(Integer matchId) {
+        // reading a finished match must not pin it in the board
+        return LiveScoreMapper.toLiveScoreDTO(liveMatch(matchId, false).snapshot());
+    }
+
+    private LiveMatch liveMatch(Integer matchId, boolean keep) {
+        LiveMatch live = board.get(matchId);
+        if (live != null) {
+            return live;
+        }
+        LiveKey key = matchRepository.findLiveKeyById(matchId)
+                .orElseThrow(() -> new ResourceNotFoundException("Match not found"));
+        TennisScore score = new TennisScore(key.getBestOf());
+        pointEventRepository.findPlayersByMatchId(matchId).forEach(score::point);
+        live = new LiveMatch(key.getId(), key.getTournamentId(), key.getPlayer1Id(), key.getPlayer2Id(), key.getRefereeId(),
+                key.getMatchDate(), key.getWinnerId() != null && score.winner() == 0, score);
+        return keep ? board.putIfAbsent(live) : live;
+    }
+
+    // points acknowledged before a shutdown whose result never got written back are replayed and flushed again
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverLiveMatches() {
+        for (Integer matchId : pointEventRepository.findUndecidedMatchIds()) {
+            board.markDirty(liveMatch(matchId, true).getMatchId());
+        }
+    }
+
+    @Override
+    public void persistLiveScores(List<Snapshot> snapshots) {
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        List<Integer> matchIds = snapshots.stream().map(Snapshot::matchId).toList();
+        // lock and warm the persistence context in one query, so the per-match writes below do not each go to the
+        // database and the score log appends take their seqs in turn with the other score writers
+        matchRepository.findAllByIdForUpdate(matchIds);
+        matchViewRepository.findAllById(matchIds);
+
+        Map<Integer, Map<Integer, ScoreDetail>> existing = new HashMap<>();
+        for (ScoreDetail detail : scoreDetailRepository.findByMatchIdIn(matchIds)) {
+            existing.computeIfAbsent(detail.getMatch().getId(), id -> new HashMap<>())
+                    .put(detail.getSetNumber(), detail);
+        }
+
+        List<ScoreDetail> rows = new ArrayList<>();
+        Map<Integer, List<ScoreEvent>> events = new HashMap<>();
+        for (Snapshot snapshot : snapshots) {
+            Map<Integer, ScoreDetail> sets = existing.getOrDefault(snapshot.matchId(), Map.of());
+            for (int i = 0; i < snapshot.sets().size(); i++) {
+                int[] games = snapshot.sets().get(i);
+                ScoreDetail detail = sets.get(i + 1);
+                if (detail == null) {
+                    detail = new ScoreDetail();
+                    detail.setMatch(matchRepository.getReferenceById(snapshot.matchId()));
+                    detail.setSetNumber(i + 1);
+                } else if (detail.getPlayer1Score() == games[0] && detail.getPlayer2Score() == games[1]) {
+                    continue;
+                }
+                detail.setPlayer1Score(games[0]);
+                detail.setPlayer2Score(games[1]);
+                rows.add(detail);
+                events.computeIfAbsent(snapshot.matchId(), id -> new ArrayList<>())
+                        .add(ScoreEvent.set(i + 1, games[0], games[1]));
+            }
+        }
+        scoreDetailRepository.saveAll(rows);
+
+        for (Snapshot snapshot : snapshots) {
+            scoreHistoryService.append(matchRepository.getReferenceById(snapshot.matchId()),
+                    events.getOrDefault(snapshot.matchId(), List.of()));
+            matchService.recordLiveScore(snapshot.matchId(), snapshot.sets());
+        }
+    }
+}
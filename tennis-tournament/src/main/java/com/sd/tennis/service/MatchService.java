@@ -1,22 +1,40 @@
 package com.sd.tennis.service;
 
+import com.sd.tennis.dto.BulkMatchResultDTO;
 import com.sd.tennis.dto.MatchDTO;
+import com.sd.tennis.dto.MatchFilterDTO;
+import com.sd.tennis.dto.MatchPageDTO;
+import com.sd.tennis.dto.MatchResponseDTO;
 import com.sd.tennis.model.Match;
+import com.sd.tennis.util.ExportStrategy;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface MatchService {
     Match createMatch(MatchDTO matchDTO);
+    List<BulkMatchResultDTO> createMatches(List<MatchDTO> matchDTOs);
+    List<BulkMatchResultDTO> createMatches(List<MatchDTO> matchDTOs, boolean allowRematches);
     Match getMatchById(Integer matchId);
+    MatchResponseDTO getMatchResponseById(Integer matchId);
     Match assignRefereeToMatch(Integer matchId, Integer refereeId);
-    List<MatchDTO> getAllMatches();
-    List<MatchDTO> getMatchesByTournamentId(Integer tournamentId);
-    List<MatchDTO> getMatchesByPlayerId(Integer playerId);
-    List<MatchDTO> getMatchesByPlayersId(Integer player1Id, Integer player2Id);
-    List<MatchDTO> getMatchesByRefereeId(Integer refereeId);
-    List<MatchDTO> getMatchesByDate(String date);
+    List<MatchResponseDTO> getAllMatches();
+    List<MatchResponseDTO> getMatchesByTournamentId(Integer tournamentId);
+    List<MatchResponseDTO> getMatchesByPlayerId(Integer playerId);
+    List<MatchResponseDTO> getMatchesByPlayersId(Integer player1Id, Integer player2Id);
+    List<MatchResponseDTO> getMatchesByRefereeId(Integer refereeId);
+    List<MatchResponseDTO> getMatchesByDate(String date);
+    MatchPageDTO getMatchesPage(String cursor, Integer size);
+    MatchPageDTO getMatchesPageByTournamentId(Integer tournamentId, String cursor, Integer size);
+    MatchPageDTO getMatchesPageByPlayerId(Integer playerId, String cursor, Integer size);
+    MatchPageDTO getMatchesPageByRefereeId(Integer refereeId, String cursor, Integer size);
     void updateMatch(Integer matchId, MatchDTO matchDTO);
     void deleteMatch(Integer matchId);
-    List<MatchDTO> getFilteredMatches(Integer tournamentId, Integer playerId, Integer refereeId);
+    List<MatchResponseDTO> getFilteredMatches(MatchFilterDTO filter);
+    void exportMatches(MatchFilterDTO filter, ExportStrategy strategy, OutputStream out) throws IOException;
     void updateOverallScore(Integer matchId, String overallScore, Integer refereeId);
+    void recordLiveScore(Integer matchId, List<int[]> sets);
+    void applySetTally(Match match, int decidedBefore);
+    void restoreResult(Match match, String overallScore, int winnerSide);
 }
@@ -1,57 +1,134 @@
 package com.sd.tennis.service;
 
+import com.sd.tennis.cache.BookingIndex;
+import com.sd.tennis.cache.CollectionVersions;
+import com.sd.tennis.cache.HeadToHeadIndex;
+import com.sd.tennis.cache.LiveScoreBoard;
+import com.sd.tennis.dto.BulkMatchResultDTO;
 import com.sd.tennis.dto.MatchDTO;
+import com.sd.tennis.dto.MatchFilterDTO;
+import com.sd.tennis.dto.MatchPageDTO;
+import com.sd.tennis.dto.MatchResponseDTO;
+import com.sd.tennis.dto.MatchUpdateDTO;
+import com.sd.tennis.event.MatchUpdatedEvent;
+import com.sd.tennis.event.MatchWinnerChangedEvent;
 import com.sd.tennis.exception.DateException;
 import com.sd.tennis.exception.ForbiddenException;
 import com.sd.tennis.exception.NegativeValueException;
 import com.sd.tennis.exception.ResourceNotFoundException;
+import com.sd.tennis.lock.ParticipantLocks;
+import com.sd.tennis.mapper.MatchMapper;
+import com.sd.tennis.model.Court;
 import com.sd.tennis.model.Match;
-import com.sd.tennis.model.ScoreDetail;
+import com.sd.tennis.model.SetTally;
+import com.sd.tennis.model.MatchView;
+import com.sd.tennis.model.ScoreEvent;
 import com.sd.tennis.model.Tournament;
 import com.sd.tennis.model.User;
+import com.sd.tennis.model.Venue;
+import com.sd.tennis.repository.CourtRepository;
 import com.sd.tennis.repository.MatchRepository;
+import com.sd.tennis.repository.MatchViewRepository;
 import com.sd.tennis.repository.TournamentRepository;
 import com.sd.tennis.repository.UserRepository;
+import com.sd.tennis.specification.MatchSpecification;
+import com.sd.tennis.util.ExportStrategy;
+import com.sd.tennis.util.MatchCursor;
+import com.sd.tennis.util.ParallelExportRenderer;
 import jakarta.transaction.Transactional;
 import org.apache.coyote.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class MatchServiceImpl implements MatchService {
     private final MatchRepository matchRepository;
+    private final MatchViewRepository matchViewRepository;
     private final UserRepository playerRepository;
     private final UserRepository refereeRepository;
     private final TournamentRepository tournamentRepository;
+    private final ParallelExportRenderer exportRenderer;
+    private final CollectionVersions collectionVersions;
+    private final HeadToHeadIndex headToHeadIndex;
+    private final BookingIndex bookingIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ParticipantLocks participantLocks;
+    private final CourtRepository courtRepository;
+    private final ScoreHistoryService scoreHistoryService;
+    private final LiveScoreBoard liveScoreBoard;
+
+    @Value("${app.matches.page-size:50}")
+    private int defaultPageSize = 50;
+
+    @Value("${app.matches.max-page-size:500}")
+    private int maxPageSize = 500;
+
+    // rows per page when a cross-tournament export is split by tournament
+    @Value("${app.export.fetch-size:500}")
+    private int exportPageSize = 500;
 
     public MatchServiceImpl(MatchRepository matchRepository,
+                            MatchViewRepository matchViewRepository,
                             UserRepository playerRepository,
                             UserRepository refereeRepository,
-                            TournamentRepository tournamentRepository) {
+                            TournamentRepository tournamentRepository,
+                            ParallelExportRenderer exportRenderer,
+                            CollectionVersions collectionVersions,
+                            HeadToHeadIndex headToHeadIndex,
+                            BookingIndex bookingIndex,
+                            ApplicationEventPublisher eventPublisher,
+                            ParticipantLocks participantLocks,
+                            CourtRepository courtRepository,
+                            ScoreHistoryService scoreHistoryService,
+                            LiveScoreBoard liveScoreBoard) {
         this.matchRepository = matchRepository;
+        this.matchViewRepository = matchViewRepository;
         this.playerRepository = playerRepository;
         this.refereeRepository = refereeRepository;
         this.tournamentRepository = tournamentRepository;
+        this.exportRenderer = exportRenderer;
+        this.collectionVersions = collectionVersions;
+        this.headToHeadIndex = headToHeadIndex;
+        this.bookingIndex = bookingIndex;
+        this.eventPublisher = eventPublisher;
+        this.participantLocks = participantLocks;
+        this.courtRepository = courtRepository;
+        this.scoreHistoryService = scoreHistoryService;
+        this.liveScoreBoard = liveScoreBoard;
     }
 
     @Override
     public Match createMatch(MatchDTO matchDTO) {
         Tournament tournament = tournamentRepository.findById(matchDTO.getTournamentId())
                 .orElseThrow(() -> new RuntimeException("Tournament not found"));
-
-        LocalDateTime matchDate = matchDTO.getMatchDate();
-        LocalDate matchDateLocal = matchDate.toLocalDate();
-
-        if (matchDateLocal.isBefore(tournament.getStartDate()) || matchDateLocal.isAfter(tournament.getEndDate())) {
-            throw new DateException("Match date must be within the tournament dates");
-        }
+        checkWithinTournament(tournament, matchDTO.getMatchDate());
+        participantLocks.lock(Arrays.asList(matchDTO.getPlayer1Id(), matchDTO.getPlayer2Id(), matchDTO.getRefereeId(),
+                placeKey(matchDTO)));
 
         User player1 = playerRepository.findById(matchDTO.getPlayer1Id())
                 .orElseThrow(() -> new ResourceNotFoundException("Player 1 not found"));
@@ -59,62 +136,270 @@ public class MatchServiceImpl implements MatchService {
                 .orElseThrow(() -> new ResourceNotFoundException("Player 2 not found"));
         User referee = refereeRepository.findById(matchDTO.getRefereeId())
                 .orElseThrow(() -> new ResourceNotFoundException("Referee not found"));
+        Court court = matchDTO.getCourtId() == null ? null : courtRepository.findWithVenueById(matchDTO.getCourtId())
+                .orElseThrow(() -> new ResourceNotFoundException("Court not found"));
+
+        Match saved = matchRepository.save(buildMatch(matchDTO, tournament, player1, player2, referee, court,
+                batchFor(List.of(matchDTO)), false));
+        matchViewRepository.save(MatchMapper.toMatchView(saved));
+        registerCreated(saved);
+        collectionVersions.matchesChanged(tournament.getId());
+        return saved;
+    }
+
+    @Override
+    public List<BulkMatchResultDTO> createMatches(List<MatchDTO> matchDTOs) {
+        return createMatches(matchDTOs, false);
+    }
 
-        List<Match> sameDayMatchesPlayer1 = matchRepository.findAllByPlayerIdAndDay(matchDTO.getPlayer1Id(), matchDTO.getMatchDate());
-        if (!sameDayMatchesPlayer1.isEmpty()) {
-            for (Match existing : sameDayMatchesPlayer1) {
-                if (timeOverlap(existing.getMatchDate(), matchDTO.getMatchDate())) {
-                    throw new ForbiddenException("Player 1 is already scheduled within 2 hours of that match.");
-                }
+    @Override
+    public List<BulkMatchResultDTO> createMatches(List<MatchDTO> matchDTOs, boolean allowRematches) {
+        // one ordered acquisition for the whole batch, so two overlapping batches cannot deadlock
+        participantLocks.lock(matchDTOs.stream()
+                .flatMap(dto -> Stream.of(dto.getPlayer1Id(), dto.getPlayer2Id(), dto.getRefereeId(),
+                        placeKey(dto)))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        Map<Integer, Tournament> tournaments = tournamentRepository.findAllById(matchDTOs.stream()
+                        .map(MatchDTO::getTournamentId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Tournament::getId, Function.identity()));
+        Map<Integer, User> users = playerRepository.findAllById(matchDTOs.stream()
+                        .flatMap(dto -> Stream.of(dto.getPlayer1Id(), dto.getPlayer2Id(), dto.getRefereeId()))
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Set<Integer> courtIds = matchDTOs.stream()
+                .map(MatchDTO::getCourtId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Integer, Court> courts = courtIds.isEmpty() ? Map.of() : courtRepository.findAllWithVenueByIdIn(courtIds)
+                .stream()
+                .collect(Collectors.toMap(Court::getId, Function.identity()));
+
+        List<BulkMatchResultDTO> results = new ArrayList<>(matchDTOs.size());
+        List<Match> accepted = new ArrayList<>();
+        List<BulkMatchResultDTO> acceptedResults = new ArrayList<>();
+        Batch batch = batchFor(matchDTOs);
+        for (int i = 0; i < matchDTOs.size(); i++) {
+            MatchDTO dto = matchDTOs.get(i);
+            BulkMatchResultDTO result = new BulkMatchResultDTO();
+            result.setIndex(i);
+            results.add(result);
+            try {
+                Tournament tournament = resolve(tournaments, dto.getTournamentId(), "Tournament not found");
+                checkWithinTournament(tournament, dto.getMatchDate());
+                User player1 = resolve(users, dto.getPlayer1Id(), "Player 1 not found");
+                User player2 = resolve(users, dto.getPlayer2Id(), "Player 2 not found");
+                User referee = resolve(users, dto.getRefereeId(), "Referee not found");
+                Court court = dto.getCourtId() == null ? null : resolve(courts, dto.getCourtId(), "Court not found");
+
+                Match match = buildMatch(dto, tournament, player1, player2, referee, court, batch, allowRematches);
+                batch.add(match);
+                accepted.add(match);
+                acceptedResults.add(result);
+                result.setStatus(BulkMatchResultDTO.CREATED);
+            } catch (ResourceNotFoundException | DateException | ForbiddenException e) {
+                result.setStatus(BulkMatchResultDTO.REJECTED);
+                result.setError(e.getMessage());
             }
         }
 
-        List<Match> sameDayMatchesPlayer2 = matchRepository.findAllByPlayerIdAndDay(matchDTO.getPlayer2Id(), matchDTO.getMatchDate());
-        if (!sameDayMatchesPlayer2.isEmpty()) {
-            for (Match existing : sameDayMatchesPlayer2) {
-                if (timeOverlap(existing.getMatchDate(), matchDTO.getMatchDate())) {
-                    throw new ForbiddenException("Player 2 is already scheduled within 2 hours of that match.");
-                }
-            }
+        // ids come from the pooled table generator, so these flush as JDBC batches
+        List<Match> saved = matchRepository.saveAll(accepted);
+        matchViewRepository.saveAll(saved.stream().map(MatchMapper::toMatchView).toList());
+        for (int i = 0; i < saved.size(); i++) {
+            Match match = saved.get(i);
+            acceptedResults.get(i).setMatchId(match.getId());
+            registerCreated(match);
         }
+        saved.stream()
+                .map(match -> match.getTournament().getId())
+                .distinct()
+                .forEach(collectionVersions::matchesChanged);
+        return results;
+    }
 
-        List<Match> sameDayMatchesReferee = matchRepository.findAllByPlayerIdAndDay(matchDTO.getRefereeId(), matchDTO.getMatchDate());
-        if (!sameDayMatchesReferee.isEmpty()) {
-            for (Match existing : sameDayMatchesReferee) {
-                if (timeOverlap(existing.getMatchDate(), matchDTO.getMatchDate())) {
-                    throw new ForbiddenException("Referee is already scheduled within 2 hours of that match.");
-                }
-            }
+    private <T> T resolve(Map<Integer, T> loaded, Integer id, String message) {
+        T entity = loaded.get(id);
+        if (entity == null) {
+            throw new ResourceNotFoundException(message);
         }
+        return entity;
+    }
 
-        if (matchDTO.getPlayer1Id().equals(matchDTO.getPlayer2Id())) {
+    private void checkWithinTournament(Tournament tournament, LocalDateTime matchDate) {
+        LocalDate matchDateLocal = matchDate.toLocalDate();
+        if (matchDateLocal.isBefore(tournament.getStartDate()) || matchDateLocal.isAfter(tournament.getEndDate())) {
+            throw new DateException("Match date must be within the tournament dates");
+        }
+    }
+
+    // batch holds what earlier items of the same request booked, and the venues' bookings read under the lock.
+    // Draws allow rematches because a knockout can pair players who already met in their group.
+    private Match buildMatch(MatchDTO matchDTO, Tournament tournament, User player1, User player2, User referee,
+                             Court court, Batch batch, boolean allowRematches) {
+        LocalDateTime matchDate = matchDTO.getMatchDate();
+        checkAvailable(player1.getId(), matchDate, null, "Player 1", batch);
+        checkAvailable(player2.getId(), matchDate, null, "Player 2", batch);
+        checkAvailable(referee.getId(), matchDate, null, "Referee", batch);
+        if (court != null) {
+            checkOpen(court, matchDate);
+            checkAvailable(BookingIndex.courtKey(court), matchDate, null, "Court", batch);
+        } else if (batch.isVenueBooked(matchDTO.getVenue(), matchDate)) {
+            throw new ForbiddenException("Venue is already booked within 2 hours of that match.");
+        }
+
+        if (player1.getId().equals(player2.getId())) {
             throw new ForbiddenException("Players cannot be the same");
         }
 
-        if (matchRepository.existsByPlayer1IdAndPlayer2Id(matchDTO.getPlayer1Id(), matchDTO.getPlayer2Id())) {
+        if (!allowRematches && (headToHeadIndex.hasMet(player1.getId(), player2.getId(), tournament.getId())
+                || batch.hasPairing(player1.getId(), player2.getId(), tournament.getId()))) {
             throw new ForbiddenException("Players are already scheduled to play against each other in the same tournament.");
         }
 
+        if (court == null && (matchDTO.getVenue() == null || matchDTO.getVenue().isBlank())) {
+            throw new ForbiddenException("Either a court or a venue must be given");
+        }
+
+        if (matchDTO.getBestOf() != null && matchDTO.getBestOf() != 3 && matchDTO.getBestOf() != 5) {
+            throw new ForbiddenException("Matches are played best of 3 or best of 5 sets");
+        }
+
         Match match = new Match();
         match.setTournament(tournament);
         match.setPlayer1(player1);
         match.setPlayer2(player2);
         match.setReferee(referee);
         match.setMatchDate(matchDate);
-        match.setVenue(matchDTO.getVenue());
+        match.setCourt(court);
+        match.setVenue(court != null ? court.getLabel() : matchDTO.getVenue());
+        match.setBestOf(matchDTO.getBestOf() != null ? matchDTO.getBestOf() : 3);
         match.setWinner(null); //initial fara
 
         String dtoOverallScore = matchDTO.getOverallScore();
         match.setOverallScore((dtoOverallScore != null && !dtoOverallScore.isBlank())
                 ? dtoOverallScore
                 : "N/A");
+        return match;
+    }
 
-        return matchRepository.save(match);
+    private void registerCreated(Match match) {
+        Integer player1Id = match.getPlayer1().getId();
+        Integer player2Id = match.getPlayer2().getId();
+        headToHeadIndex.matchCreated(match.getId(), player1Id, player2Id, match.getTournament().getId());
+        bookingIndex.matchScheduled(match.getId(), match.getTournament().getId(), match.getMatchDate(),
+                player1Id, player2Id, match.getReferee().getId(), BookingIndex.courtKey(match.getCourt()));
     }
 
-    private boolean timeOverlap(LocalDateTime existing, LocalDateTime proposed) {
-        long diffInMinutes = ChronoUnit.MINUTES.between(existing, proposed);
-        return Math.abs(diffInMinutes) < 120;
+    private static Integer courtKey(Integer courtId) {
+        return courtId == null ? null : -courtId;
+    }
+
+    // a match is booked on its court, or by its venue name when it has none
+    private static Integer placeKey(MatchDTO matchDTO) {
+        return matchDTO.getCourtId() != null
+                ? courtKey(matchDTO.getCourtId())
+                : BookingIndex.venueKey(matchDTO.getVenue());
+    }
+
+    // the venues' bookings are read in one query, after the lock, so a concurrent request cannot slip in between
+    private Batch batchFor(List<MatchDTO> matchDTOs) {
+        Batch batch = new Batch();
+        Set<String> venues = new HashSet<>();
+        LocalDateTime first = null;
+        LocalDateTime last = null;
+        for (MatchDTO dto : matchDTOs) {
+            if (dto.getCourtId() != null || BookingIndex.venueKey(dto.getVenue()) == null
+                    || dto.getMatchDate() == null) {
+                continue;
+            }
+            venues.add(dto.getVenue().strip());
+            first = first == null || dto.getMatchDate().isBefore(first) ? dto.getMatchDate() : first;
+            last = last == null || dto.getMatchDate().isAfter(last) ? dto.getMatchDate() : last;
+        }
+        if (!venues.isEmpty()) {
+            for (Object[] row : matchRepository.findVenueBookingsBetween(venues,
+                    first.minusMinutes(BookingIndex.MIN_GAP_MINUTES), last.plusMinutes(BookingIndex.MIN_GAP_MINUTES))) {
+                batch.bookVenue((String) row[0], (LocalDateTime) row[1]);
+            }
+        }
+        return batch;
+    }
+
+    // a match holds its court for the booking gap, which has to fit inside the venue's opening hours
+    private void checkOpen(Court court, LocalDateTime matchDate) {
+        LocalTime start = matchDate.toLocalTime();
+        Venue venue = court.getVenue();
+        if (start.isBefore(venue.getOpensAt())
+                || start.plusMinutes(BookingIndex.MIN_GAP_MINUTES).isAfter(venue.getClosesAt())
+                || start.plusMinutes(BookingIndex.MIN_GAP_MINUTES).isBefore(start)) {
+            throw new DateException("Match must fit within the venue's opening hours (" + venue.getOpensAt()
+                    + "-" + venue.getClosesAt() + ")");
+        }
+    }
+
+    private void checkAvailable(Integer participantId, LocalDateTime matchDate, Integer ignoredMatchId, String who) {
+        checkAvailable(participantId, matchDate, ignoredMatchId, who, null);
+    }
+
+    // batch is null when an existing match is moved
+    private void checkAvailable(Integer participantId, LocalDateTime matchDate, Integer ignoredMatchId,
+                                String who, Batch batch) {
+        if (bookingIndex.hasConflict(participantId, matchDate, ignoredMatchId)
+                || (batch != null && batch.isBooked(participantId, matchDate))) {
+            throw new ForbiddenException(who + " is already scheduled within 2 hours of that match.");
+        }
+    }
+
+    // bookings and pairings accepted earlier in the same bulk request, not yet visible in the indexes, and the
+    // existing bookings of the free-text venues the request uses
+    private static class Batch {
+        private final Map<Integer, TreeSet<LocalDateTime>> bookings = new HashMap<>();
+        private final Map<String, TreeSet<LocalDateTime>> venues = new HashMap<>();
+        private final Set<List<Long>> pairings = new HashSet<>();
+
+        boolean isBooked(Integer participantId, LocalDateTime start) {
+            return clashes(bookings.get(participantId), start);
+        }
+
+        boolean isVenueBooked(String venue, LocalDateTime start) {
+            return venue != null && !venue.isBlank() && clashes(venues.get(BookingIndex.venueName(venue)), start);
+        }
+
+        void bookVenue(String venue, LocalDateTime start) {
+            venues.computeIfAbsent(BookingIndex.venueName(venue), name -> new TreeSet<>()).add(start);
+        }
+
+        private static boolean clashes(TreeSet<LocalDateTime> starts, LocalDateTime start) {
+            if (starts == null) {
+                return false;
+            }
+            LocalDateTime before = starts.floor(start);
+            LocalDateTime after = starts.ceiling(start);
+            return (before != null && before.isAfter(start.minusMinutes(BookingIndex.MIN_GAP_MINUTES)))
+                    || (after != null && after.isBefore(start.plusMinutes(BookingIndex.MIN_GAP_MINUTES)));
+        }
+
+        boolean hasPairing(Integer playerA, Integer playerB, Integer tournamentId) {
+            return pairings.contains(List.of(HeadToHeadIndex.pairKey(playerA, playerB), (long) tournamentId));
+        }
+
+        void add(Match match) {
+            for (User participant : List.of(match.getPlayer1(), match.getPlayer2(), match.getReferee())) {
+                bookings.computeIfAbsent(participant.getId(), id -> new TreeSet<>()).add(match.getMatchDate());
+            }
+            if (match.getCourt() != null) {
+                bookings.computeIfAbsent(BookingIndex.courtKey(match.getCourt()), id -> new TreeSet<>())
+                        .add(match.getMatchDate());
+            } else {
+                bookVenue(match.getVenue(), match.getMatchDate());
+            }
+            pairings.add(List.of(HeadToHeadIndex.pairKey(match.getPlayer1().getId(), match.getPlayer2().getId()),
+                    (long) match.getTournament().getId()));
+        }
     }
 
     @Override
@@ -123,66 +408,135 @@ public class MatchServiceImpl implements MatchService {
                 .orElseThrow(() -> new ResourceNotFoundException("Match not found"));
     }
 
+    @Override
+    public MatchResponseDTO getMatchResponseById(Integer matchId) {
+        return matchViewRepository.findResponseById(matchId)
+                .orElseThrow(() -> new ResourceNotFoundException("Match not found"));
+    }
+
     @Override
     public Match assignRefereeToMatch(Integer matchId, Integer refereeId) {
         Match match = matchRepository.findById(matchId)
                 .orElseThrow(() -> new ResourceNotFoundException("Match not found"));
         User referee = refereeRepository.findById(refereeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Referee not found"));
+        participantLocks.lock(List.of(referee.getId()));
+        checkAvailable(referee.getId(), match.getMatchDate(), matchId, "Referee");
 
         match.setReferee(referee);
+        MatchView view = viewOf(match);
+        MatchMapper.setReferee(view, referee);
+        matchViewRepository.save(view);
+        collectionVersions.matchesChanged(view.getTournamentId());
+        bookingIndex.matchScheduled(matchId, view.getTournamentId(), match.getMatchDate(),
+                view.getPlayer1Id(), view.getPlayer2Id(), referee.getId(), BookingIndex.courtKey(match.getCourt()));
         return matchRepository.save(match);
     }
 
     @Override
-    public List<MatchDTO> getAllMatches() {
-        List<Match> matches = matchRepository.findAll();
-        return matches.stream().map(this::toMatchDTO).toList();
+    public List<MatchResponseDTO> getAllMatches() {
+        return matchViewRepository.findAllResponses();
     }
 
     @Override
-    public List<MatchDTO> getMatchesByTournamentId(Integer tournamentId) {
-        tournamentRepository.findById(tournamentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Tournament not found"));
+    public List<MatchResponseDTO> getMatchesByTournamentId(Integer tournamentId) {
+        if (!tournamentRepository.existsById(tournamentId)) {
+            throw new ResourceNotFoundException("Tournament not found");
+        }
+        return matchViewRepository.findResponsesByTournamentId(tournamentId);
+    }
 
-        List<Match> matches = matchRepository.findByTournamentId(tournamentId).orElse(List.of());
-        return matches.stream().map(this::toMatchDTO).toList();
+    @Override
+    public List<MatchResponseDTO> getMatchesByPlayerId(Integer playerId) {
+        if (!playerRepository.existsById(playerId)) {
+            throw new ResourceNotFoundException("Player not found");
+        }
+        return matchViewRepository.findResponsesByPlayerId(playerId);
     }
 
     @Override
-    public List<MatchDTO> getMatchesByPlayerId(Integer playerId) {
-        playerRepository.findById(playerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Player not found"));
+    public List<MatchResponseDTO> getMatchesByPlayersId(Integer p1, Integer p2) {
+        if (!playerRepository.existsById(p1)) {
+            throw new ResourceNotFoundException("Player 1 not found");
+        }
+        if (!playerRepository.existsById(p2)) {
+            throw new ResourceNotFoundException("Player 2 not found");
+        }
+        return matchViewRepository.findResponsesByPair(Math.min(p1, p2), Math.max(p1, p2));
+    }
 
-        List<Match> matches = matchRepository.findByPlayer1Id(playerId).orElse(List.of());
-        return matches.stream().map(this::toMatchDTO).toList();
+    @Override
+    public List<MatchResponseDTO> getMatchesByRefereeId(Integer refereeId) {
+        if (!refereeRepository.existsById(refereeId)) {
+            throw new ResourceNotFoundException("Referee not found");
+        }
+        return matchViewRepository.findResponsesByRefereeId(refereeId);
     }
 
     @Override
-    public List<MatchDTO> getMatchesByPlayersId(Integer p1, Integer p2) {
-        playerRepository.findById(p1)
-                .orElseThrow(() -> new ResourceNotFoundException("Player 1 not found"));
-        playerRepository.findById(p2)
-                .orElseThrow(() -> new ResourceNotFoundException("Player 2 not found"));
+    public List<MatchResponseDTO> getMatchesByDate(String date) {
+        LocalDateTime matchDate = LocalDateTime.parse(date);
+        return matchViewRepository.findResponsesByMatchDate(matchDate);
+    }
 
-        List<Match> matches = matchRepository.findByPlayersId(p1, p2).orElse(List.of());
-        return matches.stream().map(this::toMatchDTO).toList();
+    @Override
+    public MatchPageDTO getMatchesPage(String cursor, Integer size) {
+        MatchCursor after = MatchCursor.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        return toPage(matchViewRepository.findResponsesAfter(
+                after.getMatchDate(), after.getMatchId(), Limit.of(pageSize + 1)), pageSize);
     }
 
     @Override
-    public List<MatchDTO> getMatchesByRefereeId(Integer refereeId) {
-        refereeRepository.findById(refereeId)
-                .orElseThrow(() -> new ResourceNotFoundException("Referee not found"));
+    public MatchPageDTO getMatchesPageByTournamentId(Integer tournamentId, String cursor, Integer size) {
+        if (!tournamentRepository.existsById(tournamentId)) {
+            throw new ResourceNotFoundException("Tournament not found");
+        }
+        MatchCursor after = MatchCursor.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        return toPage(matchViewRepository.findResponsesByTournamentIdAfter(
+                tournamentId, after.getMatchDate(), after.getMatchId(), Limit.of(pageSize + 1)), pageSize);
+    }
 
-        List<Match> matches = matchRepository.findByRefereeId(refereeId).orElse(List.of());
-        return matches.stream().map(this::toMatchDTO).toList();
+    @Override
+    public MatchPageDTO getMatchesPageByPlayerId(Integer playerId, String cursor, Integer size) {
+        if (!playerRepository.existsById(playerId)) {
+            throw new ResourceNotFoundException("Player not found");
+        }
+        MatchCursor after = MatchCursor.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        return toPage(matchViewRepository.findResponsesByPlayerIdAfter(
+                playerId, after.getMatchDate(), after.getMatchId(), Limit.of(pageSize + 1)), pageSize);
     }
 
     @Override
-    public List<MatchDTO> getMatchesByDate(String date) {
-        LocalDateTime matchDate = LocalDateTime.parse(date);
-        List<Match> matches = matchRepository.findByMatchDate(matchDate).orElse(List.of());
-        return matches.stream().map(this::toMatchDTO).toList();
+    public MatchPageDTO getMatchesPageByRefereeId(Integer refereeId, String cursor, Integer size) {
+        if (!refereeRepository.existsById(refereeId)) {
+            throw new ResourceNotFoundException("Referee not found");
+        }
+        MatchCursor after = MatchCursor.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        return toPage(matchViewRepository.findResponsesByRefereeIdAfter(
+                refereeId, after.getMatchDate(), after.getMatchId(), Limit.of(pageSize + 1)), pageSize);
+    }
+
+    private int resolvePageSize(Integer requested) {
+        if (requested == null) {
+            return defaultPageSize;
+        }
+        if (requested < 1) {
+            throw new NegativeValueException("Page size must be positive");
+        }
+        return Math.min(requested, maxPageSize);
+    }
+
+    // one extra row is fetched to tell whether another page follows
+    private MatchPageDTO toPage(List<MatchResponseDTO> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new MatchPageDTO(rows, null);
+        }
+        List<MatchResponseDTO> items = rows.subList(0, pageSize);
+        return new MatchPageDTO(items, MatchCursor.after(items.get(pageSize - 1)).encode());
     }
 
     @Override
@@ -190,8 +544,32 @@ public class MatchServiceImpl implements MatchService {
         Match match = matchRepository.findById(matchId)
                 .orElseThrow(() -> new ResourceNotFoundException("Match not found"));
 
+        // without a courtId the match stays on its current court, if it has one
+        Court court = match.getCourt();
+        if (matchDTO.getCourtId() != null && (court == null || !court.getId().equals(matchDTO.getCourtId()))) {
+            court = courtRepository.findWithVenueById(matchDTO.getCourtId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Court not found"));
+        }
+        boolean courtChanged = court != match.getCourt();
+        boolean moved = !matchDTO.getMatchDate().equals(match.getMatchDate());
+        if (moved) {
+            participantLocks.lock(Arrays.asList(match.getPlayer1().getId(), match.getPlayer2().getId(),
+                    match.getReferee().getId(), BookingIndex.courtKey(court)));
+            checkAvailable(match.getPlayer1().getId(), matchDTO.getMatchDate(), matchId, "Player 1");
+            checkAvailable(match.getPlayer2().getId(), matchDTO.getMatchDate(), matchId, "Player 2");
+            checkAvailable(match.getReferee().getId(), matchDTO.getMatchDate(), matchId, "Referee");
+        } else if (courtChanged) {
+            participantLocks.lock(List.of(BookingIndex.courtKey(court)));
+        }
+        if (court != null && (moved || courtChanged)) {
+            checkOpen(court, matchDTO.getMatchDate());
+            checkAvailable(BookingIndex.courtKey(court), matchDTO.getMatchDate(), matchId, "Court");
+        }
+
+        Integer previousWinnerId = winnerId(match);
         match.setMatchDate(matchDTO.getMatchDate());
-        match.setVenue(matchDTO.getVenue());
+        match.setCourt(court);
+        match.setVenue(court != null ? court.getLabel() : matchDTO.getVenue());
         match.setWinner(matchDTO.getWinnerId() != null
                 ? playerRepository.findById(matchDTO.getWinnerId()).orElse(null)
                 : null);
@@ -200,7 +578,20 @@ public class MatchServiceImpl implements MatchService {
             match.setOverallScore(matchDTO.getOverallScore());
         }
 
+        MatchView view = viewOf(match);
+        view.setMatchDate(match.getMatchDate());
+        view.setVenue(match.getVenue());
+        MatchMapper.setWinner(view, match.getWinner());
+        view.setOverallScore(match.getOverallScore());
+        matchViewRepository.save(view);
+        collectionVersions.matchesChanged(view.getTournamentId());
+        eventPublisher.publishEvent(new MatchUpdatedEvent(MatchMapper.toMatchUpdateDTO(view, MatchUpdateDTO.SCHEDULE)));
+        if (moved || courtChanged) {
+            bookingIndex.matchScheduled(matchId, view.getTournamentId(), match.getMatchDate(),
+                    view.getPlayer1Id(), view.getPlayer2Id(), view.getRefereeId(), BookingIndex.courtKey(court));
+        }
         matchRepository.save(match);
+        publishIfWinnerChanged(match, previousWinnerId);
     }
 
     @Override
@@ -208,95 +599,70 @@ public class MatchServiceImpl implements MatchService {
         Match match = matchRepository.findById(matchId)
                 .orElseThrow(() -> new ResourceNotFoundException("Match not found"));
         matchRepository.delete(match);
+        matchViewRepository.deleteById(matchId);
+        collectionVersions.matchesChanged(match.getTournament().getId());
+        headToHeadIndex.matchDeleted(matchId, match.getPlayer1().getId(), match.getPlayer2().getId());
+        bookingIndex.matchRemoved(matchId);
     }
 
-    //for future, to automatically compute the final score from ScoreDetail
-    private String computeMatchOutcome(Match match) {
-        int player1Sets = 0;
-        int player2Sets = 0;
-        StringBuilder setScores = new StringBuilder();
+    // falls back to a full copy if the row is missing, e.g. for a match created before the view existed
+    private MatchView viewOf(Match match) {
+        return matchViewRepository.findById(match.getId())
+                .orElseGet(() -> MatchMapper.toMatchView(match));
+    }
 
-        for (ScoreDetail detail : match.getScoreDetails()) {
-            if (detail.getPlayer1Score() > detail.getPlayer2Score()) {
-                player1Sets++;
-            } else if (detail.getPlayer1Score() < detail.getPlayer2Score()) {
-                player2Sets++;
-            }
-            setScores.append("Set ")
-                    .append(detail.getSetNumber())
-                    .append(": ")
-                    .append(detail.getPlayer1Score())
-                    .append("-")
-                    .append(detail.getPlayer2Score())
-                    .append("; ");
-        }
-
-        String outcome;
-        if (player1Sets > player2Sets) {
-            outcome = "Player 1 wins: " + player1Sets + "-" + player2Sets;
-            match.setWinner(match.getPlayer1());
-        } else if (player1Sets < player2Sets) {
-            outcome = "Player 2 wins: " + player2Sets + "-" + player1Sets;
-            match.setWinner(match.getPlayer2());
-        } else {
-            outcome = "Tie";
-        }
-
-        match.setOverallScore(outcome + " | Set Scores: " + setScores);
-        matchRepository.save(match);
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildMatchViewIfStale() {
+        if (matchViewRepository.count() != matchRepository.count()) {
+            matchViewRepository.deleteAllRows();
+            matchViewRepository.insertAllFromMatches();
+        }
+    }
 
-        return match.getOverallScore();
+    @Override
+    public List<MatchResponseDTO> getFilteredMatches(MatchFilterDTO filter) {
+        return matchViewRepository.findResponses(toSpecification(filter));
     }
 
     @Override
-    public List<MatchDTO> getFilteredMatches(Integer tournamentId, Integer playerId, Integer refereeId) {
-        List<Match> matches = matchRepository.findAll();
-
-        if (tournamentId != null) {
-            matches = matches.stream()
-                    .filter(m -> m.getTournament().getId().equals(tournamentId))
-                    .collect(Collectors.toList());
-        }
-        if (playerId != null) {
-            matches = matches.stream()
-                    .filter(m -> m.getPlayer1().getId().equals(playerId)
-                            || m.getPlayer2().getId().equals(playerId))
-                    .collect(Collectors.toList());
-        }
-        if (refereeId != null) {
-            matches = matches.stream()
-                    .filter(m -> m.getReferee().getId().equals(refereeId))
-                    .collect(Collectors.toList());
-        }
-
-        return matches.stream().map(this::toMatchDTO).collect(Collectors.toList());
-    }
-
-    private MatchDTO toMatchDTO(Match match) {
-        MatchDTO matchDTO = new MatchDTO();
-        matchDTO.setMatchId(match.getId());
-        matchDTO.setTournamentId(match.getTournament().getId());
-        matchDTO.setPlayer1Id(match.getPlayer1().getId());
-        matchDTO.setPlayer2Id(match.getPlayer2().getId());
-        matchDTO.setRefereeId(match.getReferee().getId());
-        matchDTO.setWinnerId(match.getWinner() != null ? match.getWinner().getId() : null);
-        matchDTO.setMatchDate(match.getMatchDate());
-        matchDTO.setVenue(match.getVenue());
-
-        matchDTO.setTournamentName(match.getTournament().getName());
-        matchDTO.setPlayer1Name(match.getPlayer1().getFirstName() + " " + match.getPlayer1().getLastName());
-        matchDTO.setPlayer2Name(match.getPlayer2().getFirstName() + " " + match.getPlayer2().getLastName());
-        matchDTO.setRefereeName(match.getReferee().getFirstName() + " " + match.getReferee().getLastName());
-        matchDTO.setWinnerName(match.getWinner() != null
-                ? (match.getWinner().getFirstName() + " " + match.getWinner().getLastName())
-                : "N/A");
+    public void exportMatches(MatchFilterDTO filter, ExportStrategy strategy, OutputStream out) throws IOException {
+        Specification<MatchView> spec = toSpecification(filter);
+        List<Integer> tournamentIds = filter.getTournamentId() == null && exportRenderer.getParallelism() > 1
+                ? matchViewRepository.findTournamentIds(spec)
+                : List.of();
+
+        if (tournamentIds.size() < 2) {
+            try (Stream<MatchResponseDTO> rows = matchViewRepository.streamResponses(spec)) {
+                strategy.export(rows.iterator(), out);
+            }
+            return;
+        }
+
+        // one partition per tournament, paged by keyset; rows come out in the same (tournament, date, id) order as
+        // the streamed path, but each page is its own read rather than part of one snapshot
+        List<ParallelExportRenderer.Partition> partitions = tournamentIds.stream()
+                .<ParallelExportRenderer.Partition>map(id -> last -> matchViewRepository.findResponses(
+                        spec.and(MatchSpecification.inTournament(id)).and(last == null ? null
+                                : MatchSpecification.after(last.getMatchDate(), last.getMatchId())),
+                        exportPageSize))
+                .toList();
+        exportRenderer.render(partitions, strategy, out);
+    }
 
-        matchDTO.setOverallScore(match.getOverallScore());
-        return matchDTO;
+    private Specification<MatchView> toSpecification(MatchFilterDTO filter) {
+        LocalDate from = filter.getFrom();
+        LocalDate to = filter.getTo();
+        return Specification
+                .where(MatchSpecification.inTournament(filter.getTournamentId()))
+                .and(MatchSpecification.hasPlayer(filter.getPlayerId()))
+                .and(MatchSpecification.hasReferee(filter.getRefereeId()))
+                .and(MatchSpecification.playedFrom(from != null ? from.atStartOfDay() : null))
+                .and(MatchSpecification.playedBefore(to != null ? to.plusDays(1).atStartOfDay() : null))
+                .and(MatchSpecification.atVenue(filter.getVenue()));
     }
 
     public void updateOverallScore(Integer matchId, String newScore, Integer refereeId) {
-        Match match = matchRepository.findById(matchId)
+        Match match = matchRepository.findByIdForUpdate(matchId)
                 .orElseThrow(() -> new ResourceNotFoundException("Match not found"));
 
         if (!match.getReferee().getId().equals(refereeId)) {
@@ -322,15 +688,85 @@ public class MatchServiceImpl implements MatchService {
             throw new NegativeValueException("Scores cannot be negative");
         }
 
-        if (player1Score > player2Score) {
-            match.setWinner(match.getPlayer1());
-        } else if (player2Score > player1Score) {
-            match.setWinner(match.getPlayer2());
-        } else {
-            match.setWinner(null);
-        }
+        restoreResult(match, newScore, player1Score > player2Score ? 1 : player2Score > player1Score ? 2 : 0);
+    }
 
+    // a result that does not follow from the set tally: entered by hand, or put back from the score log
+    @Override
+    public void restoreResult(Match match, String newScore, int winnerSide) {
+        Integer previousWinnerId = winnerId(match);
+        match.setWinner(winnerSide == 1 ? match.getPlayer1() : winnerSide == 2 ? match.getPlayer2() : null);
         match.setOverallScore(newScore);
+        String[] scores = newScore.split("-");
+        scoreHistoryService.append(match, List.of(scores.length != 2
+                ? ScoreEvent.result(null, null, winnerSide)
+                : ScoreEvent.result(Integer.parseInt(scores[0]), Integer.parseInt(scores[1]), winnerSide)));
+
+        MatchView view = viewOf(match);
+        MatchMapper.setWinner(view, match.getWinner());
+        view.setOverallScore(newScore);
+        matchViewRepository.save(view);
+        collectionVersions.matchesChanged(view.getTournamentId());
+        eventPublisher.publishEvent(new MatchUpdatedEvent(MatchMapper.toMatchUpdateDTO(view, MatchUpdateDTO.SCORE)));
+        matchRepository.save(match);
+        publishIfWinnerChanged(match, previousWinnerId);
+        liveScoreBoard.scoreWritten(match.getId());
+    }
+
+    // written behind from live scoring, which already checked the referee and the points; the live score knows
+    // every set, so the tally is rebuilt rather than adjusted
+    @Override
+    public void recordLiveScore(Integer matchId, List<int[]> sets) {
+        // locked by the caller, which also logs the set changes
+        Match match = matchRepository.findById(matchId)
+                .orElseThrow(() -> new ResourceNotFoundException("Match not found"));
+
+        SetTally tally = match.getTally();
+        int decidedBefore = tally.decidedSide(match.getBestOf());
+        tally.clear();
+        for (int[] set : sets) {
+            tally.add(set[0], set[1]);
+        }
+        writeSetTally(match, decidedBefore);
+    }
+
+    // sets entered by hand; live scoring picks them up from the database rather than from its board
+    @Override
+    public void applySetTally(Match match, int decidedBefore) {
+        writeSetTally(match, decidedBefore);
+        liveScoreBoard.scoreWritten(match.getId());
+    }
+
+    // the caller has already moved the tally; the winner only follows it when the set count decides, or stops
+    // deciding, the match, so a result entered by hand is not cleared by an unrelated set correction
+    private void writeSetTally(Match match, int decidedBefore) {
+        SetTally tally = match.getTally();
+        int decided = tally.decidedSide(match.getBestOf());
+        Integer previousWinnerId = winnerId(match);
+        if (decided != decidedBefore) {
+            match.setWinner(decided == 1 ? match.getPlayer1() : decided == 2 ? match.getPlayer2() : null);
+        }
+
+        match.setOverallScore(tally.setScore());
+        MatchView view = viewOf(match);
+        MatchMapper.setWinner(view, match.getWinner());
+        view.setOverallScore(match.getOverallScore());
+        matchViewRepository.save(view);
+        collectionVersions.matchesChanged(view.getTournamentId());
+        eventPublisher.publishEvent(new MatchUpdatedEvent(MatchMapper.toMatchUpdateDTO(view, MatchUpdateDTO.SCORE)));
         matchRepository.save(match);
+        publishIfWinnerChanged(match, previousWinnerId);
+    }
+
+    private static Integer winnerId(Match match) {
+        return match.getWinner() == null ? null : match.getWinner().getId();
+    }
+
+    // the draw picks the result up once this transaction has committed; a bracket that cannot take it never undoes the score
+    private void publishIfWinnerChanged(Match match, Integer previousWinnerId) {
+        Integer winnerId = winnerId(match);
+        if (!Objects.equals(previousWinnerId, winnerId)) {
+            eventPublisher.publishEvent(new MatchWinnerChangedEvent(match.getId(), match.getTournament().getId(), winnerId));
+        }
     }
 }
@@ -0,0 +1,9 @@
+package com.sd.tennis.service;
+
+import com.sd.tennis.dto.RefereeAssignmentPlanDTO;
+import com.sd.tennis.dto.RefereeAssignmentRequestDTO;
+
+public interface RefereeAssignmentService {
+    RefereeAssignmentPlanDTO previewAssignments(Integer tournamentId, RefereeAssignmentRequestDTO request);
+    RefereeAssignmentPlanDTO commitAssignments(Integer tournamentId, RefereeAssignmentRequestDTO request);
+}
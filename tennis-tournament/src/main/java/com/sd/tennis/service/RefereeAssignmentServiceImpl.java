@@ -0,0 +1,237 @@
+package com.sd.tennis.service;
+
+import com.sd.tennis.cache.BookingIndex;
+import com.sd.tennis.cache.CollectionVersions;
+import com.sd.tennis.dto.RefereeAssignmentDTO;
+import com.sd.tennis.dto.RefereeAssignmentPlanDTO;
+import com.sd.tennis.dto.RefereeAssignmentRequestDTO;
+import com.sd.tennis.exception.ResourceNotFoundException;
+import com.sd.tennis.lock.ParticipantLocks;
+import com.sd.tennis.mapper.MatchMapper;
+import com.sd.tennis.model.Match;
+import com.sd.tennis.model.MatchView;
+import com.sd.tennis.model.User;
+import com.sd.tennis.repository.MatchRepository;
+import com.sd.tennis.repository.MatchViewRepository;
+import com.sd.tennis.repository.TournamentRepository;
+import com.sd.tennis.repository.UserRepository;
+import com.sd.tennis.util.MinCostAssignment;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Assigns referees to many matches of a tournament at once. Selected matches are taken in start order in
+ * groups that all fall within {@link BookingIndex#MIN_GAP_MINUTES} of the group's first match, so a referee can
+ * take at most one match per group; each group is then a min-cost assignment whose cost is the referee's load
+ * so far. Referees who play in the match, share a nationality with a player, or are booked within two hours
+ * are never considered.
+ */
+@Service
+@Transactional
+public class RefereeAssignmentServiceImpl implements RefereeAssignmentService {
+    private final MatchRepository matchRepository;
+    private final MatchViewRepository matchViewRepository;
+    private final UserRepository userRepository;
+    private final TournamentRepository tournamentRepository;
+    private final CollectionVersions collectionVersions;
+    private final BookingIndex bookingIndex;
+    private final ParticipantLocks participantLocks;
+
+    public RefereeAssignmentServiceImpl(MatchRepository matchRepository,
+                                        MatchViewRepository matchViewRepository,
+                                        UserRepository userRepository,
+                                        TournamentRepository tournamentRepository,
+                                        CollectionVersions collectionVersions,
+                                        BookingIndex bookingIndex,
+                                        ParticipantLocks participantLocks) {
+        this.matchRepository = matchRepository;
+        this.matchViewRepository = matchViewRepository;
+        this.userRepository = userRepository;
+        this.tournamentRepository = tournamentRepository;
+        this.collectionVersions = collectionVersions;
+        this.bookingIndex = bookingIndex;
+        this.participantLocks = participantLocks;
+    }
+
+    @Override
+    public RefereeAssignmentPlanDTO previewAssignments(Integer tournamentId, RefereeAssignmentRequestDTO request) {
+        return plan(tournamentId, request, false).dto;
+    }
+
+    @Override
+    public RefereeAssignmentPlanDTO commitAssignments(Integer tournamentId, RefereeAssignmentRequestDTO request) {
+        Plan plan = plan(tournamentId, request, true);
+
+        List<Match> changed = new ArrayList<>();
+        for (Map.Entry<Match, User> entry : plan.chosen.entrySet()) {
+            Match match = entry.getKey();
+            if (!match.getReferee().getId().equals(entry.getValue().getId())) {
+                match.setReferee(entry.getValue());
+                changed.add(match);
+            }
+        }
+        if (!changed.isEmpty()) {
+            Map<Integer, Match> byId = changed.stream().collect(Collectors.toMap(Match::getId, Function.identity()));
+            List<MatchView> views = matchViewRepository.findAllById(byId.keySet());
+            views.forEach(view -> MatchMapper.setReferee(view, byId.get(view.getMatchId()).getReferee()));
+            matchRepository.saveAll(changed);
+            matchViewRepository.saveAll(views);
+            for (Match match : changed) {
+                bookingIndex.matchScheduled(match.getId(), tournamentId, match.getMatchDate(),
+                        match.getPlayer1().getId(), match.getPlayer2().getId(), match.getReferee().getId(),
+                        BookingIndex.courtKey(match.getCourt()));
+            }
+            collectionVersions.matchesChanged(tournamentId);
+        }
+        plan.dto.setCommitted(true);
+        return plan.dto;
+    }
+
+    // a committing plan holds the referee pool's locks so nobody books those referees between check and write
+    private Plan plan(Integer tournamentId, RefereeAssignmentRequestDTO request, boolean lock) {
+        if (!tournamentRepository.existsById(tournamentId)) {
+            throw new ResourceNotFoundException("Tournament not found");
+        }
+        List<Match> matches = matchRepository.findByTournamentIdWithParticipants(tournamentId);
+
+        List<Match> selected;
+        if (request.getMatchIds() != null && !request.getMatchIds().isEmpty()) {
+            Set<Integer> wanted = new HashSet<>(request.getMatchIds());
+            selected = matches.stream().filter(match -> wanted.contains(match.getId())).toList();
+            if (selected.size() != wanted.size()) {
+                throw new ResourceNotFoundException("Match not found");
+            }
+        } else {
+            selected = matches.stream().filter(match -> match.getWinner() == null).toList();
+        }
+
+        List<User> referees;
+        if (request.getRefereeIds() != null && !request.getRefereeIds().isEmpty()) {
+            Set<Integer> wanted = new HashSet<>(request.getRefereeIds());
+            referees = userRepository.findAllById(wanted);
+            if (referees.size() != wanted.size()) {
+                throw new ResourceNotFoundException("Referee not found");
+            }
+        } else {
+            referees = userRepository.findByRole("REFEREE").orElse(List.of());
+        }
+        if (referees.isEmpty()) {
+            throw new ResourceNotFoundException("No referees available");
+        }
+        if (lock) {
+            participantLocks.lock(referees.stream().map(User::getId).toList());
+        }
+
+        Set<Integer> selectedIds = selected.stream().map(Match::getId).collect(Collectors.toSet());
+        Map<Integer, Integer> column = new HashMap<>();
+        for (int r = 0; r < referees.size(); r++) {
+            column.put(referees.get(r).getId(), r);
+        }
+        int[] load = new int[referees.size()];
+        for (Match match : matches) {
+            Integer r = column.get(match.getReferee().getId());
+            if (r != null && !selectedIds.contains(match.getId())) {
+                load[r]++;
+            }
+        }
+
+        Plan plan = new Plan();
+        List<TreeSet<LocalDateTime>> planned = new ArrayList<>(referees.size());
+        referees.forEach(referee -> planned.add(new TreeSet<>()));
+        int from = 0;
+        while (from < selected.size()) {
+            LocalDateTime groupEnd = selected.get(from).getMatchDate().plusMinutes(BookingIndex.MIN_GAP_MINUTES);
+            int to = from;
+            while (to < selected.size() && selected.get(to).getMatchDate().isBefore(groupEnd)) {
+                to++;
+            }
+            List<Match> group = selected.subList(from, to);
+
+            long[][] cost = new long[group.size()][referees.size()];
+            for (int i = 0; i < group.size(); i++) {
+                Match match = group.get(i);
+                for (int r = 0; r < referees.size(); r++) {
+                    User referee = referees.get(r);
+                    boolean eligible = isNeutral(referee, match)
+                            && !isPlanned(planned.get(r), match.getMatchDate())
+                            && !bookingIndex.hasConflictIgnoring(referee.getId(), match.getMatchDate(), selectedIds);
+                    // doubling the load leaves room to prefer the current referee among equally loaded ones
+                    cost[i][r] = eligible
+                            ? 2L * load[r] + (referee.getId().equals(match.getReferee().getId()) ? 0 : 1)
+                            : MinCostAssignment.FORBIDDEN;
+                }
+            }
+
+            int[] assignment = MinCostAssignment.solve(cost, referees.size());
+            for (int i = 0; i < group.size(); i++) {
+                Match match = group.get(i);
+                int r = assignment[i];
+                if (r < 0) {
+                    plan.dto.getUnassignedMatchIds().add(match.getId());
+                    Integer current = column.get(match.getReferee().getId());
+                    if (current != null) {
+                        load[current]++;
+                        planned.get(current).add(match.getMatchDate());
+                    }
+                    continue;
+                }
+                load[r]++;
+                planned.get(r).add(match.getMatchDate());
+                plan.chosen.put(match, referees.get(r));
+                plan.dto.getAssignments().add(assignment(match, referees.get(r)));
+            }
+            from = to;
+        }
+
+        for (int r = 0; r < referees.size(); r++) {
+            plan.dto.getLoads().put(referees.get(r).getId(), load[r]);
+            plan.dto.setMaxLoad(Math.max(plan.dto.getMaxLoad(), load[r]));
+        }
+        return plan;
+    }
+
+    private static boolean isNeutral(User referee, Match match) {
+        Integer refereeId = referee.getId();
+        if (refereeId.equals(match.getPlayer1().getId()) || refereeId.equals(match.getPlayer2().getId())) {
+            return false;
+        }
+        String nationality = referee.getNationality();
+        return nationality == null
+                || (!nationality.equalsIgnoreCase(match.getPlayer1().getNationality())
+                && !nationality.equalsIgnoreCase(match.getPlayer2().getNationality()));
+    }
+
+    private static boolean isPlanned(TreeSet<LocalDateTime> starts, LocalDateTime start) {
+        LocalDateTime before = starts.floor(start);
+        LocalDateTime after = starts.ceiling(start);
+        return (before != null && before.isAfter(start.minusMinutes(BookingIndex.MIN_GAP_MINUTES)))
+                || (after != null && after.isBefore(start.plusMinutes(BookingIndex.MIN_GAP_MINUTES)));
+    }
+
+    private static RefereeAssignmentDTO assignment(Match match, User referee) {
+        RefereeAssignmentDTO dto = new RefereeAssignmentDTO();
+        dto.setMatchId(match.getId());
+        dto.setMatchDate(match.getMatchDate());
+        dto.setPreviousRefereeId(match.getReferee().getId());
+        dto.setRefereeId(referee.getId());
+        dto.setRefereeName(MatchMapper.fullName(referee));
+        return dto;
+    }
+
+    private static final class Plan {
+        private final RefereeAssignmentPlanDTO dto = new RefereeAssignmentPlanDTO();
+        private final Map<Match, User> chosen = new LinkedHashMap<>();
+    }
+}
@@ -0,0 +1,9 @@
+package com.sd.tennis.service;
+
+import com.sd.tennis.dto.ScheduleRequestDTO;
+import com.sd.tennis.dto.ScheduleResponseDTO;
+
+public interface ScheduleService {
+    ScheduleResponseDTO generateSchedule(Integer tournamentId, ScheduleRequestDTO request);
+    ScheduleResponseDTO generateSchedule(Integer tournamentId, ScheduleRequestDTO request, boolean allowRematches);
+}
@@ -0,0 +1,188 @@
+package com.sd.tennis.service;
+
+import com.sd.tennis.cache.BookingIndex;
+import com.sd.tennis.cache.HeadToHeadIndex;
+import com.sd.tennis.dto.BulkMatchResultDTO;
+import com.sd.tennis.dto.CourtDTO;
+import com.sd.tennis.dto.MatchDTO;
+import com.sd.tennis.dto.PairingDTO;
+import com.sd.tennis.dto.ScheduleRequestDTO;
+import com.sd.tennis.dto.ScheduleResponseDTO;
+import com.sd.tennis.exception.DateException;
+import com.sd.tennis.exception.ForbiddenException;
+import com.sd.tennis.exception.ResourceNotFoundException;
+import com.sd.tennis.model.Court;
+import com.sd.tennis.model.Tournament;
+import com.sd.tennis.model.User;
+import com.sd.tennis.model.Venue;
+import com.sd.tennis.repository.CourtRepository;
+import com.sd.tennis.repository.MatchRepository;
+import com.sd.tennis.repository.TournamentRepository;
+import com.sd.tennis.repository.UserRepository;
+import com.sd.tennis.util.OrderOfPlaySolver;
+import com.sd.tennis.util.OrderOfPlaySolver.Pairing;
+import com.sd.tennis.util.OrderOfPlaySolver.Placement;
+import com.sd.tennis.util.OrderOfPlaySolver.Schedule;
+import com.sd.tennis.util.OrderOfPlaySolver.VenueBooking;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class ScheduleServiceImpl implements ScheduleService {
+    private final TournamentRepository tournamentRepository;
+    private final UserRepository userRepository;
+    private final MatchRepository matchRepository;
+    private final MatchService matchService;
+    private final OrderOfPlaySolver solver;
+    private final HeadToHeadIndex headToHeadIndex;
+    private final BookingIndex bookingIndex;
+    private final CourtRepository courtRepository;
+
+    public ScheduleServiceImpl(TournamentRepository tournamentRepository,
+                               UserRepository userRepository,
+                               MatchRepository matchRepository,
+                               MatchService matchService,
+                               OrderOfPlaySolver solver,
+                               HeadToHeadIndex headToHeadIndex,
+                               BookingIndex bookingIndex,
+                               CourtRepository courtRepository) {
+        this.tournamentRepository = tournamentRepository;
+        this.userRepository = userRepository;
+        this.matchRepository = matchRepository;
+        this.matchService = matchService;
+        this.solver = solver;
+        this.headToHeadIndex = headToHeadIndex;
+        this.bookingIndex = bookingIndex;
+        this.courtRepository = courtRepository;
+    }
+
+    @Override
+    public ScheduleResponseDTO generateSchedule(Integer tournamentId, ScheduleRequestDTO request) {
+        return generateSchedule(tournamentId, request, false);
+    }
+
+    @Override
+    public ScheduleResponseDTO generateSchedule(Integer tournamentId, ScheduleRequestDTO request, boolean allowRematches) {
+        Tournament tournament = tournamentRepository.findById(tournamentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tournament not found"));
+
+        // registered courts are scheduled under their label, so the matches land on the court itself
+        Set<Integer> courtIds = request.getCourts().stream()
+                .map(CourtDTO::getCourtId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Integer, Court> registered = courtIds.isEmpty() ? Map.of()
+                : courtRepository.findAllWithVenueByIdIn(courtIds).stream()
+                .collect(Collectors.toMap(Court::getId, Function.identity()));
+        List<OrderOfPlaySolver.Court> courts = new ArrayList<>();
+        Map<String, Integer> courtIdByVenue = new HashMap<>();
+        for (CourtDTO court : request.getCourts()) {
+            String venue = court.getVenue();
+            LocalTime opensAt = court.getOpensAt();
+            LocalTime closesAt = court.getClosesAt();
+            if (court.getCourtId() != null) {
+                Court known = registered.get(court.getCourtId());
+                if (known == null) {
+                    throw new ResourceNotFoundException("Court not found");
+                }
+                Venue hours = known.getVenue();
+                venue = known.getLabel();
+                opensAt = opensAt.isBefore(hours.getOpensAt()) ? hours.getOpensAt() : opensAt;
+                closesAt = closesAt.isAfter(hours.getClosesAt()) ? hours.getClosesAt() : closesAt;
+                courtIdByVenue.put(venue, known.getId());
+            } else if (venue == null || venue.isBlank()) {
+                throw new ForbiddenException("Either a court or a venue must be given");
+            }
+            if (!closesAt.isAfter(opensAt)) {
+                throw new DateException("Court closing time must be after its opening time");
+            }
+            courts.add(new OrderOfPlaySolver.Court(venue, opensAt, closesAt));
+        }
+
+        List<Integer> refereeIds = request.getRefereeIds() != null && !request.getRefereeIds().isEmpty()
+                ? List.copyOf(new HashSet<>(request.getRefereeIds()))
+                : userRepository.findByRole("REFEREE").orElse(List.of()).stream().map(User::getId).toList();
+        if (refereeIds.isEmpty()) {
+            throw new ResourceNotFoundException("No referees available");
+        }
+
+        // pairings that can never be created are left out of the search instead of wasting a slot
+        ScheduleResponseDTO response = new ScheduleResponseDTO();
+        List<Pairing> pairings = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (PairingDTO pairing : request.getPairings()) {
+            int player1Id = pairing.getPlayer1Id();
+            int player2Id = pairing.getPlayer2Id();
+            if (player1Id == player2Id
+                    || !seen.add(HeadToHeadIndex.pairKey(player1Id, player2Id))
+                    || (!allowRematches && headToHeadIndex.hasMet(player1Id, player2Id, tournamentId))) {
+                response.getUnscheduled().add(pairing);
+            } else {
+                pairings.add(new Pairing(player1Id, player2Id));
+            }
+        }
+
+        // the courts' existing matches, in any tournament, are read once, so the solver can check every candidate
+        // slot in memory; the database matches venue names loosely, so rows are mapped back to the names asked for.
+        // Matches are created under lock and re-checked there, so a booking made since this read is still caught.
+        Map<String, String> venues = new HashMap<>();
+        courts.forEach(court -> venues.putIfAbsent(BookingIndex.venueName(court.venue()), court.venue()));
+        List<VenueBooking> venueBookings = new ArrayList<>();
+        for (Object[] row : matchRepository.findVenueBookingsBetween(venues.values(),
+                tournament.getStartDate().atStartOfDay().minusMinutes(BookingIndex.MIN_GAP_MINUTES),
+                tournament.getEndDate().plusDays(1).atStartOfDay().plusMinutes(BookingIndex.MIN_GAP_MINUTES))) {
+            String venue = venues.get(BookingIndex.venueName((String) row[0]));
+            if (venue != null) {
+                venueBookings.add(new VenueBooking(venue, (LocalDateTime) row[1]));
+            }
+        }
+
+        LocalDateTime notBefore = LocalDateTime.now();
+        if (request.getNotBefore() != null && request.getNotBefore().isAfter(notBefore)) {
+            notBefore = request.getNotBefore();
+        }
+        Schedule schedule = solver.solve(new OrderOfPlaySolver.Problem(pairings,
+                tournament.getStartDate(), tournament.getEndDate(), notBefore, courts, venueBookings, refereeIds,
+                (participantId, start) -> bookingIndex.hasConflict(participantId, start, null)));
+        schedule.unscheduled().forEach(pairing ->
+                response.getUnscheduled().add(new PairingDTO(pairing.player1Id(), pairing.player2Id())));
+
+        List<MatchDTO> matches = new ArrayList<>(schedule.placements().size());
+        for (Placement placement : schedule.placements()) {
+            MatchDTO match = new MatchDTO();
+            match.setTournamentId(tournamentId);
+            match.setPlayer1Id(placement.pairing().player1Id());
+            match.setPlayer2Id(placement.pairing().player2Id());
+            match.setRefereeId(placement.refereeId());
+            match.setMatchDate(placement.start());
+            match.setVenue(placement.venue());
+            match.setCourtId(courtIdByVenue.get(placement.venue()));
+            matches.add(match);
+        }
+
+        List<BulkMatchResultDTO> results = matchService.createMatches(matches, allowRematches);
+        for (BulkMatchResultDTO result : results) {
+            MatchDTO match = matches.get(result.getIndex());
+            if (BulkMatchResultDTO.CREATED.equals(result.getStatus())) {
+                match.setMatchId(result.getMatchId());
+                response.getScheduled().add(match);
+            } else {
+                response.getUnscheduled().add(new PairingDTO(match.getPlayer1Id(), match.getPlayer2Id()));
+            }
+        }
+        return response;
+    }
+}
@@ -1,6 +1,7 @@
 package com.sd.tennis.service;
 
 import com.sd.tennis.dto.ScoreDetailDTO;
+import com.sd.tennis.dto.SetScoreDTO;
 import com.sd.tennis.model.ScoreDetail;
 
 import java.util.List;
@@ -11,4 +12,6 @@ public interface ScoreDetailService {
     List<ScoreDetail> getAllScoreDetails();
     ScoreDetail updateScoreDetail(Integer id, ScoreDetailDTO scoreDetailDTO);
     void deleteScoreDetail(Integer id);
+    List<ScoreDetail> replaceSets(Integer matchId, List<SetScoreDTO> sets);
+    List<ScoreDetail> revertTo(Integer matchId, Integer seq);
 }
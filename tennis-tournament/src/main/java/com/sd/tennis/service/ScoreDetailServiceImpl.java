@@ -1,31 +1,60 @@
 package com.sd.tennis.service;
 
 import com.sd.tennis.dto.ScoreDetailDTO;
+import com.sd.tennis.dto.SetScoreDTO;
+import com.sd.tennis.event.MatchUpdatedEvent;
+import com.sd.tennis.exception.DuplicateException;
+import com.sd.tennis.exception.NegativeValueException;
 import com.sd.tennis.exception.ResourceNotFoundException;
+import com.sd.tennis.mapper.ScoreDetailMapper;
+import com.sd.tennis.mapper.ScoreHistoryMapper;
 import com.sd.tennis.model.Match;
 import com.sd.tennis.model.ScoreDetail;
+import com.sd.tennis.model.ScoreEvent;
 import com.sd.tennis.repository.MatchRepository;
 import com.sd.tennis.repository.ScoreDetailRepository;
+import com.sd.tennis.util.ScoreReplay;
 import jakarta.transaction.Transactional;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @Transactional
 public class ScoreDetailServiceImpl implements ScoreDetailService{
     private final ScoreDetailRepository scoreDetailRepository;
     private final MatchRepository matchRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MatchService matchService;
+    private final ScoreHistoryService scoreHistoryService;
 
-    public ScoreDetailServiceImpl(ScoreDetailRepository scoreDetailRepository, MatchRepository matchRepository) {
+    public ScoreDetailServiceImpl(ScoreDetailRepository scoreDetailRepository,
+                                  MatchRepository matchRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  MatchService matchService,
+                                  ScoreHistoryService scoreHistoryService) {
         this.scoreDetailRepository = scoreDetailRepository;
         this.matchRepository = matchRepository;
+        this.eventPublisher = eventPublisher;
+        this.matchService = matchService;
+        this.scoreHistoryService = scoreHistoryService;
     }
 
     @Override
     public ScoreDetail addScoreDetail(ScoreDetailDTO scoreDetailDTO) {
-        Match match = matchRepository.findById(scoreDetailDTO.getMatchId())
-                .orElseThrow(() -> new ResourceNotFoundException("Match not found with ID " + scoreDetailDTO.getMatchId()));
+        checkScores(scoreDetailDTO.getPlayer1Score(), scoreDetailDTO.getPlayer2Score());
+        Match match = lockedMatch(scoreDetailDTO.getMatchId());
+        if (scoreDetailRepository.existsByMatchIdAndSetNumber(match.getId(), scoreDetailDTO.getSetNumber())) {
+            throw new DuplicateException("Set " + scoreDetailDTO.getSetNumber() + " is already recorded for this match");
+        }
 
         ScoreDetail scoreDetail = new ScoreDetail();
         scoreDetail.setMatch(match);
@@ -33,7 +62,15 @@ public class ScoreDetailServiceImpl implements ScoreDetailService{
         scoreDetail.setPlayer1Score(scoreDetailDTO.getPlayer1Score());
         scoreDetail.setPlayer2Score(scoreDetailDTO.getPlayer2Score());
 
-        return scoreDetailRepository.save(scoreDetail);
+        int decidedBefore = match.getTally().decidedSide(match.getBestOf());
+        match.getTally().add(scoreDetail.getPlayer1Score(), scoreDetail.getPlayer2Score());
+        matchService.applySetTally(match, decidedBefore);
+        scoreHistoryService.append(match, List.of(
+                ScoreEvent.set(scoreDetail.getSetNumber(), scoreDetail.getPlayer1Score(), scoreDetail.getPlayer2Score())));
+
+        ScoreDetail saved = scoreDetailRepository.save(scoreDetail);
+        eventPublisher.publishEvent(new MatchUpdatedEvent(ScoreDetailMapper.toMatchUpdateDTO(saved)));
+        return saved;
     }
 
     @Override
@@ -49,19 +86,135 @@ public class ScoreDetailServiceImpl implements ScoreDetailService{
 
     @Override
     public ScoreDetail updateScoreDetail(Integer id, ScoreDetailDTO scoreDetailDTO) {
-        ScoreDetail existingDetail = getScoreDetailById(id);
+        checkScores(scoreDetailDTO.getPlayer1Score(), scoreDetailDTO.getPlayer2Score());
+        Match match = lockedMatch(matchIdOf(id));
+        ScoreDetail existingDetail = lockedDetail(id);
+        if (!existingDetail.getSetNumber().equals(scoreDetailDTO.getSetNumber())
+                && scoreDetailRepository.existsByMatchIdAndSetNumber(match.getId(), scoreDetailDTO.getSetNumber())) {
+            throw new DuplicateException("Set " + scoreDetailDTO.getSetNumber() + " is already recorded for this match");
+        }
+
+        int decidedBefore = match.getTally().decidedSide(match.getBestOf());
+        match.getTally().remove(existingDetail.getPlayer1Score(), existingDetail.getPlayer2Score());
+        match.getTally().add(scoreDetailDTO.getPlayer1Score(), scoreDetailDTO.getPlayer2Score());
+
+        List<ScoreEvent> events = new ArrayList<>(2);
+        if (!existingDetail.getSetNumber().equals(scoreDetailDTO.getSetNumber())) {
+            events.add(ScoreEvent.setRemoved(existingDetail.getSetNumber()));
+        }
+        events.add(ScoreEvent.set(scoreDetailDTO.getSetNumber(), scoreDetailDTO.getPlayer1Score(),
+                scoreDetailDTO.getPlayer2Score()));
 
         existingDetail.setSetNumber(scoreDetailDTO.getSetNumber());
         existingDetail.setPlayer1Score(scoreDetailDTO.getPlayer1Score());
         existingDetail.setPlayer2Score(scoreDetailDTO.getPlayer2Score());
+        matchService.applySetTally(match, decidedBefore);
+        scoreHistoryService.append(match, events);
 
-        return scoreDetailRepository.save(existingDetail);
+        ScoreDetail saved = scoreDetailRepository.save(existingDetail);
+        eventPublisher.publishEvent(new MatchUpdatedEvent(ScoreDetailMapper.toMatchUpdateDTO(saved)));
+        return saved;
     }
 
     @Override
     public void deleteScoreDetail(Integer id) {
-        ScoreDetail scoreDetail = scoreDetailRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("ScoreDetail not found with ID " + id));
+        Match match = lockedMatch(matchIdOf(id));
+        ScoreDetail scoreDetail = lockedDetail(id);
+
+        int decidedBefore = match.getTally().decidedSide(match.getBestOf());
+        match.getTally().remove(scoreDetail.getPlayer1Score(), scoreDetail.getPlayer2Score());
+        matchService.applySetTally(match, decidedBefore);
+        scoreHistoryService.append(match, List.of(ScoreEvent.setRemoved(scoreDetail.getSetNumber())));
+
         scoreDetailRepository.delete(scoreDetail);
     }
+
+    @Override
+    public List<ScoreDetail> replaceSets(Integer matchId, List<SetScoreDTO> sets) {
+        Set<Integer> setNumbers = new HashSet<>();
+        for (SetScoreDTO set : sets) {
+            checkScores(set.getPlayer1Score(), set.getPlayer2Score());
+            if (!setNumbers.add(set.getSetNumber())) {
+                throw new DuplicateException("Set " + set.getSetNumber() + " is listed twice");
+            }
+        }
+        Match match = lockedMatch(matchId);
+        Map<Integer, ScoreDetail> existing = new HashMap<>();
+        for (ScoreDetail detail : scoreDetailRepository.findAllByMatchIdForUpdate(matchId)) {
+            existing.put(detail.getSetNumber(), detail);
+        }
+
+        // the list is the match's whole score, so resending it changes nothing and left-out sets go away
+        int decidedBefore = match.getTally().decidedSide(match.getBestOf());
+        match.getTally().clear();
+        List<ScoreDetail> rows = new ArrayList<>(sets.size());
+        List<ScoreEvent> events = new ArrayList<>();
+        for (SetScoreDTO set : sets) {
+            ScoreDetail row = existing.remove(set.getSetNumber());
+            if (row == null) {
+                row = new ScoreDetail(null, match, set.getSetNumber(), null, null);
+            }
+            if (!set.getPlayer1Score().equals(row.getPlayer1Score())
+                    || !set.getPlayer2Score().equals(row.getPlayer2Score())) {
+                events.add(ScoreEvent.set(set.getSetNumber(), set.getPlayer1Score(), set.getPlayer2Score()));
+            }
+            row.setPlayer1Score(set.getPlayer1Score());
+            row.setPlayer2Score(set.getPlayer2Score());
+            match.getTally().add(row.getPlayer1Score(), row.getPlayer2Score());
+            rows.add(row);
+        }
+        for (ScoreDetail removed : existing.values()) {
+            events.add(ScoreEvent.setRemoved(removed.getSetNumber()));
+        }
+        scoreDetailRepository.deleteAll(existing.values());
+        List<ScoreDetail> saved = scoreDetailRepository.saveAll(rows);
+        matchService.applySetTally(match, decidedBefore);
+        scoreHistoryService.append(match, events);
+
+        for (ScoreDetail detail : saved) {
+            eventPublisher.publishEvent(new MatchUpdatedEvent(ScoreDetailMapper.toMatchUpdateDTO(detail)));
+        }
+        return saved;
+    }
+
+    // the log is not rewound: the rows and the result are brought back to the state at seq by appending the changes
+    @Override
+    public List<ScoreDetail> revertTo(Integer matchId, Integer seq) {
+        Match match = lockedMatch(matchId);
+        ScoreReplay target = scoreHistoryService.replay(match, seq == null ? match.getScoreSeq() : seq);
+        List<ScoreDetail> rows = replaceSets(matchId, ScoreHistoryMapper.toSetScoreDTOs(target));
+        if (!target.overallScore().equals(match.getOverallScore())
+                || target.winnerSide() != match.winnerSide()) {
+            matchService.restoreResult(match, target.overallScore(), target.winnerSide());
+        }
+        return rows;
+    }
+
+    private static void checkScores(Integer player1Score, Integer player2Score) {
+        if (player1Score < 0 || player2Score < 0) {
+            throw new NegativeValueException("Scores cannot be negative");
+        }
+    }
+
+    private Integer matchIdOf(Integer id) {
+        return scoreDetailRepository.findMatchIdById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("ScoreDetail not found with ID " + id));
+    }
+
+    // match before rows for every writer, so a bulk replace and a single-set edit never wait on each other in turn
+    private Match lockedMatch(Integer matchId) {
+        return matchRepository.findByIdForUpdate(matchId)
+                .orElseThrow(() -> new ResourceNotFoundException("Match not found with ID " + matchId));
+    }
+
+    private ScoreDetail lockedDetail(Integer id) {
+        return scoreDetailRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("ScoreDetail not found with ID " + id));
+    }
+
+    // matches that had set rows before the tally columns existed start from zero; count their rows once
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSetTallies() {
+        scoreDetailRepository.backfillSetTallies();
+    }
 }
@@ -0,0 +1,15 @@
+package com.sd.tennis.service;
+
+import com.sd.tennis.dto.ScoreStateDTO;
+import com.sd.tennis.model.Match;
+import com.sd.tennis.model.ScoreEvent;
+import com.sd.tennis.util.ScoreReplay;
+
+import java.util.List;
+
+public interface ScoreHistoryService {
+    void append(Match match, List<ScoreEvent> events);
+    ScoreReplay replay(Match match, int upTo);
+    ScoreStateDTO getScoreAt(Integer matchId, Integer seq);
+    List<ScoreEvent> getEvents(Integer matchId);
+}
@@ -0,0 +1,145 @@
+package com.sd.tennis.service;
+
+import com.sd.tennis.dto.ScoreStateDTO;
+import com.sd.tennis.exception.ResourceNotFoundException;
+import com.sd.tennis.mapper.ScoreHistoryMapper;
+import com.sd.tennis.model.Match;
+import com.sd.tennis.model.ScoreDetail;
+import com.sd.tennis.model.ScoreEvent;
+import com.sd.tennis.model.ScoreSnapshot;
+import com.sd.tennis.repository.MatchRepository;
+import com.sd.tennis.repository.ScoreDetailRepository;
+import com.sd.tennis.repository.ScoreEventRepository;
+import com.sd.tennis.repository.ScoreEventRepository.Change;
+import com.sd.tennis.repository.ScoreSnapshotRepository;
+import com.sd.tennis.util.ScoreReplay;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The append-only score log. Score writers hold the match lock and append here in the same transaction, so the
+ * per-match seq comes from a counter on the match row and the events of one write go out as one insert batch.
+ * Every {@code app.score-log.snapshot-every} events the replayed score is stored, so replaying to any seq reads
+ * one snapshot and fewer than that many events.
+ */
+@Service
+@Transactional
+public class ScoreHistoryServiceImpl implements ScoreHistoryService {
+    private static final int BACKFILL_CHUNK = 500;
+
+    private final ScoreEventRepository scoreEventRepository;
+    private final ScoreSnapshotRepository scoreSnapshotRepository;
+    private final MatchRepository matchRepository;
+    private final ScoreDetailRepository scoreDetailRepository;
+    private final int snapshotEvery;
+
+    public ScoreHistoryServiceImpl(ScoreEventRepository scoreEventRepository,
+                                   ScoreSnapshotRepository scoreSnapshotRepository,
+                                   MatchRepository matchRepository,
+                                   ScoreDetailRepository scoreDetailRepository,
+                                   @Value("${app.score-log.snapshot-every:16}") int snapshotEvery) {
+        this.scoreEventRepository = scoreEventRepository;
+        this.scoreSnapshotRepository = scoreSnapshotRepository;
+        this.matchRepository = matchRepository;
+        this.scoreDetailRepository = scoreDetailRepository;
+        this.snapshotEvery = snapshotEvery;
+    }
+
+    // the caller holds the match lock; that is what keeps two appends from taking the same seq
+    @Override
+    public void append(Match match, List<ScoreEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        int before = match.getScoreSeq();
+        LocalDateTime now = LocalDateTime.now();
+        for (ScoreEvent event : events) {
+            match.setScoreSeq(match.getScoreSeq() + 1);
+            event.setMatch(match);
+            event.setSeq(match.getScoreSeq());
+            event.setRecordedAt(now);
+        }
+        scoreEventRepository.saveAll(events);
+
+        if (before / snapshotEvery != match.getScoreSeq() / snapshotEvery) {
+            scoreSnapshotRepository.save(snapshot(match, match.getScoreSeq(),
+                    replay(match, match.getScoreSeq())));
+        }
+    }
+
+    @Override
+    public ScoreReplay replay(Match match, int upTo) {
+        if (upTo < 0 || upTo > match.getScoreSeq()) {
+            throw new ResourceNotFoundException("Score event " + upTo + " not found for match " + match.getId());
+        }
+        ScoreSnapshot snapshot = scoreSnapshotRepository
+                .findFirstByMatchIdAndSeqLessThanEqualOrderBySeqDesc(match.getId(), upTo).orElse(null);
+        ScoreReplay replay = snapshot == null
+                ? new ScoreReplay(match.getBestOf())
+                : ScoreReplay.from(match.getBestOf(), snapshot.getSets(), snapshot.getOverallScore(),
+                        snapshot.getWinnerSide());
+        int after = snapshot == null ? 0 : snapshot.getSeq();
+        for (Change change : scoreEventRepository.findChanges(match.getId(), after, upTo)) {
+            replay.apply(change.getType(), change.getSetNumber(), change.getPlayer1Score(),
+                    change.getPlayer2Score(), change.getWinnerSide());
+        }
+        return replay;
+    }
+
+    @Override
+    public ScoreStateDTO getScoreAt(Integer matchId, Integer seq) {
+        Match match = matchRepository.findById(matchId)
+                .orElseThrow(() -> new ResourceNotFoundException("Match not found with ID " + matchId));
+        int upTo = seq == null ? match.getScoreSeq() : seq;
+        return ScoreHistoryMapper.toScoreStateDTO(match, upTo, replay(match, upTo));
+    }
+
+    @Override
+    public List<ScoreEvent> getEvents(Integer matchId) {
+        if (!matchRepository.existsById(matchId)) {
+            throw new ResourceNotFoundException("Match not found with ID " + matchId);
+        }
+        return scoreEventRepository.findByMatchIdOrderBySeq(matchId);
+    }
+
+    // matches scored before the log existed get their current score as a seq 0 snapshot to replay from
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillBaselines() {
+        List<Integer> matchIds = scoreSnapshotRepository.findUnloggedMatchIds();
+        for (int from = 0; from < matchIds.size(); from += BACKFILL_CHUNK) {
+            List<Integer> chunk = matchIds.subList(from, Math.min(from + BACKFILL_CHUNK, matchIds.size()));
+            Map<Integer, List<ScoreDetail>> rows = new HashMap<>();
+            for (ScoreDetail detail : scoreDetailRepository.findByMatchIdIn(chunk)) {
+                rows.computeIfAbsent(detail.getMatch().getId(), id -> new ArrayList<>()).add(detail);
+            }
+
+            List<ScoreSnapshot> baselines = new ArrayList<>(chunk.size());
+            for (Match match : matchRepository.findAllById(chunk)) {
+                ScoreReplay replay = new ScoreReplay(match.getBestOf());
+                for (ScoreDetail detail : rows.getOrDefault(match.getId(), List.of())) {
+                    replay.apply(ScoreEvent.SET, detail.getSetNumber(), detail.getPlayer1Score(),
+                            detail.getPlayer2Score(), null);
+                }
+                ScoreSnapshot baseline = snapshot(match, 0, replay);
+                baseline.setOverallScore(match.getOverallScore() == null ? "N/A" : match.getOverallScore());
+                baseline.setWinnerSide(match.winnerSide());
+                baselines.add(baseline);
+            }
+            scoreSnapshotRepository.saveAll(baselines);
+        }
+    }
+
+    private static ScoreSnapshot snapshot(Match match, int seq, ScoreReplay replay) {
+        return new ScoreSnapshot(null, match, seq, replay.encodeSets(), replay.overallScore(), replay.winnerSide(),
+                LocalDateTime.now());
+    }
+}
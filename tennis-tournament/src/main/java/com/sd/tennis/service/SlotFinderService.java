@@ -0,0 +1,10 @@
+package com.sd.tennis.service;
+
+import com.sd.tennis.dto.SlotDTO;
+import com.sd.tennis.dto.SlotSearchRequestDTO;
+
+import java.util.List;
+
+public interface SlotFinderService {
+    List<SlotDTO> findSlots(Integer tournamentId, SlotSearchRequestDTO request);
+}
@@ -0,0 +1,126 @@
+package com.sd.tennis.service;
+
+import com.sd.tennis.cache.BookingIndex;
+import com.sd.tennis.cache.HeadToHeadIndex;
+import com.sd.tennis.dto.CourtDTO;
+import com.sd.tennis.dto.SlotDTO;
+import com.sd.tennis.dto.SlotSearchRequestDTO;
+import com.sd.tennis.exception.DateException;
+import com.sd.tennis.exception.ForbiddenException;
+import com.sd.tennis.exception.ResourceNotFoundException;
+import com.sd.tennis.model.Tournament;
+import com.sd.tennis.model.User;
+import com.sd.tennis.repository.DrawRepository;
+import com.sd.tennis.repository.MatchRepository;
+import com.sd.tennis.repository.TournamentRepository;
+import com.sd.tennis.repository.UserRepository;
+import com.sd.tennis.util.OrderOfPlaySolver.Court;
+import com.sd.tennis.util.OrderOfPlaySolver.VenueBooking;
+import com.sd.tennis.util.SlotFinder;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only counterpart of createMatch: instead of trying one time and reporting the conflict, it lists every
+ * slot that createMatch would accept. Bookings come from {@link BookingIndex} and one query for the tournament's
+ * court usage, so the cost does not grow with the number of candidates checked.
+ */
+@Service
+@Transactional
+public class SlotFinderServiceImpl implements SlotFinderService {
+    private final TournamentRepository tournamentRepository;
+    private final UserRepository userRepository;
+    private final MatchRepository matchRepository;
+    private final DrawRepository drawRepository;
+    private final HeadToHeadIndex headToHeadIndex;
+    private final BookingIndex bookingIndex;
+    private final SlotFinder slotFinder;
+
+    public SlotFinderServiceImpl(TournamentRepository tournamentRepository,
+                                 UserRepository userRepository,
+                                 MatchRepository matchRepository,
+                                 DrawRepository drawRepository,
+                                 HeadToHeadIndex headToHeadIndex,
+                                 BookingIndex bookingIndex,
+                                 SlotFinder slotFinder) {
+        this.tournamentRepository = tournamentRepository;
+        this.userRepository = userRepository;
+        this.matchRepository = matchRepository;
+        this.drawRepository = drawRepository;
+        this.headToHeadIndex = headToHeadIndex;
+        this.bookingIndex = bookingIndex;
+        this.slotFinder = slotFinder;
+    }
+
+    @Override
+    public List<SlotDTO> findSlots(Integer tournamentId, SlotSearchRequestDTO request) {
+        Tournament tournament = tournamentRepository.findById(tournamentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tournament not found"));
+        Integer player1Id = request.getPlayer1Id();
+        Integer player2Id = request.getPlayer2Id();
+        if (player1Id.equals(player2Id)) {
+            throw new ForbiddenException("Players cannot be the same");
+        }
+        if (userRepository.findAllById(Set.of(player1Id, player2Id)).size() != 2) {
+            throw new ResourceNotFoundException("Player not found");
+        }
+        if (headToHeadIndex.hasMet(player1Id, player2Id, tournamentId)) {
+            throw new ForbiddenException("Players are already scheduled to play against each other in the same tournament.");
+        }
+
+        List<Court> courts = new ArrayList<>();
+        if (request.getCourts() != null && !request.getCourts().isEmpty()) {
+            for (CourtDTO court : request.getCourts()) {
+                if (!court.getClosesAt().isAfter(court.getOpensAt())) {
+                    throw new DateException("Court closing time must be after its opening time");
+                }
+                courts.add(new Court(court.getVenue(), court.getOpensAt(), court.getClosesAt()));
+            }
+        } else {
+            drawRepository.findByTournamentId(tournamentId).ifPresent(draw -> draw.getCourts().forEach(court ->
+                    courts.add(new Court(court.getVenue(), court.getOpensAt(), court.getClosesAt()))));
+        }
+        if (courts.isEmpty()) {
+            throw new ResourceNotFoundException("No courts given and the tournament has no draw courts");
+        }
+
+        List<VenueBooking> venueBookings = new ArrayList<>();
+        Map<Integer, Integer> refereeLoad = new HashMap<>();
+        for (Object[] row : matchRepository.findVenueBookings(tournamentId)) {
+            venueBookings.add(new VenueBooking((String) row[0], (LocalDateTime) row[1]));
+            refereeLoad.merge((Integer) row[2], 1, Integer::sum);
+        }
+
+        List<Integer> refereeIds;
+        if (request.getRefereeId() != null) {
+            User referee = userRepository.findById(request.getRefereeId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Referee not found"));
+            refereeIds = List.of(referee.getId());
+        } else {
+            // the least busy referee of this tournament is proposed first
+            refereeIds = userRepository.findByRole("REFEREE").orElse(List.of()).stream()
+                    .map(User::getId)
+                    .sorted(Comparator.<Integer>comparingInt(id -> refereeLoad.getOrDefault(id, 0))
+                            .thenComparing(Comparator.naturalOrder()))
+                    .toList();
+            if (refereeIds.isEmpty()) {
+                throw new ResourceNotFoundException("No referees available");
+            }
+        }
+
+        return slotFinder.find(new SlotFinder.Problem(player1Id, player2Id, refereeIds,
+                        tournament.getStartDate(), tournament.getEndDate(), LocalDateTime.now(), courts, venueBookings,
+                        (participantId, start) -> bookingIndex.hasConflict(participantId, start, null)))
+                .stream()
+                .map(slot -> new SlotDTO(slot.start(), slot.venue(), slot.refereeId(), slot.courtUtilization()))
+                .toList();
+    }
+}
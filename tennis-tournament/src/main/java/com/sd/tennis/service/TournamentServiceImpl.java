@@ -1,9 +1,13 @@
 package com.sd.tennis.service;
 
+import com.sd.tennis.cache.BookingIndex;
+import com.sd.tennis.cache.CollectionVersions;
+import com.sd.tennis.cache.HeadToHeadIndex;
 import com.sd.tennis.dto.TournamentDTO;
 import com.sd.tennis.exception.DuplicateException;
 import com.sd.tennis.exception.ResourceNotFoundException;
 import com.sd.tennis.model.Tournament;
+import com.sd.tennis.repository.MatchViewRepository;
 import com.sd.tennis.repository.TournamentRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,10 +19,22 @@ import java.util.List;
 @Transactional
 public class TournamentServiceImpl implements TournamentService{
     private final TournamentRepository tournamentRepository;
+    private final MatchViewRepository matchViewRepository;
+    private final CollectionVersions collectionVersions;
+    private final HeadToHeadIndex headToHeadIndex;
+    private final BookingIndex bookingIndex;
 
     @Autowired
-    public TournamentServiceImpl(TournamentRepository tournamentRepository) {
+    public TournamentServiceImpl(TournamentRepository tournamentRepository,
+                                 MatchViewRepository matchViewRepository,
+                                 CollectionVersions collectionVersions,
+                                 HeadToHeadIndex headToHeadIndex,
+                                 BookingIndex bookingIndex) {
         this.tournamentRepository = tournamentRepository;
+        this.matchViewRepository = matchViewRepository;
+        this.collectionVersions = collectionVersions;
+        this.headToHeadIndex = headToHeadIndex;
+        this.bookingIndex = bookingIndex;
     }
 
     @Override
@@ -36,7 +52,9 @@ public class TournamentServiceImpl implements TournamentService{
         tournament.setDescription(tournamentDTO.getDescription());
         tournament.setRegistrationDeadline(tournamentDTO.getRegistrationDeadline());
 
-        return tournamentRepository.save(tournament);
+        Tournament saved = tournamentRepository.save(tournament);
+        collectionVersions.tournamentChanged(saved.getId());
+        return saved;
     }
 
     @Override
@@ -52,6 +70,8 @@ public class TournamentServiceImpl implements TournamentService{
         tournament.setDescription(tournamentDTO.getDescription());
         tournament.setRegistrationDeadline(tournamentDTO.getRegistrationDeadline());
 
+        matchViewRepository.renameTournament(tournamentId, tournament.getName());
+        collectionVersions.tournamentChanged(tournamentId);
         tournamentRepository.save(tournament);
     }
 
@@ -59,6 +79,10 @@ public class TournamentServiceImpl implements TournamentService{
     public void deleteTournament(Integer tournamentId) {
         Tournament tournament = tournamentRepository.findById(tournamentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Tournament not found with id: " + tournamentId));
+        matchViewRepository.deleteByTournamentId(tournamentId);
+        collectionVersions.tournamentChanged(tournamentId);
+        headToHeadIndex.tournamentDeleted(tournamentId);
+        bookingIndex.tournamentDeleted(tournamentId);
         tournamentRepository.delete(tournament);
     }
 
@@ -76,5 +100,6 @@ public class TournamentServiceImpl implements TournamentService{
     @Override
     public void saveTournament(Tournament t) {
         tournamentRepository.save(t);
+        collectionVersions.tournamentChanged(t.getId());
     }
 }
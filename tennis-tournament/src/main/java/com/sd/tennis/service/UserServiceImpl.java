@@ -1,12 +1,17 @@
 package com.sd.tennis.service;
 
+import com.sd.tennis.cache.BookingIndex;
+import com.sd.tennis.cache.CollectionVersions;
+import com.sd.tennis.cache.HeadToHeadIndex;
 import com.sd.tennis.dto.LoginDTO;
 import com.sd.tennis.dto.UserDTO;
 import com.sd.tennis.exception.DuplicateException;
 import com.sd.tennis.exception.InvalidPasswordException;
 import com.sd.tennis.exception.ResourceNotFoundException;
 import com.sd.tennis.model.LoginRequest;
+import com.sd.tennis.mapper.MatchMapper;
 import com.sd.tennis.model.User;
+import com.sd.tennis.repository.MatchViewRepository;
 import com.sd.tennis.repository.UserRepository;
 import com.sd.tennis.specification.PlayerSpecification;
 import jakarta.transaction.Transactional;
@@ -25,11 +30,23 @@ import java.util.Optional;
 @Transactional
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final MatchViewRepository matchViewRepository;
+    private final CollectionVersions collectionVersions;
+    private final HeadToHeadIndex headToHeadIndex;
+    private final BookingIndex bookingIndex;
     private final BCryptPasswordEncoder passwordEncoder;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository,
+                           MatchViewRepository matchViewRepository,
+                           CollectionVersions collectionVersions,
+                           HeadToHeadIndex headToHeadIndex,
+                           BookingIndex bookingIndex) {
         this.userRepository = userRepository;
+        this.matchViewRepository = matchViewRepository;
+        this.collectionVersions = collectionVersions;
+        this.headToHeadIndex = headToHeadIndex;
+        this.bookingIndex = bookingIndex;
         this.passwordEncoder = new BCryptPasswordEncoder();
     }
 
@@ -96,6 +113,11 @@ public class UserServiceImpl implements UserService {
         if (userDTO.getRanking() != null)     user.setRanking(userDTO.getRanking());
         if (userDTO.getNationality() != null) user.setNationality(userDTO.getNationality());
 
+        if (userDTO.getFirstName() != null || userDTO.getLastName() != null) {
+            if (matchViewRepository.renameUser(userId, MatchMapper.fullName(user)) > 0) {
+                collectionVersions.allMatchesChanged();
+            }
+        }
         return userRepository.save(user);
     }
 
@@ -114,6 +136,11 @@ public class UserServiceImpl implements UserService {
         if (userOpt.isEmpty()) {
             throw new ResourceNotFoundException("User not found");
         }
+        if (matchViewRepository.deleteByParticipantId(userId) > 0) {
+            collectionVersions.allMatchesChanged();
+            headToHeadIndex.participantDeleted(userId);
+            bookingIndex.participantDeleted(userId);
+        }
         userRepository.delete(userOpt.get());
     }
 
@@ -0,0 +1,15 @@
+package com.sd.tennis.service;
+
+import com.sd.tennis.dto.CourtUtilizationDTO;
+import com.sd.tennis.dto.VenueDTO;
+import com.sd.tennis.model.Court;
+import com.sd.tennis.model.Venue;
+
+import java.util.List;
+
+public interface VenueService {
+    Venue createVenue(VenueDTO venueDTO);
+    Court addCourt(Integer venueId, String name);
+    List<Venue> listAllVenues();
+    List<CourtUtilizationDTO> getCourtUtilization(Integer tournamentId);
+}
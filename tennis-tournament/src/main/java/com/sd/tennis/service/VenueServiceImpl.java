@@ -0,0 +1,99 @@
+package com.sd.tennis.service;
+
+import com.sd.tennis.dto.CourtUtilizationDTO;
+import com.sd.tennis.dto.VenueDTO;
+import com.sd.tennis.exception.DateException;
+import com.sd.tennis.exception.DuplicateException;
+import com.sd.tennis.exception.ResourceNotFoundException;
+import com.sd.tennis.model.Court;
+import com.sd.tennis.model.Tournament;
+import com.sd.tennis.model.Venue;
+import com.sd.tennis.repository.CourtRepository;
+import com.sd.tennis.repository.TournamentRepository;
+import com.sd.tennis.repository.VenueRepository;
+import com.sd.tennis.util.CourtOccupancy;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@Transactional
+public class VenueServiceImpl implements VenueService {
+    private final VenueRepository venueRepository;
+    private final CourtRepository courtRepository;
+    private final TournamentRepository tournamentRepository;
+
+    public VenueServiceImpl(VenueRepository venueRepository,
+                            CourtRepository courtRepository,
+                            TournamentRepository tournamentRepository) {
+        this.venueRepository = venueRepository;
+        this.courtRepository = courtRepository;
+        this.tournamentRepository = tournamentRepository;
+    }
+
+    @Override
+    public Venue createVenue(VenueDTO venueDTO) {
+        if (!venueDTO.getClosesAt().isAfter(venueDTO.getOpensAt())) {
+            throw new DateException("Venue closing time must be after its opening time");
+        }
+        if (venueRepository.existsByName(venueDTO.getName())) {
+            throw new DuplicateException("Venue already exists");
+        }
+        Set<String> names = new HashSet<>();
+        for (String name : venueDTO.getCourts()) {
+            if (!names.add(name)) {
+                throw new DuplicateException("Court " + name + " is listed twice");
+            }
+        }
+
+        Venue venue = new Venue();
+        venue.setName(venueDTO.getName());
+        venue.setOpensAt(venueDTO.getOpensAt());
+        venue.setClosesAt(venueDTO.getClosesAt());
+        for (String name : venueDTO.getCourts()) {
+            venue.getCourts().add(new Court(null, venue, name));
+        }
+        return venueRepository.save(venue);
+    }
+
+    @Override
+    public Court addCourt(Integer venueId, String name) {
+        Venue venue = venueRepository.findById(venueId)
+                .orElseThrow(() -> new ResourceNotFoundException("Venue not found"));
+        if (courtRepository.existsByVenueIdAndName(venueId, name)) {
+            throw new DuplicateException("Court already exists at this venue");
+        }
+        Court court = courtRepository.save(new Court(null, venue, name));
+        venue.getCourts().add(court);
+        return court;
+    }
+
+    @Override
+    public List<Venue> listAllVenues() {
+        return venueRepository.findAllByOrderByName();
+    }
+
+    @Override
+    public List<CourtUtilizationDTO> getCourtUtilization(Integer tournamentId) {
+        Tournament tournament = tournamentRepository.findById(tournamentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tournament not found"));
+
+        List<Object[]> rows = courtRepository.findCourtBookings(tournamentId);
+        List<CourtOccupancy.Booking> bookings = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            bookings.add(new CourtOccupancy.Booking((Integer) row[0], (String) row[1], (String) row[2],
+                    (LocalTime) row[3], (LocalTime) row[4], (LocalDateTime) row[5]));
+        }
+        return CourtOccupancy.sweep(bookings, tournament.getStartDate(), tournament.getEndDate()).stream()
+                .map(day -> new CourtUtilizationDTO(day.courtId(), day.venue(), day.court(), day.date(),
+                        day.matches(), day.openMinutes(), day.bookedMinutes(), day.overbookedMinutes(),
+                        day.utilization()))
+                .toList();
+    }
+}
@@ -0,0 +1,46 @@
+package com.sd.tennis.specification;
+
+import com.sd.tennis.model.MatchView;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+public class MatchSpecification {
+    public static Specification<MatchView> inTournament(Integer tournamentId) {
+        return (root, query, cb) ->
+                tournamentId == null ? null : cb.equal(root.get("tournamentId"), tournamentId);
+    }
+
+    public static Specification<MatchView> hasPlayer(Integer playerId) {
+        return (root, query, cb) -> playerId == null ? null : cb.or(
+                cb.equal(root.get("player1Id"), playerId),
+                cb.equal(root.get("player2Id"), playerId));
+    }
+
+    public static Specification<MatchView> hasReferee(Integer refereeId) {
+        return (root, query, cb) ->
+                refereeId == null ? null : cb.equal(root.get("refereeId"), refereeId);
+    }
+
+    public static Specification<MatchView> playedFrom(LocalDateTime from) {
+        return (root, query, cb) ->
+                from == null ? null : cb.greaterThanOrEqualTo(root.get("matchDate"), from);
+    }
+
+    public static Specification<MatchView> playedBefore(LocalDateTime to) {
+        return (root, query, cb) ->
+                to == null ? null : cb.lessThan(root.get("matchDate"), to);
+    }
+
+    // keyset cursor within one tournament, in the (date, id) order the exports use
+    public static Specification<MatchView> after(LocalDateTime matchDate, Integer matchId) {
+        return (root, query, cb) -> matchDate == null ? null : cb.or(
+                cb.greaterThan(root.get("matchDate"), matchDate),
+                cb.and(cb.equal(root.get("matchDate"), matchDate), cb.greaterThan(root.get("matchId"), matchId)));
+    }
+
+    public static Specification<MatchView> atVenue(String venue) {
+        return (root, query, cb) ->
+                venue == null || venue.isBlank() ? null : cb.equal(root.get("venue"), venue);
+    }
+}
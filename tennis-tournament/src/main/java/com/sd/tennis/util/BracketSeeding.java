@@ -0,0 +1,34 @@
+package com.sd.tennis.util;
+
+/**
+ * Standard tennis draw placement: seed 1 and seed 2 can only meet in the final, seeds 1-4 only in the
+ * semi-finals, and so on, with each top seed facing the weakest remaining seed in the first round.
+ */
+public final class BracketSeeding {
+
+    private BracketSeeding() {
+    }
+
+    /** Seed number (1-based) at each of the {@code size} draw positions; size must be a power of two. */
+    public static int[] positions(int size) {
+        int[] seeds = {1};
+        while (seeds.length < size) {
+            int[] next = new int[seeds.length * 2];
+            int sum = next.length + 1;
+            for (int i = 0; i < seeds.length; i++) {
+                next[2 * i] = seeds[i];
+                next[2 * i + 1] = sum - seeds[i];
+            }
+            seeds = next;
+        }
+        return seeds;
+    }
+
+    public static int bracketSize(int entrants) {
+        return entrants <= 1 ? 1 : Integer.highestOneBit(entrants - 1) << 1;
+    }
+
+    public static boolean isPowerOfTwo(int n) {
+        return n > 0 && (n & (n - 1)) == 0;
+    }
+}
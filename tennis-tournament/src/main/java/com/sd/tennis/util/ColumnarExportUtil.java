@@ -0,0 +1,136 @@
+package com.sd.tennis.util;
+
+import com.sd.tennis.dto.MatchResponseDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary export read back by {@link ColumnarMatchReader}.
+ * <p>
+ * Layout: the magic bytes {@code TMC1}, then self-contained blocks of up to {@value #BLOCK_ROWS} rows, then a
+ * zero row count. A block is its row count, a string dictionary shared by all name/venue/score columns, and the
+ * columns one after another: ids and match dates (epoch seconds) as zigzag varint deltas, nullable winner ids as
+ * id + 1, and strings as dictionary index + 1 (0 means null).
+ */
+public class ColumnarExportUtil implements ExportStrategy {
+    static final byte[] MAGIC = {'T', 'M', 'C', '1'};
+    static final int BLOCK_ROWS = 4096;
+
+    @Override
+    public String getContentType() {
+        return "application/octet-stream";
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "tmc";
+    }
+
+    @Override
+    public void writeHeader(OutputStream out) throws IOException {
+        out.write(MAGIC);
+    }
+
+    @Override
+    public void writeRows(Iterator<MatchResponseDTO> rows, OutputStream out) throws IOException {
+        List<MatchResponseDTO> block = new ArrayList<>(BLOCK_ROWS);
+        while (rows.hasNext()) {
+            block.add(rows.next());
+            if (block.size() == BLOCK_ROWS) {
+                writeBlock(block, out);
+                block.clear();
+            }
+        }
+        if (!block.isEmpty()) {
+            writeBlock(block, out);
+        }
+    }
+
+    @Override
+    public void writeFooter(OutputStream out) throws IOException {
+        VarInts.writeUnsigned(out, 0);
+    }
+
+    private void writeBlock(List<MatchResponseDTO> block, OutputStream out) throws IOException {
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> entries = new ArrayList<>();
+        ByteArrayOutputStream columns = new ByteArrayOutputStream(block.size() * 24);
+
+        long previous = 0;
+        for (MatchResponseDTO m : block) {
+            VarInts.writeSigned(columns, m.getMatchId() - previous);
+            previous = m.getMatchId();
+        }
+        previous = 0;
+        for (MatchResponseDTO m : block) {
+            VarInts.writeSigned(columns, m.getTournamentId() - previous);
+            previous = m.getTournamentId();
+        }
+        previous = 0;
+        for (MatchResponseDTO m : block) {
+            VarInts.writeSigned(columns, m.getPlayer1Id() - previous);
+            previous = m.getPlayer1Id();
+        }
+        previous = 0;
+        for (MatchResponseDTO m : block) {
+            VarInts.writeSigned(columns, m.getPlayer2Id() - previous);
+            previous = m.getPlayer2Id();
+        }
+        previous = 0;
+        for (MatchResponseDTO m : block) {
+            VarInts.writeSigned(columns, m.getRefereeId() - previous);
+            previous = m.getRefereeId();
+        }
+        for (MatchResponseDTO m : block) {
+            VarInts.writeUnsigned(columns, m.getWinnerId() == null ? 0 : m.getWinnerId() + 1L);
+        }
+        previous = 0;
+        for (MatchResponseDTO m : block) {
+            long epochSecond = m.getMatchDate().toEpochSecond(ZoneOffset.UTC);
+            VarInts.writeSigned(columns, epochSecond - previous);
+            previous = epochSecond;
+        }
+        for (MatchResponseDTO m : block) {
+            writeString(columns, m.getTournamentName(), dictionary, entries);
+            writeString(columns, m.getPlayer1Name(), dictionary, entries);
+            writeString(columns, m.getPlayer2Name(), dictionary, entries);
+            writeString(columns, m.getRefereeName(), dictionary, entries);
+            writeString(columns, m.getWinnerName(), dictionary, entries);
+            writeString(columns, m.getVenue(), dictionary, entries);
+            writeString(columns, m.getOverallScore(), dictionary, entries);
+        }
+
+        VarInts.writeUnsigned(out, block.size());
+        VarInts.writeUnsigned(out, entries.size());
+        for (String entry : entries) {
+            byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+            VarInts.writeUnsigned(out, bytes.length);
+            out.write(bytes);
+        }
+        columns.writeTo(out);
+    }
+
+    private void writeString(OutputStream out, String value, Map<String, Integer> dictionary, List<String> entries)
+            throws IOException {
+        if (value == null) {
+            VarInts.writeUnsigned(out, 0);
+            return;
+        }
+        Integer index = dictionary.get(value);
+        if (index == null) {
+            index = entries.size();
+            dictionary.put(value, index);
+            entries.add(value);
+        }
+        VarInts.writeUnsigned(out, index + 1L);
+    }
+}
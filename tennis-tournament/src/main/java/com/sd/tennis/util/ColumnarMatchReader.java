@@ -0,0 +1,106 @@
+package com.sd.tennis.util;
+
+import com.sd.tennis.dto.MatchResponseDTO;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads the format written by {@link ColumnarExportUtil}, one block at a time.
+ */
+public class ColumnarMatchReader {
+    private ColumnarMatchReader() {
+    }
+
+    public static List<MatchResponseDTO> readAll(InputStream in) throws IOException {
+        List<MatchResponseDTO> rows = new ArrayList<>();
+        read(in, rows::add);
+        return rows;
+    }
+
+    public static void read(InputStream in, Consumer<MatchResponseDTO> consumer) throws IOException {
+        InputStream input = in instanceof BufferedInputStream ? in : new BufferedInputStream(in);
+        byte[] magic = input.readNBytes(ColumnarExportUtil.MAGIC.length);
+        if (!Arrays.equals(magic, ColumnarExportUtil.MAGIC)) {
+            throw new IOException("Not a columnar match export");
+        }
+
+        int rowCount;
+        while ((rowCount = (int) VarInts.readUnsigned(input)) > 0) {
+            for (MatchResponseDTO row : readBlock(input, rowCount)) {
+                consumer.accept(row);
+            }
+        }
+    }
+
+    private static MatchResponseDTO[] readBlock(InputStream in, int rowCount) throws IOException {
+        String[] dictionary = new String[(int) VarInts.readUnsigned(in)];
+        for (int i = 0; i < dictionary.length; i++) {
+            int length = (int) VarInts.readUnsigned(in);
+            dictionary[i] = new String(in.readNBytes(length), StandardCharsets.UTF_8);
+        }
+
+        MatchResponseDTO[] rows = new MatchResponseDTO[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            rows[i] = new MatchResponseDTO();
+        }
+
+        long previous = 0;
+        for (MatchResponseDTO row : rows) {
+            previous += VarInts.readSigned(in);
+            row.setMatchId((int) previous);
+        }
+        previous = 0;
+        for (MatchResponseDTO row : rows) {
+            previous += VarInts.readSigned(in);
+            row.setTournamentId((int) previous);
+        }
+        previous = 0;
+        for (MatchResponseDTO row : rows) {
+            previous += VarInts.readSigned(in);
+            row.setPlayer1Id((int) previous);
+        }
+        previous = 0;
+        for (MatchResponseDTO row : rows) {
+            previous += VarInts.readSigned(in);
+            row.setPlayer2Id((int) previous);
+        }
+        previous = 0;
+        for (MatchResponseDTO row : rows) {
+            previous += VarInts.readSigned(in);
+            row.setRefereeId((int) previous);
+        }
+        for (MatchResponseDTO row : rows) {
+            long winner = VarInts.readUnsigned(in);
+            row.setWinnerId(winner == 0 ? null : (int) (winner - 1));
+        }
+        previous = 0;
+        for (MatchResponseDTO row : rows) {
+            previous += VarInts.readSigned(in);
+            row.setMatchDate(LocalDateTime.ofEpochSecond(previous, 0, ZoneOffset.UTC));
+        }
+        for (MatchResponseDTO row : rows) {
+            row.setTournamentName(lookup(dictionary, in));
+            row.setPlayer1Name(lookup(dictionary, in));
+            row.setPlayer2Name(lookup(dictionary, in));
+            row.setRefereeName(lookup(dictionary, in));
+            row.setWinnerName(lookup(dictionary, in));
+            row.setVenue(lookup(dictionary, in));
+            row.setOverallScore(lookup(dictionary, in));
+        }
+        return rows;
+    }
+
+    private static String lookup(String[] dictionary, InputStream in) throws IOException {
+        int index = (int) VarInts.readUnsigned(in);
+        return index == 0 ? null : dictionary[index - 1];
+    }
+}
@@ -0,0 +1,105 @@
+package com.sd.tennis.util;
+
+import com.sd.tennis.cache.BookingIndex;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-court, per-day occupancy from match starts. Each match holds its court for
+ * {@link BookingIndex#MIN_GAP_MINUTES}; a sweep over the merged start and end events of a court-day gives the
+ * minutes booked and the minutes double-booked, clipped to the venue's opening hours. Input sorted by court and
+ * start is processed in one pass, so the cost is linear in matches plus court-days.
+ */
+public final class CourtOccupancy {
+    public record Booking(int courtId, String venue, String court, LocalTime opensAt, LocalTime closesAt,
+                          LocalDateTime start) {
+    }
+
+    public record Day(int courtId, String venue, String court, LocalDate date, int matches,
+                      long openMinutes, long bookedMinutes, long overbookedMinutes) {
+        public double utilization() {
+            return openMinutes == 0 ? 0 : Math.min(1.0, (double) bookedMinutes / openMinutes);
+        }
+    }
+
+    private CourtOccupancy() {
+    }
+
+    /** Every court with at least one booking gets a row for each day from {@code firstDay} to {@code lastDay}. */
+    public static List<Day> sweep(List<Booking> bookings, LocalDate firstDay, LocalDate lastDay) {
+        List<Day> days = new ArrayList<>();
+        int from = 0;
+        while (from < bookings.size()) {
+            int to = from;
+            while (to < bookings.size() && bookings.get(to).courtId() == bookings.get(from).courtId()) {
+                to++;
+            }
+            sweepCourt(bookings.subList(from, to), firstDay, lastDay, days);
+            from = to;
+        }
+        return days;
+    }
+
+    private static void sweepCourt(List<Booking> court, LocalDate firstDay, LocalDate lastDay, List<Day> days) {
+        Booking first = court.get(0);
+        int next = 0;
+        for (LocalDate date = firstDay; !date.isAfter(lastDay); date = date.plusDays(1)) {
+            while (next < court.size() && court.get(next).start().toLocalDate().isBefore(date)) {
+                next++;
+            }
+            int end = next;
+            while (end < court.size() && court.get(end).start().toLocalDate().equals(date)) {
+                end++;
+            }
+            LocalDateTime open = date.atTime(first.opensAt());
+            LocalDateTime close = date.atTime(first.closesAt());
+            long[] minutes = sweepDay(court.subList(next, end), open, close);
+            days.add(new Day(first.courtId(), first.venue(), first.court(), date, end - next,
+                    Duration.between(open, close).toMinutes(), minutes[0], minutes[1]));
+            next = end;
+        }
+    }
+
+    // starts are sorted and every match lasts the same, so the ends come out sorted too
+    private static long[] sweepDay(List<Booking> bookings, LocalDateTime open, LocalDateTime close) {
+        long booked = 0;
+        long overbooked = 0;
+        int n = bookings.size();
+        int starts = 0;
+        int ends = 0;
+        int active = 0;
+        LocalDateTime previous = open;
+        while (ends < n) {
+            LocalDateTime end = bookings.get(ends).start().plusMinutes(BookingIndex.MIN_GAP_MINUTES);
+            // ends go first on ties: a match finishing as the next one starts does not overlap it
+            boolean isStart = starts < n && bookings.get(starts).start().isBefore(end);
+            LocalDateTime at = isStart ? bookings.get(starts).start() : end;
+
+            long span = Duration.between(clip(previous, open, close), clip(at, open, close)).toMinutes();
+            if (active >= 1) {
+                booked += span;
+            }
+            if (active >= 2) {
+                overbooked += span;
+            }
+            if (isStart) {
+                active++;
+                starts++;
+            } else {
+                active--;
+                ends++;
+            }
+            previous = at;
+        }
+        return new long[]{booked, overbooked};
+    }
+
+    private static LocalDateTime clip(LocalDateTime time, LocalDateTime open, LocalDateTime close) {
+        return time.isBefore(open) ? open : time.isAfter(close) ? close : time;
+    }
+}
@@ -1,27 +1,46 @@
 package com.sd.tennis.util;
 
-import com.sd.tennis.dto.MatchDTO;
+import com.sd.tennis.dto.MatchResponseDTO;
 
-import java.io.FileWriter;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.util.List;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 
 public class CsvExportUtil implements ExportStrategy{
     @Override
-    public String export(List<MatchDTO> matches) {
-        StringBuilder csvData = new StringBuilder();
-        csvData.append("Match ID,Tournament Name,Player 1,Player 2,Winner,Match Date,Venue,Overall Score\n");
-        for(MatchDTO match : matches) {
-            csvData.append(match.getMatchId()).append(",")
+    public String getContentType() {
+        return "text/csv";
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "csv";
+    }
+
+    @Override
+    public void writeHeader(OutputStream out) throws IOException {
+        out.write("Match ID,Tournament Name,Player 1,Player 2,Winner,Match Date,Venue,Overall Score\n"
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void writeRows(Iterator<MatchResponseDTO> rows, OutputStream out) throws IOException {
+        Writer csvData = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        while (rows.hasNext()) {
+            MatchResponseDTO match = rows.next();
+            csvData.append(String.valueOf(match.getMatchId())).append(",")
                     .append(match.getTournamentName()).append(",")
                     .append(match.getPlayer1Name()).append(",")
                     .append(match.getPlayer2Name()).append(",")
                     .append(match.getWinnerName()).append(",")
-                    .append(match.getMatchDate()).append(",")
+                    .append(String.valueOf(match.getMatchDate())).append(",")
                     .append(match.getVenue()).append(",")
                     .append(match.getOverallScore()).append("\n");
         }
-
-        return csvData.toString();
+        csvData.flush();
     }
 }
@@ -1,9 +1,28 @@
 package com.sd.tennis.util;
 
-import com.sd.tennis.dto.MatchDTO;
+import com.sd.tennis.dto.MatchResponseDTO;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 
 public interface ExportStrategy {
-    String export(List<MatchDTO> matches);
+    String getContentType();
+
+    String getFileExtension();
+
+    default void writeHeader(OutputStream out) throws IOException {
+    }
+
+    void writeRows(Iterator<MatchResponseDTO> rows, OutputStream out) throws IOException;
+
+    default void writeFooter(OutputStream out) throws IOException {
+    }
+
+    default void export(Iterator<MatchResponseDTO> rows, OutputStream out) throws IOException {
+        writeHeader(out);
+        writeRows(rows, out);
+        writeFooter(out);
+        out.flush();
+    }
 }
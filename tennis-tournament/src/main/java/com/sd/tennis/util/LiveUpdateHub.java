@@ -0,0 +1,282 @@
+package com.sd.tennis.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sd.tennis.dto.MatchUpdateDTO;
+import com.sd.tennis.event.MatchUpdatedEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-sent event fan-out of {@link MatchUpdateDTO}s to match and tournament subscribers. An update is
+ * serialized once and queued per subscriber; a small pool drains each queue, one task per subscriber at a time.
+ * A send blocks while the client is not reading, so a send that has not returned within
+ * {@code app.live.send-timeout-ms} drops its subscriber, and the pool takes on an extra thread until that send
+ * gives up; clients that stop reading never leave the others without a thread for longer than that. A subscriber
+ * whose queue fills up is disconnected too. Either way the browser's EventSource reconnects on its own. Idle
+ * subscribers cost an emitter and an empty queue, and no thread.
+ */
+@Component
+public class LiveUpdateHub {
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final int queueLimit;
+    private final long sendTimeoutNanos;
+    private final ThreadPoolExecutor executor;
+    // subscribers with a send in progress; whoever takes one out, the send or the stall check, decides its fate
+    private final Set<Subscriber> sending = ConcurrentHashMap.newKeySet();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final Map<Integer, Set<Subscriber>> byMatch = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Subscriber>> byTournament = new ConcurrentHashMap<>();
+
+    public LiveUpdateHub(ObjectMapper objectMapper,
+                         @Value("${app.live.timeout-ms:1800000}") long timeoutMillis,
+                         @Value("${app.live.queue-limit:64}") int queueLimit,
+                         @Value("${app.live.threads:4}") int threads,
+                         @Value("${app.live.backlog:100000}") int backlog,
+                         @Value("${app.live.send-timeout-ms:5000}") long sendTimeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeoutMillis;
+        this.queueLimit = queueLimit;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(backlog));
+    }
+
+    public SseEmitter subscribeToMatch(Integer matchId) {
+        return subscribe(byMatch, matchId);
+    }
+
+    public SseEmitter subscribeToTournament(Integer tournamentId) {
+        return subscribe(byTournament, tournamentId);
+    }
+
+    public int subscriberCount() {
+        return byMatch.values().stream().mapToInt(Set::size).sum()
+                + byTournament.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private SseEmitter subscribe(Map<Integer, Set<Subscriber>> topics, Integer key) {
+        SseEmitter emitter = newEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, topics, key);
+        // compute, not computeIfAbsent + add, so a set being dropped as empty cannot swallow the new subscriber
+        topics.compute(key, (k, subscribers) -> {
+            Set<Subscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        emitter.onCompletion(subscriber::remove);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        return emitter;
+    }
+
+    protected SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMatchUpdated(MatchUpdatedEvent event) {
+        MatchUpdateDTO update = event.update();
+        Set<Subscriber> match = byMatch.get(update.getMatchId());
+        Set<Subscriber> tournament = update.getTournamentId() == null ? null : byTournament.get(update.getTournamentId());
+        if (match == null && tournament == null) {
+            return;
+        }
+        Set<DataWithMediaType> payload;
+        try {
+            payload = SseEmitter.event()
+                    .id(Long.toString(eventIds.incrementAndGet()))
+                    .name(update.getType().toLowerCase())
+                    .data(objectMapper.writeValueAsString(update))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize match update", e);
+        }
+        offerAll(match, payload);
+        offerAll(tournament, payload);
+    }
+
+    // keeps idle connections from being cut by proxies and finds the clients that went away
+    @Scheduled(fixedDelayString = "${app.live.heartbeat-ms:30000}")
+    public void heartbeat() {
+        Set<DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        byMatch.values().forEach(subscribers -> offerAll(subscribers, ping));
+        byTournament.values().forEach(subscribers -> offerAll(subscribers, ping));
+    }
+
+    @Scheduled(fixedDelayString = "${app.live.send-check-ms:1000}")
+    public void dropStalledSends() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : sending) {
+            if (now - subscriber.sendStartedAt > sendTimeoutNanos && sending.remove(subscriber)) {
+                resizePool(1);
+                subscriber.abandon();
+            }
+        }
+    }
+
+    // the thread stuck in the send stays out of the count until the send returns
+    private void resizePool(int delta) {
+        synchronized (executor) {
+            if (delta > 0) {
+                executor.setMaximumPoolSize(executor.getMaximumPoolSize() + delta);
+                executor.setCorePoolSize(executor.getCorePoolSize() + delta);
+            } else {
+                executor.setCorePoolSize(executor.getCorePoolSize() + delta);
+                executor.setMaximumPoolSize(executor.getMaximumPoolSize() + delta);
+            }
+        }
+    }
+
+    int poolSize() {
+        return executor.getCorePoolSize();
+    }
+
+    private void offerAll(Set<Subscriber> subscribers, Set<DataWithMediaType> payload) {
+        if (subscribers != null) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(payload);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        byMatch.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+        byTournament.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Map<Integer, Set<Subscriber>> topics;
+        private final Integer key;
+        // allocated on the first update, so an idle subscriber holds no buffer
+        private ArrayDeque<Set<DataWithMediaType>> queue;
+        private boolean draining;
+        private boolean closed;
+        private volatile long sendStartedAt;
+
+        Subscriber(SseEmitter emitter, Map<Integer, Set<Subscriber>> topics, Integer key) {
+            this.emitter = emitter;
+            this.topics = topics;
+            this.key = key;
+        }
+
+        // runs on the publishing thread, so it never touches the emitter: a send in progress holds its lock
+        void offer(Set<DataWithMediaType> payload) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (queue == null) {
+                    queue = new ArrayDeque<>(4);
+                }
+                if (queue.size() >= queueLimit) {
+                    // the drain task still running on this subscriber completes the emitter when its send returns
+                    closed = true;
+                    queue = null;
+                } else {
+                    queue.add(payload);
+                    if (draining) {
+                        return;
+                    }
+                    draining = true;
+                }
+            }
+            if (closed) {
+                remove();
+                return;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                synchronized (this) {
+                    closed = true;
+                    queue = null;
+                    draining = false;
+                }
+                remove();
+                emitter.complete();
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Set<DataWithMediaType> payload;
+                boolean finished;
+                synchronized (this) {
+                    payload = closed || queue == null ? null : queue.poll();
+                    finished = closed;
+                    if (payload == null) {
+                        draining = false;
+                        queue = null;
+                    }
+                }
+                if (payload == null) {
+                    if (finished) {
+                        emitter.complete();
+                    }
+                    return;
+                }
+                sendStartedAt = System.nanoTime();
+                sending.add(this);
+                try {
+                    emitter.send(payload);
+                } catch (IOException | IllegalStateException e) {
+                    if (!sending.remove(this)) {
+                        resizePool(-1);
+                    }
+                    close();
+                    return;
+                }
+                if (!sending.remove(this)) {
+                    // dropped as stalled; the next turn of the loop completes the emitter
+                    resizePool(-1);
+                }
+            }
+        }
+
+        // the emitter is left to the send still blocked in it, which completes it once it returns
+        void abandon() {
+            synchronized (this) {
+                closed = true;
+                queue = null;
+            }
+            remove();
+        }
+
+        void close() {
+            synchronized (this) {
+                closed = true;
+                queue = null;
+            }
+            remove();
+            emitter.complete();
+        }
+
+        void remove() {
+            topics.computeIfPresent(key, (k, subscribers) -> {
+                subscribers.remove(this);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+    }
+}
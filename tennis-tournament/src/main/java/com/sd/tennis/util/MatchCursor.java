@@ -0,0 +1,49 @@
+package com.sd.tennis.util;
+
+import com.sd.tennis.dto.MatchResponseDTO;
+import com.sd.tennis.exception.InvalidCursorException;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for match listings ordered by (match_date, id).
+ */
+@Getter
+public class MatchCursor {
+    // lowest DATETIME MySQL accepts, used as the position before the first row
+    public static final MatchCursor START = new MatchCursor(LocalDateTime.of(1000, 1, 1, 0, 0), 0);
+
+    private final LocalDateTime matchDate;
+    private final Integer matchId;
+
+    public MatchCursor(LocalDateTime matchDate, Integer matchId) {
+        this.matchDate = matchDate;
+        this.matchId = matchId;
+    }
+
+    public static MatchCursor after(MatchResponseDTO last) {
+        return new MatchCursor(last.getMatchDate(), last.getMatchId());
+    }
+
+    public static MatchCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new MatchCursor(LocalDateTime.parse(raw.substring(0, sep)), Integer.parseInt(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = matchDate + "|" + matchId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
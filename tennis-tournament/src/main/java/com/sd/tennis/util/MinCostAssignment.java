@@ -0,0 +1,82 @@
+package com.sd.tennis.util;
+
+import java.util.Arrays;
+
+/**
+ * Minimum-cost assignment of rows to distinct columns (Hungarian algorithm, O(n²m) for n rows and m columns).
+ * Cells at or above {@link #FORBIDDEN} are never used; a row that has no usable column stays unassigned.
+ */
+public final class MinCostAssignment {
+    public static final long FORBIDDEN = Long.MAX_VALUE / 4;
+
+    // dearer than any real cost, cheaper than a forbidden cell, so rows only fall back to it when they must
+    private static final long UNASSIGNED = FORBIDDEN / 1024;
+
+    private MinCostAssignment() {
+    }
+
+    /** Returns the column of each row, or -1 for rows left unassigned. */
+    public static int[] solve(long[][] cost, int columns) {
+        int n = cost.length;
+        // one dummy column per row guarantees a complete assignment exists
+        int m = columns + n;
+        long[] u = new long[n + 1];
+        long[] v = new long[m + 1];
+        int[] rowOf = new int[m + 1];
+        int[] way = new int[m + 1];
+
+        for (int i = 1; i <= n; i++) {
+            rowOf[0] = i;
+            int j0 = 0;
+            long[] minv = new long[m + 1];
+            Arrays.fill(minv, Long.MAX_VALUE);
+            boolean[] used = new boolean[m + 1];
+            do {
+                used[j0] = true;
+                int i0 = rowOf[j0];
+                long delta = Long.MAX_VALUE;
+                int j1 = 0;
+                for (int j = 1; j <= m; j++) {
+                    if (!used[j]) {
+                        long current = cell(cost, i0 - 1, j - 1, columns) - u[i0] - v[j];
+                        if (current < minv[j]) {
+                            minv[j] = current;
+                            way[j] = j0;
+                        }
+                        if (minv[j] < delta) {
+                            delta = minv[j];
+                            j1 = j;
+                        }
+                    }
+                }
+                for (int j = 0; j <= m; j++) {
+                    if (used[j]) {
+                        u[rowOf[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minv[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (rowOf[j0] != 0);
+            do {
+                int j1 = way[j0];
+                rowOf[j0] = rowOf[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        int[] assignment = new int[n];
+        Arrays.fill(assignment, -1);
+        for (int j = 1; j <= columns; j++) {
+            if (rowOf[j] != 0 && cost[rowOf[j] - 1][j - 1] < FORBIDDEN) {
+                assignment[rowOf[j] - 1] = j - 1;
+            }
+        }
+        return assignment;
+    }
+
+    private static long cell(long[][] cost, int row, int column, int columns) {
+        return column < columns ? cost[row][column] : UNASSIGNED;
+    }
+}
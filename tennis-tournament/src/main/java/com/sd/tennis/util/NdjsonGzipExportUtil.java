@@ -0,0 +1,89 @@
+package com.sd.tennis.util;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.sd.tennis.dto.MatchResponseDTO;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * One JSON object per line, gzip-compressed. Every call to writeRows emits a complete gzip member,
+ * and concatenated members still form a valid gzip stream.
+ */
+public class NdjsonGzipExportUtil implements ExportStrategy {
+    private static final JsonFactory JSON = new JsonFactory();
+
+    @Override
+    public String getContentType() {
+        return "application/gzip";
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "ndjson.gz";
+    }
+
+    @Override
+    public void writeRows(Iterator<MatchResponseDTO> rows, OutputStream out) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(new NonClosingOutputStream(out), 64 * 1024) {
+            {
+                // favour encode speed; the columnar format is the option for the smallest files
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        };
+        JsonGenerator json = JSON.createGenerator(gzip, JsonEncoding.UTF8);
+        json.setRootValueSeparator(null);
+        while (rows.hasNext()) {
+            MatchResponseDTO match = rows.next();
+            json.writeStartObject();
+            writeNumber(json, "matchId", match.getMatchId());
+            writeNumber(json, "tournamentId", match.getTournamentId());
+            json.writeStringField("tournamentName", match.getTournamentName());
+            writeNumber(json, "player1Id", match.getPlayer1Id());
+            json.writeStringField("player1Name", match.getPlayer1Name());
+            writeNumber(json, "player2Id", match.getPlayer2Id());
+            json.writeStringField("player2Name", match.getPlayer2Name());
+            writeNumber(json, "refereeId", match.getRefereeId());
+            json.writeStringField("refereeName", match.getRefereeName());
+            writeNumber(json, "winnerId", match.getWinnerId());
+            json.writeStringField("winnerName", match.getWinnerName());
+            json.writeStringField("matchDate", match.getMatchDate() != null ? match.getMatchDate().toString() : null);
+            json.writeStringField("venue", match.getVenue());
+            json.writeStringField("overallScore", match.getOverallScore());
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+        // closing the generator finishes the gzip member; the wrapper keeps the response stream open
+        json.close();
+    }
+
+    private void writeNumber(JsonGenerator json, String field, Integer value) throws IOException {
+        if (value == null) {
+            json.writeNullField(field);
+        } else {
+            json.writeNumberField(field, value);
+        }
+    }
+
+    private static class NonClosingOutputStream extends FilterOutputStream {
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package com.sd.tennis.util;
+
+import com.sd.tennis.cache.BookingIndex;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Places pairings into court slots with a referee so that nobody is booked twice within
+ * {@link BookingIndex#MIN_GAP_MINUTES} and no court holds two matches that close together, counting the matches
+ * already booked there. Each attempt is a greedy pass that puts the most constrained pairings into their earliest
+ * feasible slot, followed by a local search that moves placed pairings, latest first, into earlier slots the
+ * others left open and retries the ones that did not fit, until a round changes nothing. Attempts differ in how
+ * ties are broken and run on a bounded pool. The attempt that places the most pairings, then finishes earliest, wins.
+ */
+@Component
+public class OrderOfPlaySolver {
+    public record Pairing(int player1Id, int player2Id) {
+    }
+
+    public record Court(String venue, LocalTime opensAt, LocalTime closesAt) {
+    }
+
+    public record VenueBooking(String venue, LocalDateTime start) {
+    }
+
+    public record Placement(Pairing pairing, String venue, LocalDateTime start, int refereeId) {
+    }
+
+    public record Schedule(List<Placement> placements, List<Pairing> unscheduled) {
+    }
+
+    /** Bookings that exist outside the pairings being placed. */
+    @FunctionalInterface
+    public interface Availability {
+        boolean isBooked(int participantId, LocalDateTime start);
+    }
+
+    /** {@code venueBookings} are the matches already on the courts; they hold their slot like placed ones. */
+    public record Problem(List<Pairing> pairings, LocalDate firstDay, LocalDate lastDay, LocalDateTime notBefore,
+                          List<Court> courts, List<VenueBooking> venueBookings, List<Integer> refereeIds,
+                          Availability availability) {
+    }
+
+    private static final int MAX_IMPROVEMENT_ROUNDS = 4;
+
+    private final int attempts;
+    private final ExecutorService executor;
+
+    public OrderOfPlaySolver(@Value("${app.schedule.parallelism:0}") int parallelism,
+                             @Value("${app.schedule.attempts:16}") int attempts) {
+        this.attempts = Math.max(1, attempts);
+        this.executor = Executors.newFixedThreadPool(parallelism > 0
+                ? parallelism
+                : Runtime.getRuntime().availableProcessors());
+    }
+
+    public Schedule solve(Problem problem) {
+        Grid grid = Grid.of(problem);
+        List<Callable<Attempt>> runs = new ArrayList<>(attempts);
+        for (int seed = 0; seed < attempts; seed++) {
+            long attemptSeed = seed;
+            runs.add(() -> run(problem, grid, attemptSeed));
+        }
+
+        Attempt best = null;
+        try {
+            for (Future<Attempt> future : executor.invokeAll(runs)) {
+                Attempt attempt = future.get();
+                if (best == null || attempt.compareTo(best) < 0) {
+                    best = attempt;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Scheduling interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        return best.toSchedule(problem, grid);
+    }
+
+    private Attempt run(Problem problem, Grid grid, long seed) {
+        List<Pairing> pairings = problem.pairings();
+        Map<Integer, Integer> degree = new HashMap<>();
+        for (Pairing pairing : pairings) {
+            degree.merge(pairing.player1Id(), 1, Integer::sum);
+            degree.merge(pairing.player2Id(), 1, Integer::sum);
+        }
+        // seed 0 keeps request order among equally constrained pairings, the others shuffle it
+        Random random = new Random(seed);
+        double[] tieBreak = new double[pairings.size()];
+        for (int i = 0; i < tieBreak.length; i++) {
+            tieBreak[i] = seed == 0 ? i : random.nextDouble();
+        }
+        List<Integer> order = new ArrayList<>(pairings.size());
+        for (int i = 0; i < pairings.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.<Integer>comparingInt(i -> -(degree.get(pairings.get(i).player1Id())
+                        + degree.get(pairings.get(i).player2Id())))
+                .thenComparingDouble(i -> tieBreak[i]));
+
+        Search search = new Search(problem, grid);
+        for (int index : order) {
+            search.placeBefore(index, grid.times.size());
+        }
+        search.improve(order);
+        return search.attempt;
+    }
+
+    // whether a start in {@code starts} is closer than the gap; a court is held for as long as a participant is
+    static boolean overlaps(NavigableSet<LocalDateTime> starts, LocalDateTime start) {
+        LocalDateTime before = starts.floor(start);
+        LocalDateTime after = starts.ceiling(start);
+        return (before != null && before.isAfter(start.minusMinutes(BookingIndex.MIN_GAP_MINUTES)))
+                || (after != null && after.isBefore(start.plusMinutes(BookingIndex.MIN_GAP_MINUTES)));
+    }
+
+    private static int firstFalse(boolean[] used) {
+        for (int i = 0; i < used.length; i++) {
+            if (!used[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // one attempt's bookings: who plays or referees when, which court slots are taken and how busy each referee is
+    private static final class Search {
+        private final Problem problem;
+        private final Grid grid;
+        private final Attempt attempt;
+        private final Map<Integer, TreeSet<LocalDateTime>> booked = new HashMap<>();
+        private final boolean[][] courtUsed;
+        private final int[] refereeLoad;
+        // per pairing, the court's position among the courts open at its time and the referee's position in the list
+        private final int[] slot;
+        private final int[] refereeAt;
+
+        Search(Problem problem, Grid grid) {
+            this.problem = problem;
+            this.grid = grid;
+            this.attempt = new Attempt(problem.pairings().size());
+            this.courtUsed = new boolean[grid.times.size()][];
+            this.refereeLoad = new int[problem.refereeIds().size()];
+            this.slot = new int[problem.pairings().size()];
+            this.refereeAt = new int[problem.pairings().size()];
+        }
+
+        // books the pairing into its earliest feasible slot among the first {@code before} grid times
+        boolean placeBefore(int index, int before) {
+            Pairing pairing = problem.pairings().get(index);
+            List<Integer> referees = problem.refereeIds();
+            for (int t = 0; t < before; t++) {
+                LocalDateTime start = grid.times.get(t);
+                if (!isFree(pairing.player1Id(), start) || !isFree(pairing.player2Id(), start)) {
+                    continue;
+                }
+                if (courtUsed[t] == null) {
+                    courtUsed[t] = grid.taken[t].clone();
+                }
+                int court = firstFalse(courtUsed[t]);
+                if (court < 0) {
+                    continue;
+                }
+                int referee = -1;
+                for (int r = 0; r < referees.size(); r++) {
+                    int refereeId = referees.get(r);
+                    if ((referee < 0 || refereeLoad[r] < refereeLoad[referee])
+                            && refereeId != pairing.player1Id() && refereeId != pairing.player2Id()
+                            && isFree(refereeId, start)) {
+                        referee = r;
+                    }
+                }
+                if (referee < 0) {
+                    continue;
+                }
+                book(index, t, court, referee);
+                return true;
+            }
+            return false;
+        }
+
+        // each move makes a placement earlier or places one more pairing, so the rounds run out quickly
+        void improve(List<Integer> order) {
+            for (int round = 0; round < MAX_IMPROVEMENT_ROUNDS; round++) {
+                boolean moved = false;
+                List<Integer> latestFirst = new ArrayList<>();
+                for (int index : order) {
+                    if (attempt.time[index] >= 0) {
+                        latestFirst.add(index);
+                    }
+                }
+                latestFirst.sort(Comparator.<Integer>comparingInt(i -> attempt.time[i]).reversed());
+                for (int index : latestFirst) {
+                    int t = attempt.time[index];
+                    int court = slot[index];
+                    int referee = refereeAt[index];
+                    unbook(index);
+                    if (placeBefore(index, t)) {
+                        moved = true;
+                    } else {
+                        book(index, t, court, referee);
+                    }
+                }
+                for (int index : order) {
+                    if (attempt.time[index] < 0 && placeBefore(index, grid.times.size())) {
+                        moved = true;
+                    }
+                }
+                if (!moved) {
+                    return;
+                }
+            }
+        }
+
+        private void book(int index, int t, int court, int referee) {
+            Pairing pairing = problem.pairings().get(index);
+            int refereeId = problem.refereeIds().get(referee);
+            LocalDateTime start = grid.times.get(t);
+            courtUsed[t][court] = true;
+            refereeLoad[referee]++;
+            for (int participant : new int[]{pairing.player1Id(), pairing.player2Id(), refereeId}) {
+                booked.computeIfAbsent(participant, id -> new TreeSet<>()).add(start);
+            }
+            slot[index] = court;
+            refereeAt[index] = referee;
+            attempt.place(index, t, grid.courtsAt.get(t)[court], refereeId);
+        }
+
+        private void unbook(int index) {
+            Pairing pairing = problem.pairings().get(index);
+            int t = attempt.time[index];
+            LocalDateTime start = grid.times.get(t);
+            courtUsed[t][slot[index]] = false;
+            refereeLoad[refereeAt[index]]--;
+            for (int participant : new int[]{pairing.player1Id(), pairing.player2Id(), attempt.referee[index]}) {
+                booked.get(participant).remove(start);
+            }
+            attempt.unplace(index);
+        }
+
+        private boolean isFree(int participantId, LocalDateTime start) {
+            TreeSet<LocalDateTime> starts = booked.get(participantId);
+            return (starts == null || !overlaps(starts, start))
+                    && !problem.availability().isBooked(participantId, start);
+        }
+    }
+
+    // every distinct slot start in the window, with the courts that open a slot at that time and which of those
+    // already hold a booked match
+    private static final class Grid {
+        private final List<LocalDateTime> times = new ArrayList<>();
+        private final List<int[]> courtsAt = new ArrayList<>();
+        private boolean[][] taken;
+
+        static Grid of(Problem problem) {
+            TreeMap<LocalDateTime, List<Integer>> slots = new TreeMap<>();
+            List<Court> courts = problem.courts();
+            for (LocalDate day = problem.firstDay(); !day.isAfter(problem.lastDay()); day = day.plusDays(1)) {
+                for (int c = 0; c < courts.size(); c++) {
+                    Court court = courts.get(c);
+                    LocalDateTime start = day.atTime(court.opensAt());
+                    LocalDateTime close = day.atTime(court.closesAt());
+                    for (; !start.plusMinutes(BookingIndex.MIN_GAP_MINUTES).isAfter(close);
+                         start = start.plusMinutes(BookingIndex.MIN_GAP_MINUTES)) {
+                        if (problem.notBefore() == null || !start.isBefore(problem.notBefore())) {
+                            slots.computeIfAbsent(start, s -> new ArrayList<>()).add(c);
+                        }
+                    }
+                }
+            }
+            Grid grid = new Grid();
+            slots.forEach((start, open) -> {
+                grid.times.add(start);
+                grid.courtsAt.add(open.stream().mapToInt(Integer::intValue).toArray());
+            });
+
+            Map<String, TreeSet<LocalDateTime>> byVenue = new HashMap<>();
+            for (VenueBooking booking : problem.venueBookings()) {
+                byVenue.computeIfAbsent(booking.venue(), venue -> new TreeSet<>()).add(booking.start());
+            }
+            grid.taken = new boolean[grid.times.size()][];
+            for (int t = 0; t < grid.times.size(); t++) {
+                int[] open = grid.courtsAt.get(t);
+                grid.taken[t] = new boolean[open.length];
+                for (int c = 0; c < open.length; c++) {
+                    TreeSet<LocalDateTime> starts = byVenue.get(courts.get(open[c]).venue());
+                    grid.taken[t][c] = starts != null && overlaps(starts, grid.times.get(t));
+                }
+            }
+            return grid;
+        }
+    }
+
+    private static final class Attempt implements Comparable<Attempt> {
+        private final int[] time;
+        private final int[] court;
+        private final int[] referee;
+        private int placed;
+        private long timeSum;
+
+        Attempt(int size) {
+            time = new int[size];
+            court = new int[size];
+            referee = new int[size];
+            Arrays.fill(time, -1);
+        }
+
+        void place(int pairing, int t, int c, int refereeId) {
+            time[pairing] = t;
+            court[pairing] = c;
+            referee[pairing] = refereeId;
+            placed++;
+            timeSum += t;
+        }
+
+        void unplace(int pairing) {
+            placed--;
+            timeSum -= time[pairing];
+            time[pairing] = -1;
+        }
+
+        private int lastTime() {
+            int last = -1;
+            for (int t : time) {
+                last = Math.max(last, t);
+            }
+            return last;
+        }
+
+        @Override
+        public int compareTo(Attempt other) {
+            if (placed != other.placed) {
+                return Integer.compare(other.placed, placed);
+            }
+            int lastTime = lastTime();
+            int otherLastTime = other.lastTime();
+            if (lastTime != otherLastTime) {
+                return Integer.compare(lastTime, otherLastTime);
+            }
+            return Long.compare(timeSum, other.timeSum);
+        }
+
+        Schedule toSchedule(Problem problem, Grid grid) {
+            List<Placement> placements = new ArrayList<>(placed);
+            List<Pairing> unscheduled = new ArrayList<>();
+            for (int i = 0; i < time.length; i++) {
+                Pairing pairing = problem.pairings().get(i);
+                if (time[i] < 0) {
+                    unscheduled.add(pairing);
+                } else {
+                    placements.add(new Placement(pairing, problem.courts().get(court[i]).venue(),
+                            grid.times.get(time[i]), referee[i]));
+                }
+            }
+            placements.sort(Comparator.comparing(Placement::start).thenComparing(Placement::venue));
+            return new Schedule(placements, unscheduled);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,146 @@
+package com.sd.tennis.util;
+
+import com.sd.tennis.dto.MatchResponseDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loads and renders export partitions on a bounded pool and writes them out in partition order. A partition is
+ * read a page at a time and at most {@link #PAGES_AHEAD} rendered pages of each running partition wait to be
+ * written, so memory is bounded by the page size and the parallelism, not by how big a partition is.
+ * <p>
+ * Every page is its own read, so an export is not a snapshot: a match written while it runs may or may not be in it.
+ */
+@Component
+public class ParallelExportRenderer {
+    static final int PAGES_AHEAD = 2;
+
+    /** One part of the export, read in pages in export order. */
+    @FunctionalInterface
+    public interface Partition {
+        /** The rows after {@code last}, the final row of the previous page ({@code null} for the first); empty at the end. */
+        List<MatchResponseDTO> nextPage(MatchResponseDTO last);
+    }
+
+    private record Piece(byte[] bytes, Throwable failure) {
+        static final Piece END = new Piece(null, null);
+    }
+
+    private final int parallelism;
+    private final ExecutorService executor;
+
+    public ParallelExportRenderer(@Value("${app.export.parallelism:0}") int parallelism) {
+        this.parallelism = parallelism > 0
+                ? parallelism
+                : Math.min(Runtime.getRuntime().availableProcessors(), 4);
+        this.executor = Executors.newFixedThreadPool(this.parallelism);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void render(List<Partition> partitions, ExportStrategy strategy, OutputStream out) throws IOException {
+        strategy.writeHeader(out);
+
+        // a running partition holds a pool thread while it waits for the writer, so only that many are started
+        Deque<BlockingQueue<Piece>> inFlight = new ArrayDeque<>();
+        Deque<Future<?>> tasks = new ArrayDeque<>();
+        Iterator<Partition> pending = partitions.iterator();
+        try {
+            while (pending.hasNext() && inFlight.size() < parallelism) {
+                start(pending.next(), strategy, inFlight, tasks);
+            }
+            while (!inFlight.isEmpty()) {
+                BlockingQueue<Piece> pieces = inFlight.poll();
+                for (Piece piece = take(pieces); piece != Piece.END; piece = take(pieces)) {
+                    out.write(piece.bytes());
+                }
+                tasks.poll();
+                if (pending.hasNext()) {
+                    start(pending.next(), strategy, inFlight, tasks);
+                }
+            }
+        } finally {
+            tasks.forEach(task -> task.cancel(true));
+        }
+
+        strategy.writeFooter(out);
+        out.flush();
+    }
+
+    private void start(Partition partition, ExportStrategy strategy,
+                       Deque<BlockingQueue<Piece>> inFlight, Deque<Future<?>> tasks) {
+        BlockingQueue<Piece> pieces = new ArrayBlockingQueue<>(PAGES_AHEAD);
+        inFlight.add(pieces);
+        tasks.add(executor.submit(() -> {
+            try {
+                MatchResponseDTO last = null;
+                for (List<MatchResponseDTO> page = partition.nextPage(null); !page.isEmpty();
+                     page = partition.nextPage(last)) {
+                    ByteArrayOutputStream buffer = new ByteArrayOutputStream(page.size() * 64);
+                    strategy.writeRows(page.iterator(), buffer);
+                    pieces.put(new Piece(buffer.toByteArray(), null));
+                    last = page.get(page.size() - 1);
+                }
+                pieces.put(Piece.END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable e) {
+                // the queue may be full, but the writer is draining it; it stops at the failure
+                try {
+                    pieces.put(new Piece(null, e));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }));
+    }
+
+    private static Piece take(BlockingQueue<Piece> pieces) throws IOException {
+        Piece piece;
+        try {
+            piece = pieces.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Export interrupted", e);
+        }
+        Throwable cause = piece.failure();
+        if (cause == null) {
+            return piece;
+        }
+        if (cause instanceof IOException io) {
+            throw io;
+        }
+        if (cause instanceof UncheckedIOException io) {
+            throw io.getCause();
+        }
+        if (cause instanceof RuntimeException re) {
+            throw re;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        throw new IOException(cause);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,101 @@
+package com.sd.tennis.util;
+
+import com.sd.tennis.model.ScoreEvent;
+import com.sd.tennis.model.SetTally;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A match's score folded out of its score events, with the same rules the score writers apply: set events move the
+ * tally and the overall score follows it, the winner only changes when the set count starts or stops deciding the
+ * match, and a hand-entered result stands until then. Not thread-safe.
+ */
+public final class ScoreReplay {
+    private final int bestOf;
+    private final TreeMap<Integer, int[]> sets = new TreeMap<>();
+    private final SetTally tally = new SetTally();
+    private String overallScore = "N/A";
+    private int winnerSide;
+
+    public ScoreReplay(int bestOf) {
+        this.bestOf = bestOf;
+    }
+
+    /** Picks up from a snapshot: {@code sets} as written by {@link #encodeSets()}. */
+    public static ScoreReplay from(int bestOf, String sets, String overallScore, int winnerSide) {
+        ScoreReplay replay = new ScoreReplay(bestOf);
+        if (!sets.isEmpty()) {
+            for (String set : sets.split(",")) {
+                int colon = set.indexOf(':');
+                int dash = set.indexOf('-', colon);
+                int[] games = {Integer.parseInt(set.substring(colon + 1, dash)), Integer.parseInt(set.substring(dash + 1))};
+                replay.sets.put(Integer.parseInt(set.substring(0, colon)), games);
+                replay.tally.add(games[0], games[1]);
+            }
+        }
+        replay.overallScore = overallScore;
+        replay.winnerSide = winnerSide;
+        return replay;
+    }
+
+    public void apply(String type, Integer setNumber, Integer player1Score, Integer player2Score, Integer winner) {
+        if (ScoreEvent.RESULT.equals(type)) {
+            overallScore = player1Score == null ? "N/A" : player1Score + "-" + player2Score;
+            winnerSide = winner;
+            return;
+        }
+        int decidedBefore = tally.decidedSide(bestOf);
+        int[] previous = ScoreEvent.SET.equals(type)
+                ? sets.put(setNumber, new int[]{player1Score, player2Score})
+                : sets.remove(setNumber);
+        if (previous != null) {
+            tally.remove(previous[0], previous[1]);
+        }
+        if (ScoreEvent.SET.equals(type)) {
+            tally.add(player1Score, player2Score);
+        }
+        int decided = tally.decidedSide(bestOf);
+        if (decided != decidedBefore) {
+            winnerSide = decided;
+        }
+        overallScore = tally.setScore();
+    }
+
+    public void apply(ScoreEvent event) {
+        apply(event.getType(), event.getSetNumber(), event.getPlayer1Score(), event.getPlayer2Score(),
+                event.getWinnerSide());
+    }
+
+    /** Games of every recorded set by set number, in set order. */
+    public Map<Integer, int[]> sets() {
+        Map<Integer, int[]> copy = new TreeMap<>();
+        sets.forEach((number, games) -> copy.put(number, games.clone()));
+        return copy;
+    }
+
+    public SetTally tally() {
+        return new SetTally(tally.getPlayer1Sets(), tally.getPlayer2Sets(), tally.getPlayer1Games(),
+                tally.getPlayer2Games());
+    }
+
+    public String overallScore() {
+        return overallScore;
+    }
+
+    /** 1 or 2 for the winning side, 0 while there is no winner. */
+    public int winnerSide() {
+        return winnerSide;
+    }
+
+    public String encodeSets() {
+        StringBuilder out = new StringBuilder();
+        sets.forEach((number, games) -> {
+            if (!out.isEmpty()) {
+                out.append(',');
+            }
+            out.append(number).append(':').append(games[0]).append('-').append(games[1]);
+        });
+        return out.toString();
+    }
+}
@@ -0,0 +1,125 @@
+package com.sd.tennis.util;
+
+import com.sd.tennis.cache.BookingIndex;
+import com.sd.tennis.util.OrderOfPlaySolver.Availability;
+import com.sd.tennis.util.OrderOfPlaySolver.Court;
+import com.sd.tennis.util.OrderOfPlaySolver.VenueBooking;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Lists every court slot in a window where two players (and a referee) could start a match. Candidates use the
+ * same grid as {@link OrderOfPlaySolver}; each day is checked on a bounded pool against in-memory bookings only.
+ * Slots on busier court-days come first so new matches fill courts that are already staffed, then earlier ones.
+ */
+@Component
+public class SlotFinder {
+    public record Slot(LocalDateTime start, String venue, int refereeId, double courtUtilization) {
+    }
+
+    /** Referees in order of preference; the first one free at a slot is proposed. */
+    public record Problem(int player1Id, int player2Id, List<Integer> refereeIds, LocalDate firstDay,
+                          LocalDate lastDay, LocalDateTime notBefore, List<Court> courts,
+                          List<VenueBooking> venueBookings, Availability availability) {
+    }
+
+    private static final Comparator<Slot> RANKING = Comparator.comparingDouble(Slot::courtUtilization).reversed()
+            .thenComparing(Slot::start)
+            .thenComparing(Slot::venue);
+
+    private final ExecutorService executor;
+
+    public SlotFinder(@Value("${app.slots.parallelism:0}") int parallelism) {
+        this.executor = Executors.newFixedThreadPool(parallelism > 0
+                ? parallelism
+                : Runtime.getRuntime().availableProcessors());
+    }
+
+    public List<Slot> find(Problem problem) {
+        Map<String, NavigableSet<LocalDateTime>> byVenue = new HashMap<>();
+        for (VenueBooking booking : problem.venueBookings()) {
+            byVenue.computeIfAbsent(booking.venue(), venue -> new TreeSet<>()).add(booking.start());
+        }
+
+        List<Callable<List<Slot>>> days = new ArrayList<>();
+        for (LocalDate day = problem.firstDay(); !day.isAfter(problem.lastDay()); day = day.plusDays(1)) {
+            LocalDate current = day;
+            days.add(() -> slotsOn(current, problem, byVenue));
+        }
+
+        List<Slot> slots = new ArrayList<>();
+        try {
+            for (Future<List<Slot>> future : executor.invokeAll(days)) {
+                slots.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Slot search interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        slots.sort(RANKING);
+        return slots;
+    }
+
+    private static List<Slot> slotsOn(LocalDate day, Problem problem, Map<String, NavigableSet<LocalDateTime>> byVenue) {
+        List<Slot> slots = new ArrayList<>();
+        for (Court court : problem.courts()) {
+            NavigableSet<LocalDateTime> taken = byVenue.getOrDefault(court.venue(), new TreeSet<>());
+            LocalDateTime open = day.atTime(court.opensAt());
+            LocalDateTime close = day.atTime(court.closesAt());
+
+            List<LocalDateTime> starts = new ArrayList<>();
+            for (LocalDateTime start = open; !start.plusMinutes(BookingIndex.MIN_GAP_MINUTES).isAfter(close);
+                 start = start.plusMinutes(BookingIndex.MIN_GAP_MINUTES)) {
+                starts.add(start);
+            }
+            if (starts.isEmpty()) {
+                continue;
+            }
+            int used = taken.subSet(open, true, close, false).size();
+            double utilization = Math.min(1.0, (double) used / starts.size());
+
+            for (LocalDateTime start : starts) {
+                if ((problem.notBefore() != null && start.isBefore(problem.notBefore()))
+                        || OrderOfPlaySolver.overlaps(taken, start)
+                        || problem.availability().isBooked(problem.player1Id(), start)
+                        || problem.availability().isBooked(problem.player2Id(), start)) {
+                    continue;
+                }
+                for (int refereeId : problem.refereeIds()) {
+                    if (refereeId != problem.player1Id() && refereeId != problem.player2Id()
+                            && !problem.availability().isBooked(refereeId, start)) {
+                        slots.add(new Slot(start, court.venue(), refereeId, utilization));
+                        break;
+                    }
+                }
+            }
+        }
+        return slots;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
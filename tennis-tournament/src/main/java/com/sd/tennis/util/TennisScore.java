@@ -0,0 +1,99 @@
+package com.sd.tennis.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Point-by-point score of one match: games to four points with deuce and advantage, sets to six games won by two
+ * with a tiebreak to seven at 6-6, best of {@code bestOf} sets. Players are 1 and 2. Not thread-safe; callers
+ * serialize the points of a match.
+ */
+public final class TennisScore {
+    private static final String[] CALLS = {"0", "15", "30", "40"};
+
+    private final int bestOf;
+    private final List<int[]> sets = new ArrayList<>();
+    private final int[] setsWon = new int[2];
+    private final int[] games = new int[2];
+    private final int[] points = new int[2];
+    private int pointsPlayed;
+    private int winner;
+
+    public TennisScore(int bestOf) {
+        if (bestOf < 1 || bestOf % 2 == 0) {
+            throw new IllegalArgumentException("Best of must be a positive odd number of sets");
+        }
+        this.bestOf = bestOf;
+    }
+
+    public void point(int player) {
+        if (player != 1 && player != 2) {
+            throw new IllegalArgumentException("Player must be 1 or 2");
+        }
+        if (winner != 0) {
+            throw new IllegalStateException("Match is already decided");
+        }
+        int p = player - 1;
+        int o = 1 - p;
+        pointsPlayed++;
+        points[p]++;
+        int needed = inTiebreak() ? 7 : 4;
+        if (points[p] >= needed && points[p] - points[o] >= 2) {
+            points[0] = 0;
+            points[1] = 0;
+            games[p]++;
+            // 7-6 only ever comes out of a tiebreak
+            if (games[p] == 7 || (games[p] >= 6 && games[p] - games[o] >= 2)) {
+                sets.add(new int[]{games[0], games[1]});
+                games[0] = 0;
+                games[1] = 0;
+                if (++setsWon[p] > bestOf / 2) {
+                    winner = player;
+                }
+            }
+        }
+    }
+
+    public boolean inTiebreak() {
+        return games[0] == 6 && games[1] == 6;
+    }
+
+    /** 1 or 2 once the match is decided, 0 while it is in play. */
+    public int winner() {
+        return winner;
+    }
+
+    public int pointsPlayed() {
+        return pointsPlayed;
+    }
+
+    public String overallScore() {
+        return setsWon[0] + "-" + setsWon[1];
+    }
+
+    public String gameScore() {
+        return games[0] + "-" + games[1];
+    }
+
+    public String pointScore() {
+        if (inTiebreak()) {
+            return points[0] + "-" + points[1];
+        }
+        if (points[0] >= 3 && points[1] >= 3) {
+            return points[0] == points[1] ? "40-40" : points[0] > points[1] ? "AD-40" : "40-AD";
+        }
+        return CALLS[points[0]] + "-" + CALLS[points[1]];
+    }
+
+    /** Games of every set, the set in progress last once a point of it has been played. */
+    public List<int[]> setScores() {
+        List<int[]> scores = new ArrayList<>(sets.size() + 1);
+        for (int[] set : sets) {
+            scores.add(set.clone());
+        }
+        if (winner == 0 && games[0] + games[1] + points[0] + points[1] > 0) {
+            scores.add(new int[]{games[0], games[1]});
+        }
+        return scores;
+    }
+}
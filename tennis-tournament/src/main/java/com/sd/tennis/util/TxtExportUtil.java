@@ -1,24 +1,41 @@
 package com.sd.tennis.util;
 
-import com.sd.tennis.dto.MatchDTO;
+import com.sd.tennis.dto.MatchResponseDTO;
 
-import java.util.List;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 
 public class TxtExportUtil implements ExportStrategy {
     @Override
-    public String export(List<MatchDTO> matches) {
-        StringBuilder txtData = new StringBuilder();
-        for (MatchDTO match : matches) {
-            txtData.append("Match ID: ").append(match.getMatchId()).append("\n")
+    public String getContentType() {
+        return "text/plain";
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "txt";
+    }
+
+    @Override
+    public void writeRows(Iterator<MatchResponseDTO> rows, OutputStream out) throws IOException {
+        Writer txtData = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        while (rows.hasNext()) {
+            MatchResponseDTO match = rows.next();
+            txtData.append("Match ID: ").append(String.valueOf(match.getMatchId())).append("\n")
                     .append("Tournament Name: ").append(match.getTournamentName()).append("\n")
                     .append("Player 1: ").append(match.getPlayer1Name()).append("\n")
                     .append("Player 2: ").append(match.getPlayer2Name()).append("\n")
                     .append("Winner: ").append(match.getWinnerName()).append("\n")
-                    .append("Match Date: ").append(match.getMatchDate()).append("\n")
+                    .append("Match Date: ").append(String.valueOf(match.getMatchDate())).append("\n")
                     .append("Venue: ").append(match.getVenue()).append("\n")
                     .append("Overall Score: ").append(match.getOverallScore()).append("\n\n")
                     .append("--------------------------------------------------\n");
         }
-        return txtData.toString();
+        txtData.flush();
     }
 }
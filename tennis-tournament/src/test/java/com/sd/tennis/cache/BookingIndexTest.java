@@ -0,0 +1,104 @@
+package com.sd.tennis.cache;
+
+import com.sd.tennis.repository.MatchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIndexTest {
+    private static final LocalDateTime TEN = LocalDateTime.of(2025, 5, 15, 10, 0);
+
+    @Mock MatchRepository matchRepository;
+
+    BookingIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingIndex(matchRepository);
+    }
+
+    @Test
+    void hasConflict_usesTwoHourWindowOnBothSides() {
+        load(new Object[]{1, 100, TEN, 10, 11, 20, null});
+
+        assertThat(index.hasConflict(10, TEN.plusMinutes(119), null)).isTrue();
+        assertThat(index.hasConflict(11, TEN.minusMinutes(119), null)).isTrue();
+        assertThat(index.hasConflict(20, TEN, null)).isTrue();
+        assertThat(index.hasConflict(10, TEN.plusMinutes(120), null)).isFalse();
+        assertThat(index.hasConflict(10, TEN.minusMinutes(120), null)).isFalse();
+        assertThat(index.hasConflict(12, TEN, null)).isFalse();
+    }
+
+    @Test
+    void courts_areBookedUnderTheirNegatedId() {
+        load(new Object[]{1, 100, TEN, 10, 11, 20, 7}, new Object[]{2, 100, TEN, 12, 13, 21, null});
+
+        assertThat(index.hasConflict(-7, TEN.plusMinutes(90), null)).isTrue();
+        assertThat(index.hasConflict(7, TEN, null)).isFalse();
+
+        index.matchScheduled(3, 100, TEN.plusHours(4), 14, 15, 22, null);
+        assertThat(index.hasConflict(22, TEN.plusHours(4), null)).isTrue();
+    }
+
+    @Test
+    void hasConflict_crossesMidnight() {
+        load(new Object[]{1, 100, LocalDateTime.of(2025, 5, 15, 23, 30), 10, 11, 20, null});
+
+        assertThat(index.hasConflict(10, LocalDateTime.of(2025, 5, 16, 0, 30), null)).isTrue();
+    }
+
+    @Test
+    void hasConflict_ignoresTheMatchBeingMoved() {
+        load(new Object[]{1, 100, TEN, 10, 11, 20, null});
+
+        assertThat(index.hasConflict(10, TEN.plusMinutes(30), 1)).isFalse();
+    }
+
+    @Test
+    void hasConflictIgnoring_skipsEveryMatchBeingReassigned() {
+        load(new Object[]{1, 100, TEN, 10, 11, 20, null}, new Object[]{2, 100, TEN.plusMinutes(60), 12, 13, 20, null});
+
+        assertThat(index.hasConflictIgnoring(20, TEN.plusMinutes(30), Set.of(1, 2))).isFalse();
+        assertThat(index.hasConflictIgnoring(20, TEN.plusMinutes(30), Set.of(1))).isTrue();
+    }
+
+    @Test
+    void updates_keepEveryParticipantInSync() {
+        load(new Object[]{1, 100, TEN, 10, 11, 20, null}, new Object[]{2, 200, TEN.plusDays(1), 12, 13, 20, null});
+
+        index.matchScheduled(1, 100, TEN.plusHours(5), 10, 11, 21);
+        assertThat(index.hasConflict(10, TEN, null)).isFalse();
+        assertThat(index.hasConflict(20, TEN, null)).isFalse();
+        assertThat(index.hasConflict(21, TEN.plusHours(5), null)).isTrue();
+
+        index.participantDeleted(10);
+        assertThat(index.hasConflict(11, TEN.plusHours(5), null)).isFalse();
+
+        index.tournamentDeleted(200);
+        assertThat(index.hasConflict(20, TEN.plusDays(1), null)).isFalse();
+    }
+
+    @Test
+    void hasConflict_beforeLoad_asksTheDatabase() {
+        when(matchRepository.existsBookingBetween(10, TEN.minusHours(2), TEN.plusHours(2), -1)).thenReturn(true);
+
+        assertThat(index.hasConflict(10, TEN, null)).isTrue();
+        verify(matchRepository).existsBookingBetween(10, TEN.minusHours(2), TEN.plusHours(2), -1);
+    }
+
+    private void load(Object[]... rows) {
+        when(matchRepository.findAllBookings()).thenReturn(List.of(rows));
+        index.load();
+    }
+}
@@ -0,0 +1,67 @@
+package com.sd.tennis.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the counters live in the writer's transaction, so the test commits and rolls back for real
+@DataJpaTest(properties = "app.collection-versions.store=database")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(DatabaseCollectionVersions.class)
+class DatabaseCollectionVersionsTest {
+    @Autowired DatabaseCollectionVersions versions;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM collection_versions");
+    }
+
+    @Test
+    void matchesChanged_onlyMovesThatTournament() {
+        String t1 = versions.tournamentMatchesTag(1);
+        String t2 = versions.tournamentMatchesTag(2);
+        String all = versions.matchesTag();
+        String tournaments = versions.tournamentsTag();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> versions.matchesChanged(1));
+
+        assertThat(versions.tournamentMatchesTag(1)).isNotEqualTo(t1);
+        assertThat(versions.tournamentMatchesTag(2)).isEqualTo(t2);
+        assertThat(versions.matchesTag()).isNotEqualTo(all);
+        assertThat(versions.tournamentsTag()).isEqualTo(tournaments);
+    }
+
+    @Test
+    void aRolledBackWrite_leavesTheTagsAlone() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> versions.tournamentChanged(1));
+        String tournaments = versions.tournamentsTag();
+        String t1 = versions.tournamentMatchesTag(1);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            versions.tournamentChanged(1);
+            status.setRollbackOnly();
+        });
+
+        assertThat(versions.tournamentsTag()).isEqualTo(tournaments);
+        assertThat(versions.tournamentMatchesTag(1)).isEqualTo(t1);
+    }
+
+    @Test
+    void readingTags_createsNoRows() {
+        versions.tournamentMatchesTag(42);
+        versions.matchesTag();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM collection_versions", Integer.class)).isZero();
+    }
+}
@@ -0,0 +1,64 @@
+package com.sd.tennis.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalCollectionVersionsTest {
+    private final CollectionVersions versions = new LocalCollectionVersions();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void matchesChanged_onlyMovesThatTournament() {
+        String t1 = versions.tournamentMatchesTag(1);
+        String t2 = versions.tournamentMatchesTag(2);
+        String all = versions.matchesTag();
+        String tournaments = versions.tournamentsTag();
+
+        versions.matchesChanged(1);
+
+        assertThat(versions.tournamentMatchesTag(1)).isNotEqualTo(t1);
+        assertThat(versions.tournamentMatchesTag(2)).isEqualTo(t2);
+        assertThat(versions.matchesTag()).isNotEqualTo(all);
+        assertThat(versions.tournamentsTag()).isEqualTo(tournaments);
+    }
+
+    @Test
+    void allMatchesChanged_movesEveryTournament() {
+        String t1 = versions.tournamentMatchesTag(1);
+        String t2 = versions.tournamentMatchesTag(2);
+
+        versions.allMatchesChanged();
+
+        assertThat(versions.tournamentMatchesTag(1)).isNotEqualTo(t1);
+        assertThat(versions.tournamentMatchesTag(2)).isNotEqualTo(t2);
+    }
+
+    @Test
+    void readingATag_isStableAndStartsAtZero() {
+        String first = versions.tournamentMatchesTag(42);
+
+        assertThat(versions.tournamentMatchesTag(42)).isEqualTo(first).endsWith("-0.0\"");
+    }
+
+    @Test
+    void bumpInsideTransaction_waitsForCommit() {
+        String before = versions.tournamentsTag();
+        TransactionSynchronizationManager.initSynchronization();
+
+        versions.tournamentChanged(3);
+        assertThat(versions.tournamentsTag()).isEqualTo(before);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(versions.tournamentsTag()).isNotEqualTo(before);
+    }
+}
@@ -0,0 +1,82 @@
+package com.sd.tennis.config;
+
+import com.sd.tennis.model.Match;
+import com.sd.tennis.model.Tournament;
+import com.sd.tennis.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ids are taken in a separate transaction, so the test must not hold the id_generators row itself
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(IdGeneratorSync.class)
+class IdGeneratorSyncTest {
+    @Autowired IdGeneratorSync sync;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired EntityManager em;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM matches");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM tournaments");
+    }
+
+    @Test
+    void newMatchesSkipIdsHandedOutBeforeTheSwitch() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Match match = new Match();
+        tx.executeWithoutResult(status -> {
+            Tournament tournament = new Tournament();
+            tournament.setName("Open");
+            tournament.setStartDate(LocalDate.of(2025, 5, 1));
+            tournament.setEndDate(LocalDate.of(2025, 5, 31));
+            em.persist(tournament);
+            User p1 = user("p1");
+            User p2 = user("p2");
+            em.flush();
+            jdbcTemplate.update("INSERT INTO matches (id, tournament_id, player1_id, player2_id, referee_id, match_date) "
+                            + "VALUES (1000, ?, ?, ?, ?, ?)", tournament.getId(), p1.getId(), p2.getId(), p1.getId(),
+                    LocalDateTime.of(2025, 5, 1, 10, 0));
+
+            match.setTournament(tournament);
+            match.setPlayer1(p1);
+            match.setPlayer2(p2);
+            match.setReferee(p1);
+            match.setMatchDate(LocalDateTime.of(2025, 5, 2, 10, 0));
+        });
+
+        sync.afterSingletonsInstantiated();
+        tx.executeWithoutResult(status -> em.merge(match));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT MAX(id) FROM matches", Integer.class)).isGreaterThan(1000);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM matches", Integer.class)).isEqualTo(2);
+    }
+
+    private User user(String username) {
+        User u = new User();
+        u.setUsername(username);
+        u.setEmail(username + "@example.com");
+        u.setPassword("secret");
+        u.setRole("PLAYER");
+        u.setFirstName(username);
+        u.setLastName("Test");
+        em.persist(u);
+        return u;
+    }
+}
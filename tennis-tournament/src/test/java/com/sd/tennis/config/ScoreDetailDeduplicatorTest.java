@@ -0,0 +1,102 @@
+package com.sd.tennis.config;
+
+import com.sd.tennis.model.Tournament;
+import com.sd.tennis.model.User;
+import com.sd.tennis.repository.ScoreDetailRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the rows are written with plain JDBC and committed, the way an older schema left them
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ScoreDetailDeduplicator.class, ScoreDetailDeduplicator.SchemaUpdateOrdering.class})
+class ScoreDetailDeduplicatorTest {
+    @Autowired ScoreDetailDeduplicator deduplicator;
+    @Autowired ScoreDetailRepository scoreDetailRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired EntityManager em;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired ConfigurableListableBeanFactory beanFactory;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM score_details");
+        jdbcTemplate.update("DELETE FROM matches");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM tournaments");
+    }
+
+    @Test
+    void runsBeforeTheSchemaUpdate() {
+        assertThat(beanFactory.getBeanDefinition("entityManagerFactory").getDependsOn())
+                .contains(beanFactory.getBeanNamesForType(ScoreDetailDeduplicator.class));
+    }
+
+    @Test
+    void duplicateSets_keepTheNewestRow_soTheUniqueKeyCanBeAdded() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        int matchId = 500;
+        tx.executeWithoutResult(status -> {
+            Tournament tournament = new Tournament();
+            tournament.setName("Open");
+            tournament.setStartDate(LocalDate.of(2025, 5, 1));
+            tournament.setEndDate(LocalDate.of(2025, 5, 31));
+            em.persist(tournament);
+            User p1 = user("p1");
+            User p2 = user("p2");
+            em.flush();
+            // the tally counted every row, duplicates included
+            jdbcTemplate.update("INSERT INTO matches (id, tournament_id, player1_id, player2_id, referee_id, match_date, "
+                            + "player1_sets, player2_sets, player1_games, player2_games) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, 4, 0, 25, 14)", matchId, tournament.getId(), p1.getId(),
+                    p2.getId(), p1.getId(), LocalDateTime.of(2025, 5, 1, 10, 0));
+        });
+        jdbcTemplate.update("ALTER TABLE score_details DROP CONSTRAINT uk_score_details_match_set");
+        jdbcTemplate.batchUpdate("INSERT INTO score_details (id, match_id, set_number, player1_score, player2_score) "
+                + "VALUES (?, ?, ?, ?, ?)", List.of(
+                new Object[]{1, matchId, 1, 6, 4},
+                new Object[]{2, matchId, 1, 6, 2},
+                new Object[]{3, matchId, 2, 6, 3},
+                new Object[]{4, matchId, 1, 7, 5}));
+
+        deduplicator.afterPropertiesSet();
+        jdbcTemplate.update("ALTER TABLE score_details ADD CONSTRAINT uk_score_details_match_set "
+                + "UNIQUE (match_id, set_number)");
+        tx.executeWithoutResult(status -> scoreDetailRepository.backfillSetTallies());
+
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM score_details ORDER BY id", Integer.class))
+                .containsExactly(3, 4);
+        Map<String, Object> tally = jdbcTemplate.queryForMap("SELECT player1_sets, player2_sets, player1_games, "
+                + "player2_games FROM matches WHERE id = ?", matchId);
+        assertThat(tally.values()).containsExactly(2, 0, 13, 8);
+    }
+
+    private User user(String username) {
+        User u = new User();
+        u.setUsername(username);
+        u.setEmail(username + "@example.com");
+        u.setPassword("secret");
+        u.setRole("PLAYER");
+        u.setFirstName(username);
+        u.setLastName("Test");
+        em.persist(u);
+        return u;
+    }
+}
@@ -0,0 +1,394 @@
+package com.sd.tennis.controller;
+
+import com.sd.tennis.cache.BookingIndex;
+import com.sd.tennis.cache.CollectionVersions;
+import com.sd.tennis.cache.HeadToHeadIndex;
+import com.sd.tennis.cache.LiveScoreBoard;
+import com.sd.tennis.cache.LocalCollectionVersions;
+import com.sd.tennis.dto.BulkMatchRequestDTO;
+import com.sd.tennis.dto.BulkMatchResultDTO;
+import com.sd.tennis.dto.HeadToHeadDTO;
+import com.sd.tennis.dto.MatchDTO;
+import com.sd.tennis.dto.MatchFilterDTO;
+import com.sd.tennis.dto.MatchPageDTO;
+import com.sd.tennis.dto.MatchResponseDTO;
+import com.sd.tennis.dto.UserDTO;
+import com.sd.tennis.exception.InvalidCursorException;
+import com.sd.tennis.lock.StripedParticipantLocks;
+import com.sd.tennis.model.Match;
+import com.sd.tennis.model.ScoreDetail;
+import com.sd.tennis.model.Tournament;
+import com.sd.tennis.model.User;
+import com.sd.tennis.repository.MatchViewRepository;
+import com.sd.tennis.repository.UserRepository;
+import com.sd.tennis.service.HeadToHeadServiceImpl;
+import com.sd.tennis.service.LiveScoringServiceImpl;
+import com.sd.tennis.service.MatchServiceImpl;
+import com.sd.tennis.service.ScoreHistoryServiceImpl;
+import com.sd.tennis.service.UserServiceImpl;
+import com.sd.tennis.util.CsvExportUtil;
+import com.sd.tennis.util.LiveUpdateHub;
+import com.sd.tennis.util.ParallelExportRenderer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({MatchController.class, MatchServiceImpl.class, HeadToHeadServiceImpl.class,
+        ParallelExportRenderer.class, LocalCollectionVersions.class, HeadToHeadIndex.class, BookingIndex.class,
+        StripedParticipantLocks.class, LiveScoringServiceImpl.class, LiveScoreBoard.class, ScoreHistoryServiceImpl.class,
+        LiveUpdateHub.class, JacksonAutoConfiguration.class})
+class MatchControllerQueryCountTest {
+    private static final int MATCHES = 25;
+
+    @Autowired MatchController controller;
+    @Autowired MatchServiceImpl matchService;
+    @Autowired EntityManager em;
+    @Autowired EntityManagerFactory emf;
+    @Autowired UserRepository userRepository;
+    @Autowired MatchViewRepository matchViewRepository;
+    @Autowired CollectionVersions collectionVersions;
+    @Autowired HeadToHeadIndex headToHeadIndex;
+    @Autowired BookingIndex bookingIndex;
+
+    Tournament tournament;
+    User p1, p2, ref;
+
+    @BeforeEach
+    void setUp() {
+        tournament = new Tournament();
+        tournament.setName("Open");
+        tournament.setStartDate(LocalDate.of(2025, 5, 1));
+        tournament.setEndDate(LocalDate.of(2025, 5, 31));
+        em.persist(tournament);
+
+        p1 = user("player1", "PLAYER");
+        p2 = user("player2", "PLAYER");
+        ref = user("referee", "REFEREE");
+
+        for (int i = 0; i < MATCHES; i++) {
+            Match m = new Match();
+            m.setTournament(tournament);
+            m.setPlayer1(p1);
+            m.setPlayer2(p2);
+            m.setReferee(ref);
+            m.setMatchDate(LocalDateTime.of(2025, 5, 1, 10, 0).plusHours(3L * i));
+            m.setVenue("Court " + (i % 4));
+            m.setWinner(i % 2 == 0 ? p1 : null);
+            em.persist(m);
+        }
+        em.flush();
+        matchService.rebuildMatchViewIfStale();
+        headToHeadIndex.load();
+        em.clear();
+    }
+
+    @Test
+    void getAllMatches_singleQuery() {
+        assertStatements(() -> controller.getAllMatches(get()), 1);
+    }
+
+    @Test
+    void getMatchesByTournament_singleQueryPlusExistenceCheck() {
+        assertStatements(() -> controller.getMatchesByTournament(tournament.getId(), get()), 2);
+    }
+
+    @Test
+    void getMatchesByPlayer_singleQueryPlusExistenceCheck() {
+        assertStatements(() -> controller.getMatchesByPlayer(p2.getId()), 2);
+    }
+
+    @Test
+    void getMatchesByReferee_singleQueryPlusExistenceCheck() {
+        assertStatements(() -> controller.getMatchesByReferee(ref.getId()), 2);
+    }
+
+    @Test
+    void getMatch_singleQuery() {
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        Integer matchId = controller.getAllMatches(get()).getBody().get(0).getMatchId();
+        stats.clear();
+
+        MatchResponseDTO dto = controller.getMatch(matchId).getBody();
+
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(dto.getPlayer2Name()).isEqualTo("player2 Test");
+    }
+
+    @Test
+    void userRename_isVisibleToReads() {
+        UserServiceImpl userService = new UserServiceImpl(userRepository, matchViewRepository, collectionVersions, headToHeadIndex, bookingIndex);
+        UserDTO rename = new UserDTO();
+        rename.setLastName("Renamed");
+        userService.updateUser(p1.getId(), rename);
+        em.flush();
+        em.clear();
+
+        assertThat(controller.getMatchesByPlayer(p1.getId()).getBody()).allSatisfy(dto -> {
+            assertThat(dto.getPlayer1Name()).isEqualTo("player1 Renamed");
+            assertThat(dto.getWinnerName()).isIn("player1 Renamed", "N/A");
+        });
+    }
+
+    @Test
+    void getMatchesByTournament_answersNotModifiedWithoutQuerying() throws Exception {
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(controller).build();
+        String path = "/api/matches/tournament/" + tournament.getId();
+
+        MvcResult first = mvc.perform(MockMvcRequestBuilders.get(path))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(first.getResponse().getHeaders(HttpHeaders.ETAG)).containsExactly(etag);
+
+        stats.clear();
+        mvc.perform(MockMvcRequestBuilders.get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        assertThat(stats.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void getHeadToHead_countsBothOrientations() {
+        Match reversed = new Match();
+        reversed.setTournament(em.find(Tournament.class, tournament.getId()));
+        reversed.setPlayer1(em.find(User.class, p2.getId()));
+        reversed.setPlayer2(em.find(User.class, p1.getId()));
+        reversed.setReferee(em.find(User.class, ref.getId()));
+        reversed.setMatchDate(LocalDateTime.of(2025, 4, 1, 10, 0));
+        reversed.setWinner(reversed.getPlayer1());
+        em.persist(reversed);
+        em.persist(set(reversed, 1, 6, 2));
+        Match first = em.find(Match.class, controller.getAllMatches(get()).getBody().get(0).getMatchId());
+        em.persist(set(first, 1, 6, 4));
+        em.persist(set(first, 2, 3, 6));
+        em.flush();
+        matchService.rebuildMatchViewIfStale();
+        headToHeadIndex.load();
+        em.clear();
+
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        HeadToHeadDTO h2h = controller.getHeadToHead(p1.getId(), p2.getId()).getBody();
+
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(h2h.getMatches()).isEqualTo(MATCHES + 1);
+        assertThat(h2h.getPlayer1Wins()).isEqualTo(13);
+        assertThat(h2h.getPlayer2Wins()).isEqualTo(1);
+        assertThat(h2h.getPlayer1Sets()).isEqualTo(1);
+        assertThat(h2h.getPlayer2Sets()).isEqualTo(2);
+        assertThat(h2h.getLastMeeting().getMatchDate()).isAfter(LocalDateTime.of(2025, 5, 1, 0, 0));
+        assertThat(headToHeadIndex.hasMet(p2.getId(), p1.getId(), tournament.getId())).isTrue();
+        assertThat(headToHeadIndex.hasMet(p1.getId(), ref.getId(), tournament.getId())).isFalse();
+    }
+
+    @Test
+    void projection_resolvesNamesAndWinner() {
+        List<MatchResponseDTO> list = controller.getMatchesByTournament(tournament.getId(), get()).getBody();
+
+        assertThat(list).allSatisfy(dto -> {
+            assertThat(dto.getTournamentName()).isEqualTo("Open");
+            assertThat(dto.getPlayer1Name()).isEqualTo("player1 Test");
+            assertThat(dto.getRefereeName()).isEqualTo("referee Test");
+            assertThat(dto.getWinnerName()).isIn("player1 Test", "N/A");
+        });
+    }
+
+    @Test
+    void getMatchesPageByTournament_walksAllRowsInKeysetOrder() {
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        List<MatchResponseDTO> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            stats.clear();
+            MatchPageDTO page = controller.getMatchesPageByTournament(tournament.getId(), cursor, 10).getBody();
+            assertThat(stats.getPrepareStatementCount()).isEqualTo(2);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).hasSize(MATCHES);
+        assertThat(seen).isSortedAccordingTo(Comparator.comparing(MatchResponseDTO::getMatchDate)
+                .thenComparing(MatchResponseDTO::getMatchId));
+    }
+
+    @Test
+    void getMatchesPage_rejectsGarbageCursor() {
+        assertThatThrownBy(() -> controller.getMatchesPage("not-a-cursor", 10))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void getFilteredMatches_pushesAllFiltersIntoOneQuery() {
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        // matches are three hours apart from May 1st 10:00, so May 2nd holds i = 5..12
+        MatchFilterDTO filter = new MatchFilterDTO();
+        filter.setTournamentId(tournament.getId());
+        filter.setPlayerId(p1.getId());
+        filter.setRefereeId(ref.getId());
+        filter.setFrom(LocalDate.of(2025, 5, 2));
+        filter.setTo(LocalDate.of(2025, 5, 2));
+        filter.setVenue("Court 1");
+        List<MatchResponseDTO> list = matchService.getFilteredMatches(filter);
+
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(list).extracting(MatchResponseDTO::getVenue).containsOnly("Court 1");
+        assertThat(list).extracting(dto -> dto.getMatchDate().toLocalDate()).containsOnly(LocalDate.of(2025, 5, 2));
+        assertThat(list).hasSize(2);
+    }
+
+    @Test
+    void exportMatches_streamsEveryRowInOneQuery() throws IOException {
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        matchService.exportMatches(new MatchFilterDTO(), new CsvExportUtil(), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(lines).hasSize(MATCHES + 1);
+        assertThat(lines[0]).startsWith("Match ID,");
+    }
+
+    @Test
+    void createMatches_validatesAgainstBatchAndExistingData() {
+        bookingIndex.load();
+        User a = user("a", "PLAYER"), b = user("b", "PLAYER"), c = user("c", "PLAYER"), d = user("d", "PLAYER");
+        User umpire = user("umpire", "REFEREE");
+        em.flush();
+        em.clear();
+
+        List<MatchDTO> request = new ArrayList<>(List.of(
+                matchDTO(a, b, umpire, LocalDateTime.of(2025, 5, 10, 10, 0)),
+                matchDTO(c, d, umpire, LocalDateTime.of(2025, 5, 10, 11, 0)),
+                matchDTO(b, a, umpire, LocalDateTime.of(2025, 5, 11, 10, 0)),
+                matchDTO(a, p1, umpire, LocalDateTime.of(2025, 5, 1, 11, 0)),
+                matchDTO(c, d, ref, LocalDateTime.of(2025, 6, 2, 10, 0))));
+        MatchDTO unknown = matchDTO(c, d, ref, LocalDateTime.of(2025, 5, 20, 10, 0));
+        unknown.setPlayer2Id(-1);
+        request.add(unknown);
+        // enough accepted rows to span two insert batches
+        for (int i = 0; i < 60; i++) {
+            request.add(matchDTO(i % 2 == 0 ? c : d, user("extra" + i, "PLAYER"), umpire,
+                    LocalDateTime.of(2025, 5, 12, 8, 0).plusHours(3L * i)));
+        }
+        em.flush();
+        em.clear();
+
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        List<BulkMatchResultDTO> results = controller.createMatches(bulk(request)).getBody();
+        em.flush();
+        long statements = stats.getPrepareStatementCount();
+        em.clear();
+
+        assertThat(results).extracting(BulkMatchResultDTO::getIndex).containsExactly(
+                IntStream.range(0, request.size()).boxed().toArray(Integer[]::new));
+        assertThat(results.get(0).getStatus()).isEqualTo(BulkMatchResultDTO.CREATED);
+        assertThat(results.get(1).getError()).isEqualTo("Referee is already scheduled within 2 hours of that match.");
+        assertThat(results.get(2).getError()).startsWith("Players are already scheduled");
+        assertThat(results.get(3).getError()).isEqualTo("Player 2 is already scheduled within 2 hours of that match.");
+        assertThat(results.get(4).getError()).isEqualTo("Match date must be within the tournament dates");
+        assertThat(results.get(5).getError()).isEqualTo("Player 2 not found");
+        assertThat(results.subList(6, results.size()))
+                .allSatisfy(result -> assertThat(result.getStatus()).isEqualTo(BulkMatchResultDTO.CREATED));
+        assertThat(results).filteredOn(result -> result.getMatchId() != null).hasSize(61);
+
+        // two lookups, a couple of id block fetches and two batches per table instead of one insert per row
+        assertThat(statements).isLessThanOrEqualTo(6);
+        assertThat(matchViewRepository.count()).isEqualTo(MATCHES + 61);
+        MatchResponseDTO first = controller.getMatch(results.get(0).getMatchId()).getBody();
+        assertThat(first.getPlayer1Name()).isEqualTo("a Test");
+    }
+
+    private BulkMatchRequestDTO bulk(List<MatchDTO> matches) {
+        BulkMatchRequestDTO request = new BulkMatchRequestDTO();
+        request.setMatches(matches);
+        return request;
+    }
+
+    private MatchDTO matchDTO(User player1, User player2, User referee, LocalDateTime date) {
+        MatchDTO dto = new MatchDTO();
+        dto.setTournamentId(tournament.getId());
+        dto.setPlayer1Id(player1.getId());
+        dto.setPlayer2Id(player2.getId());
+        dto.setRefereeId(referee.getId());
+        dto.setMatchDate(date);
+        dto.setVenue("Court 1");
+        return dto;
+    }
+
+    private void assertStatements(Supplier<ResponseEntity<List<MatchResponseDTO>>> endpoint, long expected) {
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        List<MatchResponseDTO> body = endpoint.get().getBody();
+
+        assertThat(body).hasSize(MATCHES);
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(expected);
+    }
+
+    private ScoreDetail set(Match match, int setNumber, int player1Score, int player2Score) {
+        ScoreDetail detail = new ScoreDetail();
+        detail.setMatch(match);
+        detail.setSetNumber(setNumber);
+        detail.setPlayer1Score(player1Score);
+        detail.setPlayer2Score(player2Score);
+        return detail;
+    }
+
+    private ServletWebRequest get() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/"), new MockHttpServletResponse());
+    }
+
+    private User user(String username, String role) {
+        User u = new User();
+        u.setUsername(username);
+        u.setEmail(username + "@example.com");
+        u.setPassword("secret");
+        u.setRole(role);
+        u.setFirstName(username);
+        u.setLastName("Test");
+        em.persist(u);
+        return u;
+    }
+}
@@ -0,0 +1,62 @@
+package com.sd.tennis.idempotency;
+
+import com.sd.tennis.idempotency.IdempotencyStore.Claim;
+import com.sd.tennis.idempotency.IdempotencyStore.Outcome;
+import com.sd.tennis.idempotency.IdempotencyStore.StoredResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// every store call commits on its own, as it does behind the filter, so the test must not wrap them
+@DataJpaTest(properties = "app.idempotency.store=database")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(DatabaseIdempotencyStore.class)
+class DatabaseIdempotencyStoreTest {
+    @Autowired DatabaseIdempotencyStore store;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM idempotency_keys");
+    }
+
+    @Test
+    void theKeyGoesToOneRequest_andItsResponseIsReplayed() {
+        assertThat(store.claim("k", "a").outcome()).isEqualTo(Outcome.ACQUIRED);
+        assertThat(store.claim("k", "a").outcome()).isEqualTo(Outcome.IN_PROGRESS);
+        assertThat(store.claim("k", "b").outcome()).isEqualTo(Outcome.MISMATCH);
+
+        store.complete("k", new StoredResponse(200, "application/json", "{\"id\":1}".getBytes(StandardCharsets.UTF_8)));
+        Claim replay = store.claim("k", "a");
+
+        assertThat(replay.outcome()).isEqualTo(Outcome.COMPLETED);
+        assertThat(replay.response().contentType()).isEqualTo("application/json");
+        assertThat(new String(replay.response().body(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    void releasedAndExpiredKeys_canBeClaimedAgain() {
+        store.claim("failed", "a");
+        store.release("failed");
+        assertThat(store.claim("failed", "a").outcome()).isEqualTo(Outcome.ACQUIRED);
+
+        store.claim("old", "a");
+        jdbcTemplate.update("UPDATE idempotency_keys SET created_at = ? WHERE idempotency_key = 'old'",
+                LocalDateTime.now().minusDays(2));
+        assertThat(store.claim("old", "b").outcome()).isEqualTo(Outcome.ACQUIRED);
+
+        jdbcTemplate.update("UPDATE idempotency_keys SET created_at = ?", LocalDateTime.now().minusDays(2));
+        store.purgeExpired();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_keys", Integer.class)).isZero();
+    }
+}
@@ -0,0 +1,133 @@
+package com.sd.tennis.idempotency;
+
+import com.sd.tennis.idempotency.IdempotencyStore.Claim;
+import com.sd.tennis.idempotency.IdempotencyStore.Outcome;
+import com.sd.tennis.idempotency.IdempotencyStore.StoredResponse;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalIdempotencyStoreTest {
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final LocalIdempotencyStore store = store(1000);
+
+    @Test
+    void secondClaim_getsTheStoredResponse_orWaitsForIt() {
+        assertThat(store.claim("k", "a").outcome()).isEqualTo(Outcome.ACQUIRED);
+        assertThat(store.claim("k", "a").outcome()).isEqualTo(Outcome.IN_PROGRESS);
+
+        store.complete("k", response("done"));
+        Claim replay = store.claim("k", "a");
+
+        assertThat(replay.outcome()).isEqualTo(Outcome.COMPLETED);
+        assertThat(new String(replay.response().body(), StandardCharsets.UTF_8)).isEqualTo("done");
+        assertThat(store.claim("k", "b").outcome()).isEqualTo(Outcome.MISMATCH);
+    }
+
+    @Test
+    void releasedKey_canBeClaimedAgain_butACompletedOneStays() {
+        store.claim("failed", "a");
+        store.release("failed");
+        assertThat(store.claim("failed", "a").outcome()).isEqualTo(Outcome.ACQUIRED);
+
+        store.claim("ok", "a");
+        store.complete("ok", response("done"));
+        store.release("ok");
+        assertThat(store.claim("ok", "a").outcome()).isEqualTo(Outcome.COMPLETED);
+    }
+
+    @Test
+    void keysExpireAfterTheTtl() {
+        store.claim("k", "a");
+        store.complete("k", response("done"));
+
+        clock.addAndGet(TimeUnit.MINUTES.toMillis(59));
+        assertThat(store.claim("k", "a").outcome()).isEqualTo(Outcome.COMPLETED);
+        clock.addAndGet(TimeUnit.MINUTES.toMillis(1));
+        assertThat(store.claim("k", "b").outcome()).isEqualTo(Outcome.ACQUIRED);
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void pastTheLimit_theOldestKeysGoFirst() {
+        LocalIdempotencyStore small = store(3);
+        for (int i = 0; i < 5; i++) {
+            small.claim("k" + i, "a");
+            small.complete("k" + i, response("r" + i));
+        }
+
+        assertThat(small.size()).isEqualTo(3);
+        assertThat(small.claim("k4", "a").outcome()).isEqualTo(Outcome.COMPLETED);
+        assertThat(small.claim("k0", "a").outcome()).isEqualTo(Outcome.ACQUIRED);
+    }
+
+    @Test
+    void releasedKeys_stopCounting_andARunningKeyIsNeverPushedOut() {
+        LocalIdempotencyStore small = store(3);
+        small.claim("running", "a");
+        for (int i = 0; i < 100; i++) {
+            small.claim("failed" + i, "a");
+            small.release("failed" + i);
+        }
+        assertThat(small.queued()).isEqualTo(1);
+
+        for (int i = 0; i < 5; i++) {
+            small.claim("k" + i, "a");
+            small.complete("k" + i, response("r" + i));
+        }
+        assertThat(small.claim("running", "a").outcome()).isEqualTo(Outcome.IN_PROGRESS);
+
+        small.complete("running", response("done"));
+        small.purgeExpired();
+        assertThat(small.size()).isEqualTo(3);
+        assertThat(small.queued()).isEqualTo(3);
+        assertThat(small.claim("k4", "a").outcome()).isEqualTo(Outcome.COMPLETED);
+        assertThat(small.claim("running", "a").outcome()).isEqualTo(Outcome.ACQUIRED);
+    }
+
+    @Test
+    void concurrentClaims_letExactlyOneRequestThrough() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Callable<Outcome>> claims = IntStream.range(0, 64).<Callable<Outcome>>mapToObj(i -> () -> {
+                start.await();
+                return store.claim("same", "a").outcome();
+            }).toList();
+            List<Future<Outcome>> futures = claims.stream().map(pool::submit).toList();
+            start.countDown();
+
+            long acquired = 0;
+            for (Future<Outcome> future : futures) {
+                acquired += future.get(5, TimeUnit.SECONDS) == Outcome.ACQUIRED ? 1 : 0;
+            }
+            assertThat(acquired).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private LocalIdempotencyStore store(int maxKeys) {
+        return new LocalIdempotencyStore(maxKeys, 60) {
+            @Override
+            protected long now() {
+                return clock.get();
+            }
+        };
+    }
+
+    private static StoredResponse response(String body) {
+        return new StoredResponse(200, "text/plain", body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,114 @@
+package com.sd.tennis.lock;
+
+import com.sd.tennis.exception.LockTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StripedParticipantLocksTest {
+    private final StripedParticipantLocks locks = new StripedParticipantLocks(1024, 5_000);
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void sharedParticipant_waitsUntilTheFirstTransactionCompletes() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> inTransaction(() -> {
+            locks.lock(List.of(1, 2));
+            locked.countDown();
+            await(release);
+        }), executor);
+        assertThat(locked.await(1, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> inTransaction(() ->
+                locks.lock(List.of(3, 2))), executor);
+        Thread.sleep(100);
+        assertThat(second).isNotDone();
+
+        release.countDown();
+        second.get(1, TimeUnit.SECONDS);
+        first.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void disjointParticipants_doNotWait() throws Exception {
+        assertThat(locks.stripeOf(1)).isNotEqualTo(locks.stripeOf(5));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> inTransaction(() -> {
+            locks.lock(List.of(1));
+            locked.countDown();
+            await(release);
+        }), executor);
+        assertThat(locked.await(1, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture.runAsync(() -> inTransaction(() -> locks.lock(List.of(5))), executor)
+                .get(1, TimeUnit.SECONDS);
+        release.countDown();
+        first.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void timeout_releasesWhatWasAlreadyTaken() throws Exception {
+        StripedParticipantLocks locks = new StripedParticipantLocks(1024, 200);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> inTransaction(() -> {
+            locks.lock(List.of(2));
+            locked.countDown();
+            await(release);
+        }), executor);
+        assertThat(locked.await(1, TimeUnit.SECONDS)).isTrue();
+
+        // whichever of 1 and 2 sorts first, 1 must be free again after the attempt fails
+        assertThatThrownBy(() -> CompletableFuture.runAsync(() -> inTransaction(() ->
+                locks.lock(List.of(1, 2))), executor).join())
+                .hasCauseInstanceOf(LockTimeoutException.class);
+        CompletableFuture.runAsync(() -> inTransaction(() -> locks.lock(List.of(1))), executor)
+                .get(1, TimeUnit.SECONDS);
+
+        release.countDown();
+        first.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void outsideATransaction_isRejected() {
+        assertThatThrownBy(() -> locks.lock(List.of(1))).isInstanceOf(IllegalStateException.class);
+    }
+
+    // stands in for the transaction manager: completion callbacks run once the work is done
+    static void inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+        } finally {
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
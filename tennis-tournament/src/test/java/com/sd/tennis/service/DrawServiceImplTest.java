@@ -0,0 +1,401 @@
+package com.sd.tennis.service;
+
+import com.sd.tennis.cache.BookingIndex;
+import com.sd.tennis.cache.HeadToHeadIndex;
+import com.sd.tennis.cache.LiveScoreBoard;
+import com.sd.tennis.cache.LocalCollectionVersions;
+import com.sd.tennis.dto.BracketNodeDTO;
+import com.sd.tennis.dto.BulkMatchResultDTO;
+import com.sd.tennis.dto.CourtDTO;
+import com.sd.tennis.dto.DrawRequestDTO;
+import com.sd.tennis.dto.DrawResponseDTO;
+import com.sd.tennis.dto.MatchDTO;
+import com.sd.tennis.dto.PairingDTO;
+import com.sd.tennis.dto.ScheduleRequestDTO;
+import com.sd.tennis.dto.ScheduleResponseDTO;
+import com.sd.tennis.exception.DuplicateException;
+import com.sd.tennis.lock.StripedParticipantLocks;
+import com.sd.tennis.model.BracketNode;
+import com.sd.tennis.model.Court;
+import com.sd.tennis.model.Draw;
+import com.sd.tennis.model.Match;
+import com.sd.tennis.model.Registration;
+import com.sd.tennis.model.Tournament;
+import com.sd.tennis.model.User;
+import com.sd.tennis.model.Venue;
+import com.sd.tennis.util.OrderOfPlaySolver;
+import com.sd.tennis.util.ParallelExportRenderer;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// the draw follows results after they commit, so tests that play matches commit and clean up after themselves
+@DataJpaTest
+@Import({DrawServiceImpl.class, ScheduleServiceImpl.class, MatchServiceImpl.class, OrderOfPlaySolver.class,
+        LocalCollectionVersions.class, HeadToHeadIndex.class, BookingIndex.class, ParallelExportRenderer.class,
+        StripedParticipantLocks.class, ScoreHistoryServiceImpl.class, LiveScoreBoard.class})
+class DrawServiceImplTest {
+    @Autowired DrawServiceImpl drawService;
+    @Autowired MatchServiceImpl matchService;
+    @Autowired ScheduleServiceImpl scheduleService;
+    @Autowired BookingIndex bookingIndex;
+    @Autowired HeadToHeadIndex headToHeadIndex;
+    @Autowired EntityManager em;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    Tournament tournament;
+
+    @BeforeEach
+    void setUp() {
+        tournament = new Tournament();
+        tournament.setName("Open");
+        tournament.setStartDate(LocalDate.of(2030, 5, 1));
+        tournament.setEndDate(LocalDate.of(2030, 5, 14));
+        em.persist(tournament);
+        for (int i = 1; i <= 8; i++) {
+            user("ref" + i, "REFEREE", null);
+        }
+        bookingIndex.load();
+        headToHeadIndex.load();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        // whatever the test left uncommitted goes first, then the clean-up commits on its own
+        TestTransaction.end();
+        TestTransaction.start();
+        TestTransaction.flagForCommit();
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        jdbcTemplate.queryForList("SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = 'PUBLIC' "
+                        + "AND TABLE_NAME <> 'ID_GENERATORS'", String.class)
+                .forEach(table -> jdbcTemplate.update("DELETE FROM " + table));
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+    }
+
+    @Test
+    void singleElimination_givesTopSeedsTheByes() {
+        List<User> players = register(5);
+        User topSeed = players.get(4);
+
+        DrawResponseDTO draw = drawService.generateDraw(tournament.getId(), request(Draw.SINGLE_ELIMINATION));
+
+        assertThat(draw.getBracketSize()).isEqualTo(8);
+        assertThat(draw.getNodes()).hasSize(7);
+        List<BracketNodeDTO> firstRound = round(draw, 1);
+        assertThat(firstRound).extracting(BracketNodeDTO::getSeed1).containsExactly(1, 4, 2, 3);
+        assertThat(firstRound).extracting(BracketNodeDTO::getSeed2).containsExactly(null, 5, null, null);
+        assertThat(firstRound.get(1).getMatchId()).isNotNull();
+        assertThat(firstRound.get(0).getWinnerId()).isEqualTo(topSeed.getId());
+
+        List<BracketNodeDTO> semis = round(draw, 2);
+        assertThat(semis.get(0).getSeed1()).isEqualTo(1);
+        assertThat(semis.get(0).getPlayer2Id()).isNull();
+        assertThat(semis.get(1).getSeed1()).isEqualTo(2);
+        assertThat(semis.get(1).getSeed2()).isEqualTo(3);
+        assertThat(firstRound).allSatisfy(node -> assertThat(node.getNextNodeId()).isIn(
+                semis.get(0).getId(), semis.get(1).getId()));
+        // the semi-final between two bye winners is playable straight away
+        assertThat(semis.get(1).getMatchId()).isNotNull();
+
+        em.flush();
+        em.clear();
+        assertThat(drawService.getDraw(tournament.getId()).getNodes()).hasSize(7);
+    }
+
+    @Test
+    void roundRobin_snakesSeedsIntoGroups() {
+        register(8);
+        DrawRequestDTO request = request(Draw.ROUND_ROBIN);
+        request.setGroupCount(2);
+
+        DrawResponseDTO draw = drawService.generateDraw(tournament.getId(), request);
+
+        assertThat(draw.getNodes()).hasSize(12);
+        assertThat(draw.getNodes()).allSatisfy(node -> assertThat(node.getMatchId()).isNotNull());
+        assertThat(draw.getNodes()).filteredOn(node -> node.getGroupNumber() == 1)
+                .flatExtracting(BracketNodeDTO::getSeed1, BracketNodeDTO::getSeed2)
+                .containsOnly(1, 4, 5, 8);
+        assertThat(draw.getNodes()).filteredOn(node -> node.getGroupNumber() == 1)
+                .extracting(BracketNodeDTO::getRound).containsOnly(1, 2, 3);
+    }
+
+    @Test
+    void groupsToKnockout_crossesWinnersWithRunnersUp() {
+        register(16);
+        DrawRequestDTO request = request(Draw.GROUPS_TO_KNOCKOUT);
+        request.setGroupCount(4);
+
+        DrawResponseDTO draw = drawService.generateDraw(tournament.getId(), request);
+
+        assertThat(draw.getNodes()).filteredOn(node -> node.getStage().equals(BracketNode.GROUP)).hasSize(24);
+        List<BracketNodeDTO> quarterFinals = round(draw, 1).stream()
+                .filter(node -> node.getStage().equals(BracketNode.KNOCKOUT)).toList();
+        assertThat(quarterFinals).hasSize(4);
+        assertThat(quarterFinals.get(0)).satisfies(node -> {
+            assertThat(node.getSource1Group()).isEqualTo(1);
+            assertThat(node.getSource1Rank()).isEqualTo(1);
+            assertThat(node.getSource2Group()).isEqualTo(4);
+            assertThat(node.getSource2Rank()).isEqualTo(2);
+            assertThat(node.getMatchId()).isNull();
+        });
+        assertThat(quarterFinals).allSatisfy(node ->
+                assertThat(node.getSource1Group()).isNotEqualTo(node.getSource2Group()));
+    }
+
+    @Test
+    void secondDraw_isRejected() {
+        register(4);
+        drawService.generateDraw(tournament.getId(), request(Draw.SINGLE_ELIMINATION));
+
+        assertThatThrownBy(() -> drawService.generateDraw(tournament.getId(), request(Draw.SINGLE_ELIMINATION)))
+                .isInstanceOf(DuplicateException.class);
+    }
+
+    @Test
+    void draw256_isGeneratedWellUnderASecond() {
+        register(256);
+        em.flush();
+        em.clear();
+
+        long started = System.nanoTime();
+        DrawResponseDTO draw = drawService.generateDraw(tournament.getId(), request(Draw.SINGLE_ELIMINATION));
+        em.flush();
+        Duration took = Duration.ofNanos(System.nanoTime() - started);
+
+        assertThat(draw.getNodes()).hasSize(255);
+        assertThat(draw.getUnscheduled()).isEmpty();
+        assertThat(round(draw, 1)).allSatisfy(node -> assertThat(node.getMatchId()).isNotNull());
+        assertThat(em.createQuery("SELECT COUNT(m) FROM Match m", Long.class).getSingleResult()).isEqualTo(128);
+        assertThat(took).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void knockoutWinners_fillTheNextNodeAndScheduleIt() {
+        register(4);
+        DrawResponseDTO draw = drawService.generateDraw(tournament.getId(), request(Draw.SINGLE_ELIMINATION));
+        List<BracketNodeDTO> semis = round(draw, 1);
+
+        win(semis.get(0).getMatchId(), semis.get(0).getPlayer2Id());
+        BracketNodeDTO pending = round(drawService.getDraw(tournament.getId()), 2).get(0);
+        assertThat(pending.getPlayer1Id()).isEqualTo(semis.get(0).getPlayer2Id());
+        assertThat(pending.getSeed1()).isEqualTo(semis.get(0).getSeed2());
+        assertThat(pending.getPlayer2Id()).isNull();
+        assertThat(pending.getMatchId()).isNull();
+
+        win(semis.get(1).getMatchId(), semis.get(1).getPlayer1Id());
+        BracketNodeDTO fin = round(drawService.getDraw(tournament.getId()), 2).get(0);
+        assertThat(fin.getPlayer2Id()).isEqualTo(semis.get(1).getPlayer1Id());
+        assertThat(fin.getMatchId()).isNotNull();
+        Match finalMatch = em.find(Match.class, fin.getMatchId());
+        assertThat(finalMatch.getPlayer1().getId()).isEqualTo(fin.getPlayer1Id());
+        assertThat(finalMatch.getMatchDate()).isAfter(em.find(Match.class, semis.get(1).getMatchId()).getMatchDate());
+    }
+
+    @Test
+    void correctedWinner_isRecordedAsRejectedOnceTheNextMatchExists() {
+        register(4);
+        List<BracketNodeDTO> semis = round(drawService.generateDraw(tournament.getId(),
+                request(Draw.SINGLE_ELIMINATION)), 1);
+        win(semis.get(0).getMatchId(), semis.get(0).getPlayer1Id());
+        // before the final is created a correction simply replaces the finalist
+        win(semis.get(0).getMatchId(), semis.get(0).getPlayer2Id());
+        assertThat(round(drawService.getDraw(tournament.getId()), 2).get(0).getPlayer1Id())
+                .isEqualTo(semis.get(0).getPlayer2Id());
+        win(semis.get(1).getMatchId(), semis.get(1).getPlayer1Id());
+
+        // the score still changes; the draw keeps the finalist it has and says why
+        win(semis.get(0).getMatchId(), semis.get(0).getPlayer1Id());
+
+        DrawResponseDTO draw = drawService.getDraw(tournament.getId());
+        assertThat(em.find(Match.class, semis.get(0).getMatchId()).getWinner().getId())
+                .isEqualTo(semis.get(0).getPlayer1Id());
+        assertThat(round(draw, 1).get(0).getRejectedAdvancement()).contains("already been created");
+        assertThat(round(draw, 1).get(0).getWinnerId()).isEqualTo(semis.get(0).getPlayer2Id());
+        assertThat(round(draw, 2).get(0).getPlayer1Id()).isEqualTo(semis.get(0).getPlayer2Id());
+    }
+
+    @Test
+    void finishedGroups_fillTheKnockoutFromTheirStandings() {
+        register(8);
+        DrawRequestDTO request = request(Draw.GROUPS_TO_KNOCKOUT);
+        request.setGroupCount(2);
+        DrawResponseDTO draw = drawService.generateDraw(tournament.getId(), request);
+
+        // the better seed wins every group match, so standings follow the seeding
+        List<BracketNodeDTO> groupOne = draw.getNodes().stream()
+                .filter(node -> Integer.valueOf(1).equals(node.getGroupNumber())).toList();
+        groupOne.forEach(node -> win(node.getMatchId(), node.getPlayer1Id()));
+        List<BracketNodeDTO> semis = knockoutRound(drawService.getDraw(tournament.getId()), 1);
+        assertThat(semis).extracting(BracketNodeDTO::getSeed1).containsExactly(1, null);
+        assertThat(semis).extracting(BracketNodeDTO::getSeed2).containsExactly(null, 4);
+        assertThat(semis).allSatisfy(node -> assertThat(node.getMatchId()).isNull());
+
+        draw.getNodes().stream()
+                .filter(node -> Integer.valueOf(2).equals(node.getGroupNumber()))
+                .forEach(node -> win(node.getMatchId(), node.getPlayer1Id()));
+        semis = knockoutRound(drawService.getDraw(tournament.getId()), 1);
+        assertThat(semis).extracting(BracketNodeDTO::getSeed1).containsExactly(1, 2);
+        assertThat(semis).extracting(BracketNodeDTO::getSeed2).containsExactly(3, 4);
+        assertThat(semis).allSatisfy(node -> assertThat(node.getMatchId()).isNotNull());
+    }
+
+    @Test
+    void secondSchedule_onTheSameCourt_keepsClearOfTheFirstOnesMatches() {
+        List<User> players = register(4);
+        ScheduleRequestDTO request = new ScheduleRequestDTO();
+        request.setCourts(List.of(new CourtDTO("Centre", LocalTime.of(9, 0), LocalTime.of(15, 0))));
+        request.setPairings(List.of(new PairingDTO(players.get(0).getId(), players.get(1).getId())));
+        ScheduleResponseDTO first = scheduleService.generateSchedule(tournament.getId(), request);
+        request.setPairings(List.of(new PairingDTO(players.get(2).getId(), players.get(3).getId())));
+        ScheduleResponseDTO second = scheduleService.generateSchedule(tournament.getId(), request);
+
+        assertThat(first.getScheduled()).hasSize(1);
+        assertThat(second.getScheduled()).hasSize(1);
+        // different players, so only the court keeps the second match off the first one's slot
+        assertThat(Duration.between(first.getScheduled().get(0).getMatchDate(),
+                second.getScheduled().get(0).getMatchDate()).abs().toMinutes())
+                .isGreaterThanOrEqualTo(BookingIndex.MIN_GAP_MINUTES);
+    }
+
+    @Test
+    void venueOnlyMatches_areRecheckedUnderTheLock_acrossTournaments() {
+        List<User> players = register(4);
+        Tournament other = new Tournament();
+        other.setName("Masters");
+        other.setStartDate(tournament.getStartDate());
+        other.setEndDate(tournament.getEndDate());
+        em.persist(other);
+        User referee = user("umpire", "REFEREE", null);
+        LocalDateTime ten = tournament.getStartDate().atTime(10, 0);
+        matchService.createMatches(List.of(matchAt(tournament, players.get(0), players.get(1), referee, ten, "Centre")));
+
+        List<BulkMatchResultDTO> results = matchService.createMatches(List.of(
+                matchAt(other, players.get(2), players.get(3), user("umpire2", "REFEREE", null),
+                        ten.plusHours(1), " centre"),
+                matchAt(other, players.get(2), players.get(3), user("umpire3", "REFEREE", null),
+                        ten.plusHours(4), "Centre")));
+
+        assertThat(results.get(0).getError()).isEqualTo("Venue is already booked within 2 hours of that match.");
+        assertThat(results.get(1).getStatus()).isEqualTo(BulkMatchResultDTO.CREATED);
+    }
+
+    @Test
+    void schedulingOnARegisteredCourt_putsTheMatchesOnIt() {
+        List<User> players = register(4);
+        Venue venue = new Venue();
+        venue.setName("Park");
+        venue.setOpensAt(LocalTime.of(10, 0));
+        venue.setClosesAt(LocalTime.of(14, 0));
+        em.persist(venue);
+        Court court = new Court();
+        court.setVenue(venue);
+        court.setName("One");
+        em.persist(court);
+        ScheduleRequestDTO request = new ScheduleRequestDTO();
+        request.setCourts(List.of(new CourtDTO(null, LocalTime.of(8, 0), LocalTime.of(22, 0), court.getId())));
+        request.setPairings(List.of(new PairingDTO(players.get(0).getId(), players.get(1).getId()),
+                new PairingDTO(players.get(2).getId(), players.get(3).getId())));
+
+        ScheduleResponseDTO scheduled = scheduleService.generateSchedule(tournament.getId(), request);
+
+        // the venue's hours narrow the window to two slots a day
+        assertThat(scheduled.getScheduled()).hasSize(2).allSatisfy(match -> {
+            assertThat(match.getCourtId()).isEqualTo(court.getId());
+            assertThat(match.getVenue()).isEqualTo("Park - One");
+            assertThat(match.getMatchDate().toLocalTime()).isIn(LocalTime.of(10, 0), LocalTime.of(12, 0));
+        });
+        assertThat(em.find(Match.class, scheduled.getScheduled().get(0).getMatchId()).getCourt().getId())
+                .isEqualTo(court.getId());
+    }
+
+    private MatchDTO matchAt(Tournament in, User player1, User player2, User referee, LocalDateTime start,
+                             String venue) {
+        MatchDTO match = new MatchDTO();
+        match.setTournamentId(in.getId());
+        match.setPlayer1Id(player1.getId());
+        match.setPlayer2Id(player2.getId());
+        match.setRefereeId(referee.getId());
+        match.setMatchDate(start);
+        match.setVenue(venue);
+        return match;
+    }
+
+    private void win(Integer matchId, Integer winnerId) {
+        Match match = em.find(Match.class, matchId);
+        MatchDTO update = new MatchDTO();
+        update.setMatchDate(match.getMatchDate());
+        update.setVenue(match.getVenue());
+        update.setWinnerId(winnerId);
+        matchService.updateMatch(matchId, update);
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        TestTransaction.start();
+    }
+
+    private List<BracketNodeDTO> knockoutRound(DrawResponseDTO draw, int round) {
+        return round(draw, round).stream().filter(node -> node.getStage().equals(BracketNode.KNOCKOUT)).toList();
+    }
+
+    private List<BracketNodeDTO> round(DrawResponseDTO draw, int round) {
+        return draw.getNodes().stream().filter(node -> node.getRound() == round).toList();
+    }
+
+    private DrawRequestDTO request(String format) {
+        DrawRequestDTO request = new DrawRequestDTO();
+        request.setFormat(format);
+        request.setCourts(IntStream.range(0, 16)
+                .mapToObj(i -> new CourtDTO("Court " + i, LocalTime.of(8, 0), LocalTime.of(22, 0)))
+                .toList());
+        return request;
+    }
+
+    // registered in reverse ranking order so seeding has to sort
+    private List<User> register(int count) {
+        List<User> players = new ArrayList<>();
+        for (int i = count; i >= 1; i--) {
+            User player = user("player" + i, "PLAYER", i);
+            players.add(player);
+            Registration registration = new Registration();
+            registration.setPlayer(player);
+            registration.setTournament(tournament);
+            registration.setStatus("APPROVED");
+            em.persist(registration);
+        }
+        Registration pending = new Registration();
+        pending.setPlayer(user("pending", "PLAYER", 0));
+        pending.setTournament(tournament);
+        pending.setStatus("PENDING");
+        em.persist(pending);
+        return players;
+    }
+
+    private User user(String username, String role, Integer ranking) {
+        User u = new User();
+        u.setUsername(username);
+        u.setEmail(username + "@example.com");
+        u.setPassword("secret");
+        u.setRole(role);
+        u.setFirstName(username);
+        u.setLastName("Test");
+        u.setRanking(ranking);
+        em.persist(u);
+        return u;
+    }
+}
@@ -0,0 +1,127 @@
+package com.sd.tennis.service;
+
+import com.sd.tennis.dto.ExportJobDTO;
+import com.sd.tennis.dto.ExportJobRequestDTO;
+import com.sd.tennis.exception.ExportNotReadyException;
+import com.sd.tennis.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class ExportJobServiceImplTest {
+    @Mock MatchService matchService;
+    @TempDir Path spool;
+
+    ExportJobServiceImpl service;
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void submit_writesFileToSpoolAndCompletes() throws Exception {
+        service = new ExportJobServiceImpl(matchService, spool.toString(), 60, 1, 4);
+        doAnswer(inv -> {
+            OutputStream out = inv.getArgument(2);
+            out.write("Match ID\n1\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(matchService).exportMatches(any(), any(), any());
+
+        ExportJobDTO job = service.submit(request("csv"));
+        ExportJobDTO done = awaitFinished(job.getJobId());
+
+        assertThat(done.getStatus()).isEqualTo("COMPLETED");
+        Path file = service.getResultFile(job.getJobId());
+        assertThat(file.getParent()).isEqualTo(spool);
+        assertThat(Files.readString(file)).isEqualTo("Match ID\n1\n");
+        assertThat(done.getSizeBytes()).isEqualTo(11L);
+    }
+
+    @Test
+    void getResultFile_beforeCompletion_throws() throws Exception {
+        service = new ExportJobServiceImpl(matchService, spool.toString(), 60, 1, 4);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            started.countDown();
+            release.await();
+            return null;
+        }).when(matchService).exportMatches(any(), any(), any());
+
+        ExportJobDTO job = service.submit(request("txt"));
+        started.await();
+
+        assertThatThrownBy(() -> service.getResultFile(job.getJobId()))
+                .isInstanceOf(ExportNotReadyException.class);
+        release.countDown();
+    }
+
+    @Test
+    void purgeExpired_removesJobAndFile() throws Exception {
+        service = new ExportJobServiceImpl(matchService, spool.toString(), 0, 1, 4);
+
+        ExportJobDTO job = service.submit(request("csv"));
+        awaitFinished(job.getJobId());
+        Path file = service.getResultFile(job.getJobId());
+        Thread.sleep(5);
+
+        service.purgeExpired();
+
+        assertThat(file).doesNotExist();
+        assertThatThrownBy(() -> service.getJob(job.getJobId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void purgeExpired_deletesOldUntrackedFiles_butLeavesTheFileOfALiveJob() throws Exception {
+        service = new ExportJobServiceImpl(matchService, spool.toString(), 60, 1, 4);
+        ExportJobDTO job = service.submit(request("csv"));
+        awaitFinished(job.getJobId());
+        Path file = service.getResultFile(job.getJobId());
+        Path leftover = Files.writeString(spool.resolve("old-run.csv"), "x");
+        FileTime twoHoursAgo = FileTime.from(Instant.now().minus(Duration.ofHours(2)));
+        Files.setLastModifiedTime(file, twoHoursAgo);
+        Files.setLastModifiedTime(leftover, twoHoursAgo);
+
+        service.purgeExpired();
+
+        assertThat(file).exists();
+        assertThat(leftover).doesNotExist();
+        assertThat(service.getJob(job.getJobId()).getStatus()).isEqualTo("COMPLETED");
+    }
+
+    private ExportJobRequestDTO request(String format) {
+        ExportJobRequestDTO request = new ExportJobRequestDTO();
+        request.setFormat(format);
+        return request;
+    }
+
+    private ExportJobDTO awaitFinished(String jobId) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            ExportJobDTO job = service.getJob(jobId);
+            if (job.getCompletedAt() != null) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("export job did not finish");
+    }
+}
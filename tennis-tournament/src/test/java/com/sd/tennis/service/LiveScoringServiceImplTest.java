@@ -0,0 +1,207 @@
+package com.sd.tennis.service;
+
+import com.sd.tennis.cache.LiveScoreBoard;
+import com.sd.tennis.cache.LiveScoreBoard.Snapshot;
+import com.sd.tennis.dto.LiveScoreDTO;
+import com.sd.tennis.event.MatchUpdatedEvent;
+import com.sd.tennis.exception.ForbiddenException;
+import com.sd.tennis.model.Match;
+import com.sd.tennis.model.PointEvent;
+import com.sd.tennis.model.ScoreDetail;
+import com.sd.tennis.model.ScoreEvent;
+import com.sd.tennis.repository.MatchRepository;
+import com.sd.tennis.repository.MatchRepository.LiveKey;
+import com.sd.tennis.repository.MatchViewRepository;
+import com.sd.tennis.repository.PointEventRepository;
+import com.sd.tennis.repository.ScoreDetailRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LiveScoringServiceImplTest {
+    private static final int MATCH = 5;
+
+    @Mock MatchRepository matchRepository;
+    @Mock MatchViewRepository matchViewRepository;
+    @Mock PointEventRepository pointEventRepository;
+    @Mock ScoreDetailRepository scoreDetailRepository;
+    @Mock MatchService matchService;
+    @Mock ScoreHistoryService scoreHistoryService;
+    @Mock ApplicationEventPublisher eventPublisher;
+
+    LiveScoreBoard board;
+    LiveScoringServiceImpl service;
+    // stands in for the point log
+    List<Integer> log;
+
+    @BeforeEach
+    void setUp() {
+        board = new LiveScoreBoard();
+        service = new LiveScoringServiceImpl(matchRepository, matchViewRepository, pointEventRepository,
+                scoreDetailRepository, matchService, scoreHistoryService, board, eventPublisher);
+        log = new ArrayList<>();
+        lenient().when(matchRepository.findLiveKeyById(MATCH)).thenReturn(Optional.of(key(null)));
+        lenient().when(pointEventRepository.findPlayersByMatchId(MATCH)).thenAnswer(inv -> List.copyOf(log));
+        lenient().when(pointEventRepository.save(any())).thenAnswer(inv -> {
+            PointEvent event = inv.getArgument(0);
+            if (event.getSeq() != log.size() + 1) {
+                throw new DataIntegrityViolationException("duplicate point");
+            }
+            log.add(event.getPlayer());
+            return event;
+        });
+    }
+
+    @Test
+    void scorePoint_logsThePointThenMovesTheScore() {
+        service.scorePoint(MATCH, 10, 20);
+        LiveScoreDTO score = service.scorePoint(MATCH, 11, 20);
+
+        assertThat(log).containsExactly(1, 2);
+        assertThat(score.getPoints()).isEqualTo("15-15");
+        assertThat(score.getPointsPlayed()).isEqualTo(2);
+        assertThat(board.drainDirty()).extracting(Snapshot::matchId).containsExactly(MATCH);
+        verify(eventPublisher, times(2)).publishEvent(any(MatchUpdatedEvent.class));
+    }
+
+    @Test
+    void scorePoint_notTheReferee_throws() {
+        assertThatThrownBy(() -> service.scorePoint(MATCH, 10, 21))
+                .isInstanceOf(ForbiddenException.class)
+                .hasMessage("You are not the referee for this match.");
+        verify(pointEventRepository, never()).save(any());
+    }
+
+    @Test
+    void scorePoint_afterAnotherWriterMovedOn_catchesUpFromTheLog() {
+        service.scorePoint(MATCH, 10, 20);
+        log.add(1); // a point logged elsewhere
+
+        LiveScoreDTO score = service.scorePoint(MATCH, 10, 20);
+
+        assertThat(log).containsExactly(1, 1, 1);
+        assertThat(score.getPoints()).isEqualTo("40-0");
+    }
+
+    @Test
+    void decidedMatch_takesNoMorePoints() {
+        log.addAll(Collections.nCopies(48, 1));
+        when(matchRepository.findLiveKeyById(MATCH)).thenReturn(Optional.of(key(10)));
+
+        assertThatThrownBy(() -> service.scorePoint(MATCH, 11, 20))
+                .isInstanceOf(ForbiddenException.class)
+                .hasMessage("Match is already decided.");
+    }
+
+    @Test
+    void recover_replaysUnflushedMatches() {
+        log.addAll(Collections.nCopies(24, 2));
+        log.add(1);
+        when(pointEventRepository.findUndecidedMatchIds()).thenReturn(List.of(MATCH));
+
+        service.recoverLiveMatches();
+
+        Snapshot snapshot = board.drainDirty().get(0);
+        assertThat(snapshot.overallScore()).isEqualTo("0-1");
+        assertThat(snapshot.points()).isEqualTo("15-0");
+        assertThat(snapshot.pointsPlayed()).isEqualTo(25);
+    }
+
+    @Test
+    void idleMatch_leavesTheBoard_andTheNextPointCarriesOnFromTheLog() {
+        service.scorePoint(MATCH, 10, 20);
+        board.evictIdle(Instant.now().plusSeconds(1));
+        assertThat(board.get(MATCH)).isNotNull(); // still to be flushed
+
+        board.drainDirty();
+        board.evictIdle(Instant.now().minusSeconds(60));
+        assertThat(board.get(MATCH)).isNotNull(); // scored on within the ttl
+        board.evictIdle(Instant.now().plusSeconds(1));
+        assertThat(board.get(MATCH)).isNull();
+
+        LiveScoreDTO score = service.scorePoint(MATCH, 10, 20);
+        assertThat(log).containsExactly(1, 1);
+        assertThat(score.getPoints()).isEqualTo("30-0");
+    }
+
+    @Test
+    void scoreWrittenByHand_dropsTheEntry_soTheNextPointSeesTheResult() {
+        service.scorePoint(MATCH, 10, 20);
+
+        board.scoreWritten(MATCH);
+        assertThat(board.get(MATCH)).isNull();
+
+        when(matchRepository.findLiveKeyById(MATCH)).thenReturn(Optional.of(key(11)));
+        assertThatThrownBy(() -> service.scorePoint(MATCH, 10, 20))
+                .isInstanceOf(ForbiddenException.class)
+                .hasMessage("Match is already decided.");
+        assertThat(log).containsExactly(1);
+    }
+
+    @Test
+    void persistLiveScores_upsertsSetRowsAndWritesTheResult() {
+        Match match = new Match();
+        match.setId(MATCH);
+        ScoreDetail first = new ScoreDetail(1, match, 1, 5, 3);
+        when(scoreDetailRepository.findByMatchIdIn(List.of(MATCH))).thenReturn(List.of(first));
+        when(matchRepository.getReferenceById(MATCH)).thenReturn(match);
+
+        service.persistLiveScores(List.of(new Snapshot(MATCH, 1, 70, List.of(new int[]{6, 3}, new int[]{1, 0}),
+                "1-0", "0-0", false, "1-0", null)));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ScoreDetail>> rows = ArgumentCaptor.forClass(List.class);
+        verify(scoreDetailRepository).saveAll(rows.capture());
+        assertThat(rows.getValue()).extracting(ScoreDetail::getSetNumber, ScoreDetail::getPlayer1Score,
+                ScoreDetail::getPlayer2Score).containsExactly(tuple(1, 6, 3), tuple(2, 1, 0));
+        verify(matchService).recordLiveScore(eq(MATCH), argThat(sets -> sets.size() == 2 && sets.get(0)[0] == 6));
+        verify(scoreHistoryService).append(eq(match), argThat(events -> events.size() == 2
+                && events.get(0).getType().equals(ScoreEvent.SET) && events.get(1).getSetNumber() == 2));
+    }
+
+    @Test
+    void persistLiveScores_emptyBatch_touchesNothing() {
+        service.persistLiveScores(List.of());
+
+        verify(scoreDetailRepository, never()).saveAll(anyList());
+    }
+
+    private static LiveKey key(Integer winnerId) {
+        return new LiveKey() {
+            public Integer getId() { return MATCH; }
+            public Integer getTournamentId() { return 1; }
+            public Integer getPlayer1Id() { return 10; }
+            public Integer getPlayer2Id() { return 11; }
+            public Integer getRefereeId() { return 20; }
+            public LocalDateTime getMatchDate() { return LocalDateTime.now().minusMinutes(30); }
+            public Integer getWinnerId() { return winnerId; }
+            public Integer getBestOf() { return 3; }
+        };
+    }
+}
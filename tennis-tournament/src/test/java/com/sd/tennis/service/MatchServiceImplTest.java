@@ -1,29 +1,46 @@
 package com.sd.tennis.service;
 
+import com.sd.tennis.cache.BookingIndex;
+import com.sd.tennis.cache.CollectionVersions;
+import com.sd.tennis.cache.HeadToHeadIndex;
+import com.sd.tennis.cache.LiveScoreBoard;
 import com.sd.tennis.dto.MatchDTO;
 import com.sd.tennis.exception.DateException;
+import com.sd.tennis.exception.ForbiddenException;
 import com.sd.tennis.exception.ResourceNotFoundException;
+import com.sd.tennis.lock.ParticipantLocks;
+import com.sd.tennis.model.Court;
 import com.sd.tennis.model.Match;
+import com.sd.tennis.model.MatchView;
 import com.sd.tennis.model.Tournament;
 import com.sd.tennis.model.User;
+import com.sd.tennis.model.Venue;
+import com.sd.tennis.repository.CourtRepository;
 import com.sd.tennis.repository.MatchRepository;
+import com.sd.tennis.repository.MatchViewRepository;
 import com.sd.tennis.repository.TournamentRepository;
 import com.sd.tennis.repository.UserRepository;
+import com.sd.tennis.util.ParallelExportRenderer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
 import java.util.Optional;
 
-import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +49,9 @@ class MatchServiceImplTest {
     @Mock
     private MatchRepository matchRepository;
 
+    @Mock
+    private MatchViewRepository matchViewRepository;
+
     @Mock
     private UserRepository playerRepository;      // must match service field name
 
@@ -41,7 +61,32 @@ class MatchServiceImplTest {
     @Mock
     private TournamentRepository tournamentRepository; // must match service field name
 
-    @InjectMocks
+    @Mock
+    private ParallelExportRenderer exportRenderer;
+
+    @Mock
+    private CollectionVersions collectionVersions;
+
+    @Mock
+    private HeadToHeadIndex headToHeadIndex;
+
+    @Mock
+    private BookingIndex bookingIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ParticipantLocks participantLocks;
+
+    @Mock
+    private CourtRepository courtRepository;
+
+    @Mock
+    private ScoreHistoryService scoreHistoryService;
+
+    private final LiveScoreBoard liveScoreBoard = new LiveScoreBoard();
+
     private MatchServiceImpl service;
 
     private Tournament tournament;
@@ -49,6 +94,11 @@ class MatchServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        // both repositories share a type, so wire them explicitly instead of relying on @InjectMocks
+        service = new MatchServiceImpl(matchRepository, matchViewRepository, playerRepository, refereeRepository, tournamentRepository,
+                exportRenderer, collectionVersions, headToHeadIndex, bookingIndex, eventPublisher, participantLocks,
+                courtRepository, scoreHistoryService, liveScoreBoard);
+
         // Tournament running May 1–31, 2025
         tournament = new Tournament();
         tournament.setId(1);
@@ -73,8 +123,6 @@ class MatchServiceImplTest {
         when(playerRepository.findById(10)).thenReturn(Optional.of(p1));
         when(playerRepository.findById(11)).thenReturn(Optional.of(p2));
         when(refereeRepository.findById(20)).thenReturn(Optional.of(ref));
-        when(matchRepository.findAllByPlayerIdAndDay(anyInt(), any()))
-                .thenReturn(emptyList());
 
         // Prepare DTO
         MatchDTO dto = new MatchDTO();
@@ -94,6 +142,98 @@ class MatchServiceImplTest {
         assertThat(m.getPlayer1()).isSameAs(p1);
         assertThat(m.getPlayer2()).isSameAs(p2);
         assertThat(m.getReferee()).isSameAs(ref);
+        verify(matchViewRepository).save(argThat(view ->
+                view.getPlayer1Id() == 10 && view.getRefereeId() == 20 && "N/A".equals(view.getWinnerName())));
+    }
+
+    @Test
+    void createMatch_refereeBooked_throws() {
+        when(tournamentRepository.findById(1)).thenReturn(Optional.of(tournament));
+        when(playerRepository.findById(10)).thenReturn(Optional.of(p1));
+        when(playerRepository.findById(11)).thenReturn(Optional.of(p2));
+        when(refereeRepository.findById(20)).thenReturn(Optional.of(ref));
+        LocalDateTime start = LocalDateTime.of(2025, 5, 15, 10, 0);
+        when(bookingIndex.hasConflict(anyInt(), eq(start), isNull())).thenAnswer(inv -> inv.getArgument(0).equals(20));
+
+        MatchDTO dto = new MatchDTO();
+        dto.setTournamentId(1);
+        dto.setPlayer1Id(10);
+        dto.setPlayer2Id(11);
+        dto.setRefereeId(20);
+        dto.setMatchDate(start);
+
+        assertThatThrownBy(() -> service.createMatch(dto))
+                .isInstanceOf(ForbiddenException.class)
+                .hasMessage("Referee is already scheduled within 2 hours of that match.");
+    }
+
+    @Test
+    void createMatch_onCourt_checksCourtAndUsesItsLabel() {
+        when(tournamentRepository.findById(1)).thenReturn(Optional.of(tournament));
+        when(playerRepository.findById(10)).thenReturn(Optional.of(p1));
+        when(playerRepository.findById(11)).thenReturn(Optional.of(p2));
+        when(refereeRepository.findById(20)).thenReturn(Optional.of(ref));
+        Court court = court(7, LocalTime.of(9, 0), LocalTime.of(21, 0));
+        when(courtRepository.findWithVenueById(7)).thenReturn(Optional.of(court));
+        when(matchRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        MatchDTO dto = new MatchDTO();
+        dto.setTournamentId(1);
+        dto.setPlayer1Id(10);
+        dto.setPlayer2Id(11);
+        dto.setRefereeId(20);
+        dto.setCourtId(7);
+        dto.setMatchDate(LocalDateTime.of(2025, 5, 15, 10, 0));
+
+        Match m = service.createMatch(dto);
+
+        assertThat(m.getCourt()).isSameAs(court);
+        assertThat(m.getVenue()).isEqualTo("Arena - Court 1");
+        verify(bookingIndex).hasConflict(-7, dto.getMatchDate(), null);
+        verify(participantLocks).lock(Arrays.asList(10, 11, 20, -7));
+    }
+
+    @Test
+    void createMatch_onCourtAfterClosing_throws() {
+        when(tournamentRepository.findById(1)).thenReturn(Optional.of(tournament));
+        when(playerRepository.findById(10)).thenReturn(Optional.of(p1));
+        when(playerRepository.findById(11)).thenReturn(Optional.of(p2));
+        when(refereeRepository.findById(20)).thenReturn(Optional.of(ref));
+        when(courtRepository.findWithVenueById(7))
+                .thenReturn(Optional.of(court(7, LocalTime.of(9, 0), LocalTime.of(21, 0))));
+
+        MatchDTO dto = new MatchDTO();
+        dto.setTournamentId(1);
+        dto.setPlayer1Id(10);
+        dto.setPlayer2Id(11);
+        dto.setRefereeId(20);
+        dto.setCourtId(7);
+        dto.setMatchDate(LocalDateTime.of(2025, 5, 15, 19, 30));
+
+        assertThatThrownBy(() -> service.createMatch(dto))
+                .isInstanceOf(DateException.class)
+                .hasMessageContaining("opening hours");
+    }
+
+    @Test
+    void createMatch_samePairingInTournament_throws() {
+        when(tournamentRepository.findById(1)).thenReturn(Optional.of(tournament));
+        when(playerRepository.findById(10)).thenReturn(Optional.of(p1));
+        when(playerRepository.findById(11)).thenReturn(Optional.of(p2));
+        when(refereeRepository.findById(20)).thenReturn(Optional.of(ref));
+        // reversed orientation of an existing 10 vs 11 pairing
+        when(headToHeadIndex.hasMet(11, 10, 1)).thenReturn(true);
+
+        MatchDTO dto = new MatchDTO();
+        dto.setTournamentId(1);
+        dto.setPlayer1Id(11);
+        dto.setPlayer2Id(10);
+        dto.setRefereeId(20);
+        dto.setMatchDate(LocalDateTime.of(2025, 5, 15, 10, 0));
+
+        assertThatThrownBy(() -> service.createMatch(dto))
+                .isInstanceOf(ForbiddenException.class)
+                .hasMessageContaining("same tournament");
     }
 
     @Test
@@ -127,14 +267,31 @@ class MatchServiceImplTest {
         // Existing match with no referee
         Match existing = new Match();
         existing.setId(5);
+        existing.setMatchDate(LocalDateTime.of(2025, 5, 15, 10, 0));
         when(matchRepository.findById(5)).thenReturn(Optional.of(existing));
 
         // Stub the referee lookup with ID 20
         when(refereeRepository.findById(20)).thenReturn(Optional.of(ref));
         when(matchRepository.save(existing)).thenReturn(existing);
+        MatchView view = new MatchView();
+        when(matchViewRepository.findById(5)).thenReturn(Optional.of(view));
 
         Match updated = service.assignRefereeToMatch(5, 20);
 
         assertThat(updated.getReferee()).isSameAs(ref);
+        assertThat(view.getRefereeId()).isEqualTo(20);
+        verify(matchViewRepository).save(view);
+    }
+
+    private static Court court(int id, LocalTime opensAt, LocalTime closesAt) {
+        Venue venue = new Venue();
+        venue.setName("Arena");
+        venue.setOpensAt(opensAt);
+        venue.setClosesAt(closesAt);
+        Court court = new Court();
+        court.setId(id);
+        court.setVenue(venue);
+        court.setName("Court 1");
+        return court;
     }
 }
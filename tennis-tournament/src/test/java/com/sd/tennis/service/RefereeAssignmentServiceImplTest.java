@@ -0,0 +1,154 @@
+package com.sd.tennis.service;
+
+import com.sd.tennis.cache.BookingIndex;
+import com.sd.tennis.cache.HeadToHeadIndex;
+import com.sd.tennis.cache.LiveScoreBoard;
+import com.sd.tennis.cache.LocalCollectionVersions;
+import com.sd.tennis.dto.RefereeAssignmentDTO;
+import com.sd.tennis.dto.RefereeAssignmentPlanDTO;
+import com.sd.tennis.dto.RefereeAssignmentRequestDTO;
+import com.sd.tennis.lock.StripedParticipantLocks;
+import com.sd.tennis.model.Match;
+import com.sd.tennis.model.MatchView;
+import com.sd.tennis.model.Tournament;
+import com.sd.tennis.model.User;
+import com.sd.tennis.util.ParallelExportRenderer;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({RefereeAssignmentServiceImpl.class, MatchServiceImpl.class, LocalCollectionVersions.class, BookingIndex.class,
+        HeadToHeadIndex.class, ParallelExportRenderer.class, StripedParticipantLocks.class, ScoreHistoryServiceImpl.class,
+        LiveScoreBoard.class})
+class RefereeAssignmentServiceImplTest {
+    @Autowired RefereeAssignmentServiceImpl service;
+    @Autowired MatchServiceImpl matchService;
+    @Autowired BookingIndex bookingIndex;
+    @Autowired EntityManager em;
+
+    Tournament tournament;
+    User spanish, french, german, italian;
+    User refSpain, refPortugal, refBelgium;
+    List<Match> matches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        tournament = new Tournament();
+        tournament.setName("Open");
+        tournament.setStartDate(LocalDate.of(2030, 5, 1));
+        tournament.setEndDate(LocalDate.of(2030, 5, 31));
+        em.persist(tournament);
+
+        spanish = user("spanish", "PLAYER", "Spain");
+        french = user("french", "PLAYER", "France");
+        german = user("german", "PLAYER", "Germany");
+        italian = user("italian", "PLAYER", "Italy");
+        refSpain = user("refSpain", "REFEREE", "Spain");
+        refPortugal = user("refPortugal", "REFEREE", "Portugal");
+        refBelgium = user("refBelgium", "REFEREE", "Belgium");
+
+        // two matches at the same time each day for three days, all currently on one referee
+        LocalDateTime day = LocalDateTime.of(2030, 5, 2, 10, 0);
+        for (int d = 0; d < 3; d++) {
+            matches.add(match(spanish, french, day.plusDays(d)));
+            matches.add(match(german, italian, day.plusDays(d).plusMinutes(30)));
+        }
+        em.flush();
+        matchService.rebuildMatchViewIfStale();
+        bookingIndex.load();
+        em.clear();
+    }
+
+    @Test
+    void preview_balancesLoadWithoutDoubleBookingOrSharedNationality() {
+        RefereeAssignmentPlanDTO plan = service.previewAssignments(tournament.getId(), new RefereeAssignmentRequestDTO());
+
+        assertThat(plan.isCommitted()).isFalse();
+        assertThat(plan.getUnassignedMatchIds()).isEmpty();
+        assertThat(plan.getAssignments()).hasSize(6);
+        assertThat(plan.getMaxLoad()).isEqualTo(2);
+
+        Map<Integer, List<LocalDateTime>> byReferee = new HashMap<>();
+        for (RefereeAssignmentDTO assignment : plan.getAssignments()) {
+            if (assignment.getRefereeId().equals(refSpain.getId())) {
+                assertThat(assignment.getMatchId()).isNotIn(matches.get(0).getId(), matches.get(2).getId(),
+                        matches.get(4).getId());
+            }
+            List<LocalDateTime> starts = byReferee.computeIfAbsent(assignment.getRefereeId(), id -> new ArrayList<>());
+            for (LocalDateTime other : starts) {
+                assertThat(Duration.between(other, assignment.getMatchDate()).abs().toMinutes())
+                        .isGreaterThanOrEqualTo(BookingIndex.MIN_GAP_MINUTES);
+            }
+            starts.add(assignment.getMatchDate());
+        }
+
+        em.clear();
+        assertThat(em.find(Match.class, matches.get(1).getId()).getReferee().getId()).isEqualTo(refSpain.getId());
+    }
+
+    @Test
+    void commit_savesAssignmentsAndRefreshesView() {
+        RefereeAssignmentPlanDTO plan = service.commitAssignments(tournament.getId(), new RefereeAssignmentRequestDTO());
+        em.flush();
+        em.clear();
+
+        assertThat(plan.isCommitted()).isTrue();
+        for (RefereeAssignmentDTO assignment : plan.getAssignments()) {
+            assertThat(em.find(Match.class, assignment.getMatchId()).getReferee().getId())
+                    .isEqualTo(assignment.getRefereeId());
+            assertThat(em.find(MatchView.class, assignment.getMatchId()).getRefereeName())
+                    .isEqualTo(assignment.getRefereeName());
+        }
+    }
+
+    @Test
+    void selectedMatchesOnly_andUnneutralPoolLeavesMatchUnassigned() {
+        RefereeAssignmentRequestDTO request = new RefereeAssignmentRequestDTO();
+        request.setMatchIds(List.of(matches.get(0).getId()));
+        request.setRefereeIds(List.of(refSpain.getId()));
+
+        RefereeAssignmentPlanDTO plan = service.previewAssignments(tournament.getId(), request);
+
+        assertThat(plan.getAssignments()).isEmpty();
+        assertThat(plan.getUnassignedMatchIds()).containsExactly(matches.get(0).getId());
+    }
+
+    private Match match(User player1, User player2, LocalDateTime date) {
+        Match m = new Match();
+        m.setTournament(tournament);
+        m.setPlayer1(player1);
+        m.setPlayer2(player2);
+        m.setReferee(refSpain);
+        m.setMatchDate(date);
+        m.setVenue("Court 1");
+        em.persist(m);
+        return m;
+    }
+
+    private User user(String username, String role, String nationality) {
+        User u = new User();
+        u.setUsername(username);
+        u.setEmail(username + "@example.com");
+        u.setPassword("secret");
+        u.setRole(role);
+        u.setFirstName(username);
+        u.setLastName("Test");
+        u.setNationality(nationality);
+        em.persist(u);
+        return u;
+    }
+}
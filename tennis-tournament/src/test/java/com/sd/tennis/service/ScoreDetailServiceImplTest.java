@@ -0,0 +1,222 @@
+package com.sd.tennis.service;
+
+import com.sd.tennis.cache.BookingIndex;
+import com.sd.tennis.cache.HeadToHeadIndex;
+import com.sd.tennis.cache.LiveScoreBoard;
+import com.sd.tennis.cache.LocalCollectionVersions;
+import com.sd.tennis.dto.MatchDTO;
+import com.sd.tennis.dto.ScoreDetailDTO;
+import com.sd.tennis.dto.SetScoreDTO;
+import com.sd.tennis.exception.DuplicateException;
+import com.sd.tennis.lock.StripedParticipantLocks;
+import com.sd.tennis.model.Match;
+import com.sd.tennis.model.MatchView;
+import com.sd.tennis.model.ScoreDetail;
+import com.sd.tennis.model.SetTally;
+import com.sd.tennis.model.Tournament;
+import com.sd.tennis.model.User;
+import com.sd.tennis.repository.MatchViewRepository;
+import com.sd.tennis.repository.ScoreDetailRepository;
+import com.sd.tennis.util.ParallelExportRenderer;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@Import({ScoreDetailServiceImpl.class, MatchServiceImpl.class, LocalCollectionVersions.class, HeadToHeadIndex.class,
+        BookingIndex.class, ParallelExportRenderer.class, StripedParticipantLocks.class, ScoreHistoryServiceImpl.class,
+        LiveScoreBoard.class})
+class ScoreDetailServiceImplTest {
+    @Autowired ScoreDetailServiceImpl scoreDetailService;
+    @Autowired MatchServiceImpl matchService;
+    @Autowired MatchViewRepository matchViewRepository;
+    @Autowired ScoreDetailRepository scoreDetailRepository;
+    @Autowired EntityManager em;
+
+    User p1, p2;
+    Tournament tournament;
+    User ref;
+
+    @BeforeEach
+    void setUp() {
+        tournament = new Tournament();
+        tournament.setName("Open");
+        tournament.setStartDate(LocalDate.of(2030, 5, 1));
+        tournament.setEndDate(LocalDate.of(2030, 5, 14));
+        em.persist(tournament);
+        p1 = user("p1", "PLAYER");
+        p2 = user("p2", "PLAYER");
+        ref = user("ref", "REFEREE");
+    }
+
+    @Test
+    void sets_moveTheTallyAndDecideTheWinner() {
+        Match match = match(3);
+
+        ScoreDetail first = scoreDetailService.addScoreDetail(set(match, 1, 6, 4));
+        scoreDetailService.addScoreDetail(set(match, 2, 3, 6));
+        assertThat(match.getWinner()).isNull();
+        ScoreDetail third = scoreDetailService.addScoreDetail(set(match, 3, 7, 6));
+
+        assertThat(match.getTally()).extracting(SetTally::getPlayer1Sets, SetTally::getPlayer2Sets,
+                SetTally::getPlayer1Games, SetTally::getPlayer2Games).containsExactly(2, 1, 16, 16);
+        assertThat(match.getOverallScore()).isEqualTo("2-1");
+        assertThat(match.getWinner()).isSameAs(p1);
+
+        scoreDetailService.updateScoreDetail(third.getId(), set(match, 3, 4, 6));
+        assertThat(match.getOverallScore()).isEqualTo("1-2");
+        assertThat(match.getWinner()).isSameAs(p2);
+
+        scoreDetailService.deleteScoreDetail(first.getId());
+        assertThat(match.getOverallScore()).isEqualTo("0-2");
+        assertThat(match.getTally().getPlayer1Games()).isEqualTo(7);
+
+        em.flush();
+        MatchView view = matchViewRepository.findById(match.getId()).orElseThrow();
+        assertThat(view.getOverallScore()).isEqualTo("0-2");
+        assertThat(view.getWinnerId()).isEqualTo(p2.getId());
+    }
+
+    @Test
+    void bestOfFive_needsThreeSets_andUnfinishedSetsOnlyAddGames() {
+        Match match = match(5);
+
+        scoreDetailService.addScoreDetail(set(match, 1, 6, 2));
+        scoreDetailService.addScoreDetail(set(match, 2, 6, 3));
+        scoreDetailService.addScoreDetail(set(match, 3, 5, 5));
+        assertThat(match.getWinner()).isNull();
+        assertThat(match.getOverallScore()).isEqualTo("2-0");
+
+        scoreDetailService.addScoreDetail(set(match, 4, 7, 5));
+        assertThat(match.getWinner()).isSameAs(p1);
+    }
+
+    @Test
+    void replaceSets_upsertsBySetNumber_dropsMissingSets_andDecidesOnce() {
+        Match match = match(3);
+        ScoreDetail first = scoreDetailService.addScoreDetail(set(match, 1, 4, 6));
+        scoreDetailService.addScoreDetail(set(match, 3, 2, 6));
+
+        scoreDetailService.replaceSets(match.getId(), List.of(setScore(1, 6, 4), setScore(2, 7, 6)));
+        em.flush();
+        em.clear();
+
+        List<ScoreDetail> rows = scoreDetailRepository.findAllByMatchIdForUpdate(match.getId());
+        assertThat(rows).extracting(ScoreDetail::getSetNumber, ScoreDetail::getPlayer1Score,
+                ScoreDetail::getPlayer2Score).containsExactly(tuple(1, 6, 4), tuple(2, 7, 6));
+        assertThat(rows.get(0).getId()).isEqualTo(first.getId());
+        Match reloaded = em.find(Match.class, match.getId());
+        assertThat(reloaded.getOverallScore()).isEqualTo("2-0");
+        assertThat(reloaded.getWinner().getId()).isEqualTo(p1.getId());
+        assertThat(reloaded.getTally().getPlayer2Games()).isEqualTo(10);
+    }
+
+    @Test
+    void replaceSets_sameListTwice_changesNothing() {
+        Match match = match(3);
+        List<SetScoreDTO> sets = List.of(setScore(1, 6, 3), setScore(2, 3, 6));
+
+        List<ScoreDetail> firstRun = scoreDetailService.replaceSets(match.getId(), sets);
+        List<ScoreDetail> secondRun = scoreDetailService.replaceSets(match.getId(), sets);
+
+        assertThat(secondRun).extracting(ScoreDetail::getId)
+                .containsExactlyElementsOf(firstRun.stream().map(ScoreDetail::getId).toList());
+        assertThat(match.getTally()).extracting(SetTally::getPlayer1Sets, SetTally::getPlayer2Sets,
+                SetTally::getPlayer1Games, SetTally::getPlayer2Games).containsExactly(1, 1, 9, 9);
+        assertThat(match.getWinner()).isNull();
+    }
+
+    @Test
+    void duplicateSetNumbers_areRejected() {
+        Match match = match(3);
+        scoreDetailService.addScoreDetail(set(match, 1, 6, 4));
+
+        assertThatThrownBy(() -> scoreDetailService.addScoreDetail(set(match, 1, 6, 2)))
+                .isInstanceOf(DuplicateException.class);
+        assertThatThrownBy(() -> scoreDetailService.replaceSets(match.getId(),
+                List.of(setScore(2, 6, 4), setScore(2, 6, 3))))
+                .isInstanceOf(DuplicateException.class)
+                .hasMessage("Set 2 is listed twice");
+    }
+
+    @Test
+    void backfill_countsSetRowsOfMatchesWithAnEmptyTally() {
+        Match match = match(3);
+        em.persist(new ScoreDetail(null, match, 1, 6, 0));
+        em.persist(new ScoreDetail(null, match, 2, 4, 6));
+        em.flush();
+
+        scoreDetailService.backfillSetTallies();
+        em.clear();
+
+        SetTally tally = em.find(Match.class, match.getId()).getTally();
+        assertThat(tally).extracting(SetTally::getPlayer1Sets, SetTally::getPlayer2Sets,
+                SetTally::getPlayer1Games, SetTally::getPlayer2Games).containsExactly(1, 1, 10, 6);
+    }
+
+    @Test
+    void headToHeadSetCount_skipsSetsThatAreNotWonYet() {
+        Match match = match(5);
+        scoreDetailService.addScoreDetail(set(match, 1, 6, 4));
+        scoreDetailService.addScoreDetail(set(match, 2, 6, 7));
+        scoreDetailService.addScoreDetail(set(match, 3, 7, 6));
+        scoreDetailService.addScoreDetail(set(match, 4, 5, 3));
+        em.flush();
+
+        assertThat(scoreDetailRepository.countSetsByPair(match.getMinPlayerId(), match.getMaxPlayerId()))
+                .singleElement()
+                .satisfies(row -> assertThat(row).containsExactly(p1.getId(), 2L, 1L));
+    }
+
+    private Match match(int bestOf) {
+        MatchDTO dto = new MatchDTO();
+        dto.setTournamentId(tournament.getId());
+        dto.setPlayer1Id(p1.getId());
+        dto.setPlayer2Id(p2.getId());
+        dto.setRefereeId(ref.getId());
+        dto.setMatchDate(LocalDateTime.of(2030, 5, 2, 10, 0));
+        dto.setVenue("Centre");
+        dto.setBestOf(bestOf);
+        return matchService.createMatch(dto);
+    }
+
+    private static ScoreDetailDTO set(Match match, int setNumber, int player1Score, int player2Score) {
+        ScoreDetailDTO dto = new ScoreDetailDTO();
+        dto.setMatchId(match.getId());
+        dto.setSetNumber(setNumber);
+        dto.setPlayer1Score(player1Score);
+        dto.setPlayer2Score(player2Score);
+        return dto;
+    }
+
+    private static SetScoreDTO setScore(int setNumber, int player1Score, int player2Score) {
+        SetScoreDTO dto = new SetScoreDTO();
+        dto.setSetNumber(setNumber);
+        dto.setPlayer1Score(player1Score);
+        dto.setPlayer2Score(player2Score);
+        return dto;
+    }
+
+    private User user(String username, String role) {
+        User u = new User();
+        u.setUsername(username);
+        u.setEmail(username + "@example.com");
+        u.setPassword("secret");
+        u.setRole(role);
+        u.setFirstName(username);
+        u.setLastName("Test");
+        em.persist(u);
+        return u;
+    }
+}
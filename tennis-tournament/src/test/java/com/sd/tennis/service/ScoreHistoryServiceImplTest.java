@@ -0,0 +1,234 @@
+package com.sd.tennis.service;
+
+import com.sd.tennis.cache.BookingIndex;
+import com.sd.tennis.cache.HeadToHeadIndex;
+import com.sd.tennis.cache.LiveScoreBoard;
+import com.sd.tennis.cache.LocalCollectionVersions;
+import com.sd.tennis.dto.MatchDTO;
+import com.sd.tennis.dto.ScoreDetailDTO;
+import com.sd.tennis.dto.ScoreStateDTO;
+import com.sd.tennis.dto.SetScoreDTO;
+import com.sd.tennis.exception.ResourceNotFoundException;
+import com.sd.tennis.lock.StripedParticipantLocks;
+import com.sd.tennis.model.Match;
+import com.sd.tennis.model.ScoreDetail;
+import com.sd.tennis.model.ScoreEvent;
+import com.sd.tennis.model.ScoreSnapshot;
+import com.sd.tennis.model.Tournament;
+import com.sd.tennis.model.User;
+import com.sd.tennis.repository.ScoreSnapshotRepository;
+import com.sd.tennis.util.ParallelExportRenderer;
+import com.sd.tennis.util.ScoreReplay;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = "app.score-log.snapshot-every=4")
+@Import({ScoreHistoryServiceImpl.class, ScoreDetailServiceImpl.class, MatchServiceImpl.class, LocalCollectionVersions.class,
+        HeadToHeadIndex.class, BookingIndex.class, ParallelExportRenderer.class, StripedParticipantLocks.class,
+        LiveScoreBoard.class})
+class ScoreHistoryServiceImplTest {
+    @Autowired ScoreHistoryServiceImpl scoreHistoryService;
+    @Autowired ScoreDetailServiceImpl scoreDetailService;
+    @Autowired MatchServiceImpl matchService;
+    @Autowired ScoreSnapshotRepository scoreSnapshotRepository;
+    @Autowired EntityManager em;
+
+    User p1, p2, ref;
+    Tournament tournament;
+
+    @BeforeEach
+    void setUp() {
+        tournament = new Tournament();
+        tournament.setName("Open");
+        tournament.setStartDate(LocalDate.of(2030, 5, 1));
+        tournament.setEndDate(LocalDate.of(2030, 5, 14));
+        em.persist(tournament);
+        p1 = user("p1", "PLAYER");
+        p2 = user("p2", "PLAYER");
+        ref = user("ref", "REFEREE");
+    }
+
+    @Test
+    void everyScoreWrite_isLoggedInOrder_andAnySeqReplays() {
+        Match match = match();
+        ScoreDetail first = scoreDetailService.addScoreDetail(set(match, 1, 6, 4));
+        ScoreDetail second = scoreDetailService.addScoreDetail(set(match, 2, 6, 3));
+        scoreDetailService.updateScoreDetail(second.getId(), set(match, 2, 3, 6));
+        scoreDetailService.deleteScoreDetail(first.getId());
+
+        assertThat(scoreHistoryService.getEvents(match.getId()))
+                .extracting(ScoreEvent::getSeq, ScoreEvent::getType, ScoreEvent::getSetNumber)
+                .containsExactly(tuple(1, ScoreEvent.SET, 1), tuple(2, ScoreEvent.SET, 2),
+                        tuple(3, ScoreEvent.SET, 2), tuple(4, ScoreEvent.SET_REMOVED, 1));
+
+        ScoreStateDTO decided = scoreHistoryService.getScoreAt(match.getId(), 2);
+        assertThat(decided.getSets()).extracting(SetScoreDTO::getSetNumber, SetScoreDTO::getPlayer1Score)
+                .containsExactly(tuple(1, 6), tuple(2, 6));
+        assertThat(decided.getOverallScore()).isEqualTo("2-0");
+        assertThat(decided.getWinnerId()).isEqualTo(p1.getId());
+
+        ScoreStateDTO latest = scoreHistoryService.getScoreAt(match.getId(), null);
+        assertThat(latest.getSeq()).isEqualTo(4);
+        assertThat(latest.getOverallScore()).isEqualTo(match.getOverallScore()).isEqualTo("0-1");
+        assertThat(latest.getWinnerId()).isNull();
+
+        assertThatThrownBy(() -> scoreHistoryService.getScoreAt(match.getId(), 5))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void snapshots_areTakenEveryFewEvents_andReplaysStartFromThem() {
+        Match match = match();
+        scoreDetailService.replaceSets(match.getId(), List.of(setScore(1, 6, 4), setScore(2, 4, 6), setScore(3, 2, 2)));
+        scoreDetailService.replaceSets(match.getId(), List.of(setScore(1, 6, 4), setScore(2, 4, 6), setScore(3, 6, 2)));
+        scoreDetailService.addScoreDetail(set(match, 4, 1, 0));
+
+        assertThat(scoreSnapshotRepository.findAll()).singleElement().satisfies(snapshot -> {
+            assertThat(snapshot.getSeq()).isEqualTo(4);
+            assertThat(snapshot.getSets()).isEqualTo("1:6-4,2:4-6,3:6-2");
+            assertThat(snapshot.getWinnerSide()).isEqualTo(1);
+        });
+        assertThat(scoreHistoryService.replay(match, 3).overallScore()).isEqualTo("1-1");
+        ScoreReplay latest = scoreHistoryService.replay(match, 5);
+        assertThat(latest.encodeSets()).isEqualTo("1:6-4,2:4-6,3:6-2,4:1-0");
+        assertThat(latest.tally()).usingRecursiveComparison().isEqualTo(match.getTally());
+    }
+
+    @Test
+    void revert_appendsTheChangesBackToAnEarlierSeq() {
+        Match match = match();
+        scoreDetailService.replaceSets(match.getId(), List.of(setScore(1, 6, 4), setScore(2, 6, 4)));
+        scoreDetailService.replaceSets(match.getId(), List.of(setScore(1, 4, 6), setScore(2, 4, 6), setScore(3, 0, 6)));
+        assertThat(match.getWinner()).isSameAs(p2);
+
+        List<ScoreDetail> rows = scoreDetailService.revertTo(match.getId(), 2);
+
+        assertThat(rows).extracting(ScoreDetail::getSetNumber, ScoreDetail::getPlayer1Score, ScoreDetail::getPlayer2Score)
+                .containsExactly(tuple(1, 6, 4), tuple(2, 6, 4));
+        assertThat(match.getWinner()).isSameAs(p1);
+        assertThat(match.getOverallScore()).isEqualTo("2-0");
+        assertThat(match.getScoreSeq()).isEqualTo(8);
+    }
+
+    @Test
+    void handEnteredResult_isLoggedAndRevertedLikeAnyOtherChange() {
+        Match match = match();
+        matchService.restoreResult(match, "1-0", 1);
+        assertThat(scoreHistoryService.getEvents(match.getId())).extracting(ScoreEvent::getType, ScoreEvent::getWinnerSide)
+                .containsExactly(tuple(ScoreEvent.RESULT, 1));
+
+        scoreDetailService.revertTo(match.getId(), 0);
+
+        assertThat(match.getOverallScore()).isEqualTo("N/A");
+        assertThat(match.getWinner()).isNull();
+        assertThat(scoreHistoryService.getEvents(match.getId())).extracting(ScoreEvent::getSeq, ScoreEvent::getPlayer1Score)
+                .containsExactly(tuple(1, 1), tuple(2, null));
+    }
+
+    @Test
+    void matchesScoredBeforeTheLog_getABaselineSnapshot() {
+        Match match = match();
+        em.persist(new ScoreDetail(null, match, 1, 6, 1));
+        em.persist(new ScoreDetail(null, match, 2, 6, 2));
+        match.setOverallScore("2-0");
+        match.setWinner(p1);
+        em.flush();
+
+        scoreHistoryService.backfillBaselines();
+        scoreHistoryService.backfillBaselines();
+
+        assertThat(scoreSnapshotRepository.findAll()).extracting(ScoreSnapshot::getSeq, ScoreSnapshot::getSets)
+                .containsExactly(tuple(0, "1:6-1,2:6-2"));
+        scoreDetailService.addScoreDetail(set(match, 3, 0, 6));
+        ScoreStateDTO state = scoreHistoryService.getScoreAt(match.getId(), null);
+        assertThat(state.getSets()).hasSize(3);
+        assertThat(state.getWinnerId()).isEqualTo(p1.getId());
+    }
+
+    @Test
+    void season_replaysFromTheDatabaseInAFewSeconds() {
+        // 300 matches with 12 logged changes each, appended in one go so each has a single snapshot at the end
+        List<Match> season = new ArrayList<>();
+        for (int m = 0; m < 300; m++) {
+            Match match = new Match();
+            match.setTournament(tournament);
+            match.setPlayer1(p1);
+            match.setPlayer2(p2);
+            match.setReferee(ref);
+            match.setMatchDate(LocalDateTime.of(2030, 5, 2, 10, 0).plusHours(m));
+            em.persist(match);
+            List<ScoreEvent> events = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                events.add(ScoreEvent.set(i % 3 + 1, 6, i % 5));
+            }
+            scoreHistoryService.append(match, events);
+            season.add(match);
+        }
+        em.flush();
+        em.clear();
+
+        long started = System.nanoTime();
+        for (Match match : season) {
+            assertThat(scoreHistoryService.replay(match, 12).overallScore()).isEqualTo("3-0");
+            assertThat(scoreHistoryService.replay(match, 7).sets()).hasSize(3);
+        }
+        Duration took = Duration.ofNanos(System.nanoTime() - started);
+
+        assertThat(took).isLessThan(Duration.ofSeconds(5));
+    }
+
+    private Match match() {
+        MatchDTO dto = new MatchDTO();
+        dto.setTournamentId(tournament.getId());
+        dto.setPlayer1Id(p1.getId());
+        dto.setPlayer2Id(p2.getId());
+        dto.setRefereeId(ref.getId());
+        dto.setMatchDate(LocalDateTime.of(2030, 5, 2, 10, 0));
+        dto.setVenue("Centre");
+        dto.setBestOf(3);
+        return matchService.createMatch(dto);
+    }
+
+    private static ScoreDetailDTO set(Match match, int setNumber, int player1Score, int player2Score) {
+        ScoreDetailDTO dto = new ScoreDetailDTO();
+        dto.setMatchId(match.getId());
+        dto.setSetNumber(setNumber);
+        dto.setPlayer1Score(player1Score);
+        dto.setPlayer2Score(player2Score);
+        return dto;
+    }
+
+    private static SetScoreDTO setScore(int setNumber, int player1Score, int player2Score) {
+        SetScoreDTO dto = new SetScoreDTO();
+        dto.setSetNumber(setNumber);
+        dto.setPlayer1Score(player1Score);
+        dto.setPlayer2Score(player2Score);
+        return dto;
+    }
+
+    private User user(String username, String role) {
+        User u = new User();
+        u.setUsername(username);
+        u.setEmail(username + "@example.com");
+        u.setPassword("secret");
+        u.setRole(role);
+        u.setFirstName(username);
+        u.setLastName("Test");
+        em.persist(u);
+        return u;
+    }
+}
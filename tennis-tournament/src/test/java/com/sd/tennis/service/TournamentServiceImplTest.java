@@ -1,9 +1,13 @@
 package com.sd.tennis.service;
 
+import com.sd.tennis.cache.BookingIndex;
+import com.sd.tennis.cache.CollectionVersions;
+import com.sd.tennis.cache.HeadToHeadIndex;
 import com.sd.tennis.dto.TournamentDTO;
 import com.sd.tennis.exception.DuplicateException;
 import com.sd.tennis.exception.ResourceNotFoundException;
 import com.sd.tennis.model.Tournament;
+import com.sd.tennis.repository.MatchViewRepository;
 import com.sd.tennis.repository.TournamentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,6 +26,10 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class TournamentServiceImplTest {
     @Mock TournamentRepository repo;
+    @Mock MatchViewRepository matchViewRepository;
+    @Mock CollectionVersions collectionVersions;
+    @Mock HeadToHeadIndex headToHeadIndex;
+    @Mock BookingIndex bookingIndex;
     @InjectMocks TournamentServiceImpl service;
 
     TournamentDTO dto;
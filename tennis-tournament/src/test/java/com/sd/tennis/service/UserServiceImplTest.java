@@ -1,11 +1,15 @@
 package com.sd.tennis.service;
 
+import com.sd.tennis.cache.BookingIndex;
+import com.sd.tennis.cache.CollectionVersions;
+import com.sd.tennis.cache.HeadToHeadIndex;
 import com.sd.tennis.dto.UserDTO;
 import com.sd.tennis.exception.DuplicateException;
 import com.sd.tennis.exception.InvalidPasswordException;
 import com.sd.tennis.exception.ResourceNotFoundException;
 import com.sd.tennis.model.LoginRequest;
 import com.sd.tennis.model.User;
+import com.sd.tennis.repository.MatchViewRepository;
 import com.sd.tennis.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,6 +27,10 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class UserServiceImplTest {
     @Mock UserRepository repo;
+    @Mock MatchViewRepository matchViewRepository;
+    @Mock CollectionVersions collectionVersions;
+    @Mock HeadToHeadIndex headToHeadIndex;
+    @Mock BookingIndex bookingIndex;
     @InjectMocks UserServiceImpl service;
 
     UserDTO dto;
@@ -55,4 +63,19 @@ class UserServiceImplTest {
         assertThatThrownBy(() -> service.registerUser(dto))
                 .isInstanceOf(DuplicateException.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateUser_renameRefreshesMatchView() {
+        user.setId(7);
+        user.setFirstName("Rafa");
+        user.setLastName("Nadal");
+        when(repo.findById(7)).thenReturn(Optional.of(user));
+        when(repo.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        UserDTO rename = new UserDTO();
+        rename.setFirstName("Rafael");
+        service.updateUser(7, rename);
+
+        verify(matchViewRepository).renameUser(7, "Rafael Nadal");
+    }
+}
@@ -0,0 +1,36 @@
+package com.sd.tennis.util;
+
+import com.sd.tennis.dto.MatchResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ColumnarExportUtilTest {
+
+    @Test
+    void roundTrip_acrossSeveralBlocks() throws IOException {
+        List<MatchResponseDTO> rows = SyntheticMatches.generate(ColumnarExportUtil.BLOCK_ROWS * 2 + 17, 5, 42);
+        rows.get(3).setVenue(null);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ColumnarExportUtil().export(rows.iterator(), out);
+        List<MatchResponseDTO> read = ColumnarMatchReader.readAll(new ByteArrayInputStream(out.toByteArray()));
+
+        assertThat(read).isEqualTo(rows);
+    }
+
+    @Test
+    void read_rejectsOtherFormats() {
+        byte[] csv = "Match ID,Tournament Name\n".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> ColumnarMatchReader.readAll(new ByteArrayInputStream(csv)))
+                .isInstanceOf(IOException.class);
+    }
+}
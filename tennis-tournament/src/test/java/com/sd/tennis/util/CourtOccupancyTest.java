@@ -0,0 +1,92 @@
+package com.sd.tennis.util;
+
+import com.sd.tennis.util.CourtOccupancy.Booking;
+import com.sd.tennis.util.CourtOccupancy.Day;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CourtOccupancyTest {
+    private static final LocalDate DAY = LocalDate.of(2030, 6, 1);
+    private static final LocalTime OPENS = LocalTime.of(10, 0);
+    private static final LocalTime CLOSES = LocalTime.of(18, 0);
+
+    @Test
+    void backToBackMatches_fillTheDayWithoutOverlap() {
+        List<Day> days = CourtOccupancy.sweep(List.of(
+                booking(1, DAY.atTime(10, 0)),
+                booking(1, DAY.atTime(12, 0)),
+                booking(1, DAY.atTime(14, 0)),
+                booking(1, DAY.atTime(16, 0))), DAY, DAY);
+
+        assertThat(days).singleElement().satisfies(day -> {
+            assertThat(day.matches()).isEqualTo(4);
+            assertThat(day.openMinutes()).isEqualTo(480);
+            assertThat(day.bookedMinutes()).isEqualTo(480);
+            assertThat(day.overbookedMinutes()).isZero();
+            assertThat(day.utilization()).isEqualTo(1.0);
+        });
+    }
+
+    @Test
+    void overlappingMatches_countTheSharedMinutesOnce() {
+        List<Day> days = CourtOccupancy.sweep(List.of(
+                booking(1, DAY.atTime(10, 0)),
+                booking(1, DAY.atTime(11, 0))), DAY, DAY);
+
+        assertThat(days.get(0).bookedMinutes()).isEqualTo(180);
+        assertThat(days.get(0).overbookedMinutes()).isEqualTo(60);
+    }
+
+    @Test
+    void bookingsAreClippedToOpeningHours() {
+        List<Day> days = CourtOccupancy.sweep(List.of(
+                booking(1, DAY.atTime(9, 0)),
+                booking(1, DAY.atTime(17, 0))), DAY, DAY);
+
+        assertThat(days.get(0).bookedMinutes()).isEqualTo(120);
+        assertThat(days.get(0).utilization()).isCloseTo(0.25, within(1e-9));
+    }
+
+    @Test
+    void everyDayInTheRangeGetsARow_perCourt() {
+        List<Day> days = CourtOccupancy.sweep(List.of(
+                booking(1, DAY.atTime(10, 0)),
+                booking(2, DAY.plusDays(2).atTime(12, 0))), DAY, DAY.plusDays(2));
+
+        assertThat(days).hasSize(6);
+        assertThat(days).filteredOn(day -> day.courtId() == 1)
+                .extracting(Day::bookedMinutes).containsExactly(120L, 0L, 0L);
+        assertThat(days).filteredOn(day -> day.courtId() == 2)
+                .extracting(Day::matches).containsExactly(0, 0, 1);
+    }
+
+    @Test
+    void largeInput_isSweptInOnePass() {
+        // 200 courts, four weeks, four matches a day each
+        List<Booking> bookings = new ArrayList<>();
+        for (int court = 1; court <= 200; court++) {
+            for (int d = 0; d < 28; d++) {
+                for (int slot = 0; slot < 4; slot++) {
+                    bookings.add(booking(court, DAY.plusDays(d).atTime(10 + 2 * slot, 0)));
+                }
+            }
+        }
+
+        List<Day> days = CourtOccupancy.sweep(bookings, DAY, DAY.plusDays(27));
+
+        assertThat(days).hasSize(200 * 28);
+        assertThat(days).allSatisfy(day -> assertThat(day.utilization()).isEqualTo(1.0));
+    }
+
+    private static Booking booking(int courtId, LocalDateTime start) {
+        return new Booking(courtId, "Arena", "Court " + courtId, OPENS, CLOSES, start);
+    }
+}
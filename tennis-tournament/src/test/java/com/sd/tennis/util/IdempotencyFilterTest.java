@@ -0,0 +1,131 @@
+package com.sd.tennis.util;
+
+import com.sd.tennis.idempotency.LocalIdempotencyStore;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTest {
+    private final IdempotencyFilter filter = new IdempotencyFilter(new LocalIdempotencyStore(100, 60));
+    private final AtomicInteger runs = new AtomicInteger();
+    private int status = 200;
+
+    // stands in for the controller: echoes the body back, counting how often it really ran
+    private final HttpServlet controller = new HttpServlet() {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            runs.incrementAndGet();
+            response.setStatus(status);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"run\":" + runs.get() + ",\"body\":" + new String(request.getInputStream().readAllBytes()) + "}");
+        }
+    };
+
+    @Test
+    void retryWithTheSameKey_replaysTheFirstResponse() throws Exception {
+        MockHttpServletResponse first = send("POST", "/api/scores", "k1", "{\"setNumber\":1}");
+        MockHttpServletResponse retry = send("POST", "/api/scores", "k1", "{\"setNumber\":1}");
+
+        assertThat(runs).hasValue(1);
+        assertThat(first.getContentAsString()).isEqualTo("{\"run\":1,\"body\":{\"setNumber\":1}}");
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(retry.getContentType()).isEqualTo("application/json");
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void sameKeyForAnotherRequest_isRejected() throws Exception {
+        send("PUT", "/api/matches/4/update-score", "k1", "");
+        MockHttpServletResponse other = send("PUT", "/api/matches/5/update-score", "k1", "");
+
+        assertThat(other.getStatus()).isEqualTo(422);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void failedRequest_isRunAgainOnRetry() throws Exception {
+        status = 409;
+        send("POST", "/api/scores", "k1", "{}");
+        status = 200;
+        MockHttpServletResponse retry = send("POST", "/api/scores", "k1", "{}");
+
+        assertThat(runs).hasValue(2);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void requestsWithoutAKey_orOutsideTheWriteEndpoints_passThrough() throws Exception {
+        send("POST", "/api/scores", null, "{}");
+        send("POST", "/api/scores", null, "{}");
+        send("POST", "/api/tournaments", "k1", "{}");
+        send("POST", "/api/tournaments", "k1", "{}");
+        send("GET", "/api/matches", "k1", "");
+        send("GET", "/api/matches", "k1", "");
+
+        assertThat(runs).hasValue(6);
+    }
+
+    @Test
+    void bufferedBody_canBeReadWithAReadListener() throws Exception {
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicBoolean allRead = new AtomicBoolean();
+        HttpServlet nonBlocking = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                ServletInputStream in = request.getInputStream();
+                in.setReadListener(new ReadListener() {
+                    @Override
+                    public void onDataAvailable() throws IOException {
+                        while (in.isReady() && !in.isFinished()) {
+                            read.write(in.read());
+                        }
+                    }
+
+                    @Override
+                    public void onAllDataRead() {
+                        allRead.set(true);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        throw new AssertionError(t);
+                    }
+                });
+            }
+        };
+
+        send("POST", "/api/scores", "k1", "{\"setNumber\":2}", nonBlocking);
+
+        assertThat(read.toString()).isEqualTo("{\"setNumber\":2}");
+        assertThat(allRead).isTrue();
+    }
+
+    private MockHttpServletResponse send(String method, String uri, String key, String body) throws Exception {
+        return send(method, uri, key, body, controller);
+    }
+
+    private MockHttpServletResponse send(String method, String uri, String key, String body, HttpServlet servlet)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.KEY_HEADER, key);
+        }
+        request.setContent(body.getBytes());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+        return response;
+    }
+}
@@ -0,0 +1,147 @@
+package com.sd.tennis.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sd.tennis.dto.MatchUpdateDTO;
+import com.sd.tennis.event.MatchUpdatedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveUpdateHubTest {
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    private LiveUpdateHub hub = hub(2, 60000);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        hub.shutdown();
+    }
+
+    @Test
+    void update_reachesMatchAndTournamentSubscribers_serializedOnce() throws InterruptedException {
+        release.countDown();
+        hub.subscribeToMatch(1);
+        hub.subscribeToTournament(10);
+        hub.subscribeToMatch(2);
+
+        hub.onMatchUpdated(new MatchUpdatedEvent(update(1, 10)));
+
+        assertThat(emitters.get(0).await(1)).isTrue();
+        assertThat(emitters.get(1).await(1)).isTrue();
+        assertThat(emitters.get(0).sent.get(0)).isSameAs(emitters.get(1).sent.get(0));
+        assertThat(emitters.get(0).sent.get(0)).extracting(item -> item.getData().toString())
+                .contains("{\"type\":\"SCORE\",\"matchId\":1,\"tournamentId\":10,\"overallScore\":\"1-0\"}");
+        assertThat(emitters.get(2).sent).isEmpty();
+    }
+
+    @Test
+    void slowSubscriber_isDroppedWithoutHoldingUpTheOthers() throws InterruptedException {
+        hub.subscribeToMatch(1); // blocks on its first send until released
+        hub.subscribeToMatch(1);
+
+        for (int i = 0; i < 10; i++) {
+            hub.onMatchUpdated(new MatchUpdatedEvent(update(1, 10)));
+            assertThat(emitters.get(1).await(i + 1)).isTrue();
+        }
+
+        assertThat(hub.subscriberCount()).isEqualTo(1);
+        release.countDown();
+        assertThat(emitters.get(0).completed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void stalledSend_isDroppedAtTheDeadline_whileTheOthersKeepGettingUpdates() throws InterruptedException {
+        hub.shutdown();
+        hub = hub(1, 50);
+        hub.subscribeToMatch(1); // blocks on its first send until released
+        hub.subscribeToMatch(2);
+
+        hub.onMatchUpdated(new MatchUpdatedEvent(update(1, 10)));
+        assertThat(emitters.get(0).entered.await(5, TimeUnit.SECONDS)).isTrue();
+        // the only pool thread is stuck; nothing else goes out until the stall check runs
+        hub.onMatchUpdated(new MatchUpdatedEvent(update(2, 10)));
+        Thread.sleep(100);
+        hub.dropStalledSends();
+
+        for (int i = 0; i < 10; i++) {
+            if (i > 0) {
+                hub.onMatchUpdated(new MatchUpdatedEvent(update(2, 10)));
+            }
+            assertThat(emitters.get(1).await(i + 1)).isTrue();
+        }
+        assertThat(hub.subscriberCount()).isEqualTo(1);
+        assertThat(hub.poolSize()).isEqualTo(2);
+
+        release.countDown();
+        assertThat(emitters.get(0).completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(hub.poolSize()).isEqualTo(1);
+    }
+
+    private LiveUpdateHub hub(int threads, long sendTimeoutMillis) {
+        return new LiveUpdateHub(new ObjectMapper().findAndRegisterModules(), 0, 4, threads, 1000, sendTimeoutMillis) {
+            @Override
+            protected SseEmitter newEmitter(long timeoutMillis) {
+                RecordingEmitter emitter = new RecordingEmitter(emitters.isEmpty() ? release : null);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private static MatchUpdateDTO update(int matchId, int tournamentId) {
+        MatchUpdateDTO update = new MatchUpdateDTO();
+        update.setType(MatchUpdateDTO.SCORE);
+        update.setMatchId(matchId);
+        update.setTournamentId(tournamentId);
+        update.setOverallScore("1-0");
+        return update;
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        final List<Set<DataWithMediaType>> sent = new CopyOnWriteArrayList<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch gate;
+
+        RecordingEmitter(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            entered.countDown();
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.add(items);
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        boolean await(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (sent.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            return sent.size() >= count;
+        }
+    }
+}
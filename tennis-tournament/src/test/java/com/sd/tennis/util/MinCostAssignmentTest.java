@@ -0,0 +1,45 @@
+package com.sd.tennis.util;
+
+import org.junit.jupiter.api.Test;
+
+import static com.sd.tennis.util.MinCostAssignment.FORBIDDEN;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinCostAssignmentTest {
+
+    @Test
+    void findsCheapestPerfectAssignment() {
+        long[][] cost = {
+                {4, 1, 3},
+                {2, 0, 5},
+                {3, 2, 2}
+        };
+
+        assertThat(MinCostAssignment.solve(cost, 3)).containsExactly(1, 0, 2);
+    }
+
+    @Test
+    void leavesRowsWithoutUsableColumnUnassigned() {
+        long[][] cost = {
+                {1, FORBIDDEN},
+                {1, FORBIDDEN},
+                {FORBIDDEN, FORBIDDEN}
+        };
+
+        int[] assignment = MinCostAssignment.solve(cost, 2);
+
+        assertThat(assignment[2]).isEqualTo(-1);
+        assertThat(assignment).containsOnlyOnce(0);
+        assertThat(assignment).containsExactlyInAnyOrder(0, -1, -1);
+    }
+
+    @Test
+    void handlesMoreRowsThanColumns() {
+        long[][] cost = {{5, 1}, {1, 5}, {9, 9}};
+
+        int[] assignment = MinCostAssignment.solve(cost, 2);
+
+        assertThat(assignment).containsExactlyInAnyOrder(0, 1, -1);
+        assertThat(assignment[2]).isEqualTo(-1);
+    }
+}
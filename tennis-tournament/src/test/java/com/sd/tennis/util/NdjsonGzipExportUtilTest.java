@@ -0,0 +1,35 @@
+package com.sd.tennis.util;
+
+import com.sd.tennis.dto.MatchResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NdjsonGzipExportUtilTest {
+
+    @Test
+    void writeRows_chunksConcatenateIntoOneGzipStream() throws IOException {
+        List<MatchResponseDTO> rows = SyntheticMatches.generate(100, 2, 7);
+        NdjsonGzipExportUtil strategy = new NdjsonGzipExportUtil();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        strategy.writeRows(rows.subList(0, 60).iterator(), out);
+        strategy.writeRows(rows.subList(60, 100).iterator(), out);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())), StandardCharsets.UTF_8))) {
+            List<String> lines = reader.lines().toList();
+            assertThat(lines).hasSize(100);
+            assertThat(lines.get(0)).startsWith("{\"matchId\":1,");
+        }
+    }
+}
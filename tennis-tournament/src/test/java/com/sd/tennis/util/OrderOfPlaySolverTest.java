@@ -0,0 +1,147 @@
+package com.sd.tennis.util;
+
+import com.sd.tennis.cache.BookingIndex;
+import com.sd.tennis.util.OrderOfPlaySolver.Court;
+import com.sd.tennis.util.OrderOfPlaySolver.Pairing;
+import com.sd.tennis.util.OrderOfPlaySolver.Placement;
+import com.sd.tennis.util.OrderOfPlaySolver.Problem;
+import com.sd.tennis.util.OrderOfPlaySolver.Schedule;
+import com.sd.tennis.util.OrderOfPlaySolver.VenueBooking;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class OrderOfPlaySolverTest {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, 6, 1);
+
+    private final OrderOfPlaySolver solver = new OrderOfPlaySolver(0, 8);
+
+    @AfterEach
+    void tearDown() {
+        solver.shutdown();
+    }
+
+    @Test
+    void roundRobinOf128Players_isPlacedWithoutConflicts() {
+        // 32 groups of four, every pair inside a group plays once: 192 pairings, three per player
+        List<Pairing> pairings = new ArrayList<>();
+        for (int group = 0; group < 32; group++) {
+            int base = 1 + group * 4;
+            for (int a = 0; a < 4; a++) {
+                for (int b = a + 1; b < 4; b++) {
+                    pairings.add(new Pairing(base + a, base + b));
+                }
+            }
+        }
+        List<Court> courts = IntStream.range(0, 12)
+                .mapToObj(i -> new Court("Court " + i, LocalTime.of(9, 0), LocalTime.of(21, 0)))
+                .toList();
+        List<Integer> referees = IntStream.rangeClosed(1001, 1016).boxed().toList();
+        Problem problem = new Problem(pairings, FIRST_DAY, FIRST_DAY.plusDays(6), null, courts, List.of(), referees,
+                (participantId, start) -> false);
+
+        long started = System.nanoTime();
+        Schedule schedule = solver.solve(problem);
+        Duration took = Duration.ofNanos(System.nanoTime() - started);
+
+        assertThat(schedule.unscheduled()).isEmpty();
+        assertThat(schedule.placements()).hasSize(pairings.size());
+        assertConflictFree(schedule.placements());
+        assertThat(schedule.placements()).allSatisfy(placement -> {
+            assertThat(placement.start().toLocalTime()).isBetween(LocalTime.of(9, 0), LocalTime.of(19, 0));
+            assertThat(placement.start().toLocalDate()).isBetween(FIRST_DAY, FIRST_DAY.plusDays(6));
+        });
+        assertThat(took).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void existingBookingsAndStartBoundAreRespected() {
+        LocalDateTime busy = FIRST_DAY.atTime(11, 0);
+        List<Court> courts = List.of(new Court("Centre", LocalTime.of(9, 0), LocalTime.of(15, 0)));
+        Problem problem = new Problem(List.of(new Pairing(1, 2)), FIRST_DAY, FIRST_DAY,
+                FIRST_DAY.atTime(10, 0), courts, List.of(), List.of(7),
+                (participantId, start) -> participantId == 1 && Math.abs(Duration.between(busy, start).toMinutes())
+                        < BookingIndex.MIN_GAP_MINUTES);
+
+        Schedule schedule = solver.solve(problem);
+
+        // 09:00 is before the bound and 11:00 clashes with player 1's existing match
+        assertThat(schedule.placements()).singleElement()
+                .satisfies(placement -> assertThat(placement.start()).isEqualTo(FIRST_DAY.atTime(13, 0)));
+    }
+
+    @Test
+    void matchesAlreadyOnACourt_keepItsSlots() {
+        List<Court> courts = List.of(new Court("Centre", LocalTime.of(9, 0), LocalTime.of(15, 0)),
+                new Court("Court 1", LocalTime.of(9, 0), LocalTime.of(15, 0)));
+        List<VenueBooking> booked = List.of(new VenueBooking("Centre", FIRST_DAY.atTime(9, 0)),
+                new VenueBooking("Court 1", FIRST_DAY.atTime(10, 0)));
+        Problem problem = new Problem(List.of(new Pairing(1, 2), new Pairing(3, 4)), FIRST_DAY, FIRST_DAY, null,
+                courts, booked, List.of(7, 8), (participantId, start) -> false);
+
+        Schedule schedule = solver.solve(problem);
+
+        // Court 1's 10:00 match covers its 09:00 and 11:00 slots, so only Centre is free before 13:00
+        assertThat(schedule.placements()).extracting(Placement::venue, Placement::start).containsExactly(
+                tuple("Centre", FIRST_DAY.atTime(11, 0)), tuple("Centre", FIRST_DAY.atTime(13, 0)));
+    }
+
+    @Test
+    void pairingsThatDoNotFit_areReportedUnscheduled() {
+        List<Court> courts = List.of(new Court("Centre", LocalTime.of(9, 0), LocalTime.of(11, 0)));
+        Problem problem = new Problem(List.of(new Pairing(1, 2), new Pairing(3, 4)), FIRST_DAY, FIRST_DAY, null,
+                courts, List.of(), List.of(7, 8), (participantId, start) -> false);
+
+        Schedule schedule = solver.solve(problem);
+
+        assertThat(schedule.placements()).hasSize(1);
+        assertThat(schedule.unscheduled()).hasSize(1);
+    }
+
+    @Test
+    void refereeLoadIsSpread() {
+        List<Pairing> pairings = IntStream.range(0, 8).mapToObj(i -> new Pairing(2 * i + 1, 2 * i + 2)).toList();
+        List<Court> courts = List.of(new Court("A", LocalTime.of(9, 0), LocalTime.of(11, 0)),
+                new Court("B", LocalTime.of(9, 0), LocalTime.of(11, 0)));
+        Problem problem = new Problem(pairings, FIRST_DAY, FIRST_DAY.plusDays(3), null, courts, List.of(),
+                List.of(101, 102), (participantId, start) -> false);
+
+        Schedule schedule = solver.solve(problem);
+
+        Map<Integer, Integer> load = new HashMap<>();
+        schedule.placements().forEach(placement -> load.merge(placement.refereeId(), 1, Integer::sum));
+        assertThat(load).containsEntry(101, 4).containsEntry(102, 4);
+    }
+
+    private void assertConflictFree(List<Placement> placements) {
+        Map<Integer, List<LocalDateTime>> byParticipant = new HashMap<>();
+        Set<String> courtSlots = new HashSet<>();
+        for (Placement placement : placements) {
+            assertThat(courtSlots.add(placement.venue() + "@" + placement.start())).isTrue();
+            assertThat(placement.refereeId()).isNotIn(placement.pairing().player1Id(), placement.pairing().player2Id());
+            for (int participant : new int[]{placement.pairing().player1Id(), placement.pairing().player2Id(),
+                    placement.refereeId()}) {
+                List<LocalDateTime> starts = byParticipant.computeIfAbsent(participant, id -> new ArrayList<>());
+                for (LocalDateTime other : starts) {
+                    assertThat(Math.abs(Duration.between(other, placement.start()).toMinutes()))
+                            .isGreaterThanOrEqualTo(BookingIndex.MIN_GAP_MINUTES);
+                }
+                starts.add(placement.start());
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.sd.tennis.util;
+
+import com.sd.tennis.dto.MatchResponseDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParallelExportRendererTest {
+    private final ParallelExportRenderer renderer = new ParallelExportRenderer(4);
+
+    @AfterEach
+    void tearDown() {
+        renderer.shutdown();
+    }
+
+    @Test
+    void render_matchesSequentialOutputByteForByte() throws IOException {
+        List<MatchResponseDTO> rows = SyntheticMatches.generate(20_000, 37, 3);
+
+        for (ExportStrategy strategy : List.of(new CsvExportUtil(), new TxtExportUtil())) {
+            ByteArrayOutputStream sequential = new ByteArrayOutputStream();
+            strategy.export(rows.iterator(), sequential);
+
+            ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+            renderer.render(chunksWithJitter(rows), strategy, parallel);
+
+            assertThat(parallel.toByteArray()).isEqualTo(sequential.toByteArray());
+        }
+    }
+
+    @Test
+    void render_columnarBlocksFollowChunksButDecodeInOrder() throws IOException {
+        List<MatchResponseDTO> rows = SyntheticMatches.generate(20_000, 37, 3);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        renderer.render(chunksWithJitter(rows), new ColumnarExportUtil(), out);
+
+        assertThat(ColumnarMatchReader.readAll(new ByteArrayInputStream(out.toByteArray()))).isEqualTo(rows);
+    }
+
+    @Test
+    void render_readsAPartitionInPages_andStaysAFewPagesAheadOfTheWriter() throws IOException {
+        List<MatchResponseDTO> rows = SyntheticMatches.generate(10_000, 1, 5);
+        AtomicInteger served = new AtomicInteger();
+        AtomicInteger written = new AtomicInteger();
+        AtomicInteger mostAhead = new AtomicInteger();
+        ParallelExportRenderer.Partition paged = pages(rows, 100);
+        OutputStream slow = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            // the first write is the header, every later one a page
+            @Override
+            public void write(byte[] b, int off, int len) {
+                mostAhead.accumulateAndGet(served.get() - (written.incrementAndGet() - 1), Math::max);
+                LockSupport.parkNanos(200_000);
+            }
+        };
+
+        renderer.render(List.of(last -> {
+            List<MatchResponseDTO> page = paged.nextPage(last);
+            served.incrementAndGet();
+            return page;
+        }), new CsvExportUtil(), slow);
+
+        assertThat(written).hasValue(1 + 100);
+        assertThat(mostAhead.get()).isLessThanOrEqualTo(ParallelExportRenderer.PAGES_AHEAD + 2);
+    }
+
+    @Test
+    void render_propagatesChunkFailure() {
+        List<ParallelExportRenderer.Partition> chunks = List.of(
+                pages(SyntheticMatches.generate(10, 1, 1), 3),
+                last -> {
+                    throw new IllegalStateException("boom");
+                });
+
+        assertThatThrownBy(() -> renderer.render(chunks, new CsvExportUtil(), new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("boom");
+    }
+
+    // split by tournament, read each in small pages and make pages finish out of order
+    private List<ParallelExportRenderer.Partition> chunksWithJitter(List<MatchResponseDTO> rows) {
+        List<ParallelExportRenderer.Partition> chunks = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= rows.size(); i++) {
+            if (i == rows.size() || !rows.get(i).getTournamentId().equals(rows.get(start).getTournamentId())) {
+                ParallelExportRenderer.Partition chunk = pages(rows.subList(start, i), 97);
+                chunks.add(last -> {
+                    try {
+                        Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return chunk.nextPage(last);
+                });
+                start = i;
+            }
+        }
+        return chunks;
+    }
+
+    // pages of the given rows by position, the way the repository pages by keyset
+    private static ParallelExportRenderer.Partition pages(List<MatchResponseDTO> rows, int pageSize) {
+        return last -> {
+            int from = last == null ? 0 : rows.indexOf(last) + 1;
+            return rows.subList(from, Math.min(from + pageSize, rows.size()));
+        };
+    }
+}
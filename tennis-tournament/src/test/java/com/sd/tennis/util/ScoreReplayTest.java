@@ -0,0 +1,93 @@
+package com.sd.tennis.util;
+
+import com.sd.tennis.model.ScoreEvent;
+import com.sd.tennis.model.SetTally;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoreReplayTest {
+
+    @Test
+    void setEvents_moveTheTally_andTheWinnerFollowsTheDecision() {
+        ScoreReplay replay = new ScoreReplay(3);
+
+        replay.apply(ScoreEvent.set(1, 6, 4));
+        replay.apply(ScoreEvent.set(2, 7, 6));
+        assertThat(replay.overallScore()).isEqualTo("2-0");
+        assertThat(replay.winnerSide()).isEqualTo(1);
+
+        replay.apply(ScoreEvent.set(2, 3, 6));
+        assertThat(replay.overallScore()).isEqualTo("1-1");
+        assertThat(replay.winnerSide()).isZero();
+
+        replay.apply(ScoreEvent.setRemoved(1));
+        assertThat(replay.sets()).containsOnlyKeys(2);
+        assertThat(replay.tally()).extracting(SetTally::getPlayer2Sets, SetTally::getPlayer1Games).containsExactly(1, 3);
+    }
+
+    @Test
+    void handEnteredResult_standsUntilTheSetsDecideOtherwise() {
+        ScoreReplay replay = new ScoreReplay(3);
+        replay.apply(ScoreEvent.result(1, 0, 1));
+
+        replay.apply(ScoreEvent.set(1, 4, 6));
+        assertThat(replay.overallScore()).isEqualTo("0-1");
+        assertThat(replay.winnerSide()).isEqualTo(1);
+
+        replay.apply(ScoreEvent.set(2, 2, 6));
+        assertThat(replay.winnerSide()).isEqualTo(2);
+    }
+
+    @Test
+    void snapshot_roundTripsAndReplaysOn() {
+        ScoreReplay replay = new ScoreReplay(5);
+        replay.apply(ScoreEvent.set(1, 6, 4));
+        replay.apply(ScoreEvent.set(2, 5, 7));
+        replay.apply(ScoreEvent.set(3, 6, 0));
+
+        ScoreReplay resumed = ScoreReplay.from(5, replay.encodeSets(), replay.overallScore(), replay.winnerSide());
+        assertThat(replay.encodeSets()).isEqualTo("1:6-4,2:5-7,3:6-0");
+        resumed.apply(ScoreEvent.set(4, 7, 5));
+        replay.apply(ScoreEvent.set(4, 7, 5));
+
+        assertThat(resumed.encodeSets()).isEqualTo(replay.encodeSets());
+        assertThat(resumed.overallScore()).isEqualTo("3-1");
+        assertThat(resumed.winnerSide()).isEqualTo(1);
+    }
+
+    @Test
+    void season_replaysWellUnderASecond() {
+        // 5000 matches of five sets each with two corrections and a dropped set, 40000 events
+        Random random = new Random(42);
+        List<List<ScoreEvent>> season = new ArrayList<>();
+        for (int m = 0; m < 5000; m++) {
+            List<ScoreEvent> events = new ArrayList<>();
+            for (int set = 1; set <= 5; set++) {
+                events.add(ScoreEvent.set(set, random.nextInt(8), random.nextInt(8)));
+            }
+            events.add(ScoreEvent.set(2, 6, random.nextInt(5)));
+            events.add(ScoreEvent.setRemoved(5));
+            events.add(ScoreEvent.set(1, random.nextInt(5), 6));
+            season.add(events);
+        }
+
+        long started = System.nanoTime();
+        int decided = 0;
+        for (List<ScoreEvent> events : season) {
+            ScoreReplay replay = new ScoreReplay(5);
+            events.forEach(replay::apply);
+            decided += replay.winnerSide() == 0 ? 0 : 1;
+            assertThat(replay.sets()).hasSize(4);
+        }
+        Duration took = Duration.ofNanos(System.nanoTime() - started);
+
+        assertThat(decided).isPositive();
+        assertThat(took).isLessThan(Duration.ofSeconds(1));
+    }
+}
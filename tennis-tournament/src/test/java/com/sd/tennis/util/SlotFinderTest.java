@@ -0,0 +1,89 @@
+package com.sd.tennis.util;
+
+import com.sd.tennis.util.OrderOfPlaySolver.Court;
+import com.sd.tennis.util.OrderOfPlaySolver.VenueBooking;
+import com.sd.tennis.util.SlotFinder.Problem;
+import com.sd.tennis.util.SlotFinder.Slot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlotFinderTest {
+    private static final LocalDate DAY = LocalDate.of(2030, 6, 1);
+    private static final List<Court> COURTS = List.of(
+            new Court("Centre", LocalTime.of(10, 0), LocalTime.of(16, 0)),
+            new Court("Court 1", LocalTime.of(10, 0), LocalTime.of(16, 0)));
+
+    private final SlotFinder finder = new SlotFinder(4);
+
+    @AfterEach
+    void tearDown() {
+        finder.shutdown();
+    }
+
+    @Test
+    void freeWindow_offersEveryCourtSlot() {
+        List<Slot> slots = finder.find(new Problem(1, 2, List.of(100), DAY, DAY.plusDays(1), null, COURTS,
+                List.of(), (participantId, start) -> false));
+
+        // two courts, three two-hour slots a day, two days
+        assertThat(slots).hasSize(12);
+        assertThat(slots).allSatisfy(slot -> assertThat(slot.refereeId()).isEqualTo(100));
+        assertThat(slots.get(0).start()).isEqualTo(DAY.atTime(10, 0));
+    }
+
+    @Test
+    void bookedCourtsPlayersAndReferees_areSkipped() {
+        Map<Integer, Set<LocalDateTime>> booked = Map.of(
+                1, Set.of(DAY.atTime(12, 0)),
+                100, Set.of(DAY.atTime(14, 0)));
+        List<Slot> slots = finder.find(new Problem(1, 2, List.of(100, 101), DAY, DAY, null, COURTS,
+                List.of(new VenueBooking("Centre", DAY.atTime(10, 30))),
+                (participantId, start) -> booked.getOrDefault(participantId, Set.of()).contains(start)));
+
+        assertThat(slots).noneMatch(slot -> slot.start().equals(DAY.atTime(12, 0)));
+        // a match at 10:30 holds the Centre court past both the 10:00 and the 12:00 start
+        assertThat(slots).noneMatch(slot -> slot.venue().equals("Centre") && slot.start().isBefore(DAY.atTime(14, 0)));
+        assertThat(slots).filteredOn(slot -> slot.start().equals(DAY.atTime(14, 0)))
+                .allSatisfy(slot -> assertThat(slot.refereeId()).isEqualTo(101));
+    }
+
+    @Test
+    void busierCourtDays_rankFirst() {
+        List<Slot> slots = finder.find(new Problem(1, 2, List.of(100), DAY, DAY, null, COURTS,
+                List.of(new VenueBooking("Court 1", DAY.atTime(10, 0))), (participantId, start) -> false));
+
+        assertThat(slots.get(0).venue()).isEqualTo("Court 1");
+        assertThat(slots.get(0).courtUtilization()).isEqualTo(1.0 / 3);
+        assertThat(slots).extracting(Slot::venue).containsSubsequence("Court 1", "Court 1", "Centre");
+    }
+
+    @Test
+    void notBefore_dropsEarlierSlots() {
+        List<Slot> slots = finder.find(new Problem(1, 2, List.of(100), DAY, DAY, DAY.atTime(11, 0), COURTS,
+                List.of(), (participantId, start) -> false));
+
+        assertThat(slots).allSatisfy(slot -> assertThat(slot.start()).isAfterOrEqualTo(DAY.atTime(11, 0)));
+        assertThat(slots).hasSize(4);
+    }
+
+    @Test
+    void twoWeeksOfSixteenCourts_checksEveryCandidate() {
+        List<Court> courts = IntStream.range(0, 16)
+                .mapToObj(i -> new Court("Court " + i, LocalTime.of(8, 0), LocalTime.of(22, 0)))
+                .toList();
+        List<Slot> slots = finder.find(new Problem(1, 2, IntStream.rangeClosed(100, 120).boxed().toList(),
+                DAY, DAY.plusDays(13), null, courts, List.of(), (participantId, start) -> false));
+
+        assertThat(slots).hasSize(14 * 16 * 7);
+    }
+}
@@ -0,0 +1,52 @@
+package com.sd.tennis.util;
+
+import com.sd.tennis.dto.MatchResponseDTO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+class SyntheticMatches {
+    private static final String[] FIRST = {"Rafael", "Roger", "Novak", "Andy", "Carlos", "Jannik", "Daniil", "Stan"};
+    private static final String[] LAST = {"Nadal", "Federer", "Djokovic", "Murray", "Alcaraz", "Sinner", "Medvedev"};
+
+    private SyntheticMatches() {
+    }
+
+    // a season-like dataset: matches ordered by tournament and date, a few hundred distinct players
+    static List<MatchResponseDTO> generate(int count, int tournaments, long seed) {
+        Random random = new Random(seed);
+        List<MatchResponseDTO> rows = new ArrayList<>(count);
+        int perTournament = Math.max(1, count / tournaments);
+        for (int i = 0; i < count; i++) {
+            int tournamentId = Math.min(i / perTournament, tournaments - 1) + 1;
+            int p1 = random.nextInt(400) + 1;
+            int p2 = random.nextInt(400) + 1;
+            int ref = random.nextInt(40) + 1000;
+            boolean decided = random.nextInt(4) != 0;
+
+            MatchResponseDTO m = new MatchResponseDTO();
+            m.setMatchId(i + 1);
+            m.setTournamentId(tournamentId);
+            m.setTournamentName("Tournament " + tournamentId);
+            m.setPlayer1Id(p1);
+            m.setPlayer1Name(name(p1));
+            m.setPlayer2Id(p2);
+            m.setPlayer2Name(name(p2));
+            m.setRefereeId(ref);
+            m.setRefereeName(name(ref));
+            m.setWinnerId(decided ? p1 : null);
+            m.setWinnerName(decided ? name(p1) : "N/A");
+            m.setMatchDate(LocalDateTime.of(2025, 1, 1, 9, 0).plusMinutes(30L * i));
+            m.setVenue("Court " + random.nextInt(12));
+            m.setOverallScore(decided ? (random.nextBoolean() ? "2-0" : "2-1") : "N/A");
+            rows.add(m);
+        }
+        return rows;
+    }
+
+    private static String name(int id) {
+        return FIRST[id % FIRST.length] + " " + LAST[(id / FIRST.length) % LAST.length] + " " + id;
+    }
+}
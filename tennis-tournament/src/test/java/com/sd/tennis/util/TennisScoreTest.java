@@ -0,0 +1,85 @@
+package com.sd.tennis.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TennisScoreTest {
+
+    @Test
+    void points_goThroughDeuceAndAdvantage() {
+        TennisScore score = new TennisScore(3);
+        play(score, 1, 1, 1, 2, 2, 2);
+        assertThat(score.pointScore()).isEqualTo("40-40");
+
+        score.point(2);
+        assertThat(score.pointScore()).isEqualTo("40-AD");
+        score.point(1);
+        assertThat(score.pointScore()).isEqualTo("40-40");
+        score.point(1);
+        assertThat(score.pointScore()).isEqualTo("AD-40");
+        score.point(1);
+
+        assertThat(score.gameScore()).isEqualTo("1-0");
+        assertThat(score.pointScore()).isEqualTo("0-0");
+    }
+
+    @Test
+    void setAtSixAll_isDecidedByATiebreakToSeven() {
+        TennisScore score = new TennisScore(3);
+        for (int i = 0; i < 6; i++) {
+            games(score, 1, 1);
+            games(score, 2, 1);
+        }
+        assertThat(score.inTiebreak()).isTrue();
+
+        play(score, 1, 1, 1, 1, 1, 1, 2, 2, 2, 2, 2, 2);
+        assertThat(score.pointScore()).isEqualTo("6-6");
+        play(score, 1, 1);
+
+        assertThat(score.inTiebreak()).isFalse();
+        assertThat(score.setScores()).containsExactly(new int[]{7, 6});
+        assertThat(score.overallScore()).isEqualTo("1-0");
+    }
+
+    @Test
+    void setNeedsTwoGamesClear() {
+        TennisScore score = new TennisScore(3);
+        games(score, 1, 5);
+        games(score, 2, 5);
+        games(score, 1, 1);
+        assertThat(score.overallScore()).isEqualTo("0-0");
+        games(score, 1, 1);
+
+        assertThat(score.setScores()).containsExactly(new int[]{7, 5});
+    }
+
+    @Test
+    void match_endsWithTheDecidingSet_andTakesNoMorePoints() {
+        TennisScore score = new TennisScore(3);
+        games(score, 1, 6);
+        games(score, 2, 6);
+        assertThat(score.setScores()).hasSize(2);
+        games(score, 2, 5);
+        assertThat(score.setScores()).containsExactly(new int[]{6, 0}, new int[]{0, 6}, new int[]{0, 5});
+        games(score, 2, 1);
+
+        assertThat(score.winner()).isEqualTo(2);
+        assertThat(score.overallScore()).isEqualTo("1-2");
+        assertThat(score.pointsPlayed()).isEqualTo(18 * 4);
+        assertThatThrownBy(() -> score.point(1)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static void games(TennisScore score, int player, int count) {
+        for (int i = 0; i < count * 4; i++) {
+            score.point(player);
+        }
+    }
+
+    private static void play(TennisScore score, int... players) {
+        for (int player : players) {
+            score.point(player);
+        }
+    }
+}